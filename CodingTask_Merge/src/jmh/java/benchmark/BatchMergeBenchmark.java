@@ -0,0 +1,106 @@
+package benchmark;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks merging many small independent lists of {@code Interval} objects: sequentially in a loop, and using a
+ * {@code BatchIntervalMerger} on a pool of platform threads, one per available processor, or on virtual threads. On a
+ * Java runtime without virtual threads, the virtual thread mode falls back to platform threads. Since merging sorts and
+ * modifies the lists, every invocation merges fresh copies, which are created within the measured method rather than
+ * by a setup per invocation, whose overhead would distort the timing. {@link BatchMergeBenchmark#copyLists()} measures
+ * creating the copies alone, so that its time can be subtracted from the time of merging them.
+ *
+ * @author Karolin Dürr
+ */
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class BatchMergeBenchmark {
+
+    /**
+     * The ways the lists are merged.
+     */
+    public enum BatchMode {
+        LOOP, PLATFORM_THREADS, VIRTUAL_THREADS
+    }
+
+    @Param({"100000"})
+    int listCount;
+
+    @Param({"8", "64"})
+    int listSize;
+
+    @Param
+    BatchMode mode;
+
+    double[] starts;
+
+    double[] ends;
+
+    Object intervalMerger;
+
+    Object batchMerger;
+
+    @Setup(Level.Trial)
+    public void generate() {
+        Random random = new Random(42);
+        this.starts = new double[this.listCount * this.listSize];
+        this.ends = new double[this.listCount * this.listSize];
+        for (int i = 0; i < this.starts.length; i++) {
+            this.starts[i] = random.nextInt(10 * this.listSize);
+            this.ends[i] = this.starts[i] + random.nextInt(10);
+        }
+        this.intervalMerger = MergerHandles.newMerger();
+        if (this.mode == BatchMode.PLATFORM_THREADS) {
+            this.batchMerger = MergerHandles.newBatchMergerUsingPlatformThreads(
+                    Runtime.getRuntime().availableProcessors());
+        } else if (this.mode == BatchMode.VIRTUAL_THREADS) {
+            this.batchMerger = MergerHandles.newBatchMergerUsingVirtualThreads();
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void close() {
+        if (this.batchMerger != null) {
+            MergerHandles.closeBatchMerger(this.batchMerger);
+        }
+    }
+
+    @Benchmark
+    public Object copyLists() {
+        return copy();
+    }
+
+    @Benchmark
+    public Object mergeLists() {
+        List<List<Object>> inputs = copy();
+        if (this.mode == BatchMode.LOOP) {
+            List<Object> results = new ArrayList<>(this.listCount);
+            for (List<Object> intervals : inputs) {
+                results.add(MergerHandles.merge(this.intervalMerger, intervals));
+            }
+            return results;
+        }
+        return MergerHandles.mergeAll(this.batchMerger, inputs);
+    }
+
+    private List<List<Object>> copy() {
+        List<List<Object>> inputs = new ArrayList<>(this.listCount);
+        for (int list = 0; list < this.listCount; list++) {
+            List<Object> intervals = new ArrayList<>(this.listSize);
+            for (int i = list * this.listSize; i < (list + 1) * this.listSize; i++) {
+                intervals.add(MergerHandles.newInterval(this.starts[i], this.ends[i]));
+            }
+            inputs.add(intervals);
+        }
+        return inputs;
+    }
+}
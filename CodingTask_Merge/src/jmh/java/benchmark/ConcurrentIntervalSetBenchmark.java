@@ -0,0 +1,125 @@
+package benchmark;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks adding intervals to a shared set from 1 up to all available threads: once to a
+ * {@code ConcurrentIntervalSet}, whose stripes are locked independently, and once to a single {@code IntervalSet}
+ * guarded by one lock, like funneling all producers into a single list. The throughput of all threads is summed up by
+ * JMH, so that the scaling can be read directly from the results of the different thread counts.
+ *
+ * @author Karolin Dürr
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ConcurrentIntervalSetBenchmark {
+
+    private static final int INTERVALS_PER_THREAD = 1 << 16;
+
+    // the sets converge to about a million intervals, so that adding keeps merging instead of only growing
+    private static final int VALUE_RANGE = 10_000_000;
+
+    @State(Scope.Benchmark)
+    public static class SharedSets {
+
+        Object concurrentSet;
+
+        Object synchronizedSet;
+
+        @Setup(Level.Iteration)
+        public void createSets() {
+            this.concurrentSet = MergerHandles.newConcurrentIntervalSet(Runtime.getRuntime().availableProcessors());
+            this.synchronizedSet = MergerHandles.newIntervalSet();
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class Producer {
+
+        final double[] starts = new double[INTERVALS_PER_THREAD];
+
+        final double[] ends = new double[INTERVALS_PER_THREAD];
+
+        int index;
+
+        @Setup(Level.Trial)
+        public void generate() {
+            SplittableRandom random = new SplittableRandom(System.identityHashCode(this));
+            for (int i = 0; i < INTERVALS_PER_THREAD; i++) {
+                this.starts[i] = random.nextInt(VALUE_RANGE);
+                this.ends[i] = this.starts[i] + random.nextInt(10);
+            }
+        }
+
+        int next() {
+            this.index = (this.index + 1) & (INTERVALS_PER_THREAD - 1);
+            return this.index;
+        }
+    }
+
+    @Benchmark
+    @Threads(1)
+    public void concurrentSet1Thread(final SharedSets sets, final Producer producer) {
+        addToConcurrentSet(sets, producer);
+    }
+
+    @Benchmark
+    @Threads(2)
+    public void concurrentSet2Threads(final SharedSets sets, final Producer producer) {
+        addToConcurrentSet(sets, producer);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public void concurrentSet4Threads(final SharedSets sets, final Producer producer) {
+        addToConcurrentSet(sets, producer);
+    }
+
+    @Benchmark
+    @Threads(Threads.MAX)
+    public void concurrentSetMaxThreads(final SharedSets sets, final Producer producer) {
+        addToConcurrentSet(sets, producer);
+    }
+
+    @Benchmark
+    @Threads(1)
+    public void synchronizedSet1Thread(final SharedSets sets, final Producer producer) {
+        addToSynchronizedSet(sets, producer);
+    }
+
+    @Benchmark
+    @Threads(2)
+    public void synchronizedSet2Threads(final SharedSets sets, final Producer producer) {
+        addToSynchronizedSet(sets, producer);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public void synchronizedSet4Threads(final SharedSets sets, final Producer producer) {
+        addToSynchronizedSet(sets, producer);
+    }
+
+    @Benchmark
+    @Threads(Threads.MAX)
+    public void synchronizedSetMaxThreads(final SharedSets sets, final Producer producer) {
+        addToSynchronizedSet(sets, producer);
+    }
+
+    private static void addToConcurrentSet(final SharedSets sets, final Producer producer) {
+        int i = producer.next();
+        MergerHandles.addToConcurrentIntervalSet(sets.concurrentSet, producer.starts[i], producer.ends[i]);
+    }
+
+    private static void addToSynchronizedSet(final SharedSets sets, final Producer producer) {
+        int i = producer.next();
+        synchronized (sets.synchronizedSet) {
+            MergerHandles.addToIntervalSet(sets.synchronizedSet, producer.starts[i], producer.ends[i]);
+        }
+    }
+}
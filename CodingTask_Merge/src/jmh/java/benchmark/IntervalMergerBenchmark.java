@@ -0,0 +1,141 @@
+package benchmark;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks the {@code IntervalMerger.merge} methods, the one using {@code Interval} objects, the one using a
+ * two-dimensional array of doubles and the column-wise one using two parallel arrays, for different input sizes and
+ * shapes. Since the methods sort and modify their input, every invocation merges a fresh copy of the generated
+ * intervals. The copy is created within the measured method, since a setup per invocation would distort the timing of
+ * small inputs, which only take microseconds to merge. The {@code copy} methods measure creating the copy alone, so
+ * that their time can be subtracted from the time of the corresponding {@code merge} methods.
+ *
+ * @author Karolin Dürr
+ */
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class IntervalMergerBenchmark {
+
+    /**
+     * The generated intervals, which are shared by all benchmark methods and threads.
+     */
+    @State(Scope.Benchmark)
+    public static class GeneratedIntervals {
+
+        @Param({"10", "1000", "100000", "10000000", "100000000"})
+        int size;
+
+        @Param
+        IntervalShape shape;
+
+        Object intervalMerger;
+
+        double[] starts;
+
+        double[] ends;
+
+        @Setup(Level.Trial)
+        public void generate() {
+            this.intervalMerger = MergerHandles.newMerger();
+            double[][] intervals = this.shape.generate(this.size);
+            this.starts = intervals[0];
+            this.ends = intervals[1];
+        }
+    }
+
+    /**
+     * The reused arrays the column-wise methods merge a copy of the generated intervals in.
+     */
+    @State(Scope.Thread)
+    public static class ColumnIntervalsInput {
+
+        double[] starts;
+
+        double[] ends;
+
+        @Setup(Level.Trial)
+        public void allocate(final GeneratedIntervals generated) {
+            this.starts = new double[generated.size];
+            this.ends = new double[generated.size];
+        }
+    }
+
+    @Benchmark
+    public List<?> copyIntervalList(final GeneratedIntervals generated) {
+        return copyIntervals(generated);
+    }
+
+    @Benchmark
+    public List<?> copyArrayIntervals(final GeneratedIntervals generated) {
+        return Arrays.asList(copyArrays(generated));
+    }
+
+    @Benchmark
+    public double[] copyColumnIntervals(final GeneratedIntervals generated, final ColumnIntervalsInput input) {
+        copyColumns(generated, input);
+        return input.starts;
+    }
+
+    @Benchmark
+    public List<?> mergeIntervalList(final GeneratedIntervals generated) {
+        return MergerHandles.merge(generated.intervalMerger, copyIntervals(generated));
+    }
+
+    @Benchmark
+    public List<?> mergeArrayIntervals(final GeneratedIntervals generated) {
+        return MergerHandles.merge(generated.intervalMerger, copyArrays(generated));
+    }
+
+    @Benchmark
+    public int mergeColumnIntervals(final GeneratedIntervals generated, final ColumnIntervalsInput input) {
+        copyColumns(generated, input);
+        return MergerHandles.merge(generated.intervalMerger, input.starts, input.ends);
+    }
+
+    @Benchmark
+    public int mergeColumnIntervalsParallel(final GeneratedIntervals generated, final ColumnIntervalsInput input) {
+        copyColumns(generated, input);
+        return MergerHandles.mergeParallel(generated.intervalMerger, input.starts, input.ends);
+    }
+
+    @Benchmark
+    public List<?> mergeArrayIntervalsUsingRadixSort(final GeneratedIntervals generated) {
+        return MergerHandles.mergeUsingRadixSort(generated.intervalMerger, copyArrays(generated));
+    }
+
+    @Benchmark
+    public int mergeColumnIntervalsUsingRadixSort(final GeneratedIntervals generated,
+                                                  final ColumnIntervalsInput input) {
+        copyColumns(generated, input);
+        return MergerHandles.mergeUsingRadixSort(generated.intervalMerger, input.starts, input.ends);
+    }
+
+    private static List<Object> copyIntervals(final GeneratedIntervals generated) {
+        List<Object> intervals = new ArrayList<>(generated.size);
+        for (int i = 0; i < generated.size; i++) {
+            intervals.add(MergerHandles.newInterval(generated.starts[i], generated.ends[i]));
+        }
+        return intervals;
+    }
+
+    private static double[][] copyArrays(final GeneratedIntervals generated) {
+        double[][] intervals = new double[generated.size][];
+        for (int i = 0; i < generated.size; i++) {
+            intervals[i] = new double[]{generated.starts[i], generated.ends[i]};
+        }
+        return intervals;
+    }
+
+    private static void copyColumns(final GeneratedIntervals generated, final ColumnIntervalsInput input) {
+        System.arraycopy(generated.starts, 0, input.starts, 0, generated.size);
+        System.arraycopy(generated.ends, 0, input.ends, 0, generated.size);
+    }
+}
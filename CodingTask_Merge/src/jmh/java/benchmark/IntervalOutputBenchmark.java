@@ -0,0 +1,96 @@
+package benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.Writer;
+import java.text.DecimalFormat;
+import java.text.DecimalFormatSymbols;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks printing merged intervals: converting a {@link List} of {@code Interval} objects to a string, which is
+ * how the program printed its result before, using a new {@link DecimalFormat} per interval like the former
+ * {@code Interval.toString}, and streaming the intervals using an {@code IntervalWriter}. The output is written to a
+ * writer that discards the characters, so that only formatting is measured.
+ *
+ * @author Karolin Dürr
+ */
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class IntervalOutputBenchmark {
+
+    @Param({"1000", "100000", "1000000"})
+    int size;
+
+    double[] starts;
+
+    double[] ends;
+
+    List<Object> intervals;
+
+    Writer discardingWriter;
+
+    @Setup(Level.Trial)
+    public void generate() {
+        // merged intervals are disjoint and sorted, with up to six decimal places like the printed values
+        Random random = new Random(42);
+        this.starts = new double[this.size];
+        this.ends = new double[this.size];
+        double start = 0;
+        for (int i = 0; i < this.size; i++) {
+            start += 1 + random.nextInt(1_000_000) / 1e6;
+            this.starts[i] = start;
+            this.ends[i] = start + random.nextInt(1_000_000) / 1e6;
+            start = this.ends[i];
+        }
+        this.intervals = new ArrayList<>(this.size);
+        for (int i = 0; i < this.size; i++) {
+            this.intervals.add(MergerHandles.newInterval(this.starts[i], this.ends[i]));
+        }
+        this.discardingWriter = new Writer() {
+            @Override
+            public void write(final char[] buffer, final int offset, final int length) {
+            }
+
+            @Override
+            public void flush() {
+            }
+
+            @Override
+            public void close() {
+            }
+        };
+    }
+
+    @Benchmark
+    public void decimalFormatPerInterval(final Blackhole blackhole) {
+        StringBuilder builder = new StringBuilder("[");
+        for (int i = 0; i < this.size; i++) {
+            DecimalFormat decimalFormat = new DecimalFormat("0.######", new DecimalFormatSymbols(Locale.ENGLISH));
+            builder.append(i == 0 ? "[" : ", [").append(decimalFormat.format(this.starts[i])).append(',')
+                    .append(decimalFormat.format(this.ends[i])).append(']');
+        }
+        blackhole.consume(builder.append(']').toString());
+    }
+
+    @Benchmark
+    public String intervalListToString() {
+        return this.intervals.toString();
+    }
+
+    @Benchmark
+    public void intervalWriter() {
+        Object intervalWriter = MergerHandles.newIntervalWriter(this.discardingWriter);
+        MergerHandles.write(intervalWriter, this.starts, this.ends, this.size);
+        MergerHandles.finish(intervalWriter);
+    }
+}
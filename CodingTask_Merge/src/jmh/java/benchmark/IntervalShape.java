@@ -0,0 +1,155 @@
+package benchmark;
+
+import java.util.Random;
+
+/**
+ * The different shapes of interval lists used as benchmark input. Every shape generates the boundaries
+ * deterministically, so that the measurements of different runs are comparable.
+ *
+ * @author Karolin Dürr
+ */
+public enum IntervalShape {
+
+    /**
+     * Intervals that do not overlap at all, in random order. Nothing is merged, so the result is as large as the input.
+     */
+    DISJOINT {
+        @Override
+        void fill(final double[] starts, final double[] ends, final Random random) {
+            for (int i = 0; i < starts.length; i++) {
+                starts[i] = i * 10.0;
+                ends[i] = i * 10.0 + 5;
+            }
+            shuffle(starts, ends, random);
+        }
+    },
+
+    /**
+     * Intervals that are all included in each other, e.g. [0,20],[1,19],[2,18], in random order.
+     */
+    NESTED {
+        @Override
+        void fill(final double[] starts, final double[] ends, final Random random) {
+            for (int i = 0; i < starts.length; i++) {
+                starts[i] = i;
+                ends[i] = 2.0 * starts.length - i;
+            }
+            shuffle(starts, ends, random);
+        }
+    },
+
+    /**
+     * Groups of 16 overlapping intervals that are separated by gaps, in random order.
+     */
+    CLUSTERED {
+        @Override
+        void fill(final double[] starts, final double[] ends, final Random random) {
+            for (int i = 0; i < starts.length; i++) {
+                double clusterStart = (i / 16) * 1000.0;
+                starts[i] = clusterStart + random.nextInt(100);
+                ends[i] = starts[i] + 1 + random.nextInt(100);
+            }
+            shuffle(starts, ends, random);
+        }
+    },
+
+    /**
+     * Partially overlapping intervals that are already sorted by their start boundaries.
+     */
+    SORTED {
+        @Override
+        void fill(final double[] starts, final double[] ends, final Random random) {
+            fillIncreasing(starts, ends, random);
+        }
+    },
+
+    /**
+     * Partially overlapping intervals that are sorted decreasingly by their start boundaries.
+     */
+    REVERSE_SORTED {
+        @Override
+        void fill(final double[] starts, final double[] ends, final Random random) {
+            fillIncreasing(starts, ends, random);
+            for (int i = 0, j = starts.length - 1; i < j; i++, j--) {
+                swap(starts, ends, i, j);
+            }
+        }
+    },
+
+    /**
+     * The concatenation of 8 runs of partially overlapping intervals, each sorted by their start boundaries, like the
+     * intervals of several sorted feeds appended to each other.
+     */
+    SORTED_RUNS {
+        @Override
+        void fill(final double[] starts, final double[] ends, final Random random) {
+            fillIncreasing(starts, ends, random);
+            double[] sortedStarts = starts.clone();
+            double[] sortedEnds = ends.clone();
+            // the run r consists of every 8th interval, beginning at the interval r
+            int i = 0;
+            for (int run = 0; run < 8; run++) {
+                for (int j = run; j < starts.length; j += 8) {
+                    starts[i] = sortedStarts[j];
+                    ends[i] = sortedEnds[j];
+                    i++;
+                }
+            }
+        }
+    },
+
+    /**
+     * Intervals that are chosen from only 16 distinct intervals, in random order.
+     */
+    DUPLICATES {
+        @Override
+        void fill(final double[] starts, final double[] ends, final Random random) {
+            for (int i = 0; i < starts.length; i++) {
+                int interval = random.nextInt(16);
+                starts[i] = interval * 100.0;
+                ends[i] = interval * 100.0 + 50;
+            }
+        }
+    };
+
+    private static final long SEED = 42;
+
+    /**
+     * Generates {@code size} intervals of the current shape as two parallel arrays.
+     *
+     * @param size The number of intervals to generate.
+     * @return The start boundaries of the generated intervals at index 0 and their end boundaries at index 1.
+     */
+    public double[][] generate(final int size) {
+        double[] starts = new double[size];
+        double[] ends = new double[size];
+        fill(starts, ends, new Random(SEED));
+        return new double[][]{starts, ends};
+    }
+
+    abstract void fill(double[] starts, double[] ends, Random random);
+
+    private static void fillIncreasing(final double[] starts, final double[] ends, final Random random) {
+        double start = 0;
+        for (int i = 0; i < starts.length; i++) {
+            start += random.nextInt(10);
+            starts[i] = start;
+            ends[i] = start + random.nextInt(12);
+        }
+    }
+
+    private static void shuffle(final double[] starts, final double[] ends, final Random random) {
+        for (int i = starts.length - 1; i > 0; i--) {
+            swap(starts, ends, i, random.nextInt(i + 1));
+        }
+    }
+
+    private static void swap(final double[] starts, final double[] ends, final int i, final int j) {
+        double start = starts[i];
+        double end = ends[i];
+        starts[i] = starts[j];
+        ends[i] = ends[j];
+        starts[j] = start;
+        ends[j] = end;
+    }
+}
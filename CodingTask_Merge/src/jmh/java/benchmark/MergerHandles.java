@@ -0,0 +1,310 @@
+package benchmark;
+
+import java.io.Writer;
+import java.util.Collection;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.List;
+
+/**
+ * Provides access to the classes of the merge program for the benchmarks. JMH only accepts benchmark classes that are
+ * part of a named package, whereas the program's classes are part of the default package, which cannot be imported
+ * from a named package. The methods are therefore bound using constant {@link MethodHandle}s, which are inlined by the
+ * JIT compiler and thus do not distort the measurements.
+ *
+ * @author Karolin Dürr
+ */
+final class MergerHandles {
+
+    private static final MethodHandle NEW_INTERVAL;
+
+    private static final MethodHandle NEW_MERGER;
+
+    private static final MethodHandle MERGE_INTERVAL_LIST;
+
+    private static final MethodHandle MERGE_ARRAY_INTERVALS;
+
+    private static final MethodHandle MERGE_COLUMN_INTERVALS;
+
+    private static final MethodHandle MERGE_COLUMN_INTERVALS_PARALLEL;
+
+    private static final MethodHandle MERGE_ARRAY_INTERVALS_RADIX;
+
+    private static final MethodHandle MERGE_COLUMN_INTERVALS_RADIX;
+
+    private static final MethodHandle MERGE_COLUMN_INTERVALS_VECTOR;
+
+    private static final MethodHandle IS_VECTOR_SCAN_SUPPORTED;
+
+    private static final MethodHandle NEW_INTERVAL_WRITER;
+
+    private static final MethodHandle WRITE_COLUMN_INTERVALS;
+
+    private static final MethodHandle FINISH_INTERVAL_WRITER;
+
+    private static final MethodHandle NEW_INTERVAL_SET;
+
+    private static final MethodHandle ADD_TO_INTERVAL_SET;
+
+    private static final MethodHandle NEW_CONCURRENT_INTERVAL_SET;
+
+    private static final MethodHandle ADD_TO_CONCURRENT_INTERVAL_SET;
+
+    private static final MethodHandle NEW_BATCH_MERGER_USING_PLATFORM_THREADS;
+
+    private static final MethodHandle NEW_BATCH_MERGER_USING_VIRTUAL_THREADS;
+
+    private static final MethodHandle MERGE_ALL;
+
+    private static final MethodHandle CLOSE_BATCH_MERGER;
+
+    static {
+        try {
+            MethodHandles.Lookup lookup = MethodHandles.publicLookup();
+            Class<?> intervalClass = Class.forName("Interval");
+            Class<?> mergerClass = Class.forName("IntervalMerger");
+
+            NEW_INTERVAL = lookup.findConstructor(intervalClass, MethodType.methodType(void.class, double.class,
+                    double.class)).asType(MethodType.methodType(Object.class, double.class, double.class));
+            NEW_MERGER = lookup.findConstructor(mergerClass, MethodType.methodType(void.class))
+                    .asType(MethodType.methodType(Object.class));
+            MERGE_INTERVAL_LIST = lookup.findVirtual(mergerClass, "merge", MethodType.methodType(List.class,
+                    List.class)).asType(MethodType.methodType(List.class, Object.class, List.class));
+            MERGE_ARRAY_INTERVALS = lookup.findVirtual(mergerClass, "merge", MethodType.methodType(List.class,
+                    double[][].class)).asType(MethodType.methodType(List.class, Object.class, double[][].class));
+            MERGE_COLUMN_INTERVALS = lookup.findVirtual(mergerClass, "merge", MethodType.methodType(int.class,
+                    double[].class, double[].class)).asType(MethodType.methodType(int.class, Object.class,
+                    double[].class, double[].class));
+            MERGE_COLUMN_INTERVALS_PARALLEL = lookup.findVirtual(mergerClass, "mergeParallel",
+                    MethodType.methodType(int.class, double[].class, double[].class, int.class))
+                    .asType(MethodType.methodType(int.class, Object.class, double[].class, double[].class, int.class));
+            MERGE_ARRAY_INTERVALS_RADIX = lookup.findVirtual(mergerClass, "mergeUsingRadixSort",
+                    MethodType.methodType(List.class, double[][].class))
+                    .asType(MethodType.methodType(List.class, Object.class, double[][].class));
+            MERGE_COLUMN_INTERVALS_RADIX = lookup.findVirtual(mergerClass, "mergeUsingRadixSort",
+                    MethodType.methodType(int.class, double[].class, double[].class, int.class))
+                    .asType(MethodType.methodType(int.class, Object.class, double[].class, double[].class, int.class));
+            MERGE_COLUMN_INTERVALS_VECTOR = lookup.findVirtual(mergerClass, "mergeUsingVectorScan",
+                    MethodType.methodType(int.class, double[].class, double[].class, int.class))
+                    .asType(MethodType.methodType(int.class, Object.class, double[].class, double[].class, int.class));
+            IS_VECTOR_SCAN_SUPPORTED = lookup.findStatic(mergerClass, "isVectorScanSupported",
+                    MethodType.methodType(boolean.class));
+
+            Class<?> writerClass = Class.forName("IntervalWriter");
+            NEW_INTERVAL_WRITER = lookup.findConstructor(writerClass, MethodType.methodType(void.class,
+                    Writer.class)).asType(MethodType.methodType(Object.class, Writer.class));
+            WRITE_COLUMN_INTERVALS = lookup.findVirtual(writerClass, "write", MethodType.methodType(void.class,
+                    double[].class, double[].class, int.class)).asType(MethodType.methodType(void.class, Object.class,
+                    double[].class, double[].class, int.class));
+            FINISH_INTERVAL_WRITER = lookup.findVirtual(writerClass, "finish", MethodType.methodType(void.class))
+                    .asType(MethodType.methodType(void.class, Object.class));
+
+            Class<?> setClass = Class.forName("IntervalSet");
+            NEW_INTERVAL_SET = lookup.findConstructor(setClass, MethodType.methodType(void.class))
+                    .asType(MethodType.methodType(Object.class));
+            ADD_TO_INTERVAL_SET = lookup.findVirtual(setClass, "add", MethodType.methodType(void.class, double.class,
+                    double.class)).asType(MethodType.methodType(void.class, Object.class, double.class, double.class));
+            Class<?> concurrentSetClass = Class.forName("ConcurrentIntervalSet");
+            NEW_CONCURRENT_INTERVAL_SET = lookup.findConstructor(concurrentSetClass, MethodType.methodType(void.class,
+                    int.class)).asType(MethodType.methodType(Object.class, int.class));
+            ADD_TO_CONCURRENT_INTERVAL_SET = lookup.findVirtual(concurrentSetClass, "add",
+                    MethodType.methodType(void.class, double.class, double.class))
+                    .asType(MethodType.methodType(void.class, Object.class, double.class, double.class));
+
+            Class<?> batchMergerClass = Class.forName("BatchIntervalMerger");
+            NEW_BATCH_MERGER_USING_PLATFORM_THREADS = lookup.findStatic(batchMergerClass, "usingPlatformThreads",
+                    MethodType.methodType(batchMergerClass, int.class))
+                    .asType(MethodType.methodType(Object.class, int.class));
+            NEW_BATCH_MERGER_USING_VIRTUAL_THREADS = lookup.findStatic(batchMergerClass, "usingVirtualThreads",
+                    MethodType.methodType(batchMergerClass)).asType(MethodType.methodType(Object.class));
+            MERGE_ALL = lookup.findVirtual(batchMergerClass, "mergeAll", MethodType.methodType(List.class,
+                    Collection.class)).asType(MethodType.methodType(List.class, Object.class, Collection.class));
+            CLOSE_BATCH_MERGER = lookup.findVirtual(batchMergerClass, "close", MethodType.methodType(void.class))
+                    .asType(MethodType.methodType(void.class, Object.class));
+        } catch (ReflectiveOperationException exception) {
+            throw new ExceptionInInitializerError(exception);
+        }
+    }
+
+    private MergerHandles() {
+    }
+
+    static Object newInterval(final double start, final double end) {
+        try {
+            return (Object) NEW_INTERVAL.invokeExact(start, end);
+        } catch (Throwable throwable) {
+            throw rethrow(throwable);
+        }
+    }
+
+    static Object newMerger() {
+        try {
+            return (Object) NEW_MERGER.invokeExact();
+        } catch (Throwable throwable) {
+            throw rethrow(throwable);
+        }
+    }
+
+    static List<?> merge(final Object merger, final List<Object> intervals) {
+        try {
+            return (List<?>) MERGE_INTERVAL_LIST.invokeExact(merger, (List) intervals);
+        } catch (Throwable throwable) {
+            throw rethrow(throwable);
+        }
+    }
+
+    static List<?> merge(final Object merger, final double[][] intervals) {
+        try {
+            return (List<?>) MERGE_ARRAY_INTERVALS.invokeExact(merger, intervals);
+        } catch (Throwable throwable) {
+            throw rethrow(throwable);
+        }
+    }
+
+    static int merge(final Object merger, final double[] starts, final double[] ends) {
+        try {
+            return (int) MERGE_COLUMN_INTERVALS.invokeExact(merger, starts, ends);
+        } catch (Throwable throwable) {
+            throw rethrow(throwable);
+        }
+    }
+
+    static int mergeParallel(final Object merger, final double[] starts, final double[] ends) {
+        try {
+            return (int) MERGE_COLUMN_INTERVALS_PARALLEL.invokeExact(merger, starts, ends, starts.length);
+        } catch (Throwable throwable) {
+            throw rethrow(throwable);
+        }
+    }
+
+    static List<?> mergeUsingRadixSort(final Object merger, final double[][] intervals) {
+        try {
+            return (List<?>) MERGE_ARRAY_INTERVALS_RADIX.invokeExact(merger, intervals);
+        } catch (Throwable throwable) {
+            throw rethrow(throwable);
+        }
+    }
+
+    static int mergeUsingRadixSort(final Object merger, final double[] starts, final double[] ends) {
+        try {
+            return (int) MERGE_COLUMN_INTERVALS_RADIX.invokeExact(merger, starts, ends, starts.length);
+        } catch (Throwable throwable) {
+            throw rethrow(throwable);
+        }
+    }
+
+    static int mergeUsingVectorScan(final Object merger, final double[] starts, final double[] ends) {
+        try {
+            return (int) MERGE_COLUMN_INTERVALS_VECTOR.invokeExact(merger, starts, ends, starts.length);
+        } catch (Throwable throwable) {
+            throw rethrow(throwable);
+        }
+    }
+
+    static boolean isVectorScanSupported() {
+        try {
+            return (boolean) IS_VECTOR_SCAN_SUPPORTED.invokeExact();
+        } catch (Throwable throwable) {
+            throw rethrow(throwable);
+        }
+    }
+
+    static Object newIntervalWriter(final Writer writer) {
+        try {
+            return (Object) NEW_INTERVAL_WRITER.invokeExact(writer);
+        } catch (Throwable throwable) {
+            throw rethrow(throwable);
+        }
+    }
+
+    static void write(final Object intervalWriter, final double[] starts, final double[] ends, final int length) {
+        try {
+            WRITE_COLUMN_INTERVALS.invokeExact(intervalWriter, starts, ends, length);
+        } catch (Throwable throwable) {
+            throw rethrow(throwable);
+        }
+    }
+
+    static void finish(final Object intervalWriter) {
+        try {
+            FINISH_INTERVAL_WRITER.invokeExact(intervalWriter);
+        } catch (Throwable throwable) {
+            throw rethrow(throwable);
+        }
+    }
+
+    static Object newIntervalSet() {
+        try {
+            return (Object) NEW_INTERVAL_SET.invokeExact();
+        } catch (Throwable throwable) {
+            throw rethrow(throwable);
+        }
+    }
+
+    static void addToIntervalSet(final Object intervalSet, final double start, final double end) {
+        try {
+            ADD_TO_INTERVAL_SET.invokeExact(intervalSet, start, end);
+        } catch (Throwable throwable) {
+            throw rethrow(throwable);
+        }
+    }
+
+    static Object newConcurrentIntervalSet(final int concurrencyLevel) {
+        try {
+            return (Object) NEW_CONCURRENT_INTERVAL_SET.invokeExact(concurrencyLevel);
+        } catch (Throwable throwable) {
+            throw rethrow(throwable);
+        }
+    }
+
+    static void addToConcurrentIntervalSet(final Object intervalSet, final double start, final double end) {
+        try {
+            ADD_TO_CONCURRENT_INTERVAL_SET.invokeExact(intervalSet, start, end);
+        } catch (Throwable throwable) {
+            throw rethrow(throwable);
+        }
+    }
+
+    static Object newBatchMergerUsingPlatformThreads(final int threads) {
+        try {
+            return (Object) NEW_BATCH_MERGER_USING_PLATFORM_THREADS.invokeExact(threads);
+        } catch (Throwable throwable) {
+            throw rethrow(throwable);
+        }
+    }
+
+    static Object newBatchMergerUsingVirtualThreads() {
+        try {
+            return (Object) NEW_BATCH_MERGER_USING_VIRTUAL_THREADS.invokeExact();
+        } catch (Throwable throwable) {
+            throw rethrow(throwable);
+        }
+    }
+
+    static List<?> mergeAll(final Object batchMerger, final Collection<?> inputs) {
+        try {
+            return (List<?>) MERGE_ALL.invokeExact(batchMerger, (Collection) inputs);
+        } catch (Throwable throwable) {
+            throw rethrow(throwable);
+        }
+    }
+
+    static void closeBatchMerger(final Object batchMerger) {
+        try {
+            CLOSE_BATCH_MERGER.invokeExact(batchMerger);
+        } catch (Throwable throwable) {
+            throw rethrow(throwable);
+        }
+    }
+
+    private static RuntimeException rethrow(final Throwable throwable) {
+        if (throwable instanceof RuntimeException) {
+            return (RuntimeException) throwable;
+        }
+        if (throwable instanceof Error) {
+            throw (Error) throwable;
+        }
+        return new IllegalStateException(throwable);
+    }
+}
@@ -0,0 +1,104 @@
+package benchmark;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks merging intervals that are sorted already, so that the linear scan dominates, using the scalar scan and
+ * the scan using the Vector API, e.g. on x86 CPUs supporting AVX2 or AVX-512. The overlap determines how many
+ * intervals start a new merged interval: with {@code DENSE} input, all intervals are merged into one, with
+ * {@code CLUSTERED} input, every 16th interval starts a new one, and with {@code DISJOINT} input, every interval does.
+ * Since merging modifies the arrays, every invocation copies the sorted intervals into reused arrays first, within the
+ * measured method, since a setup per invocation would distort the timing.
+ * {@link VectorScanBenchmark#copySortedColumns()} measures the copy alone, so that its time can be subtracted from the
+ * time of the scan. If the Vector API is not available, the vector mode measures the scalar scan as well, which is
+ * reported when setting up the benchmark.
+ *
+ * @author Karolin Dürr
+ */
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class VectorScanBenchmark {
+
+    /**
+     * The ways the sorted intervals are scanned.
+     */
+    public enum ScanMode {
+        SCALAR, VECTOR
+    }
+
+    /**
+     * How much the sorted intervals overlap.
+     */
+    public enum Overlap {
+        DENSE, CLUSTERED, DISJOINT
+    }
+
+    @Param({"1000000"})
+    int size;
+
+    @Param
+    Overlap overlap;
+
+    @Param
+    ScanMode mode;
+
+    double[] sortedStarts;
+
+    double[] sortedEnds;
+
+    double[] starts;
+
+    double[] ends;
+
+    Object merger;
+
+    @Setup(Level.Trial)
+    public void generate() {
+        this.sortedStarts = new double[this.size];
+        this.sortedEnds = new double[this.size];
+        for (int i = 0; i < this.size; i++) {
+            if (this.overlap == Overlap.DENSE) {
+                this.sortedStarts[i] = i;
+                this.sortedEnds[i] = i + 1 + (i * 7 % 5);
+            } else if (this.overlap == Overlap.CLUSTERED) {
+                this.sortedStarts[i] = (i / 16) * 100.0 + (i % 16);
+                this.sortedEnds[i] = this.sortedStarts[i] + 1 + (i * 7 % 5);
+            } else {
+                this.sortedStarts[i] = i * 10.0;
+                this.sortedEnds[i] = i * 10.0 + 5;
+            }
+        }
+        this.starts = new double[this.size];
+        this.ends = new double[this.size];
+        this.merger = MergerHandles.newMerger();
+        if (this.mode == ScanMode.VECTOR && !MergerHandles.isVectorScanSupported()) {
+            System.out.println("The Vector API is not available, so the scalar scan is measured instead.");
+        }
+    }
+
+    @Benchmark
+    public double[] copySortedColumns() {
+        copy();
+        return this.starts;
+    }
+
+    @Benchmark
+    public int mergeSortedColumns() {
+        copy();
+        if (this.mode == ScanMode.VECTOR) {
+            return MergerHandles.mergeUsingVectorScan(this.merger, this.starts, this.ends);
+        }
+        return MergerHandles.merge(this.merger, this.starts, this.ends);
+    }
+
+    private void copy() {
+        System.arraycopy(this.sortedStarts, 0, this.starts, 0, this.size);
+        System.arraycopy(this.sortedEnds, 0, this.ends, 0, this.size);
+    }
+}
@@ -0,0 +1,205 @@
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Merges many independent lists of {@link Interval}s concurrently, e.g. one list per user or resource. Each list is
+ * merged by {@link IntervalMerger#merge(List)}, so it is sorted and its intervals may be modified, like merging it
+ * directly. The lists are split into chunks of consecutive lists, and every chunk is merged by a task of the executor,
+ * so that small lists do not cause a task each. The results are returned in the order of the input lists, and a list
+ * that cannot be merged only fails its own {@link Result}, not the whole batch.
+ * <p>
+ * The executor can either be provided by the caller or created by a factory method, in which case it is shut down by
+ * {@link BatchIntervalMerger#close()}. On a Java runtime supporting virtual threads, which the program does not
+ * require, {@link BatchIntervalMerger#usingVirtualThreads()} merges every chunk on a virtual thread.
+ *
+ * @author Karolin Dürr
+ */
+public class BatchIntervalMerger implements AutoCloseable {
+
+    /**
+     * The default number of consecutive lists merged by a single task.
+     */
+    public static final int DEFAULT_CHUNK_SIZE = 64;
+
+    private final IntervalMerger merger = new IntervalMerger();
+
+    private final Executor executor;
+
+    private final int chunkSize;
+
+    // only executors created by the factory methods are shut down when the merger is closed
+    private final boolean ownsExecutor;
+
+    /**
+     * Creates a {@code BatchIntervalMerger} merging the lists on the given executor, which is not shut down by
+     * {@link BatchIntervalMerger#close()}.
+     *
+     * @param executor  The executor running the merge tasks.
+     * @param chunkSize The number of consecutive lists merged by a single task.
+     */
+    public BatchIntervalMerger(final Executor executor, final int chunkSize) {
+        this(executor, chunkSize, false);
+    }
+
+    private BatchIntervalMerger(final Executor executor, final int chunkSize, final boolean ownsExecutor) {
+        if (executor == null) {
+            throw new IllegalArgumentException("The executor must not be null.");
+        }
+        if (chunkSize < 1) {
+            throw new IllegalArgumentException("The chunk size must be positive.");
+        }
+        this.executor = executor;
+        this.chunkSize = chunkSize;
+        this.ownsExecutor = ownsExecutor;
+    }
+
+    /**
+     * Creates a {@code BatchIntervalMerger} merging the lists on a new pool of daemon platform threads.
+     *
+     * @param threads The number of threads of the pool.
+     * @return the new merger, which has to be closed to shut down its threads
+     */
+    public static BatchIntervalMerger usingPlatformThreads(final int threads) {
+        if (threads < 1) {
+            throw new IllegalArgumentException("The number of threads must be positive.");
+        }
+        ExecutorService executor = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "interval-merger");
+            thread.setDaemon(true);
+            return thread;
+        });
+        return new BatchIntervalMerger(executor, DEFAULT_CHUNK_SIZE, true);
+    }
+
+    /**
+     * Creates a {@code BatchIntervalMerger} merging every chunk of lists on a new virtual thread, if the Java runtime
+     * supports virtual threads, see {@link BatchIntervalMerger#isVirtualThreadSupported()}. Otherwise, the lists are
+     * merged on a pool of platform threads, one per available processor.
+     *
+     * @return the new merger, which has to be closed to shut down its executor
+     */
+    public static BatchIntervalMerger usingVirtualThreads() {
+        ExecutorService executor = VirtualThreads.newExecutor();
+        if (executor == null) {
+            return usingPlatformThreads(Runtime.getRuntime().availableProcessors());
+        }
+        return new BatchIntervalMerger(executor, DEFAULT_CHUNK_SIZE, true);
+    }
+
+    /**
+     * Returns whether the Java runtime supports virtual threads, which requires Java 21 or later, or the preview
+     * features being enabled on Java 19 and 20.
+     *
+     * @return true, if {@link BatchIntervalMerger#usingVirtualThreads()} uses virtual threads
+     */
+    public static boolean isVirtualThreadSupported() {
+        return VirtualThreads.isSupported();
+    }
+
+    /**
+     * Merges the given lists concurrently and waits for all of them.
+     *
+     * @param inputs The lists of intervals to merge, which may include null or empty lists.
+     * @return the results in the order of the input lists
+     */
+    public List<Result> mergeAll(final Collection<? extends List<Interval>> inputs) {
+        return mergeAllAsync(inputs).join();
+    }
+
+    /**
+     * Merges the given lists concurrently without waiting for them.
+     *
+     * @param inputs The lists of intervals to merge, which may include null or empty lists.
+     * @return a future completed by the results in the order of the input lists, once all lists are merged
+     */
+    public CompletableFuture<List<Result>> mergeAllAsync(final Collection<? extends List<Interval>> inputs) {
+        if (inputs == null || inputs.isEmpty()) {
+            return CompletableFuture.completedFuture(new ArrayList<>());
+        }
+        List<List<Interval>> inputLists = new ArrayList<>(inputs);
+        Result[] results = new Result[inputLists.size()];
+
+        CompletableFuture<?>[] tasks = new CompletableFuture<?>[(inputLists.size() - 1) / this.chunkSize + 1];
+        for (int task = 0; task < tasks.length; task++) {
+            int from = task * this.chunkSize;
+            int to = Math.min(inputLists.size(), from + this.chunkSize);
+            tasks[task] = CompletableFuture.runAsync(() -> mergeChunk(inputLists, from, to, results), this.executor);
+        }
+        // completing the tasks publishes the results written by them
+        return CompletableFuture.allOf(tasks).thenApply(ignored -> Arrays.asList(results));
+    }
+
+    /**
+     * Shuts down the executor, if it has been created by a factory method of this class. Tasks that have already been
+     * submitted are still completed.
+     */
+    @Override
+    public void close() {
+        if (this.ownsExecutor) {
+            ((ExecutorService) this.executor).shutdown();
+        }
+    }
+
+    private void mergeChunk(final List<List<Interval>> inputLists, final int from, final int to,
+                            final Result[] results) {
+        for (int i = from; i < to; i++) {
+            try {
+                results[i] = new Result(this.merger.merge(inputLists.get(i)), null);
+            } catch (Throwable failure) {
+                // isolates the failure of a single list, including errors, from the other lists of the batch, whose
+                // results would otherwise be lost, since a failed task fails the future of the whole batch
+                results[i] = new Result(null, failure);
+            }
+        }
+    }
+
+    /**
+     * The result of merging a single list of a batch, which either includes the merged intervals or the exception or
+     * error that occurred while merging the list.
+     */
+    public static final class Result {
+
+        private final List<Interval> intervals;
+
+        private final Throwable failure;
+
+        private Result(final List<Interval> intervals, final Throwable failure) {
+            this.intervals = intervals;
+            this.failure = failure;
+        }
+
+        /**
+         * Returns whether the list has been merged successfully.
+         *
+         * @return true, if the merged intervals are available
+         */
+        public boolean isSuccessful() {
+            return this.failure == null;
+        }
+
+        /**
+         * Returns the merged intervals of the list.
+         *
+         * @return the merged intervals, sorted by their start boundaries
+         * @throws IllegalStateException if merging the list failed, including the failure as its cause
+         */
+        public List<Interval> getIntervals() {
+            if (this.failure != null) {
+                throw new IllegalStateException("The intervals could not be merged.", this.failure);
+            }
+            return this.intervals;
+        }
+
+        /**
+         * Returns the exception or error that occurred while merging the list.
+         *
+         * @return the exception or error, or null if the list has been merged successfully
+         */
+        public Throwable getFailure() {
+            return this.failure;
+        }
+    }
+}
@@ -0,0 +1,211 @@
+import java.util.*;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * A thread-safe set of intervals, to which many threads can add intervals concurrently, while readers get a consistent
+ * snapshot of the merged intervals.
+ * <p>
+ * The set is striped into several {@link IntervalSet}s, each guarded by its own lock. A thread adds its intervals to
+ * the stripe determined by its id and, if that stripe is currently locked by another thread, tries the following
+ * stripes before it waits, similar to {@link java.util.concurrent.atomic.LongAdder}. Since the stripes are selected
+ * by thread instead of by value range, the distribution of the intervals does not have to be known in advance, and
+ * intervals of different stripes may overlap. They are merged when a snapshot is taken, which locks all stripes in
+ * the same order, so that the snapshot includes exactly the intervals added before it.
+ *
+ * @author Karolin Dürr
+ */
+public class ConcurrentIntervalSet implements IntervalConsumer {
+
+    private final IntervalSet[] stripes;
+
+    private final ReentrantLock[] locks;
+
+    private final int mask;
+
+    /**
+     * Creates an empty {@code ConcurrentIntervalSet} using a stripe count matching the number of available processors.
+     */
+    public ConcurrentIntervalSet() {
+        this(Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Creates an empty {@code ConcurrentIntervalSet}.
+     *
+     * @param concurrencyLevel The expected number of threads adding intervals concurrently, which is rounded up to
+     *                         a power of two to determine the number of stripes.
+     */
+    public ConcurrentIntervalSet(final int concurrencyLevel) {
+        if (concurrencyLevel < 1) {
+            throw new IllegalArgumentException("The concurrency level must be positive.");
+        }
+        int stripeCount = Integer.highestOneBit(Math.min(concurrencyLevel, 1 << 16));
+        if (stripeCount < concurrencyLevel) {
+            stripeCount <<= 1;
+        }
+        this.stripes = new IntervalSet[stripeCount];
+        this.locks = new ReentrantLock[stripeCount];
+        for (int i = 0; i < stripeCount; i++) {
+            this.stripes[i] = new IntervalSet();
+            this.locks[i] = new ReentrantLock();
+        }
+        this.mask = stripeCount - 1;
+    }
+
+    /**
+     * Adds the interval [start,end] to the set. If the end boundary is smaller than the start boundary, the boundaries
+     * are swapped.
+     *
+     * @param start The value of the included starting boundary of the interval.
+     * @param end   The value of the included end boundary of the interval.
+     */
+    public void add(final double start, final double end) {
+        int index = lockStripe();
+        try {
+            this.stripes[index].add(start, end);
+        } finally {
+            this.locks[index].unlock();
+        }
+    }
+
+    /**
+     * Adds the given {@link Interval} to the set. A null interval will be ignored.
+     *
+     * @param interval The interval to add.
+     */
+    public void add(final Interval interval) {
+        if (interval != null) {
+            add(interval.getStart(), interval.getEnd());
+        }
+    }
+
+    /**
+     * Adds the interval [start,end] to the set, so that the set can be used as an {@link IntervalConsumer}.
+     *
+     * @param start The value of the included starting boundary of the interval.
+     * @param end   The value of the included end boundary of the interval.
+     */
+    @Override
+    public void accept(final double start, final double end) {
+        add(start, end);
+    }
+
+    /**
+     * Adds the first {@code length} intervals of the two parallel arrays to the set, holding the lock of a single
+     * stripe. The arrays are not modified.
+     *
+     * @param starts The start boundaries of the intervals.
+     * @param ends   The end boundaries of the intervals.
+     * @param length The number of intervals to add.
+     */
+    public void addAll(final double[] starts, final double[] ends, final int length) {
+        int index = lockStripe();
+        try {
+            this.stripes[index].addAll(starts, ends, length);
+        } finally {
+            this.locks[index].unlock();
+        }
+    }
+
+    /**
+     * Returns a new {@link IntervalSet} including the merged intervals of all intervals added before. All stripes are
+     * locked while their intervals are copied, so that concurrent additions are either completely included or not at
+     * all.
+     *
+     * @return a snapshot of the merged intervals, which is not affected by later additions
+     */
+    public IntervalSet snapshot() {
+        IntervalColumns intervals = new IntervalColumns();
+        lockAllStripes();
+        try {
+            for (IntervalSet stripe : this.stripes) {
+                stripe.forEach(intervals);
+            }
+        } finally {
+            unlockAllStripes();
+        }
+        IntervalSet snapshot = new IntervalSet(intervals.size());
+        snapshot.addAll(intervals.getStarts(), intervals.getEnds(), intervals.size());
+        return snapshot;
+    }
+
+    /**
+     * Passes the merged intervals of a {@link ConcurrentIntervalSet#snapshot()} to the given consumer, ordered by their
+     * start boundaries.
+     *
+     * @param consumer The consumer the merged intervals are passed to.
+     */
+    public void forEach(final IntervalConsumer consumer) {
+        snapshot().forEach(consumer);
+    }
+
+    /**
+     * Returns the merged intervals of a {@link ConcurrentIntervalSet#snapshot()} as a new list.
+     *
+     * @return the merged intervals ordered by their start boundaries
+     */
+    public List<Interval> toList() {
+        return snapshot().toList();
+    }
+
+    /**
+     * Removes all intervals from the set.
+     */
+    public void clear() {
+        lockAllStripes();
+        try {
+            for (IntervalSet stripe : this.stripes) {
+                stripe.clear();
+            }
+        } finally {
+            unlockAllStripes();
+        }
+    }
+
+    /**
+     * Returns the merged intervals of a {@link ConcurrentIntervalSet#snapshot()} in the same format as a list of
+     * {@link Interval}s.
+     *
+     * @return the merged intervals, e.g. {@code [[2,23], [25,30]]}
+     */
+    @Override
+    public String toString() {
+        return snapshot().toString();
+    }
+
+    /**
+     * Locks the stripe of the current thread, or the next stripe that is not locked by another thread. If all stripes
+     * are locked, the thread waits for the lock of its own stripe.
+     */
+    private int lockStripe() {
+        int home = probe();
+        for (int i = 0; i <= this.mask; i++) {
+            int index = (home + i) & this.mask;
+            if (this.locks[index].tryLock()) {
+                return index;
+            }
+        }
+        this.locks[home].lock();
+        return home;
+    }
+
+    private int probe() {
+        // mixes the thread id like SplittableRandom, so that consecutive ids are spread over the stripes
+        long id = Thread.currentThread().getId();
+        id = (id ^ (id >>> 33)) * 0xff51afd7ed558ccdL;
+        id = (id ^ (id >>> 33)) * 0xc4ceb9fe1a85ec53L;
+        return (int) (id ^ (id >>> 33)) & this.mask;
+    }
+
+    private void lockAllStripes() {
+        for (ReentrantLock lock : this.locks) {
+            lock.lock();
+        }
+    }
+
+    private void unlockAllStripes() {
+        for (int i = this.locks.length - 1; i >= 0; i--) {
+            this.locks[i].unlock();
+        }
+    }
+}
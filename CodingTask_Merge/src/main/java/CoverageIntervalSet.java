@@ -0,0 +1,511 @@
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
+import java.util.*;
+
+/**
+ * A multiset of intervals that counts how many intervals cover each value, so that intervals can be removed again, e.g.
+ * cancelled bookings, without merging the remaining intervals from scratch. The covered values, i.e. the values covered
+ * by at least one interval, form the same merged intervals that {@link IntervalMerger#merge(List)} would return for
+ * the intervals added and not removed so far, including intervals touching at a boundary.
+ * <p>
+ * Instead of the intervals themselves, the set stores a counted boundary map: for every distinct boundary, the number
+ * of intervals starting and ending there. The boundaries are the keys of a treap, a binary search tree balanced by
+ * random priorities, whose nodes are kept in parallel primitive arrays like the ones of {@link IntervalSet}. Walking the
+ * boundaries in order, the coverage after a boundary is the number of intervals started so far minus the number of
+ * intervals ended so far, and a merged interval ends exactly at each boundary after which the coverage drops to zero.
+ * Every node therefore additionally stores, for its subtree, the sum of the coverage changes, the minimum coverage
+ * after its boundaries relative to the coverage in front of the subtree, and the number of boundaries reaching that
+ * minimum. Adding and removing an interval updates two boundaries and the summaries along their paths in expected
+ * O(log n), the number of merged intervals is read from the root in O(1), and visiting the merged intervals skips all
+ * subtrees that are covered completely, so that it takes O(m log n) for m merged intervals instead of visiting all
+ * boundaries.
+ * <p>
+ * A {@code CoverageIntervalSet} is not thread-safe.
+ *
+ * @author Karolin Dürr
+ */
+public class CoverageIntervalSet implements IntervalConsumer {
+
+    private static final int NIL = -1;
+
+    private double[] boundaries;
+
+    // The number of intervals starting and ending at the boundary of a node
+    private int[] startCounts;
+
+    private int[] endCounts;
+
+    private int[] left;
+
+    private int[] right;
+
+    private int[] priorities;
+
+    // The summaries of the subtree of a node, see CoverageIntervalSet#update(int)
+    private int[] coverageSums;
+
+    private int[] minCoverages;
+
+    private int[] minCoverageCounts;
+
+    private int root = NIL;
+
+    private int intervalCount;
+
+    // The number of used slots of the arrays; slots of removed nodes are linked by their left index
+    private int capacity;
+
+    private int freeNode = NIL;
+
+    private final SplittableRandom random = new SplittableRandom();
+
+    // The parts of the treap that are split off, see CoverageIntervalSet#split(int, double, boolean)
+    private int splitLeft;
+
+    private int splitRight;
+
+    /**
+     * Creates an empty {@code CoverageIntervalSet}.
+     */
+    public CoverageIntervalSet() {
+        this(16);
+    }
+
+    /**
+     * Creates an empty {@code CoverageIntervalSet} that can store {@code initialCapacity} distinct boundaries before
+     * growing.
+     *
+     * @param initialCapacity The initial number of distinct boundaries that can be stored.
+     */
+    public CoverageIntervalSet(final int initialCapacity) {
+        if (initialCapacity < 0) {
+            throw new IllegalArgumentException("The initial capacity must not be negative.");
+        }
+        this.boundaries = new double[initialCapacity];
+        this.startCounts = new int[initialCapacity];
+        this.endCounts = new int[initialCapacity];
+        this.left = new int[initialCapacity];
+        this.right = new int[initialCapacity];
+        this.priorities = new int[initialCapacity];
+        this.coverageSums = new int[initialCapacity];
+        this.minCoverages = new int[initialCapacity];
+        this.minCoverageCounts = new int[initialCapacity];
+    }
+
+    /**
+     * Adds the interval [start,end] to the set. The same interval can be added several times and then has to be removed
+     * as often. If the given start and end values are reversed, they will be switched.
+     *
+     * @param start The value of the included starting boundary of the interval.
+     * @param end   The value of the included end boundary of the interval.
+     */
+    public void add(final double start, final double end) {
+        double intervalStart = start;
+        double intervalEnd = end;
+        if (Double.compare(intervalStart, intervalEnd) > 0) {
+            intervalStart = end;
+            intervalEnd = start;
+        }
+        updateCounts(intervalStart, 1, 0);
+        updateCounts(intervalEnd, 0, 1);
+        this.intervalCount++;
+    }
+
+    /**
+     * Adds the given {@link Interval} to the set, see {@link CoverageIntervalSet#add(double, double)}. Null will be
+     * ignored.
+     *
+     * @param interval The interval to add.
+     */
+    public void add(final Interval interval) {
+        if (interval != null) {
+            add(interval.getStart(), interval.getEnd());
+        }
+    }
+
+    /**
+     * Adds the interval [start,end] to the set, see {@link CoverageIntervalSet#add(double, double)}.
+     *
+     * @param start The value of the included starting boundary of the interval.
+     * @param end   The value of the included end boundary of the interval.
+     */
+    @Override
+    public void accept(final double start, final double end) {
+        add(start, end);
+    }
+
+    /**
+     * Removes the interval [start,end] from the set once, so that the values only covered by this interval are not
+     * covered anymore. If the given start and end values are reversed, they will be switched.
+     * <p>
+     * Since only the boundaries are stored, an interval that has not been added is only detected if removing it would
+     * leave an interval ending before it starts, e.g. removing [1,4] after adding [1,2] and [3,4]. Removing [1,4] after
+     * adding [1,3] and [2,4], however, is accepted and leaves [2,3], as if [1,4] and [2,3] had been added.
+     *
+     * @param start The value of the included starting boundary of the interval.
+     * @param end   The value of the included end boundary of the interval.
+     * @return true, if the interval has been removed, or false if it has not been added to the set
+     */
+    public boolean remove(final double start, final double end) {
+        double intervalStart = start;
+        double intervalEnd = end;
+        if (Double.compare(intervalStart, intervalEnd) > 0) {
+            intervalStart = end;
+            intervalEnd = start;
+        }
+
+        // splits the treap into the boundaries before the interval, the ones from its start to before its end, and
+        // the ones from its end on
+        split(this.root, intervalStart, false);
+        int before = this.splitLeft;
+        split(this.splitRight, intervalEnd, false);
+        int within = this.splitLeft;
+        int after = this.splitRight;
+
+        int startNode = first(within != NIL ? within : after);
+        int endNode = first(after);
+        boolean removable = startNode != NIL && Double.compare(this.boundaries[startNode], intervalStart) == 0
+                && this.startCounts[startNode] > 0
+                && endNode != NIL && Double.compare(this.boundaries[endNode], intervalEnd) == 0
+                && this.endCounts[endNode] > 0
+                // without the interval, the coverage must not become negative within it
+                && (within == NIL || sum(before) + this.minCoverages[within] >= 1);
+        this.root = join(join(before, within), after);
+
+        if (removable) {
+            updateCounts(intervalStart, -1, 0);
+            updateCounts(intervalEnd, 0, -1);
+            this.intervalCount--;
+        }
+        return removable;
+    }
+
+    /**
+     * Removes the given {@link Interval} from the set once, see {@link CoverageIntervalSet#remove(double, double)}.
+     *
+     * @param interval The interval to remove.
+     * @return true, if the interval has been removed, or false if it is null or has not been added to the set
+     */
+    public boolean remove(final Interval interval) {
+        return interval != null && remove(interval.getStart(), interval.getEnd());
+    }
+
+    /**
+     * Returns the number of intervals covering the given value.
+     *
+     * @param value The value to look up.
+     * @return the number of intervals including the value
+     */
+    public int coverageAt(final double value) {
+        // the intervals starting at or before the value minus the ones ending before it
+        int coverage = 0;
+        int node = this.root;
+        while (node != NIL) {
+            int comparison = Double.compare(this.boundaries[node], value);
+            if (comparison < 0) {
+                coverage += sum(this.left[node]) + this.startCounts[node] - this.endCounts[node];
+                node = this.right[node];
+            } else if (comparison == 0) {
+                return coverage + sum(this.left[node]) + this.startCounts[node];
+            } else {
+                node = this.left[node];
+            }
+        }
+        return coverage;
+    }
+
+    /**
+     * Returns whether the given value is included in at least one interval of the set.
+     *
+     * @param value The value to look up.
+     * @return true, if the value is covered
+     */
+    public boolean isCovered(final double value) {
+        return coverageAt(value) > 0;
+    }
+
+    /**
+     * Returns the number of intervals that have been added and not removed yet.
+     *
+     * @return the number of intervals
+     */
+    public int getIntervalCount() {
+        return this.intervalCount;
+    }
+
+    /**
+     * Returns the number of disjoint merged intervals covered by the set, which is read from the summary of the treap
+     * without visiting the intervals.
+     *
+     * @return the number of merged intervals
+     */
+    public int getCoveredIntervalCount() {
+        // the coverage is zero after the last boundary, so the minimum of a non-empty set is always zero
+        return this.root == NIL ? 0 : this.minCoverageCounts[this.root];
+    }
+
+    /**
+     * Returns whether the set includes no intervals.
+     *
+     * @return true if the set is empty
+     */
+    public boolean isEmpty() {
+        return this.intervalCount == 0;
+    }
+
+    /**
+     * Removes all intervals from the set.
+     */
+    public void clear() {
+        this.root = NIL;
+        this.intervalCount = 0;
+        this.capacity = 0;
+        this.freeNode = NIL;
+    }
+
+    /**
+     * Passes the disjoint merged intervals covered by the set to the given consumer, sorted by their start boundaries.
+     *
+     * @param consumer Receives the merged intervals.
+     */
+    public void forEachCovered(final IntervalConsumer consumer) {
+        double[] openStart = new double[1];
+        visitCovered(this.root, 0, openStart, consumer);
+    }
+
+    /**
+     * Returns the disjoint merged intervals covered by the set as a list of new {@link Interval}s, sorted by their
+     * start boundaries.
+     *
+     * @return a list including the merged intervals
+     */
+    public List<Interval> toList() {
+        List<Interval> intervals = new ArrayList<>(getCoveredIntervalCount());
+        forEachCovered((start, end) -> intervals.add(new Interval(start, end)));
+        return intervals;
+    }
+
+    /**
+     * Copies the merged intervals covered by the set into a {@link MergedIntervalIndex}, e.g. to answer queries while
+     * intervals keep being added and removed.
+     *
+     * @return the index of the merged intervals
+     */
+    public MergedIntervalIndex toIndex() {
+        int count = getCoveredIntervalCount();
+        double[] mergedStarts = new double[count];
+        double[] mergedEnds = new double[count];
+        int[] index = {0};
+        forEachCovered((start, end) -> {
+            mergedStarts[index[0]] = start;
+            mergedEnds[index[0]] = end;
+            index[0]++;
+        });
+        return MergedIntervalIndex.fromMergedIntervals(mergedStarts, mergedEnds, count);
+    }
+
+    /**
+     * Returns the merged intervals covered by the set using the same format as printing a list of {@link Interval}s,
+     * e.g. {@code [[2,23], [25,30]]}.
+     *
+     * @return the merged intervals as a string
+     */
+    @Override
+    public String toString() {
+        StringWriter output = new StringWriter();
+        try (IntervalWriter writer = new IntervalWriter(output)) {
+            forEachCovered(writer);
+        } catch (IOException exception) {
+            throw new UncheckedIOException(exception);
+        }
+        return output.toString();
+    }
+
+    /**
+     * Visits the boundaries of the subtree of the given node in order, where {@code coverage} is the coverage in front
+     * of the subtree and {@code openStart} holds the start of the merged interval that is open. A merged interval
+     * starts at a boundary in front of which the coverage is zero and ends at a boundary after which it is zero again,
+     * so that a subtree whose minimum coverage is positive neither ends a merged interval nor starts one after its
+     * first boundary, and is skipped.
+     */
+    private void visitCovered(final int node, final int coverage, final double[] openStart,
+                              final IntervalConsumer consumer) {
+        if (node == NIL) {
+            return;
+        }
+        if (coverage + this.minCoverages[node] > 0) {
+            if (coverage == 0) {
+                openStart[0] = this.boundaries[first(node)];
+            }
+            return;
+        }
+        visitCovered(this.left[node], coverage, openStart, consumer);
+        int coverageBefore = coverage + sum(this.left[node]);
+        if (coverageBefore == 0) {
+            openStart[0] = this.boundaries[node];
+        }
+        int coverageAfter = coverageBefore + this.startCounts[node] - this.endCounts[node];
+        if (coverageAfter == 0) {
+            consumer.accept(openStart[0], this.boundaries[node]);
+        }
+        visitCovered(this.right[node], coverageAfter, openStart, consumer);
+    }
+
+    /**
+     * Adds the given numbers of starting and ending intervals to the counts of the given boundary, creating its node if
+     * it does not exist yet and releasing it if no interval starts or ends there anymore.
+     */
+    private void updateCounts(final double boundary, final int addedStarts, final int addedEnds) {
+        split(this.root, boundary, false);
+        int before = this.splitLeft;
+        split(this.splitRight, boundary, true);
+        int node = this.splitLeft;
+        int after = this.splitRight;
+
+        if (node == NIL) {
+            node = createNode(boundary);
+        }
+        this.startCounts[node] += addedStarts;
+        this.endCounts[node] += addedEnds;
+        if (this.startCounts[node] == 0 && this.endCounts[node] == 0) {
+            release(node);
+            node = NIL;
+        } else {
+            update(node);
+        }
+        this.root = join(join(before, node), after);
+    }
+
+    /**
+     * Splits the treap of the given node into the boundaries before the given one, or at or before it if
+     * {@code inclusive} is set, stored in splitLeft, and the remaining boundaries, stored in splitRight.
+     */
+    private void split(final int node, final double boundary, final boolean inclusive) {
+        if (node == NIL) {
+            this.splitLeft = NIL;
+            this.splitRight = NIL;
+            return;
+        }
+        int comparison = Double.compare(this.boundaries[node], boundary);
+        if (comparison < 0 || (inclusive && comparison == 0)) {
+            split(this.right[node], boundary, inclusive);
+            this.right[node] = this.splitLeft;
+            this.splitLeft = node;
+        } else {
+            split(this.left[node], boundary, inclusive);
+            this.left[node] = this.splitRight;
+            this.splitRight = node;
+        }
+        update(node);
+    }
+
+    /**
+     * Joins two treaps, where all boundaries of the first one are ordered before the ones of the second one.
+     */
+    private int join(final int first, final int second) {
+        if (first == NIL) {
+            return second;
+        }
+        if (second == NIL) {
+            return first;
+        }
+        if (this.priorities[first] > this.priorities[second]) {
+            this.right[first] = join(this.right[first], second);
+            update(first);
+            return first;
+        }
+        this.left[second] = join(first, this.left[second]);
+        update(second);
+        return second;
+    }
+
+    /**
+     * Recomputes the summaries of the subtree of the given node from the ones of its children: the sum of the coverage
+     * changes, the minimum coverage after a boundary relative to the coverage in front of the subtree, and the number
+     * of boundaries reaching that minimum.
+     */
+    private void update(final int node) {
+        int leftChild = this.left[node];
+        int rightChild = this.right[node];
+        int coverage = sum(leftChild) + this.startCounts[node] - this.endCounts[node];
+
+        int minCoverage = coverage;
+        int minCoverageCount = 1;
+        if (leftChild != NIL) {
+            if (this.minCoverages[leftChild] < minCoverage) {
+                minCoverage = this.minCoverages[leftChild];
+                minCoverageCount = this.minCoverageCounts[leftChild];
+            } else if (this.minCoverages[leftChild] == minCoverage) {
+                minCoverageCount += this.minCoverageCounts[leftChild];
+            }
+        }
+        if (rightChild != NIL) {
+            int rightMinCoverage = coverage + this.minCoverages[rightChild];
+            if (rightMinCoverage < minCoverage) {
+                minCoverage = rightMinCoverage;
+                minCoverageCount = this.minCoverageCounts[rightChild];
+            } else if (rightMinCoverage == minCoverage) {
+                minCoverageCount += this.minCoverageCounts[rightChild];
+            }
+        }
+
+        this.coverageSums[node] = coverage + sum(rightChild);
+        this.minCoverages[node] = minCoverage;
+        this.minCoverageCounts[node] = minCoverageCount;
+    }
+
+    private int sum(final int node) {
+        return node == NIL ? 0 : this.coverageSums[node];
+    }
+
+    private int first(final int node) {
+        if (node == NIL) {
+            return NIL;
+        }
+        int first = node;
+        while (this.left[first] != NIL) {
+            first = this.left[first];
+        }
+        return first;
+    }
+
+    private int createNode(final double boundary) {
+        int node = this.freeNode;
+        if (node != NIL) {
+            this.freeNode = this.left[node];
+        } else {
+            ensureCapacity(this.capacity + 1);
+            node = this.capacity++;
+        }
+        this.boundaries[node] = boundary;
+        this.startCounts[node] = 0;
+        this.endCounts[node] = 0;
+        this.left[node] = NIL;
+        this.right[node] = NIL;
+        this.priorities[node] = this.random.nextInt();
+        return node;
+    }
+
+    private void release(final int node) {
+        this.left[node] = this.freeNode;
+        this.freeNode = node;
+    }
+
+    private void ensureCapacity(final int requiredCapacity) {
+        if (requiredCapacity <= this.boundaries.length) {
+            return;
+        }
+        int newCapacity = (int) Math.min(Integer.MAX_VALUE - 8,
+                Math.max(requiredCapacity, Math.max(16, 2L * this.boundaries.length)));
+        this.boundaries = Arrays.copyOf(this.boundaries, newCapacity);
+        this.startCounts = Arrays.copyOf(this.startCounts, newCapacity);
+        this.endCounts = Arrays.copyOf(this.endCounts, newCapacity);
+        this.left = Arrays.copyOf(this.left, newCapacity);
+        this.right = Arrays.copyOf(this.right, newCapacity);
+        this.priorities = Arrays.copyOf(this.priorities, newCapacity);
+        this.coverageSums = Arrays.copyOf(this.coverageSums, newCapacity);
+        this.minCoverages = Arrays.copyOf(this.minCoverages, newCapacity);
+        this.minCoverageCounts = Arrays.copyOf(this.minCoverageCounts, newCapacity);
+    }
+}
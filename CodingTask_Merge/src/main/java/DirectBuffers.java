@@ -0,0 +1,58 @@
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.nio.ByteBuffer;
+
+/**
+ * Releases the memory of direct and mapped {@link ByteBuffer}s immediately, instead of waiting for the garbage
+ * collector to collect the buffers, which may take long if the heap is barely used. Unmapping a file also allows it to
+ * be deleted on Windows, and frees its pages and address space right away.
+ * <p>
+ * Java 9 and later provide {@code sun.misc.Unsafe#invokeCleaner} for this, which is looked up reflectively. If it is
+ * not available, releasing a buffer has no effect, and the memory is released once the buffer is collected.
+ *
+ * @author Karolin Dürr
+ */
+final class DirectBuffers {
+
+    private static final Method INVOKE_CLEANER;
+
+    private static final Object UNSAFE;
+
+    static {
+        Method invokeCleaner = null;
+        Object unsafe = null;
+        try {
+            Class<?> unsafeClass = Class.forName("sun.misc.Unsafe");
+            Field theUnsafe = unsafeClass.getDeclaredField("theUnsafe");
+            theUnsafe.setAccessible(true);
+            unsafe = theUnsafe.get(null);
+            invokeCleaner = unsafeClass.getMethod("invokeCleaner", ByteBuffer.class);
+        } catch (ReflectiveOperationException | RuntimeException exception) {
+            // the memory is released once the garbage collector collects the buffers
+            invokeCleaner = null;
+            unsafe = null;
+        }
+        INVOKE_CLEANER = invokeCleaner;
+        UNSAFE = unsafe;
+    }
+
+    private DirectBuffers() {
+    }
+
+    /**
+     * Releases the memory of the given buffer, which must not be used afterwards, neither directly nor through one of
+     * its views.
+     *
+     * @param buffer A direct or mapped buffer, which is neither a slice nor a duplicate of another buffer.
+     */
+    static void release(final ByteBuffer buffer) {
+        if (INVOKE_CLEANER == null || buffer == null || !buffer.isDirect()) {
+            return;
+        }
+        try {
+            INVOKE_CLEANER.invoke(UNSAFE, buffer);
+        } catch (ReflectiveOperationException exception) {
+            // the memory is released once the garbage collector collects the buffer
+        }
+    }
+}
@@ -0,0 +1,147 @@
+import java.math.RoundingMode;
+import java.text.DecimalFormat;
+import java.text.DecimalFormatSymbols;
+import java.text.FieldPosition;
+import java.util.Locale;
+
+/**
+ * Formats {@code double} values like a {@link DecimalFormat} using the pattern {@code 0.######} and English symbols,
+ * meaning with at most six decimal places, rounded half-even, and without trailing zeros. In contrast to
+ * {@link DecimalFormat}, the formatter writes the characters directly to a given array and does not allocate any
+ * objects for common values.
+ * <p>
+ * A value whose absolute value is smaller than 10^9 is scaled by 10^6 and rounded to a {@code long}. The scaling is
+ * exact except for a rounding error of at most half an ulp, so the result only differs from the exact decimal value,
+ * if the scaled value is closer than that to a tie between two integers. These rare values, as well as big values,
+ * NaN and infinity, are formatted by a cached {@link DecimalFormat}, so that the output is always identical.
+ * <p>
+ * A {@code DoubleFormatter} is not thread-safe.
+ *
+ * @author Karolin Dürr
+ */
+public final class DoubleFormatter {
+
+    /**
+     * The maximum number of characters of a formatted value, e.g. for -{@link Double#MAX_VALUE}, which is formatted
+     * using 309 integer digits.
+     */
+    public static final int MAX_LENGTH = 320;
+
+    private static final String PATTERN = "0.######";
+
+    private static final int FRACTION_DIGITS = 6;
+
+    private static final double SCALE = 1e6;
+
+    private static final long SCALE_LONG = 1_000_000L;
+
+    // Scaled values stay below 10^15, so that their fraction is computed exactly and an ulp is at most 0.125
+    private static final double FAST_PATH_LIMIT = 1e9;
+
+    private final DecimalFormat decimalFormat = new DecimalFormat(PATTERN, new DecimalFormatSymbols(Locale.ENGLISH));
+
+    private final StringBuffer fallbackBuffer = new StringBuffer(MAX_LENGTH);
+
+    private final FieldPosition fieldPosition = new FieldPosition(0);
+
+    private final char[] chars = new char[MAX_LENGTH];
+
+    /**
+     * Creates a {@code DoubleFormatter}.
+     */
+    public DoubleFormatter() {
+        this.decimalFormat.setRoundingMode(RoundingMode.HALF_EVEN);
+    }
+
+    /**
+     * Writes the formatted value to the given array, beginning at {@code offset}.
+     *
+     * @param value  The value to format.
+     * @param target The array the characters are written to, has to provide space for at least
+     *               {@link DoubleFormatter#MAX_LENGTH} characters behind {@code offset}.
+     * @param offset The index the first character is written to.
+     * @return the index behind the last written character
+     */
+    public int format(final double value, final char[] target, final int offset) {
+        double absolute = Math.abs(value);
+        if (!(absolute < FAST_PATH_LIMIT)) {
+            // big values, NaN and infinity
+            return formatUsingDecimalFormat(value, target, offset);
+        }
+
+        double scaled = absolute * SCALE;
+        double fraction = scaled - Math.floor(scaled);
+        if (Math.abs(fraction - 0.5) <= 2 * Math.ulp(scaled)) {
+            // too close to a tie to decide the rounding direction based on the inexactly scaled value
+            return formatUsingDecimalFormat(value, target, offset);
+        }
+        long rounded = (long) Math.floor(scaled + 0.5);
+
+        int position = offset;
+        // like DecimalFormat, negative values keep their sign, even if they are rounded to zero
+        if (Double.doubleToRawLongBits(value) < 0) {
+            target[position++] = '-';
+        }
+        position = appendDigits(rounded / SCALE_LONG, target, position);
+
+        long decimals = rounded % SCALE_LONG;
+        if (decimals != 0) {
+            int length = FRACTION_DIGITS;
+            while (decimals % 10 == 0) {
+                decimals /= 10;
+                length--;
+            }
+            target[position] = '.';
+            for (int i = length; i > 0; i--) {
+                target[position + i] = (char) ('0' + decimals % 10);
+                decimals /= 10;
+            }
+            position += length + 1;
+        }
+        return position;
+    }
+
+    /**
+     * Appends the formatted value to the given builder.
+     *
+     * @param value   The value to format.
+     * @param builder The builder the characters are appended to.
+     * @return the given builder
+     */
+    public StringBuilder format(final double value, final StringBuilder builder) {
+        int length = format(value, this.chars, 0);
+        return builder.append(this.chars, 0, length);
+    }
+
+    /**
+     * Returns the formatted value.
+     *
+     * @param value The value to format.
+     * @return the formatted value
+     */
+    public String format(final double value) {
+        int length = format(value, this.chars, 0);
+        return new String(this.chars, 0, length);
+    }
+
+    private int formatUsingDecimalFormat(final double value, final char[] target, final int offset) {
+        this.fallbackBuffer.setLength(0);
+        this.decimalFormat.format(value, this.fallbackBuffer, this.fieldPosition);
+        int length = this.fallbackBuffer.length();
+        this.fallbackBuffer.getChars(0, length, target, offset);
+        return offset + length;
+    }
+
+    private static int appendDigits(final long value, final char[] target, final int offset) {
+        int length = 1;
+        for (long remaining = value / 10; remaining != 0; remaining /= 10) {
+            length++;
+        }
+        long remaining = value;
+        for (int i = offset + length - 1; i >= offset; i--) {
+            target[i] = (char) ('0' + remaining % 10);
+            remaining /= 10;
+        }
+        return offset + length;
+    }
+}
@@ -0,0 +1,231 @@
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+
+/**
+ * The class allows merging the overlapping intervals of a file that does not fit into memory. Input, output and the
+ * temporary runs are interval files as defined by {@link IntervalFileFormat}, which are read using the
+ * {@link IntervalFileReader} and written using the {@link IntervalFileWriter}.
+ * <p>
+ * The file is read in chunks that fit into the configured memory budget. Each chunk is merged using the column-wise
+ * {@link IntervalMerger#merge(double[], double[], int)} and spilled as a sorted run to the temporary directory. Since
+ * merging a chunk consisting of a few sorted runs, e.g. of concatenated sorted files, requires two temporary arrays of
+ * the chunk size, a chunk only takes half of the memory budget.
+ * Afterwards, the runs are merged using a k-way merge, whose heap always holds the next interval of each run, and the
+ * resulting sorted stream is merged by a {@link StreamingIntervalMerger}. If there are more runs than can be read at
+ * once, groups of runs are merged into bigger runs first.
+ *
+ * @author Karolin Dürr
+ */
+public class ExternalIntervalMerger {
+
+    // The maximum number of runs that are merged at once, limiting the number of open files and read buffers
+    static final int MAX_FAN_IN = 128;
+
+    // The bytes of the memory budget per interval of a chunk, including the temporary arrays for merging sorted runs
+    static final int CHUNK_BYTES_PER_INTERVAL = 2 * IntervalFileFormat.INTERVAL_BYTES;
+
+    private final Path tempDirectory;
+
+    private final int chunkSize;
+
+    private final IntervalMerger intervalMerger = new IntervalMerger();
+
+    /**
+     * Creates an {@code ExternalIntervalMerger} spilling its runs to the given directory.
+     *
+     * @param tempDirectory The directory the temporary runs are written to, e.g. on a local disk.
+     * @param memoryBudget  The number of bytes that may be used for merging a chunk. A chunk therefore includes
+     *                      {@code memoryBudget / 32} intervals, leaving space for the temporary arrays of merging
+     *                      sorted runs.
+     */
+    public ExternalIntervalMerger(final Path tempDirectory, final long memoryBudget) {
+        if (tempDirectory == null) {
+            throw new IllegalArgumentException("The temporary directory must not be null.");
+        }
+        if (memoryBudget < 2 * CHUNK_BYTES_PER_INTERVAL) {
+            throw new IllegalArgumentException("The memory budget must provide space for at least two intervals.");
+        }
+        this.tempDirectory = tempDirectory;
+        this.chunkSize = (int) Math.min(Integer.MAX_VALUE - 8, memoryBudget / CHUNK_BYTES_PER_INTERVAL);
+    }
+
+    /**
+     * Merges the overlapping intervals of the input file and writes the merged intervals, sorted by their starting
+     * boundaries, to the output file. If the given start and end values of an interval are reversed, they will be
+     * switched. The output file is only replaced once the merge succeeded, see
+     * {@link IntervalFileWriter#write(Path, Path, IntervalFileWriter.Content)}.
+     *
+     * @param inputFile  The interval file including the intervals.
+     * @param outputFile The interval file the merged intervals are written to, will be replaced if it exists.
+     * @return The number of merged intervals written to the output file.
+     * @throws IOException              if a file cannot be read or written, or the input file is no valid interval file
+     * @throws IllegalArgumentException if the output file is the input file
+     */
+    public long merge(final Path inputFile, final Path outputFile) throws IOException {
+        try {
+            return IntervalFileWriter.write(inputFile, outputFile, writer -> merge(inputFile, writer));
+        } catch (UncheckedIOException exception) {
+            throw exception.getCause();
+        }
+    }
+
+    /**
+     * Merges the overlapping intervals of the input file and passes the merged intervals, sorted by their starting
+     * boundaries, to the given consumer. If the given start and end values of an interval are reversed, they will be
+     * switched.
+     *
+     * @param inputFile              The interval file including the intervals.
+     * @param mergedIntervalConsumer Receives the merged intervals.
+     * @throws IOException if a file cannot be read or written, or the input file is no valid interval file
+     */
+    public void merge(final Path inputFile, final IntervalConsumer mergedIntervalConsumer) throws IOException {
+        List<Path> runs = new ArrayList<>();
+        try {
+            try (IntervalFileReader reader = new IntervalFileReader(inputFile)) {
+                int capacity = (int) Math.min(this.chunkSize, Math.max(1, reader.getCount()));
+                double[] starts = new double[capacity];
+                double[] ends = new double[capacity];
+
+                int length;
+                while ((length = reader.read(starts, ends, 0, capacity)) > 0) {
+                    int count = this.intervalMerger.merge(starts, ends, length);
+
+                    if (runs.isEmpty() && reader.getPosition() == reader.getCount()) {
+                        // the whole input fits into a single chunk, which does not have to be spilled
+                        for (int i = 0; i < count; i++) {
+                            mergedIntervalConsumer.accept(starts[i], ends[i]);
+                        }
+                        return;
+                    }
+                    runs.add(writeRun(starts, ends, count));
+                }
+            }
+
+            // reduces the number of runs until they can be merged at once
+            while (runs.size() > MAX_FAN_IN) {
+                List<Path> mergedRuns = new ArrayList<>();
+                try {
+                    for (int from = 0; from < runs.size(); from += MAX_FAN_IN) {
+                        List<Path> group = runs.subList(from, Math.min(from + MAX_FAN_IN, runs.size()));
+                        mergedRuns.add(group.size() == 1 ? group.get(0) : mergeRuns(group));
+                    }
+                } catch (IOException | RuntimeException exception) {
+                    for (Path run : mergedRuns) {
+                        Files.deleteIfExists(run);
+                    }
+                    throw exception;
+                }
+                runs = mergedRuns;
+            }
+
+            StreamingIntervalMerger streamingMerger = new StreamingIntervalMerger(mergedIntervalConsumer);
+            mergeRuns(runs, streamingMerger);
+            streamingMerger.finish();
+        } finally {
+            for (Path run : runs) {
+                Files.deleteIfExists(run);
+            }
+        }
+    }
+
+    private Path writeRun(final double[] starts, final double[] ends, final int length) throws IOException {
+        Path run = Files.createTempFile(this.tempDirectory, "intervals-run-", ".bin");
+        try (IntervalFileWriter writer = new IntervalFileWriter(run)) {
+            writer.write(starts, ends, length);
+        } catch (IOException exception) {
+            Files.deleteIfExists(run);
+            throw exception;
+        }
+        return run;
+    }
+
+    /**
+     * Merges the given runs into a new run and deletes them afterwards.
+     */
+    private Path mergeRuns(final List<Path> runs) throws IOException {
+        Path mergedRun = Files.createTempFile(this.tempDirectory, "intervals-run-", ".bin");
+        try (IntervalFileWriter writer = new IntervalFileWriter(mergedRun)) {
+            StreamingIntervalMerger streamingMerger = new StreamingIntervalMerger(writer);
+            mergeRuns(runs, streamingMerger);
+            streamingMerger.finish();
+        } catch (IOException | RuntimeException exception) {
+            Files.deleteIfExists(mergedRun);
+            if (exception instanceof UncheckedIOException) {
+                throw ((UncheckedIOException) exception).getCause();
+            }
+            throw exception;
+        }
+
+        for (Path run : runs) {
+            Files.deleteIfExists(run);
+        }
+        return mergedRun;
+    }
+
+    /**
+     * Passes the intervals of all given runs in sorted order to the consumer. The heap includes the indices of the runs
+     * that have intervals left, ordered by their next interval.
+     */
+    private static void mergeRuns(final List<Path> runs, final IntervalConsumer consumer) throws IOException {
+        int runCount = runs.size();
+        IntervalFileReader[] readers = new IntervalFileReader[runCount];
+        double[] nextStarts = new double[runCount];
+        double[] nextEnds = new double[runCount];
+        int[] heap = new int[runCount];
+        int heapSize = 0;
+
+        try {
+            for (int run = 0; run < runCount; run++) {
+                readers[run] = new IntervalFileReader(runs.get(run));
+                if (readers[run].read(nextStarts, nextEnds, run, 1) > 0) {
+                    heap[heapSize++] = run;
+                }
+            }
+            for (int node = heapSize / 2 - 1; node >= 0; node--) {
+                siftDown(heap, heapSize, node, nextStarts, nextEnds);
+            }
+
+            while (heapSize > 0) {
+                int run = heap[0];
+                consumer.accept(nextStarts[run], nextEnds[run]);
+
+                if (readers[run].read(nextStarts, nextEnds, run, 1) == 0) {
+                    heap[0] = heap[--heapSize];
+                }
+                siftDown(heap, heapSize, 0, nextStarts, nextEnds);
+            }
+        } finally {
+            for (IntervalFileReader reader : readers) {
+                if (reader != null) {
+                    reader.close();
+                }
+            }
+        }
+    }
+
+    private static void siftDown(final int[] heap, final int heapSize, final int root, final double[] nextStarts,
+                                 final double[] nextEnds) {
+        int node = root;
+        int run = heap[node];
+        while (true) {
+            int child = 2 * node + 1;
+            if (child >= heapSize) {
+                break;
+            }
+            if (child + 1 < heapSize && IntervalArrays.compare(nextStarts[heap[child + 1]], nextEnds[heap[child + 1]],
+                    nextStarts[heap[child]], nextEnds[heap[child]]) < 0) {
+                child++;
+            }
+            if (IntervalArrays.compare(nextStarts[run], nextEnds[run], nextStarts[heap[child]],
+                    nextEnds[heap[child]]) <= 0) {
+                break;
+            }
+            heap[node] = heap[child];
+            node = child;
+        }
+        heap[node] = run;
+    }
+}
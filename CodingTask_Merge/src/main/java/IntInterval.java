@@ -0,0 +1,139 @@
+import java.util.logging.Logger;
+
+/**
+ * An object representing Intervals whose boundaries are ints, such as [0,10]. In contrast to {@link Interval},
+ * comparing integral boundaries is cheaper and they can be stored more compactly.
+ *
+ * @author Karolin Dürr
+ */
+public class IntInterval implements Comparable<IntInterval> {
+
+    private final static Logger LOGGER = Logger.getLogger(IntInterval.class.getName());
+
+    private int start;
+
+    private int end;
+
+    /**
+     * Creates an {@code IntInterval} object with the given {@code start} and {@code end} values. These values represent
+     * the included boundaries of the Interval. If the given start and end values are reversed, the value of the
+     * {@code end} parameter becomes the actual {@code start} value and vice versa. If start and end value are equal,
+     * the Interval represents a single integer.
+     *
+     * @param start The value of the included starting boundary of the interval.
+     * @param end   The value of the included end boundary of the interval.
+     */
+    public IntInterval(final int start, final int end) {
+        this.start = Math.min(start, end);
+        this.end = Math.max(end, start);
+    }
+
+    /**
+     * Sets the start boundary of the interval, if the new value is smaller than or equal to the current
+     * {@link IntInterval#getEnd()}
+     * value.
+     *
+     * @param newStart The new included starting boundary of the interval.
+     */
+    public void setStart(final int newStart) {
+        if (newStart <= this.getEnd()) {
+            this.start = newStart;
+            return;
+        }
+        LOGGER.info("New start boundary was invalid since it was >= the current end boundary of the interval.");
+    }
+
+    /**
+     * Sets the end boundary of the interval, if the new value is bigger than or equal to the current
+     * {@link IntInterval#getStart()}
+     * value.
+     *
+     * @param newEnd The new included end boundary of the interval.
+     */
+    public void setEnd(final int newEnd) {
+        if (newEnd >= this.getStart()) {
+            this.end = newEnd;
+            return;
+        }
+        LOGGER.info("New end boundary was invalid since it was <= the current start boundary of the interval.");
+    }
+
+    /**
+     * Returns the included start value of the interval, e.g. for the interval [0,10] the getter returns 0.
+     *
+     * @return the interval's included start value
+     */
+    public int getStart() {
+        return this.start;
+    }
+
+    /**
+     * Returns the included end value of the interval, e.g. for the interval [0,10] the getter returns 10.
+     *
+     * @return the interval's included end value
+     */
+    public int getEnd() {
+        return this.end;
+    }
+
+    /**
+     * Returns the current interval as a {@link String} using the format [start,end].
+     *
+     * @return current interval
+     */
+    @Override
+    public String toString() {
+        return "[" + this.getStart() + "," + this.getEnd() + "]";
+    }
+
+    @Override
+    public boolean equals(final Object object) {
+        if (this == object) {
+            return true;
+        }
+
+        if (object == null || getClass() != object.getClass()) {
+            return false;
+        }
+
+        IntInterval interval = (IntInterval) object;
+        return start == interval.getStart() && end == interval.getEnd();
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * Integer.hashCode(start) + Integer.hashCode(end);
+    }
+
+    /**
+     * Compares whether the current interval is smaller, equal or greater to the compared one. First, the start values
+     * are compared. If the start value is smaller compared to the start value of the compared interval then {@code
+     * -1} is
+     * returned, and if the value is bigger {@code 1}. Whereas, when the start values are equal, then the end values are
+     * compared. If the end value is smaller, {@code -1} is returned, if it is the same {@code 0} and otherwise
+     * {@code 1}.
+     *
+     * @param intervalToCompare The {@link IntInterval} to which the current interval is being compared
+     * @return -1 if the compared interval is bigger, 0 if they are equal, and 1 if the compare one is smaller
+     */
+    @Override
+    public int compareTo(final IntInterval intervalToCompare) {
+        if (intervalToCompare == null) {
+            return 1;
+        }
+
+        int comparedStartBoundaries = Integer.compare(this.getStart(), intervalToCompare.getStart());
+        if (comparedStartBoundaries < 0) {
+            return -1;
+        } else if (comparedStartBoundaries == 0) {
+            int comparedEndBoundaries = Integer.compare(this.getEnd(), intervalToCompare.getEnd());
+            if (comparedEndBoundaries == 0) {
+                return 0;
+            } else if (comparedEndBoundaries < 0) {
+                return -1;
+            }
+            return 1;
+        }
+        return 1;
+    }
+}
@@ -0,0 +1,229 @@
+import java.util.*;
+
+/**
+ * The class allows merging overlapping intervals whose boundaries are {@code int} values, such as integer slot ids.
+ * In contrast to the {@link IntervalMerger}, each interval is packed into a single {@code long}, the start boundary
+ * in the upper and the end boundary in the lower 32 bits, so that sorting the packed values with a radix sort orders
+ * the intervals by their start and then their end boundaries. Since integers are discrete, the merger can optionally
+ * merge adjacent intervals as well, e.g. [1,3] and [4,6] to [1,6].
+ *
+ * @author Karolin Dürr
+ */
+public class IntIntervalMerger {
+
+    private final boolean mergeAdjacent;
+
+    /**
+     * Creates an {@code IntIntervalMerger} that only merges overlapping intervals, including intervals that touch each
+     * other like [1,3] and [3,6].
+     */
+    public IntIntervalMerger() {
+        this(false);
+    }
+
+    /**
+     * Creates an {@code IntIntervalMerger}, which additionally merges adjacent intervals, if {@code mergeAdjacent} is
+     * true. Adjacent intervals, such as [1,3] and [4,6], do not share a boundary, but there is no integer in between.
+     *
+     * @param mergeAdjacent Whether intervals that are adjacent to each other should be merged as well.
+     */
+    public IntIntervalMerger(final boolean mergeAdjacent) {
+        this.mergeAdjacent = mergeAdjacent;
+    }
+
+    /**
+     * Merges the overlapping {@link IntInterval}s included in a given input {@link List}. If the list parameter is
+     * empty or null, an empty {@link List} will be returned. Otherwise, the returned list contains new
+     * {@link IntInterval}s representing the merged intervals, sorted by their starting boundaries. Null elements
+     * within the list will be ignored. Neither the given list nor its intervals are modified.
+     *
+     * @param inputIntervals A {@link List} including {@link IntInterval}s.
+     * @return A sorted list including the {@link IntInterval}s after merging the overlapping ones.
+     */
+    public List<IntInterval> merge(final List<IntInterval> inputIntervals) {
+        if (inputIntervals == null || inputIntervals.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        long[] packedIntervals = new long[inputIntervals.size()];
+        int length = 0;
+        for (IntInterval interval : inputIntervals) {
+            if (interval == null) {
+                // ignore invalid input included in the input list
+                continue;
+            }
+            packedIntervals[length++] = pack(interval.getStart(), interval.getEnd());
+        }
+
+        int count = sortAndMerge(packedIntervals, length);
+        List<IntInterval> resultIntervals = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            resultIntervals.add(new IntInterval(unpackStart(packedIntervals[i]), unpackEnd(packedIntervals[i])));
+        }
+        return resultIntervals;
+    }
+
+    /**
+     * Merges the overlapping intervals included in a given input array. If the input parameter is empty or null, an
+     * empty {@link List} will be returned. Otherwise, the returned list contains new arrays representing the merged
+     * intervals, sorted by their starting boundaries. Invalid input within the array will be ignored and reversed
+     * boundaries are switched. The given array is not modified.
+     *
+     * @param inputIntervals A 2D-array including intervals. An interval is represented as another array including
+     *                       exactly two elements, e.g. [1,10].
+     * @return A sorted list including the intervals after merging the overlapping ones.
+     */
+    public List<int[]> merge(final int[][] inputIntervals) {
+        if (inputIntervals == null || inputIntervals.length == 0) {
+            return new ArrayList<>();
+        }
+
+        long[] packedIntervals = new long[inputIntervals.length];
+        int length = 0;
+        for (int[] interval : inputIntervals) {
+            if (interval == null || interval.length != 2) {
+                // ignore invalid input included in the input array
+                continue;
+            }
+            packedIntervals[length++] = pack(Math.min(interval[0], interval[1]), Math.max(interval[0], interval[1]));
+        }
+
+        int count = sortAndMerge(packedIntervals, length);
+        List<int[]> resultIntervals = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            resultIntervals.add(new int[]{unpackStart(packedIntervals[i]), unpackEnd(packedIntervals[i])});
+        }
+        return resultIntervals;
+    }
+
+    /**
+     * Merges the overlapping intervals given as two parallel arrays, where the interval at index i is represented by
+     * {@code [starts[i],ends[i]]}. After the call, the first n elements of the arrays contain the merged intervals,
+     * sorted by their starting boundaries, where n is the returned number of merged intervals. If the given start and
+     * end values of an interval are reversed, they will be switched.
+     *
+     * @param starts The start boundaries of the intervals.
+     * @param ends   The end boundaries of the intervals, has to have the same length as {@code starts}.
+     * @return The number of merged intervals at the beginning of the arrays, or 0 if one of the arrays is null.
+     */
+    public int merge(final int[] starts, final int[] ends) {
+        if (starts == null || ends == null) {
+            return 0;
+        }
+        if (starts.length != ends.length) {
+            throw new IllegalArgumentException("The arrays including the start and end boundaries must have the " +
+                    "same length.");
+        }
+        return merge(starts, ends, starts.length, starts, ends);
+    }
+
+    /**
+     * Merges the overlapping intervals included in the first {@code length} elements of the two parallel arrays in
+     * place, see {@link IntIntervalMerger#merge(int[], int[])}. Elements at an index &gt;= {@code length} are not
+     * modified.
+     *
+     * @param starts The start boundaries of the intervals.
+     * @param ends   The end boundaries of the intervals.
+     * @param length The number of intervals included in the arrays.
+     * @return The number of merged intervals at the beginning of the arrays, or 0 if one of the arrays is null.
+     */
+    public int merge(final int[] starts, final int[] ends, final int length) {
+        return merge(starts, ends, length, starts, ends);
+    }
+
+    /**
+     * Merges the overlapping intervals included in the first {@code length} elements of the two parallel arrays, and
+     * writes the merged intervals, sorted by their starting boundaries, to the beginning of the given output arrays,
+     * which may also be the input arrays themselves. The input arrays are not modified otherwise. Sorting the packed
+     * intervals requires two temporary {@code long} arrays with {@code length} elements.
+     *
+     * @param starts       The start boundaries of the intervals.
+     * @param ends         The end boundaries of the intervals.
+     * @param length       The number of intervals included in the arrays.
+     * @param mergedStarts The array the start boundaries of the merged intervals are written to, has to provide space
+     *                     for at least {@code length} intervals.
+     * @param mergedEnds   The array the end boundaries of the merged intervals are written to, has to provide space
+     *                     for at least {@code length} intervals.
+     * @return The number of merged intervals written to the output arrays, or 0 if one of the input arrays is null.
+     */
+    public int merge(final int[] starts, final int[] ends, final int length, final int[] mergedStarts,
+                     final int[] mergedEnds) {
+        if (starts == null || ends == null || length <= 0) {
+            return 0;
+        }
+        if (length > starts.length || length > ends.length) {
+            throw new IllegalArgumentException("The given length " + length + " exceeds the length of the arrays " +
+                    "including the boundaries.");
+        }
+        if (mergedStarts == null || mergedEnds == null || mergedStarts.length < length || mergedEnds.length < length) {
+            throw new IllegalArgumentException("The output arrays have to provide space for at least " + length +
+                    " intervals.");
+        }
+
+        long[] packedIntervals = new long[length];
+        for (int i = 0; i < length; i++) {
+            packedIntervals[i] = pack(Math.min(starts[i], ends[i]), Math.max(starts[i], ends[i]));
+        }
+
+        int count = sortAndMerge(packedIntervals, length);
+        for (int i = 0; i < count; i++) {
+            mergedStarts[i] = unpackStart(packedIntervals[i]);
+            mergedEnds[i] = unpackEnd(packedIntervals[i]);
+        }
+        return count;
+    }
+
+    /**
+     * Sorts the packed intervals and merges the overlapping ones in place.
+     *
+     * @return the number of merged intervals at the beginning of the array
+     */
+    private int sortAndMerge(final long[] packedIntervals, final int length) {
+        if (length == 0) {
+            return 0;
+        }
+        RadixIntervalSort.sort(packedIntervals, null, length);
+
+        int count = 0;
+        int currentStart = unpackStart(packedIntervals[0]);
+        int currentEnd = unpackEnd(packedIntervals[0]);
+
+        /* Since the intervals are sorted, if the current interval does not overlap with the previously merged one,
+        any following interval can also not overlap with the previous one. */
+        for (int i = 1; i < length; i++) {
+            int start = unpackStart(packedIntervals[i]);
+            int end = unpackEnd(packedIntervals[i]);
+
+            if (start > currentEnd && !(this.mergeAdjacent && start - 1 == currentEnd)) {
+                // Intervals do not overlap --> store the previously merged interval and continue with the next pair
+                packedIntervals[count++] = pack(currentStart, currentEnd);
+                currentStart = start;
+                currentEnd = end;
+                continue;
+            }
+
+            // Previous interval includes or touches the start boundary of the current interval --> merge intervals
+            currentEnd = Math.max(currentEnd, end);
+        }
+        packedIntervals[count++] = pack(currentStart, currentEnd);
+        return count;
+    }
+
+    /**
+     * Packs an interval into a {@code long}, such that comparing the packed values as signed values orders the
+     * intervals by their start, and then by their end boundaries. Therefore, the start boundary is stored in the
+     * upper 32 bits, and the end boundary, whose sign bit is flipped to order it like an unsigned value, in the lower
+     * 32 bits.
+     */
+    private static long pack(final int start, final int end) {
+        return ((long) start << 32) | ((end ^ Integer.MIN_VALUE) & 0xFFFFFFFFL);
+    }
+
+    private static int unpackStart(final long packedInterval) {
+        return (int) (packedInterval >> 32);
+    }
+
+    private static int unpackEnd(final long packedInterval) {
+        return (int) packedInterval ^ Integer.MIN_VALUE;
+    }
+}
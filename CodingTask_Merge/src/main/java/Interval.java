@@ -1,6 +1,3 @@
-import java.text.DecimalFormat;
-import java.text.DecimalFormatSymbols;
-import java.util.Locale;
 import java.util.logging.Logger;
 
 /**
@@ -12,6 +9,9 @@ public class Interval implements Comparable<Interval> {
 
     private final static Logger LOGGER = Logger.getLogger(Interval.class.getName());
 
+    // DoubleFormatter is not thread-safe, so each thread reuses its own instance
+    private final static ThreadLocal<DoubleFormatter> FORMATTER = ThreadLocal.withInitial(DoubleFormatter::new);
+
     private double start;
 
     private double end;
@@ -86,8 +86,10 @@ public class Interval implements Comparable<Interval> {
      */
     @Override
     public String toString() {
-        DecimalFormat decimalFormat = new DecimalFormat("0.######", new DecimalFormatSymbols(Locale.ENGLISH));
-        return "[" + decimalFormat.format(this.getStart()) + "," + decimalFormat.format(this.getEnd()) + "]";
+        DoubleFormatter formatter = FORMATTER.get();
+        StringBuilder builder = new StringBuilder(16).append('[');
+        formatter.format(this.getStart(), builder).append(',');
+        return formatter.format(this.getEnd(), builder).append(']').toString();
     }
 
     @Override
@@ -0,0 +1,333 @@
+/**
+ * Provides the operations used to merge intervals that are stored column-wise in two parallel arrays, one including
+ * the start boundaries and the other one the end boundaries of the intervals. The interval at index i is therefore
+ * represented by {@code [starts[i],ends[i]]}. All operations work on the primitive values directly and, except for
+ * merging sorted runs, do not allocate any objects.
+ *
+ * @author Karolin Dürr
+ */
+final class IntervalArrays {
+
+    // Ranges that are smaller than this threshold are sorted using insertion sort instead of quicksort
+    private static final int INSERTION_SORT_THRESHOLD = 32;
+
+    private IntervalArrays() {
+    }
+
+    /**
+     * If start and end boundaries are reversed for an interval within the given range, they will be switched.
+     *
+     * @param starts The start boundaries of the intervals.
+     * @param ends   The end boundaries of the intervals.
+     * @param from   The index of the first interval, inclusive.
+     * @param to     The index of the last interval, exclusive.
+     * @return the number of intervals whose boundaries have been switched
+     */
+    static int orient(final double[] starts, final double[] ends, final int from, final int to) {
+        int swapCount = 0;
+        for (int i = from; i < to; i++) {
+            if (Double.compare(starts[i], ends[i]) > 0) {
+                double temp = starts[i];
+                starts[i] = ends[i];
+                ends[i] = temp;
+                swapCount++;
+            }
+        }
+        return swapCount;
+    }
+
+    /**
+     * Sorts the intervals within the given range increasingly by comparing their start boundaries, and, if they are
+     * equal, their end boundaries. The values are compared like {@link Double#compare(double, double)} does. The sort
+     * is an introsort, meaning a quicksort that switches to heapsort if the recursion becomes too deep, and thus
+     * guarantees O(n log n) without requiring any additional memory.
+     *
+     * @param starts The start boundaries of the intervals.
+     * @param ends   The end boundaries of the intervals.
+     * @param from   The index of the first interval, inclusive.
+     * @param to     The index of the last interval, exclusive.
+     */
+    static void sort(final double[] starts, final double[] ends, final int from, final int to) {
+        if (to - from < 2) {
+            return;
+        }
+        int maxDepth = 2 * (32 - Integer.numberOfLeadingZeros(to - from));
+        quickSort(starts, ends, from, to - 1, maxDepth);
+    }
+
+    /**
+     * Counts the runs of the first {@code length} intervals, meaning the maximal sequences of intervals whose start
+     * boundaries do not decrease. Counting stops as soon as more than {@code maxRuns} runs have been found.
+     *
+     * @param starts  The start boundaries of the intervals.
+     * @param length  The number of intervals.
+     * @param maxRuns The number of runs, after which counting stops.
+     * @return the number of runs, which is 0 for no intervals, or {@code maxRuns + 1} if there are more runs
+     */
+    static int countRuns(final double[] starts, final int length, final int maxRuns) {
+        if (length <= 0) {
+            return 0;
+        }
+        int runs = 1;
+        for (int i = 1; i < length; i++) {
+            if (Double.compare(starts[i - 1], starts[i]) > 0 && ++runs > maxRuns) {
+                return runs;
+            }
+        }
+        return runs;
+    }
+
+    /**
+     * Sorts the first {@code length} intervals by their start boundaries, if they consist of exactly {@code runCount}
+     * runs, by merging pairs of adjacent runs in log2(runCount) passes, so that it takes O(n log k) for n intervals and
+     * k runs. In contrast to the other operations, merging requires two temporary arrays with {@code length} elements.
+     *
+     * @param starts   The start boundaries of the intervals.
+     * @param ends     The end boundaries of the intervals.
+     * @param length   The number of intervals.
+     * @param runCount The number of runs, as returned by {@link IntervalArrays#countRuns}.
+     */
+    static void mergeRuns(final double[] starts, final double[] ends, final int length, final int runCount) {
+        int[] bounds = new int[runCount + 1];
+        int run = 0;
+        for (int i = 1; i < length; i++) {
+            if (Double.compare(starts[i - 1], starts[i]) > 0) {
+                bounds[++run] = i;
+            }
+        }
+        bounds[runCount] = length;
+
+        double[] sourceStarts = starts;
+        double[] sourceEnds = ends;
+        double[] targetStarts = new double[length];
+        double[] targetEnds = new double[length];
+        int remainingRuns = runCount;
+        while (remainingRuns > 1) {
+            int mergedRuns = 0;
+            for (int left = 0; left < remainingRuns; left += 2) {
+                int low = bounds[left];
+                int middle = bounds[Math.min(left + 1, remainingRuns)];
+                int high = bounds[Math.min(left + 2, remainingRuns)];
+                mergeTwoRuns(sourceStarts, sourceEnds, low, middle, high, targetStarts, targetEnds);
+                // the bound is written behind all bounds that are still read in this pass
+                bounds[++mergedRuns] = high;
+            }
+            remainingRuns = mergedRuns;
+            double[] temp = sourceStarts;
+            sourceStarts = targetStarts;
+            targetStarts = temp;
+            temp = sourceEnds;
+            sourceEnds = targetEnds;
+            targetEnds = temp;
+        }
+        if (sourceStarts != starts) {
+            System.arraycopy(sourceStarts, 0, starts, 0, length);
+            System.arraycopy(sourceEnds, 0, ends, 0, length);
+        }
+    }
+
+    /**
+     * Merges the overlapping intervals within the given range, which has to be sorted by the start boundaries already.
+     * The merged intervals are written to the given output arrays, beginning at {@code offset}. The output arrays may be
+     * the input arrays themselves, as long as {@code offset <= from}, since a merged interval is never written behind
+     * the interval that is currently being read.
+     *
+     * @param starts       The sorted start boundaries of the intervals.
+     * @param ends         The end boundaries of the intervals.
+     * @param from         The index of the first interval, inclusive.
+     * @param to           The index of the last interval, exclusive.
+     * @param mergedStarts The array the start boundaries of the merged intervals are written to.
+     * @param mergedEnds   The array the end boundaries of the merged intervals are written to.
+     * @param offset       The index at which the first merged interval is written.
+     * @return the number of merged intervals that have been written
+     */
+    static int scan(final double[] starts, final double[] ends, final int from, final int to,
+                    final double[] mergedStarts, final double[] mergedEnds, final int offset) {
+        if (from >= to) {
+            return 0;
+        }
+
+        int count = 0;
+        double currentStart = starts[from];
+        double currentEnd = ends[from];
+
+        /* Since the intervals are sorted, if the current interval does not overlap with the previously merged one,
+        any following interval can also not overlap with the previous one. */
+        for (int i = from + 1; i < to; i++) {
+            if (Double.compare(currentEnd, starts[i]) < 0) {
+                // Intervals do not overlap --> write the previously merged interval and continue with the next pair
+                mergedStarts[offset + count] = currentStart;
+                mergedEnds[offset + count] = currentEnd;
+                count++;
+                currentStart = starts[i];
+                currentEnd = ends[i];
+                continue;
+            }
+
+            // Previous interval includes at least the start boundary of the current interval --> merge intervals
+            currentEnd = Math.max(currentEnd, ends[i]);
+        }
+
+        mergedStarts[offset + count] = currentStart;
+        mergedEnds[offset + count] = currentEnd;
+        return count + 1;
+    }
+
+    /**
+     * Checks that the first {@code length} intervals are merged intervals, meaning they are sorted by their start
+     * boundaries, disjoint and do not touch each other. The boundaries are compared like the merge methods compare
+     * them, which keep [x,-0.0] and [0.0,y] apart.
+     *
+     * @param starts The start boundaries of the intervals.
+     * @param ends   The end boundaries of the intervals.
+     * @param length The number of intervals.
+     * @throws IllegalArgumentException if the intervals are not merged or include reversed or NaN boundaries
+     */
+    static void checkMerged(final double[] starts, final double[] ends, final int length) {
+        for (int i = 0; i < length; i++) {
+            if (Double.isNaN(starts[i]) || Double.isNaN(ends[i]) || Double.compare(starts[i], ends[i]) > 0) {
+                throw new IllegalArgumentException("The merged interval at index " + i + " has reversed or NaN " +
+                        "boundaries.");
+            }
+            if (i > 0 && Double.compare(ends[i - 1], starts[i]) >= 0) {
+                throw new IllegalArgumentException("The merged interval at index " + i + " is not disjoint from " +
+                        "and behind its predecessor.");
+            }
+        }
+    }
+
+    /**
+     * Compares two intervals first by their start boundaries, and, if they are equal, by their end boundaries.
+     *
+     * @return a negative value if the first interval is smaller, 0 if they are equal and a positive value otherwise
+     */
+    static int compare(final double start1, final double end1, final double start2, final double end2) {
+        int comparedStartBoundaries = Double.compare(start1, start2);
+        if (comparedStartBoundaries != 0) {
+            return comparedStartBoundaries;
+        }
+        return Double.compare(end1, end2);
+    }
+
+    /**
+     * Swaps the intervals at the indices {@code i} and {@code j}.
+     */
+    static void swap(final double[] starts, final double[] ends, final int i, final int j) {
+        double start = starts[i];
+        double end = ends[i];
+        starts[i] = starts[j];
+        ends[i] = ends[j];
+        starts[j] = start;
+        ends[j] = end;
+    }
+
+    private static void quickSort(final double[] starts, final double[] ends, int low, int high, int depth) {
+        while (high - low >= INSERTION_SORT_THRESHOLD) {
+            if (depth-- == 0) {
+                heapSort(starts, ends, low, high + 1);
+                return;
+            }
+
+            // The median of the first, middle and last interval becomes the pivot, which also places sentinels at
+            // both ends of the range for the partitioning loops below
+            int middle = (low + high) >>> 1;
+            sortTwo(starts, ends, low, middle);
+            sortTwo(starts, ends, middle, high);
+            sortTwo(starts, ends, low, middle);
+            double pivotStart = starts[middle];
+            double pivotEnd = ends[middle];
+
+            int i = low;
+            int j = high;
+            while (i <= j) {
+                while (compare(starts[i], ends[i], pivotStart, pivotEnd) < 0) {
+                    i++;
+                }
+                while (compare(starts[j], ends[j], pivotStart, pivotEnd) > 0) {
+                    j--;
+                }
+                if (i <= j) {
+                    swap(starts, ends, i, j);
+                    i++;
+                    j--;
+                }
+            }
+
+            // Recursion only for the smaller partition, so that the stack depth stays logarithmic
+            if (j - low < high - i) {
+                quickSort(starts, ends, low, j, depth);
+                low = i;
+            } else {
+                quickSort(starts, ends, i, high, depth);
+                high = j;
+            }
+        }
+        insertionSort(starts, ends, low, high);
+    }
+
+    private static void mergeTwoRuns(final double[] starts, final double[] ends, final int low, final int middle,
+                                     final int high, final double[] mergedStarts, final double[] mergedEnds) {
+        int left = low;
+        int right = middle;
+        for (int i = low; i < high; i++) {
+            if (right >= high || (left < middle && Double.compare(starts[left], starts[right]) <= 0)) {
+                mergedStarts[i] = starts[left];
+                mergedEnds[i] = ends[left++];
+            } else {
+                mergedStarts[i] = starts[right];
+                mergedEnds[i] = ends[right++];
+            }
+        }
+    }
+
+    private static void sortTwo(final double[] starts, final double[] ends, final int i, final int j) {
+        if (compare(starts[i], ends[i], starts[j], ends[j]) > 0) {
+            swap(starts, ends, i, j);
+        }
+    }
+
+    private static void insertionSort(final double[] starts, final double[] ends, final int low, final int high) {
+        for (int i = low + 1; i <= high; i++) {
+            double start = starts[i];
+            double end = ends[i];
+            int j = i - 1;
+            while (j >= low && compare(starts[j], ends[j], start, end) > 0) {
+                starts[j + 1] = starts[j];
+                ends[j + 1] = ends[j];
+                j--;
+            }
+            starts[j + 1] = start;
+            ends[j + 1] = end;
+        }
+    }
+
+    private static void heapSort(final double[] starts, final double[] ends, final int from, final int to) {
+        int size = to - from;
+        for (int i = size / 2 - 1; i >= 0; i--) {
+            siftDown(starts, ends, from, i, size);
+        }
+        for (int last = size - 1; last > 0; last--) {
+            swap(starts, ends, from, from + last);
+            siftDown(starts, ends, from, 0, last);
+        }
+    }
+
+    private static void siftDown(final double[] starts, final double[] ends, final int from, int node,
+                                 final int size) {
+        while (true) {
+            int child = 2 * node + 1;
+            if (child >= size) {
+                return;
+            }
+            if (child + 1 < size && compare(starts[from + child], ends[from + child], starts[from + child + 1],
+                    ends[from + child + 1]) < 0) {
+                child++;
+            }
+            if (compare(starts[from + node], ends[from + node], starts[from + child], ends[from + child]) >= 0) {
+                return;
+            }
+            swap(starts, ends, from + node, from + child);
+            node = child;
+        }
+    }
+}
@@ -0,0 +1,200 @@
+import java.nio.DoubleBuffer;
+
+/**
+ * Provides the operations of {@link IntervalArrays} for intervals that are stored interleaved within a
+ * {@link DoubleBuffer}, such as a mapped interval file, where the interval i is represented by the elements at the
+ * indices 2i and 2i+1. All operations use absolute indices, so that they neither depend on nor change the position of
+ * the buffer, and do not allocate any objects.
+ *
+ * @author Karolin Dürr
+ */
+final class IntervalBuffers {
+
+    // Ranges that are smaller than this threshold are sorted using insertion sort instead of quicksort
+    private static final int INSERTION_SORT_THRESHOLD = 32;
+
+    private IntervalBuffers() {
+    }
+
+    /**
+     * If start and end boundaries are reversed for one of the first {@code length} intervals, they will be switched.
+     *
+     * @param intervals The interleaved boundaries of the intervals.
+     * @param length    The number of intervals.
+     * @return the number of intervals whose boundaries have been switched
+     */
+    static int orient(final DoubleBuffer intervals, final int length) {
+        int swapCount = 0;
+        for (int i = 0; i < length; i++) {
+            double start = intervals.get(2 * i);
+            double end = intervals.get(2 * i + 1);
+            if (Double.compare(start, end) > 0) {
+                intervals.put(2 * i, end);
+                intervals.put(2 * i + 1, start);
+                swapCount++;
+            }
+        }
+        return swapCount;
+    }
+
+    /**
+     * Sorts the first {@code length} intervals like {@link IntervalArrays#sort(double[], double[], int, int)} does.
+     *
+     * @param intervals The interleaved boundaries of the intervals.
+     * @param length    The number of intervals.
+     */
+    static void sort(final DoubleBuffer intervals, final int length) {
+        if (length < 2) {
+            return;
+        }
+        int maxDepth = 2 * (32 - Integer.numberOfLeadingZeros(length));
+        quickSort(intervals, 0, length - 1, maxDepth);
+    }
+
+    /**
+     * Merges the overlapping intervals among the first {@code length} intervals, which have to be sorted already, and
+     * writes the merged intervals to the beginning of the buffer.
+     *
+     * @param intervals The interleaved boundaries of the sorted intervals.
+     * @param length    The number of intervals.
+     * @return the number of merged intervals at the beginning of the buffer
+     */
+    static int scan(final DoubleBuffer intervals, final int length) {
+        if (length == 0) {
+            return 0;
+        }
+
+        int count = 0;
+        double currentStart = intervals.get(0);
+        double currentEnd = intervals.get(1);
+
+        /* Since the intervals are sorted, if the current interval does not overlap with the previously merged one,
+        any following interval can also not overlap with the previous one. */
+        for (int i = 1; i < length; i++) {
+            double start = intervals.get(2 * i);
+            if (Double.compare(currentEnd, start) < 0) {
+                // Intervals do not overlap --> write the previously merged interval and continue with the next pair
+                intervals.put(2 * count, currentStart);
+                intervals.put(2 * count + 1, currentEnd);
+                count++;
+                currentStart = start;
+                currentEnd = intervals.get(2 * i + 1);
+                continue;
+            }
+
+            // Previous interval includes at least the start boundary of the current interval --> merge intervals
+            currentEnd = Math.max(currentEnd, intervals.get(2 * i + 1));
+        }
+
+        intervals.put(2 * count, currentStart);
+        intervals.put(2 * count + 1, currentEnd);
+        return count + 1;
+    }
+
+    private static int compare(final DoubleBuffer intervals, final int i, final double start, final double end) {
+        return IntervalArrays.compare(intervals.get(2 * i), intervals.get(2 * i + 1), start, end);
+    }
+
+    private static void swap(final DoubleBuffer intervals, final int i, final int j) {
+        double start = intervals.get(2 * i);
+        double end = intervals.get(2 * i + 1);
+        intervals.put(2 * i, intervals.get(2 * j));
+        intervals.put(2 * i + 1, intervals.get(2 * j + 1));
+        intervals.put(2 * j, start);
+        intervals.put(2 * j + 1, end);
+    }
+
+    private static void quickSort(final DoubleBuffer intervals, int low, int high, int depth) {
+        while (high - low >= INSERTION_SORT_THRESHOLD) {
+            if (depth-- == 0) {
+                heapSort(intervals, low, high + 1);
+                return;
+            }
+
+            // The median of the first, middle and last interval becomes the pivot and the sentinel for both loops
+            int middle = (low + high) >>> 1;
+            sortTwo(intervals, low, middle);
+            sortTwo(intervals, middle, high);
+            sortTwo(intervals, low, middle);
+            double pivotStart = intervals.get(2 * middle);
+            double pivotEnd = intervals.get(2 * middle + 1);
+
+            int i = low;
+            int j = high;
+            while (i <= j) {
+                while (compare(intervals, i, pivotStart, pivotEnd) < 0) {
+                    i++;
+                }
+                while (compare(intervals, j, pivotStart, pivotEnd) > 0) {
+                    j--;
+                }
+                if (i <= j) {
+                    swap(intervals, i, j);
+                    i++;
+                    j--;
+                }
+            }
+
+            // Recursion only for the smaller partition, so that the stack depth stays logarithmic
+            if (j - low < high - i) {
+                quickSort(intervals, low, j, depth);
+                low = i;
+            } else {
+                quickSort(intervals, i, high, depth);
+                high = j;
+            }
+        }
+        insertionSort(intervals, low, high);
+    }
+
+    private static void sortTwo(final DoubleBuffer intervals, final int i, final int j) {
+        if (compare(intervals, i, intervals.get(2 * j), intervals.get(2 * j + 1)) > 0) {
+            swap(intervals, i, j);
+        }
+    }
+
+    private static void insertionSort(final DoubleBuffer intervals, final int low, final int high) {
+        for (int i = low + 1; i <= high; i++) {
+            double start = intervals.get(2 * i);
+            double end = intervals.get(2 * i + 1);
+            int j = i - 1;
+            while (j >= low && compare(intervals, j, start, end) > 0) {
+                intervals.put(2 * j + 2, intervals.get(2 * j));
+                intervals.put(2 * j + 3, intervals.get(2 * j + 1));
+                j--;
+            }
+            intervals.put(2 * j + 2, start);
+            intervals.put(2 * j + 3, end);
+        }
+    }
+
+    private static void heapSort(final DoubleBuffer intervals, final int from, final int to) {
+        int size = to - from;
+        for (int i = size / 2 - 1; i >= 0; i--) {
+            siftDown(intervals, from, i, size);
+        }
+        for (int last = size - 1; last > 0; last--) {
+            swap(intervals, from, from + last);
+            siftDown(intervals, from, 0, last);
+        }
+    }
+
+    private static void siftDown(final DoubleBuffer intervals, final int from, int node, final int size) {
+        while (true) {
+            int child = 2 * node + 1;
+            if (child >= size) {
+                return;
+            }
+            if (child + 1 < size && compare(intervals, from + child, intervals.get(2 * (from + child + 1)),
+                    intervals.get(2 * (from + child + 1) + 1)) < 0) {
+                child++;
+            }
+            if (compare(intervals, from + node, intervals.get(2 * (from + child)),
+                    intervals.get(2 * (from + child) + 1)) >= 0) {
+                return;
+            }
+            swap(intervals, from + node, from + child);
+            node = child;
+        }
+    }
+}
@@ -0,0 +1,102 @@
+import java.util.*;
+
+/**
+ * A growable buffer storing intervals column-wise in two parallel arrays, as expected by
+ * {@link IntervalMerger#merge(double[], double[], int)}. As an {@link IntervalConsumer}, it can collect the intervals
+ * of a parser or reader without creating an object per interval. The arrays grow by doubling their capacity, so
+ * collecting n intervals takes amortized O(1) per interval.
+ *
+ * @author Karolin Dürr
+ */
+public class IntervalColumns implements IntervalConsumer {
+
+    // Some virtual machines reserve header words within an array
+    private static final int MAX_CAPACITY = Integer.MAX_VALUE - 8;
+
+    private double[] starts;
+
+    private double[] ends;
+
+    private int size;
+
+    /**
+     * Creates an empty {@code IntervalColumns} buffer with a default initial capacity.
+     */
+    public IntervalColumns() {
+        this(16);
+    }
+
+    /**
+     * Creates an empty {@code IntervalColumns} buffer that can store {@code initialCapacity} intervals before growing.
+     *
+     * @param initialCapacity The initial number of intervals that can be stored.
+     */
+    public IntervalColumns(final int initialCapacity) {
+        if (initialCapacity < 0) {
+            throw new IllegalArgumentException("The initial capacity must not be negative.");
+        }
+        this.starts = new double[initialCapacity];
+        this.ends = new double[initialCapacity];
+    }
+
+    /**
+     * Appends the interval [start,end] to the buffer.
+     *
+     * @param start The value of the included starting boundary of the interval.
+     * @param end   The value of the included end boundary of the interval.
+     */
+    @Override
+    public void accept(final double start, final double end) {
+        if (this.size == this.starts.length) {
+            grow();
+        }
+        this.starts[this.size] = start;
+        this.ends[this.size] = end;
+        this.size++;
+    }
+
+    /**
+     * Returns the array including the start boundaries, of which the first {@link IntervalColumns#size()} elements
+     * are used. The array is not copied, so it can be merged in place.
+     *
+     * @return the start boundaries of the intervals
+     */
+    public double[] getStarts() {
+        return this.starts;
+    }
+
+    /**
+     * Returns the array including the end boundaries, of which the first {@link IntervalColumns#size()} elements are
+     * used. The array is not copied, so it can be merged in place.
+     *
+     * @return the end boundaries of the intervals
+     */
+    public double[] getEnds() {
+        return this.ends;
+    }
+
+    /**
+     * Returns the number of intervals stored in the buffer.
+     *
+     * @return the number of intervals
+     */
+    public int size() {
+        return this.size;
+    }
+
+    /**
+     * Removes all intervals from the buffer, keeping its capacity.
+     */
+    public void clear() {
+        this.size = 0;
+    }
+
+    private void grow() {
+        if (this.size == MAX_CAPACITY) {
+            throw new IllegalStateException("The buffer cannot store more than " + MAX_CAPACITY + " intervals.");
+        }
+        int capacity = (int) Math.min(MAX_CAPACITY, Math.max(16, 2L * this.starts.length));
+        this.starts = Arrays.copyOf(this.starts, capacity);
+        this.ends = Arrays.copyOf(this.ends, capacity);
+    }
+}
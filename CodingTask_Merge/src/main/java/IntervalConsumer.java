@@ -0,0 +1,18 @@
+/**
+ * Receives intervals given by their included start and end boundaries, e.g. the merged intervals emitted by the
+ * {@link StreamingIntervalMerger}. Passing the boundaries as primitive values avoids creating an {@link Interval}
+ * object for every interval.
+ *
+ * @author Karolin Dürr
+ */
+@FunctionalInterface
+public interface IntervalConsumer {
+
+    /**
+     * Accepts the interval [start,end].
+     *
+     * @param start The value of the included starting boundary of the interval.
+     * @param end   The value of the included end boundary of the interval.
+     */
+    void accept(double start, double end);
+}
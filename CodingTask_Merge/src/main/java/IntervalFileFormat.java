@@ -0,0 +1,67 @@
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/**
+ * Defines the binary interval file format read by the {@link IntervalFileReader} and written by the
+ * {@link IntervalFileWriter}. A file starts with a header of 16 bytes, consisting of the magic bytes {@code IVAL}, the
+ * format version as a 4 byte integer, and the number of intervals as an 8 byte integer. The header is followed by the
+ * intervals, each represented by its start and end boundary as 8 byte {@code double} values. All numbers are stored
+ * in little-endian byte order, which is the native order of common processors, so that a mapped file can be read
+ * without swapping bytes.
+ *
+ * @author Karolin Dürr
+ */
+final class IntervalFileFormat {
+
+    static final int HEADER_BYTES = 16;
+
+    static final int INTERVAL_BYTES = 2 * Double.BYTES;
+
+    static final int VERSION = 1;
+
+    static final ByteOrder BYTE_ORDER = ByteOrder.LITTLE_ENDIAN;
+
+    // "IVAL" read as a little-endian integer
+    private static final int MAGIC = 'I' | 'V' << 8 | 'A' << 16 | 'L' << 24;
+
+    private IntervalFileFormat() {
+    }
+
+    /**
+     * Writes the header for a file including {@code count} intervals to the buffer, starting at its position.
+     *
+     * @param buffer The buffer the header is written to, has to use {@link IntervalFileFormat#BYTE_ORDER}.
+     * @param count  The number of intervals included in the file.
+     */
+    static void putHeader(final ByteBuffer buffer, final long count) {
+        buffer.putInt(MAGIC).putInt(VERSION).putLong(count);
+    }
+
+    /**
+     * Reads the header at the position of the given buffer and validates it against the size of the input, e.g. of a
+     * file or a request body.
+     *
+     * @param buffer    The buffer including the header, has to use {@link IntervalFileFormat#BYTE_ORDER}.
+     * @param source    The description of the input, e.g. {@code "the file intervals.bin"}, used for error messages.
+     * @param inputSize The size of the input in bytes, including the header.
+     * @return the number of intervals included in the input
+     * @throws IOException if the header is invalid or does not match the size of the input
+     */
+    static long getHeader(final ByteBuffer buffer, final String source, final long inputSize) throws IOException {
+        if (buffer.remaining() < HEADER_BYTES || buffer.getInt() != MAGIC) {
+            throw new IOException("No interval file header found in " + source + ".");
+        }
+        int version = buffer.getInt();
+        if (version != VERSION) {
+            throw new IOException("The interval format version " + version + " of " + source + " is not supported.");
+        }
+        long count = buffer.getLong();
+        if (count < 0 || (inputSize - HEADER_BYTES) / INTERVAL_BYTES != count
+                || (inputSize - HEADER_BYTES) % INTERVAL_BYTES != 0) {
+            throw new IOException("The size of " + source + " does not match the " + count +
+                    " intervals stated by its header.");
+        }
+        return count;
+    }
+}
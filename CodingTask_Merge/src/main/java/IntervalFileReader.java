@@ -0,0 +1,195 @@
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.DoubleBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Reads intervals from a file using the binary format defined by {@link IntervalFileFormat}. Instead of copying the
+ * file into buffers, the reader maps it into memory using {@link FileChannel#map(FileChannel.MapMode, long, long)}.
+ * Since a single mapping is limited to 2 GB, bigger files are read sequentially using consecutive mapped segments.
+ * <p>
+ * Files that fit into a single mapping can also be mapped as a whole using
+ * {@link IntervalFileReader#mapIntervals(FileChannel.MapMode)}, so that {@link IntervalMerger#merge(DoubleBuffer)}
+ * merges the intervals directly within the mapped memory.
+ * <p>
+ * The segments mapped for reading sequentially are unmapped explicitly when the next segment is mapped and when the
+ * reader is closed, so that a file can be deleted right after closing its reader, e.g. the runs of the
+ * {@link ExternalIntervalMerger}, without occupying disk and address space until the garbage collector collects the
+ * mappings. Buffers returned by {@link IntervalFileReader#mapIntervals(FileChannel.MapMode)} are not unmapped.
+ *
+ * @author Karolin Dürr
+ */
+public class IntervalFileReader implements Closeable {
+
+    /**
+     * The maximum number of intervals that can be mapped using a single buffer, limited by the maximum capacity of a
+     * {@link ByteBuffer}.
+     */
+    public static final int MAX_MAPPED_INTERVALS = (Integer.MAX_VALUE - IntervalFileFormat.HEADER_BYTES)
+            / IntervalFileFormat.INTERVAL_BYTES;
+
+    // The number of intervals mapped at once while reading sequentially, 1 GB per segment
+    private static final int SEGMENT_INTERVALS = (1 << 30) / IntervalFileFormat.INTERVAL_BYTES;
+
+    private final Path file;
+
+    private final FileChannel channel;
+
+    private final long count;
+
+    private long position;
+
+    private MappedByteBuffer mappedSegment;
+
+    private DoubleBuffer segment;
+
+    /**
+     * Creates an {@code IntervalFileReader} for the given file and validates its header.
+     *
+     * @param file The file including the intervals.
+     * @throws IOException if the file cannot be opened or is no valid interval file
+     */
+    public IntervalFileReader(final Path file) throws IOException {
+        this.file = file;
+        this.channel = FileChannel.open(file, StandardOpenOption.READ);
+        try {
+            ByteBuffer header = ByteBuffer.allocate(IntervalFileFormat.HEADER_BYTES)
+                    .order(IntervalFileFormat.BYTE_ORDER);
+            while (header.hasRemaining() && this.channel.read(header) >= 0) {
+                // reads until the header is complete or the end of the file is reached
+            }
+            header.flip();
+            this.count = IntervalFileFormat.getHeader(header, "the file " + file, this.channel.size());
+        } catch (IOException exception) {
+            this.channel.close();
+            throw exception;
+        }
+    }
+
+    /**
+     * Returns the number of intervals included in the file.
+     *
+     * @return the number of intervals
+     */
+    public long getCount() {
+        return this.count;
+    }
+
+    /**
+     * Returns the number of intervals that have been read sequentially so far.
+     *
+     * @return the index of the next interval to read
+     */
+    public long getPosition() {
+        return this.position;
+    }
+
+    /**
+     * Reads the next intervals of the file into the two parallel arrays, beginning at {@code offset}.
+     *
+     * @param starts The array the start boundaries of the intervals are read into.
+     * @param ends   The array the end boundaries of the intervals are read into.
+     * @param offset The index at which the first interval is stored.
+     * @param length The maximum number of intervals to read.
+     * @return the number of intervals read, which is 0 if the end of the file has been reached
+     * @throws IOException if a segment of the file cannot be mapped
+     */
+    public int read(final double[] starts, final double[] ends, final int offset, final int length)
+            throws IOException {
+        int read = 0;
+        while (read < length && this.position < this.count) {
+            DoubleBuffer intervals = nextSegment();
+            int segmentLength = Math.min(length - read, intervals.remaining() / 2);
+            for (int i = 0; i < segmentLength; i++) {
+                starts[offset + read + i] = intervals.get();
+                ends[offset + read + i] = intervals.get();
+            }
+            read += segmentLength;
+            this.position += segmentLength;
+        }
+        return read;
+    }
+
+    /**
+     * Passes all intervals that have not been read yet to the given consumer.
+     *
+     * @param consumer Receives the intervals in the order of the file.
+     * @throws IOException if a segment of the file cannot be mapped
+     */
+    public void forEach(final IntervalConsumer consumer) throws IOException {
+        while (this.position < this.count) {
+            DoubleBuffer intervals = nextSegment();
+            int segmentLength = intervals.remaining() / 2;
+            for (int i = 0; i < segmentLength; i++) {
+                consumer.accept(intervals.get(), intervals.get());
+            }
+            this.position += segmentLength;
+        }
+    }
+
+    /**
+     * Maps all intervals of the file as a single buffer, including the start and end boundary of the interval i at
+     * the indices 2i and 2i+1. Using {@link FileChannel.MapMode#PRIVATE}, the buffer can be modified without writing
+     * the changes back to the file, e.g. to merge the intervals in place using
+     * {@link IntervalMerger#merge(DoubleBuffer)}. Only pages that are modified are copied.
+     *
+     * @param mode The mode of the mapping.
+     * @return the mapped intervals
+     * @throws IOException if the file includes more than {@link IntervalFileReader#MAX_MAPPED_INTERVALS} intervals or
+     *                     cannot be mapped
+     */
+    public DoubleBuffer mapIntervals(final FileChannel.MapMode mode) throws IOException {
+        if (this.count > MAX_MAPPED_INTERVALS) {
+            throw new IOException("The interval file " + this.file + " includes more than " + MAX_MAPPED_INTERVALS +
+                    " intervals, which cannot be mapped as a single buffer.");
+        }
+        long size = this.count * IntervalFileFormat.INTERVAL_BYTES;
+        if (mode == FileChannel.MapMode.READ_ONLY) {
+            return map(this.channel, mode, IntervalFileFormat.HEADER_BYTES, size);
+        }
+
+        // private and read-write mappings require a channel that is opened for writing as well
+        try (FileChannel writableChannel = FileChannel.open(this.file, StandardOpenOption.READ,
+                StandardOpenOption.WRITE)) {
+            return map(writableChannel, mode, IntervalFileFormat.HEADER_BYTES, size);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        releaseSegment();
+        this.channel.close();
+    }
+
+    /**
+     * Returns the current segment if it still includes intervals, or maps the segment beginning at the current
+     * position otherwise.
+     */
+    private DoubleBuffer nextSegment() throws IOException {
+        if (this.segment == null || !this.segment.hasRemaining()) {
+            long segmentLength = Math.min(SEGMENT_INTERVALS, this.count - this.position);
+            releaseSegment();
+            this.mappedSegment = this.channel.map(FileChannel.MapMode.READ_ONLY,
+                    IntervalFileFormat.HEADER_BYTES + this.position * IntervalFileFormat.INTERVAL_BYTES,
+                    segmentLength * IntervalFileFormat.INTERVAL_BYTES);
+            this.segment = this.mappedSegment.order(IntervalFileFormat.BYTE_ORDER).asDoubleBuffer();
+        }
+        return this.segment;
+    }
+
+    private void releaseSegment() {
+        MappedByteBuffer released = this.mappedSegment;
+        this.mappedSegment = null;
+        this.segment = null;
+        DirectBuffers.release(released);
+    }
+
+    private static DoubleBuffer map(final FileChannel channel, final FileChannel.MapMode mode, final long offset,
+                                    final long size) throws IOException {
+        return channel.map(mode, offset, size).order(IntervalFileFormat.BYTE_ORDER).asDoubleBuffer();
+    }
+}
@@ -0,0 +1,168 @@
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Writes intervals to a file using the binary format defined by {@link IntervalFileFormat}. The intervals are
+ * collected in a direct buffer and written to the file channel whenever the buffer is full. Since the number of
+ * intervals is not known in advance, the header is completed when the writer is closed.
+ * <p>
+ * The writer is an {@link IntervalConsumer}, so that merged intervals can be written directly, e.g. by passing it to
+ * a {@link StreamingIntervalMerger}.
+ *
+ * @author Karolin Dürr
+ */
+public class IntervalFileWriter implements IntervalConsumer, Closeable {
+
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    private final FileChannel channel;
+
+    private final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE).order(IntervalFileFormat.BYTE_ORDER);
+
+    private long count;
+
+    /**
+     * Creates an {@code IntervalFileWriter} for the given file, which will be replaced if it exists.
+     *
+     * @param file The file the intervals are written to.
+     * @throws IOException if the file cannot be opened
+     */
+    public IntervalFileWriter(final Path file) throws IOException {
+        this.channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+                StandardOpenOption.WRITE);
+        // the number of intervals is written when the writer is closed
+        IntervalFileFormat.putHeader(this.buffer, 0);
+    }
+
+    /**
+     * Writes the interval [start,end] to the file.
+     *
+     * @param start The value of the included starting boundary of the interval.
+     * @param end   The value of the included end boundary of the interval.
+     * @throws UncheckedIOException if writing to the file fails
+     */
+    @Override
+    public void accept(final double start, final double end) {
+        if (this.buffer.remaining() < IntervalFileFormat.INTERVAL_BYTES) {
+            try {
+                flush();
+            } catch (IOException exception) {
+                throw new UncheckedIOException(exception);
+            }
+        }
+        this.buffer.putDouble(start).putDouble(end);
+        this.count++;
+    }
+
+    /**
+     * Writes the first {@code length} intervals of the two parallel arrays to the file.
+     *
+     * @param starts The start boundaries of the intervals.
+     * @param ends   The end boundaries of the intervals.
+     * @param length The number of intervals to write.
+     * @throws IOException if writing to the file fails
+     */
+    public void write(final double[] starts, final double[] ends, final int length) throws IOException {
+        for (int i = 0; i < length; i++) {
+            if (this.buffer.remaining() < IntervalFileFormat.INTERVAL_BYTES) {
+                flush();
+            }
+            this.buffer.putDouble(starts[i]).putDouble(ends[i]);
+        }
+        this.count += length;
+    }
+
+    /**
+     * Writes an interval file computed from an input file, e.g. its merged intervals. The intervals are written to a
+     * temporary file in the directory of the output file, which replaces the output file only after it has been written
+     * completely, and is deleted if writing fails. Therefore, the output file is never left with a partial result that
+     * looks complete, and an existing output file is kept if the input cannot be read.
+     *
+     * @param inputFile  The interval file the intervals are computed from.
+     * @param outputFile The interval file the intervals are written to, will be replaced if it exists.
+     * @param content    Writes the intervals to the given writer.
+     * @return the number of intervals written to the output file
+     * @throws IOException              if a file cannot be read or written
+     * @throws IllegalArgumentException if the output file is the input file
+     */
+    static long write(final Path inputFile, final Path outputFile, final Content content) throws IOException {
+        if (Files.exists(outputFile) && Files.isSameFile(inputFile, outputFile)) {
+            throw new IllegalArgumentException("The output file " + outputFile + " must not be the input file.");
+        }
+        Path directory = outputFile.toAbsolutePath().getParent();
+        Path tempFile = Files.createTempFile(directory, outputFile.getFileName() + ".", ".tmp");
+        try {
+            long count;
+            try (IntervalFileWriter writer = new IntervalFileWriter(tempFile)) {
+                content.writeTo(writer);
+                count = writer.getCount();
+            }
+            try {
+                Files.move(tempFile, outputFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException exception) {
+                Files.move(tempFile, outputFile, StandardCopyOption.REPLACE_EXISTING);
+            }
+            return count;
+        } catch (IOException | RuntimeException | Error exception) {
+            Files.deleteIfExists(tempFile);
+            throw exception;
+        }
+    }
+
+    /**
+     * Returns the number of intervals written so far.
+     *
+     * @return the number of written intervals
+     */
+    public long getCount() {
+        return this.count;
+    }
+
+    /**
+     * Writes the remaining intervals and the final header, and closes the file.
+     *
+     * @throws IOException if writing to the file fails
+     */
+    @Override
+    public void close() throws IOException {
+        if (!this.channel.isOpen()) {
+            return;
+        }
+        try {
+            flush();
+            IntervalFileFormat.putHeader(this.buffer, this.count);
+            this.buffer.flip();
+            long position = 0;
+            while (this.buffer.hasRemaining()) {
+                position += this.channel.write(this.buffer, position);
+            }
+        } finally {
+            this.channel.close();
+        }
+    }
+
+    private void flush() throws IOException {
+        this.buffer.flip();
+        while (this.buffer.hasRemaining()) {
+            this.channel.write(this.buffer);
+        }
+        this.buffer.clear();
+    }
+
+    /**
+     * Writes the intervals of a file written by {@link IntervalFileWriter#write(Path, Path, Content)}.
+     */
+    @FunctionalInterface
+    interface Content {
+
+        void writeTo(IntervalFileWriter writer) throws IOException;
+    }
+}
@@ -0,0 +1,26 @@
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * A Java Flight Recorder event emitted for formatting a textual interval list by the {@link IntervalWriter}, e.g. when
+ * the program prints the merged intervals. The event lasts from the first interval of the list until the list is
+ * finished, including passing the characters to the underlying writer.
+ *
+ * @author Karolin Dürr
+ */
+@Name(IntervalFormatEvent.NAME)
+@Label("Interval List Formatting")
+@Category("Interval Merger")
+@Description("Formatting a textual interval list")
+@StackTrace(false)
+final class IntervalFormatEvent extends Event {
+
+    static final String NAME = "intervalmerger.Format";
+
+    @Label("Intervals")
+    long intervalCount;
+}
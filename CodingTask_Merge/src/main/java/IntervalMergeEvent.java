@@ -0,0 +1,113 @@
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * A Java Flight Recorder event emitted for a call of a {@code merge}, {@code mergeUsingRadixSort} or
+ * {@code mergeParallel} method of the {@link IntervalMerger}, so that slow merges can be correlated with garbage
+ * collections and allocations recorded at the same time. Besides the duration of the whole call, the event includes
+ * the durations of its sort and scan phases, the number of input and output intervals, the representation of the
+ * intervals and the sort path.
+ * <p>
+ * If the event is not enabled in the running recording, or no recording is running, the methods of the event only
+ * check whether it is enabled and neither take timestamps nor set any fields.
+ *
+ * @author Karolin Dürr
+ */
+@Name(IntervalMergeEvent.NAME)
+@Label("Interval Merge")
+@Category("Interval Merger")
+@Description("Merging a list of intervals")
+@StackTrace(false)
+final class IntervalMergeEvent extends Event {
+
+    static final String NAME = "intervalmerger.Merge";
+
+    static final String INTERVAL_OBJECTS = "Interval objects";
+
+    static final String ARRAY_INTERVALS = "double[] intervals";
+
+    static final String COLUMN_INTERVALS = "Parallel arrays";
+
+    static final String BUFFER_INTERVALS = "DoubleBuffer";
+
+    static final String OFF_HEAP_INTERVALS = "Off-heap segments";
+
+    // Reported as the sort path of the merge methods using a radix sort instead of detecting sorted runs
+    static final String RADIX_SORT = "RADIX_SORT";
+
+    // Reported as the sort path of the mergeParallel methods, which always sort the intervals completely in parallel
+    static final String PARALLEL_SORT = "PARALLEL_SORT";
+
+    @Label("Representation")
+    @Description("How the intervals are represented, e.g. as Interval objects or parallel arrays")
+    String representation;
+
+    @Label("Sort Path")
+    @Description("How the intervals were brought into order before scanning them")
+    String sortPath;
+
+    @Label("Input Intervals")
+    long inputCount;
+
+    @Label("Output Intervals")
+    long outputCount;
+
+    @Label("Sort Duration")
+    @Timespan
+    long sortDuration;
+
+    @Label("Scan Duration")
+    @Timespan
+    long scanDuration;
+
+    // The start of the current phase, which is not part of the recorded event
+    private transient long phaseStartTime;
+
+    /**
+     * Starts the event and its sort phase.
+     *
+     * @param representation How the merged intervals are represented.
+     */
+    void beginSort(final String representation) {
+        begin();
+        if (isEnabled()) {
+            this.representation = representation;
+            this.phaseStartTime = System.nanoTime();
+        }
+    }
+
+    /**
+     * Ends the sort phase of the event and starts its scan phase.
+     *
+     * @param sortPath How the intervals were brought into order.
+     */
+    void endSort(final String sortPath) {
+        if (isEnabled()) {
+            long now = System.nanoTime();
+            this.sortDuration = now - this.phaseStartTime;
+            this.phaseStartTime = now;
+            this.sortPath = sortPath;
+        }
+    }
+
+    /**
+     * Ends the scan phase and commits the event, if it is enabled and exceeds the threshold of the recording.
+     *
+     * @param inputCount  The number of intervals passed to the merge call.
+     * @param outputCount The number of merged intervals.
+     */
+    void endScan(final long inputCount, final long outputCount) {
+        end();
+        if (shouldCommit()) {
+            this.scanDuration = System.nanoTime() - this.phaseStartTime;
+            this.inputCount = inputCount;
+            this.outputCount = outputCount;
+            commit();
+        }
+    }
+}
@@ -0,0 +1,339 @@
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Merges interval lists sent to {@code POST /merge} using the {@link HttpServer} included in the JDK. The body is
+ * either a textual interval list, such as {@code [[25,30],[2,19],[14,23],[4,8]]}, which is answered by the merged
+ * intervals as text, or, if its content type is {@code application/octet-stream}, intervals in the binary format of
+ * {@link IntervalFileFormat}, which is answered by the merged intervals in the same format. Invalid bodies are
+ * rejected with status 400 and bodies exceeding the maximum body size with status 413.
+ * <p>
+ * Every request is handled on a new virtual thread, if the Java runtime supports them, or by a pool of platform
+ * threads otherwise. Since all responses state their length, clients can send further requests on the same
+ * connection. The parser, the arrays collecting the intervals and the output buffers are kept in workspaces that are
+ * reused by subsequent requests, so that a request only allocates memory if its body is bigger than the previous ones.
+ *
+ * @author Karolin Dürr
+ */
+public class IntervalMergeServer implements AutoCloseable {
+
+    /**
+     * The path of the merge endpoint.
+     */
+    public static final String MERGE_PATH = "/merge";
+
+    /**
+     * The default maximum size of a request body in bytes.
+     */
+    public static final long DEFAULT_MAX_BODY_SIZE = 64L << 20;
+
+    static final String BINARY_CONTENT_TYPE = "application/octet-stream";
+
+    private static final String TEXT_CONTENT_TYPE = "text/plain; charset=utf-8";
+
+    private static final int BLOCK_SIZE = 1 << 16;
+
+    // Workspaces grown beyond these sizes by a big request are not kept, so that they do not occupy memory forever
+    private static final int MAX_RETAINED_INTERVALS = 1 << 20;
+
+    private static final int MAX_RETAINED_OUTPUT_BYTES = 16 << 20;
+
+    private final IntervalMerger merger = new IntervalMerger();
+
+    private final Queue<Workspace> workspaces = new ConcurrentLinkedQueue<>();
+
+    private final HttpServer server;
+
+    private final ExecutorService executor;
+
+    private final long maxBodySize;
+
+    /**
+     * Creates an {@code IntervalMergeServer} listening on the given port of all network interfaces. The server does not
+     * accept requests until it is started.
+     *
+     * @param port        The port to listen on, or 0 to choose a free port.
+     * @param maxBodySize The maximum size of a request body in bytes.
+     * @throws IOException if the server cannot listen on the port
+     */
+    public IntervalMergeServer(final int port, final long maxBodySize) throws IOException {
+        if (maxBodySize < 0) {
+            throw new IllegalArgumentException("The maximum body size must not be negative.");
+        }
+        this.maxBodySize = maxBodySize;
+        this.server = HttpServer.create(new InetSocketAddress(port), 0);
+        ExecutorService executor = VirtualThreads.newExecutor();
+        if (executor == null) {
+            // reading request bodies blocks, so that more threads than processors are used
+            executor = Executors.newFixedThreadPool(2 * Runtime.getRuntime().availableProcessors(), runnable -> {
+                Thread thread = new Thread(runnable, "interval-merge-server");
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+        this.executor = executor;
+        this.server.setExecutor(this.executor);
+        this.server.createContext(MERGE_PATH, this::handle);
+    }
+
+    /**
+     * Starts accepting requests in a background thread.
+     */
+    public void start() {
+        this.server.start();
+    }
+
+    /**
+     * Returns the port the server is listening on, which is useful if the server has been created for port 0.
+     *
+     * @return the port of the server
+     */
+    public int getPort() {
+        return this.server.getAddress().getPort();
+    }
+
+    /**
+     * Stops accepting requests, closes all connections and shuts down the threads handling requests.
+     */
+    @Override
+    public void close() {
+        this.server.stop(0);
+        this.executor.shutdown();
+    }
+
+    private void handle(final HttpExchange exchange) throws IOException {
+        try {
+            if (!MERGE_PATH.equals(exchange.getRequestURI().getPath())) {
+                sendError(exchange, 404, "Unknown path " + exchange.getRequestURI().getPath());
+                return;
+            }
+            if (!"POST".equals(exchange.getRequestMethod())) {
+                exchange.getResponseHeaders().set("Allow", "POST");
+                sendError(exchange, 405, "Intervals have to be sent using POST");
+                return;
+            }
+            String contentLength = exchange.getRequestHeaders().getFirst("Content-Length");
+            long bodySize = contentLength == null ? -1 : Long.parseLong(contentLength.trim());
+            if (bodySize > this.maxBodySize) {
+                sendError(exchange, 413, "The request body exceeds the maximum size of " + this.maxBodySize +
+                        " bytes");
+                return;
+            }
+
+            Workspace workspace = this.workspaces.poll();
+            if (workspace == null) {
+                workspace = new Workspace();
+            }
+            try {
+                workspace.body.reset(exchange.getRequestBody(), this.maxBodySize);
+                if (isBinary(exchange)) {
+                    mergeBinary(exchange, workspace, bodySize);
+                } else {
+                    mergeText(exchange, workspace);
+                }
+            } finally {
+                if (workspace.isRetainable()) {
+                    this.workspaces.offer(workspace);
+                }
+            }
+        } catch (BodyTooLargeException exception) {
+            sendError(exchange, 413, exception.getMessage());
+        } catch (NumberFormatException exception) {
+            sendError(exchange, 400, "Invalid Content-Length header");
+        } catch (IOException | IllegalArgumentException exception) {
+            // the parse exceptions include the offset of the invalid byte
+            sendError(exchange, 400, exception.getMessage());
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private void mergeText(final HttpExchange exchange, final Workspace workspace) throws IOException {
+        IntervalColumns intervals = workspace.intervals;
+        intervals.clear();
+        workspace.parser.reset(workspace.body);
+        workspace.parser.parse(intervals);
+
+        int count = this.merger.merge(intervals.getStarts(), intervals.getEnds(), intervals.size());
+
+        workspace.textOutput.reset();
+        workspace.textWriter.write(intervals.getStarts(), intervals.getEnds(), count);
+        workspace.textWriter.finish();
+        exchange.getResponseHeaders().set("Content-Type", TEXT_CONTENT_TYPE);
+        exchange.sendResponseHeaders(200, workspace.textOutput.size());
+        try (OutputStream output = exchange.getResponseBody()) {
+            workspace.textOutput.writeTo(output);
+        }
+    }
+
+    private void mergeBinary(final HttpExchange exchange, final Workspace workspace, final long bodySize)
+            throws IOException {
+        if (bodySize < 0) {
+            sendError(exchange, 411, "Binary intervals require a Content-Length header");
+            return;
+        }
+        ByteBuffer block = workspace.block;
+        block.clear().limit(IntervalFileFormat.HEADER_BYTES);
+        readFully(workspace.body, block);
+        block.flip();
+        long count = IntervalFileFormat.getHeader(block, "the request body", bodySize);
+
+        IntervalColumns intervals = workspace.intervals;
+        intervals.clear();
+        long unread = count * IntervalFileFormat.INTERVAL_BYTES;
+        block.clear().flip();
+        for (long i = 0; i < count; i++) {
+            if (block.remaining() < IntervalFileFormat.INTERVAL_BYTES) {
+                block.compact();
+                int chunk = (int) Math.min(block.remaining(), unread);
+                block.limit(block.position() + chunk);
+                readFully(workspace.body, block);
+                unread -= chunk;
+                block.flip();
+            }
+            intervals.accept(block.getDouble(), block.getDouble());
+        }
+
+        int merged = this.merger.merge(intervals.getStarts(), intervals.getEnds(), intervals.size());
+
+        exchange.getResponseHeaders().set("Content-Type", BINARY_CONTENT_TYPE);
+        exchange.sendResponseHeaders(200, IntervalFileFormat.HEADER_BYTES +
+                (long) merged * IntervalFileFormat.INTERVAL_BYTES);
+        try (OutputStream output = exchange.getResponseBody()) {
+            block.clear();
+            IntervalFileFormat.putHeader(block, merged);
+            for (int i = 0; i < merged; i++) {
+                if (block.remaining() < IntervalFileFormat.INTERVAL_BYTES) {
+                    output.write(block.array(), 0, block.position());
+                    block.clear();
+                }
+                block.putDouble(intervals.getStarts()[i]).putDouble(intervals.getEnds()[i]);
+            }
+            output.write(block.array(), 0, block.position());
+        }
+    }
+
+    private static boolean isBinary(final HttpExchange exchange) {
+        String contentType = exchange.getRequestHeaders().getFirst("Content-Type");
+        // media types are case-insensitive, and comparing them ignoring the case does not depend on the default locale
+        return contentType != null && contentType.trim().regionMatches(true, 0, BINARY_CONTENT_TYPE, 0,
+                BINARY_CONTENT_TYPE.length());
+    }
+
+    /**
+     * Reads from the channel until the buffer is full, which is expected to be possible before the end of the body.
+     */
+    private static void readFully(final ReadableByteChannel channel, final ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer) < 0) {
+                throw new IOException("The request body ended before all intervals stated by its header were read.");
+            }
+        }
+    }
+
+    private static void sendError(final HttpExchange exchange, final int status, final String message)
+            throws IOException {
+        if (exchange.getResponseCode() != -1) {
+            // the response has been started already, e.g. if the client closed the connection while it was written
+            return;
+        }
+        byte[] body = (message + "\n").getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", TEXT_CONTENT_TYPE);
+        exchange.sendResponseHeaders(status, body.length);
+        try (OutputStream output = exchange.getResponseBody()) {
+            output.write(body);
+        }
+    }
+
+    /**
+     * The buffers used to handle a single request, which are reused by the following requests.
+     */
+    private static final class Workspace {
+
+        private final BodyChannel body = new BodyChannel();
+
+        private final IntervalTextParser parser = new IntervalTextParser(this.body, BLOCK_SIZE);
+
+        private final IntervalColumns intervals = new IntervalColumns();
+
+        private final ByteBuffer block = ByteBuffer.allocate(BLOCK_SIZE).order(IntervalFileFormat.BYTE_ORDER);
+
+        private final ByteArrayOutputStream textOutput = new ByteArrayOutputStream(BLOCK_SIZE);
+
+        private final IntervalWriter textWriter = new IntervalWriter(new OutputStreamWriter(this.textOutput,
+                StandardCharsets.UTF_8));
+
+        private boolean isRetainable() {
+            return this.intervals.getStarts().length <= MAX_RETAINED_INTERVALS
+                    && this.textOutput.size() <= MAX_RETAINED_OUTPUT_BYTES;
+        }
+    }
+
+    /**
+     * Reads a request body as a channel, failing as soon as the body exceeds the maximum size, which covers bodies
+     * without a Content-Length header as well.
+     */
+    private static final class BodyChannel implements ReadableByteChannel {
+
+        private InputStream input;
+
+        private long remaining;
+
+        private long maxBodySize;
+
+        private void reset(final InputStream input, final long maxBodySize) {
+            this.input = input;
+            this.maxBodySize = maxBodySize;
+            this.remaining = maxBodySize;
+        }
+
+        @Override
+        public int read(final ByteBuffer buffer) throws IOException {
+            // one more byte than allowed is requested to detect bodies exceeding the maximum size
+            int length = (int) Math.min(buffer.remaining(), this.remaining + 1);
+            int read = this.input.read(buffer.array(), buffer.arrayOffset() + buffer.position(), length);
+            if (read > 0) {
+                if (read > this.remaining) {
+                    throw new BodyTooLargeException("The request body exceeds the maximum size of " +
+                            this.maxBodySize + " bytes");
+                }
+                this.remaining -= read;
+                buffer.position(buffer.position() + read);
+            }
+            return read;
+        }
+
+        @Override
+        public boolean isOpen() {
+            return true;
+        }
+
+        @Override
+        public void close() {
+            // the body is closed together with the exchange
+        }
+    }
+
+    private static final class BodyTooLargeException extends IOException {
+
+        private static final long serialVersionUID = 1L;
+
+        private BodyTooLargeException(final String message) {
+            super(message);
+        }
+    }
+}
@@ -1,16 +1,97 @@
+import java.nio.DoubleBuffer;
 import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.LongAdder;
 
 /**
- * The class allows merging overlapping {@link Interval}s included in a {@link List} object.
+ * The class allows merging overlapping {@link Interval}s included in a {@link List} object. The durations of the sort
+ * and scan phases and the shape of the merged data are recorded by the {@link MergeMetrics}, if they are enabled, and
+ * by an {@link IntervalMergeEvent} for the Java Flight Recorder.
  *
  * @author Karolin Dürr
  */
 public class IntervalMerger {
 
+    /**
+     * The ways the intervals can be brought into order before they are merged by a linear scan. Before sorting, the
+     * {@code merge} methods count the runs of the input, meaning the maximal sequences of intervals whose start
+     * boundaries do not decrease.
+     */
+    public enum SortPath {
+
+        /**
+         * The input consisted of a single run, so sorting was skipped entirely.
+         */
+        ALREADY_SORTED,
+
+        /**
+         * The input consisted of a few runs, which were merged in O(n log k) for k runs.
+         */
+        RUN_MERGE,
+
+        /**
+         * The input consisted of too many runs, so it was sorted completely.
+         */
+        FULL_SORT
+    }
+
+    /* Runs are only merged if they are at least this long on average, since sorting many short runs is faster. This
+    also limits detecting runs to a fraction of a pass for random input. */
+    private static final int MIN_AVERAGE_RUN_LENGTH = 16;
+
+    private final ForkJoinPool parallelPool;
+
+    private final LongAdder[] sortPathCounts = new LongAdder[SortPath.values().length];
+
+    private volatile SortPath lastSortPath;
+
+    /**
+     * Creates an {@code IntervalMerger} whose {@code mergeParallel} methods use the common {@link ForkJoinPool}.
+     */
+    public IntervalMerger() {
+        this(ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Creates an {@code IntervalMerger} whose {@code mergeParallel} methods use the given {@link ForkJoinPool}, e.g. to
+     * limit the number of cores used for merging.
+     *
+     * @param parallelPool The pool executing the tasks of the parallel merge methods.
+     */
+    public IntervalMerger(final ForkJoinPool parallelPool) {
+        this.parallelPool = Objects.requireNonNull(parallelPool, "The pool for merging in parallel must not be null.");
+        for (int i = 0; i < this.sortPathCounts.length; i++) {
+            this.sortPathCounts[i] = new LongAdder();
+        }
+    }
+
+    /**
+     * Returns the way the intervals were ordered by the last call of a {@code merge} method for a {@link List}, a
+     * 2D-array or parallel arrays of intervals. If the merger is used by several threads concurrently, the path of
+     * any of the last calls is returned.
+     *
+     * @return the last sort path, or null if no intervals have been merged yet
+     */
+    public SortPath getLastSortPath() {
+        return this.lastSortPath;
+    }
+
+    /**
+     * Returns how often the intervals were ordered using the given path by the {@code merge} methods for a
+     * {@link List}, a 2D-array or parallel arrays of intervals, e.g. to confirm that presorted input is detected.
+     *
+     * @param sortPath The sort path to count.
+     * @return the number of merge calls that took the given path
+     */
+    public long getSortPathCount(final SortPath sortPath) {
+        return this.sortPathCounts[sortPath.ordinal()].sum();
+    }
+
     /**
      * Merges the overlapping {@link Interval}s included in a given input {@link List}. If the list parameter is empty
      * or null, an empty {@link List} will be returned. Otherwise, the returned list contains the merged
-     * {@link Interval}s, sorted by their starting boundaries.
+     * {@link Interval}s, sorted by their starting boundaries. The given list is sorted in place, unless it is sorted
+     * already, see {@link SortPath}.
      *
      * @param inputIntervals A {@link List} including {@link Interval}s.
      * @return A sorted list including the {@link Interval}s after merging the overlapping ones.
@@ -21,9 +102,7 @@ public class IntervalMerger {
             return new LinkedList<>();
         }
 
-        // Sorts the list by comparing the intervals' start values, and, if they are equal, the respective end values
-        // of the intervals
-        inputIntervals.sort((interval1, interval2) -> {
+        Comparator<Interval> startComparator = (interval1, interval2) -> {
             if (interval1 == null) {
                 return -1;
             }
@@ -32,10 +111,46 @@ public class IntervalMerger {
                 return 1;
             }
 
-            return interval1.compareTo(interval2);
-        });
+            return Double.compare(interval1.getStart(), interval2.getStart());
+        };
+        IntervalMergeEvent event = new IntervalMergeEvent();
+        event.beginSort(IntervalMergeEvent.INTERVAL_OBJECTS);
+        long startTime = MergeMetrics.startTiming();
+        SortPath sortPath;
+        int runCount = SortedRuns.countRuns(inputIntervals, startComparator, maxRuns(inputIntervals.size()));
+        if (runCount == 1) {
+            sortPath = SortPath.ALREADY_SORTED;
+        } else if (runCount <= maxRuns(inputIntervals.size())) {
+            sortPath = SortPath.RUN_MERGE;
+            Interval[] intervals = inputIntervals.toArray(new Interval[0]);
+            SortedRuns.mergeRuns(intervals, startComparator, runCount);
+            ListIterator<Interval> iterator = inputIntervals.listIterator();
+            for (Interval interval : intervals) {
+                iterator.next();
+                iterator.set(interval);
+            }
+        } else {
+            sortPath = SortPath.FULL_SORT;
+            // Sorts the list by comparing the intervals' start values, and, if they are equal, the respective end
+            // values of the intervals
+            inputIntervals.sort((interval1, interval2) -> {
+                if (interval1 == null) {
+                    return -1;
+                }
+
+                if (interval2 == null) {
+                    return 1;
+                }
+
+                return interval1.compareTo(interval2);
+            });
+        }
+        recordSortPath(sortPath);
+        long scanStartTime = MergeMetrics.recordPhase(MergeMetrics.Phase.SORT, startTime);
+        event.endSort(sortPath.name());
 
         LinkedList<Interval> resultIntervals = new LinkedList<>();
+        int skippedCount = 0;
 
         /* Since the interval list is sorted, if the current interval does not overlap with the previously merged one,
         any following interval in the list can also not overlap with the previous one. */
@@ -43,6 +158,7 @@ public class IntervalMerger {
 
             if (currentInterval == null) {
                 // ignore invalid input included in the input list
+                skippedCount++;
                 continue;
             }
 
@@ -57,6 +173,9 @@ public class IntervalMerger {
             // Previous interval includes at least the start boundary of the current interval --> merge intervals
             previousInterval.setEnd(Math.max(previousInterval.getEnd(), currentInterval.getEnd()));
         }
+        MergeMetrics.recordPhase(MergeMetrics.Phase.SCAN, scanStartTime);
+        MergeMetrics.recordMerge(inputIntervals.size(), resultIntervals.size(), skippedCount, 0);
+        event.endScan(inputIntervals.size(), resultIntervals.size());
 
         return resultIntervals;
     }
@@ -77,15 +196,40 @@ public class IntervalMerger {
             return new LinkedList<>();
         }
 
-        /* Sorts the array by comparing the intervals' start values, and, if they are equal, the respective end
-        values of the intervals */
-        Arrays.sort(inputIntervals, createComparatorUsingStartBoundary());
+        IntervalMergeEvent event = new IntervalMergeEvent();
+        event.beginSort(IntervalMergeEvent.ARRAY_INTERVALS);
+        long startTime = MergeMetrics.startTiming();
+        int swapCount = 0;
+        for (double[] interval : inputIntervals) {
+            if (checkIntervalBoundaries(interval)) {
+                swapCount++;
+            }
+        }
+        Comparator<double[]> startComparator = createComparatorUsingStartBoundary();
+        SortPath sortPath;
+        int runCount = SortedRuns.countRuns(Arrays.asList(inputIntervals), startComparator,
+                maxRuns(inputIntervals.length));
+        if (runCount == 1) {
+            sortPath = SortPath.ALREADY_SORTED;
+        } else if (runCount <= maxRuns(inputIntervals.length)) {
+            sortPath = SortPath.RUN_MERGE;
+            SortedRuns.mergeRuns(inputIntervals, startComparator, runCount);
+        } else {
+            sortPath = SortPath.FULL_SORT;
+            // Sorts the array by comparing the intervals' start values
+            Arrays.sort(inputIntervals, startComparator);
+        }
+        recordSortPath(sortPath);
+        long scanStartTime = MergeMetrics.recordPhase(MergeMetrics.Phase.SORT, startTime);
+        event.endSort(sortPath.name());
+        int skippedCount = 0;
 
         /* Since the interval list is sorted, if the current interval does not overlap with the previously merged one,
         any following interval in the list can also not overlap with the previous one. */
         for (double[] currentInterval : inputIntervals) {
             if (currentInterval == null || currentInterval.length != 2) {
                 // ignore invalid input included in the input array
+                skippedCount++;
                 continue;
             }
 
@@ -100,48 +244,609 @@ public class IntervalMerger {
             // Previous interval includes at least the start boundary of the current interval --> merge intervals
             previousInterval[1] = Math.max(previousInterval[1], currentInterval[1]);
         }
+        MergeMetrics.recordPhase(MergeMetrics.Phase.SCAN, scanStartTime);
+        MergeMetrics.recordMerge(inputIntervals.length, resultIntervals.size(), skippedCount, swapCount);
+        event.endScan(inputIntervals.length, resultIntervals.size());
+
+        return resultIntervals;
+    }
+
+    /**
+     * Merges the overlapping intervals given as two parallel arrays, where the interval at index i is represented by
+     * {@code [starts[i],ends[i]]}. The intervals are merged in place, meaning after the call, the first n elements of
+     * the arrays contain the merged intervals, sorted by their starting boundaries, where n is the returned number of
+     * merged intervals. The remaining elements of the arrays are left in an unspecified order. If the given start and
+     * end values of an interval are reversed, they will be switched. No objects are allocated, unless the intervals
+     * consist of a few sorted runs, which are merged using two temporary arrays, see {@link SortPath#RUN_MERGE}.
+     *
+     * @param starts The start boundaries of the intervals.
+     * @param ends   The end boundaries of the intervals, has to have the same length as {@code starts}.
+     * @return The number of merged intervals at the beginning of the arrays, or 0 if one of the arrays is null.
+     */
+    public int merge(final double[] starts, final double[] ends) {
+        if (starts == null || ends == null) {
+            return 0;
+        }
+        if (starts.length != ends.length) {
+            throw new IllegalArgumentException("The arrays including the start and end boundaries must have the " +
+                    "same length.");
+        }
+        return merge(starts, ends, starts.length);
+    }
+
+    /**
+     * Merges the overlapping intervals included in the first {@code length} elements of the two parallel arrays in
+     * place, see {@link IntervalMerger#merge(double[], double[])}. Elements at an index &gt;= {@code length} are not
+     * modified.
+     *
+     * @param starts The start boundaries of the intervals.
+     * @param ends   The end boundaries of the intervals.
+     * @param length The number of intervals included in the arrays.
+     * @return The number of merged intervals at the beginning of the arrays, or 0 if one of the arrays is null.
+     */
+    public int merge(final double[] starts, final double[] ends, final int length) {
+        return merge(starts, ends, length, starts, ends);
+    }
+
+    /**
+     * Merges the overlapping intervals included in the first {@code length} elements of the two parallel arrays, and
+     * writes the merged intervals, sorted by their starting boundaries, to the beginning of the given output arrays.
+     * Since the output arrays are provided by the caller, they can be reused for several calls, so that merging does
+     * not allocate anything, except for merging sorted runs. The input intervals are sorted in place, unless they are
+     * sorted already, and reversed boundaries are switched. The output arrays may also be the input arrays themselves.
+     *
+     * @param starts       The start boundaries of the intervals.
+     * @param ends         The end boundaries of the intervals.
+     * @param length       The number of intervals included in the arrays.
+     * @param mergedStarts The array the start boundaries of the merged intervals are written to, has to provide space
+     *                     for at least {@code length} intervals.
+     * @param mergedEnds   The array the end boundaries of the merged intervals are written to, has to provide space
+     *                     for at least {@code length} intervals.
+     * @return The number of merged intervals written to the output arrays, or 0 if one of the input arrays is null.
+     */
+    public int merge(final double[] starts, final double[] ends, final int length, final double[] mergedStarts,
+                     final double[] mergedEnds) {
+        if (starts == null || ends == null || length <= 0) {
+            return 0;
+        }
+        if (length > starts.length || length > ends.length) {
+            throw new IllegalArgumentException("The given length " + length + " exceeds the length of the arrays " +
+                    "including the boundaries.");
+        }
+        if (mergedStarts == null || mergedEnds == null || mergedStarts.length < length || mergedEnds.length < length) {
+            throw new IllegalArgumentException("The output arrays have to provide space for at least " + length +
+                    " intervals.");
+        }
+        return mergeColumns(starts, ends, length, mergedStarts, mergedEnds, false);
+    }
+
+    /**
+     * Merges the overlapping intervals included in the first {@code length} elements of the two parallel arrays in
+     * place like {@link IntervalMerger#merge(double[], double[], int)} does, but scans the sorted intervals using the
+     * Vector API: the running maximum of the end boundaries and the intervals starting a new merged interval are
+     * computed for several intervals at once. This requires Java 16 or later and the module
+     * {@code jdk.incubator.vector} added to the Java runtime, otherwise the scalar scan is used, see
+     * {@link IntervalMerger#isVectorScanSupported()}. The result is identical to the one of the scalar scan.
+     *
+     * @param starts The start boundaries of the intervals.
+     * @param ends   The end boundaries of the intervals.
+     * @param length The number of intervals included in the arrays.
+     * @return The number of merged intervals at the beginning of the arrays, or 0 if one of the arrays is null.
+     */
+    public int mergeUsingVectorScan(final double[] starts, final double[] ends, final int length) {
+        if (starts == null || ends == null || length <= 0) {
+            return 0;
+        }
+        if (length > starts.length || length > ends.length) {
+            throw new IllegalArgumentException("The given length " + length + " exceeds the length of the arrays " +
+                    "including the boundaries.");
+        }
+        return mergeColumns(starts, ends, length, starts, ends, true);
+    }
+
+    /**
+     * Returns whether {@link IntervalMerger#mergeUsingVectorScan(double[], double[], int)} uses the Vector API, which
+     * requires Java 16 or later, the module {@code jdk.incubator.vector} added to the Java runtime, e.g. using
+     * {@code --add-modules jdk.incubator.vector}, and vectors of four or eight {@code double} lanes, e.g. using AVX2.
+     *
+     * @return true, if the scan uses the Vector API, or false if it falls back to the scalar scan
+     */
+    public static boolean isVectorScanSupported() {
+        return VectorScan.isSupported();
+    }
+
+    /**
+     * Merges the overlapping intervals included in the remaining elements of the given buffer in place, where the
+     * interval i is represented by the elements at the indices 2i and 2i+1, relative to the position of the buffer.
+     * This allows merging the intervals of a file mapped by {@link IntervalFileReader#mapIntervals} without copying
+     * them. After the call, the first n intervals of the buffer contain the merged intervals, sorted by their starting
+     * boundaries, where n is the returned number of merged intervals. If the given start and end values of an
+     * interval are reversed, they will be switched. The position of the buffer is not changed.
+     *
+     * @param intervals A buffer including the interleaved start and end boundaries of the intervals.
+     * @return The number of merged intervals at the beginning of the buffer, or 0 if the buffer is null.
+     */
+    public int merge(final DoubleBuffer intervals) {
+        if (intervals == null) {
+            return 0;
+        }
+        if (intervals.remaining() % 2 != 0) {
+            throw new IllegalArgumentException("The buffer must include a start and an end boundary for each " +
+                    "interval.");
+        }
+
+        DoubleBuffer buffer = intervals.slice();
+        int length = buffer.remaining() / 2;
+        IntervalMergeEvent event = new IntervalMergeEvent();
+        event.beginSort(IntervalMergeEvent.BUFFER_INTERVALS);
+        long startTime = MergeMetrics.startTiming();
+        int swapCount = IntervalBuffers.orient(buffer, length);
+        IntervalBuffers.sort(buffer, length);
+        long scanStartTime = MergeMetrics.recordPhase(MergeMetrics.Phase.SORT, startTime);
+        event.endSort(SortPath.FULL_SORT.name());
+
+        int count = IntervalBuffers.scan(buffer, length);
+        MergeMetrics.recordPhase(MergeMetrics.Phase.SCAN, scanStartTime);
+        MergeMetrics.recordMerge(length, count, 0, swapCount);
+        event.endScan(length, count);
+        return count;
+    }
+
+    /**
+     * Merges the overlapping intervals stored in the given {@link OffHeapIntervalBuffer} in place, without copying
+     * them to the heap. The intervals are sorted across the segments of the buffer, and the merged intervals, sorted by
+     * their starting boundaries, are written to the beginning of the buffer, which is truncated to them afterwards. If
+     * the given start and end values of an interval are reversed, they will be switched.
+     *
+     * @param intervals The buffer including the intervals.
+     * @return The number of merged intervals remaining in the buffer, or 0 if the buffer is null.
+     * @throws IllegalStateException if the buffer has been closed
+     */
+    public long merge(final OffHeapIntervalBuffer intervals) {
+        if (intervals == null) {
+            return 0;
+        }
+
+        long length = intervals.size();
+        IntervalMergeEvent event = new IntervalMergeEvent();
+        event.beginSort(IntervalMergeEvent.OFF_HEAP_INTERVALS);
+        long startTime = MergeMetrics.startTiming();
+        long swapCount = intervals.orient();
+        intervals.sort();
+        long scanStartTime = MergeMetrics.recordPhase(MergeMetrics.Phase.SORT, startTime);
+        event.endSort(SortPath.FULL_SORT.name());
+
+        long count = intervals.scan();
+        MergeMetrics.recordPhase(MergeMetrics.Phase.SCAN, scanStartTime);
+        MergeMetrics.recordMerge(length, count, 0, swapCount);
+        event.endScan(length, count);
+        return count;
+    }
+
+    /**
+     * Merges the overlapping intervals included in a given input array like {@link IntervalMerger#merge(double[][])}
+     * does, but sorts the intervals using a radix sort instead of comparing them. Therefore, reversed boundaries are
+     * switched in a single pass first, and the start boundaries are mapped to {@code long} keys, which are ordered like
+     * {@link Double#compare(double, double)} orders the boundaries, including negative values, -0.0 and NaN. Sorting
+     * then takes a constant number of linear passes over primitive arrays. In contrast to
+     * {@link IntervalMerger#merge(double[][])}, the given array itself is not reordered.
+     *
+     * @param inputIntervals A 2D-array including intervals. An interval is represented as another array including
+     *                       exactly two elements, e.g. [1,10].
+     * @return A sorted list including the intervals after merging the overlapping ones.
+     */
+    public List<double[]> mergeUsingRadixSort(final double[][] inputIntervals) {
+        if (inputIntervals == null || inputIntervals.length == 0) {
+            return new ArrayList<>();
+        }
+
+        IntervalMergeEvent event = new IntervalMergeEvent();
+        event.beginSort(IntervalMergeEvent.ARRAY_INTERVALS);
+        long startTime = MergeMetrics.startTiming();
+        // the keys are the start boundaries and the values the indices of the valid intervals within the array
+        long[] keys = new long[inputIntervals.length];
+        long[] indices = new long[inputIntervals.length];
+        int length = 0;
+        int swapCount = 0;
+        for (int i = 0; i < inputIntervals.length; i++) {
+            double[] interval = inputIntervals[i];
+            if (interval == null || interval.length != 2) {
+                // ignore invalid input included in the input array
+                continue;
+            }
+            if (checkIntervalBoundaries(interval)) {
+                swapCount++;
+            }
+            keys[length] = RadixIntervalSort.sortableKey(interval[0]);
+            indices[length] = i;
+            length++;
+        }
+        RadixIntervalSort.sort(keys, indices, length);
+        long scanStartTime = MergeMetrics.recordPhase(MergeMetrics.Phase.SORT, startTime);
+        event.endSort(IntervalMergeEvent.RADIX_SORT);
+
+        List<double[]> resultIntervals = new ArrayList<>();
+        double[] previousInterval = null;
+        for (int i = 0; i < length; i++) {
+            double[] currentInterval = inputIntervals[(int) indices[i]];
+
+            if (previousInterval == null || Double.compare(previousInterval[1], currentInterval[0]) < 0) {
+                // Intervals do not overlap --> add to result list and continue with next pair
+                resultIntervals.add(currentInterval);
+                previousInterval = currentInterval;
+                continue;
+            }
+
+            // Previous interval includes at least the start boundary of the current interval --> merge intervals
+            previousInterval[1] = Math.max(previousInterval[1], currentInterval[1]);
+        }
+        MergeMetrics.recordPhase(MergeMetrics.Phase.SCAN, scanStartTime);
+        MergeMetrics.recordMerge(inputIntervals.length, resultIntervals.size(), inputIntervals.length - length,
+                swapCount);
+        event.endScan(inputIntervals.length, resultIntervals.size());
 
         return resultIntervals;
     }
 
     /**
-     * Compares two intervals represented as an array using their start boundaries. The first element, array[0], will be
-     * interpreted as the start boundary and the second element, array[1], as the end. Therefore, if the given start and
-     * end values are reversed, the value previously stored at array[0] will now be stored at array[1] instead, and vice
-     * versa.
+     * Merges the overlapping intervals included in the first {@code length} elements of the two parallel arrays in
+     * place like {@link IntervalMerger#merge(double[], double[], int)} does, but sorts the intervals using a radix sort
+     * of their start boundaries, see {@link IntervalMerger#mergeUsingRadixSort(double[][])}. The radix sort requires
+     * four temporary {@code long} arrays with {@code length} elements.
+     *
+     * @param starts The start boundaries of the intervals.
+     * @param ends   The end boundaries of the intervals.
+     * @param length The number of intervals included in the arrays.
+     * @return The number of merged intervals at the beginning of the arrays, or 0 if one of the arrays is null.
+     */
+    public int mergeUsingRadixSort(final double[] starts, final double[] ends, final int length) {
+        if (starts == null || ends == null || length <= 0) {
+            return 0;
+        }
+        if (length > starts.length || length > ends.length) {
+            throw new IllegalArgumentException("The given length " + length + " exceeds the length of the arrays " +
+                    "including the boundaries.");
+        }
+
+        IntervalMergeEvent event = new IntervalMergeEvent();
+        event.beginSort(IntervalMergeEvent.COLUMN_INTERVALS);
+        long startTime = MergeMetrics.startTiming();
+        // ensures the start boundary comes first, while mapping the start boundaries to their keys
+        long[] keys = new long[length];
+        long[] endBits = new long[length];
+        int swapCount = 0;
+        for (int i = 0; i < length; i++) {
+            double start = starts[i];
+            double end = ends[i];
+            if (Double.compare(start, end) > 0) {
+                start = ends[i];
+                end = starts[i];
+                swapCount++;
+            }
+            keys[i] = RadixIntervalSort.sortableKey(start);
+            endBits[i] = Double.doubleToRawLongBits(end);
+        }
+        RadixIntervalSort.sort(keys, endBits, length);
+
+        for (int i = 0; i < length; i++) {
+            starts[i] = RadixIntervalSort.fromSortableKey(keys[i]);
+            ends[i] = Double.longBitsToDouble(endBits[i]);
+        }
+        long scanStartTime = MergeMetrics.recordPhase(MergeMetrics.Phase.SORT, startTime);
+        event.endSort(IntervalMergeEvent.RADIX_SORT);
+
+        int count = IntervalArrays.scan(starts, ends, 0, length, starts, ends, 0);
+        MergeMetrics.recordPhase(MergeMetrics.Phase.SCAN, scanStartTime);
+        MergeMetrics.recordMerge(length, count, 0, swapCount);
+        event.endScan(length, count);
+        return count;
+    }
+
+    /**
+     * Merges the overlapping {@link Interval}s included in a given input {@link List} like
+     * {@link IntervalMerger#merge(List)} does, but neither reorders the list nor modifies its {@link Interval}s. Each
+     * interval is read once and packed into a sortable {@code long} key of its start boundary and the bits of its end
+     * boundary, which are sorted by a radix sort instead of the intervals themselves, see
+     * {@link IntervalMerger#mergeUsingRadixSort(double[][])}. The returned list consists of new {@link Interval}s, so
+     * that a list that is not modified anymore can be merged by several threads concurrently without copying it first.
+     * Null elements will be ignored.
+     *
+     * @param inputIntervals A {@link List} including {@link Interval}s, which is not modified.
+     * @return A new sorted list including new {@link Interval}s after merging the overlapping ones.
+     */
+    public List<Interval> mergeWithoutModifying(final List<Interval> inputIntervals) {
+        if (inputIntervals == null || inputIntervals.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        IntervalMergeEvent event = new IntervalMergeEvent();
+        event.beginSort(IntervalMergeEvent.INTERVAL_OBJECTS);
+        long startTime = MergeMetrics.startTiming();
+        long[] keys = new long[inputIntervals.size()];
+        long[] endBits = new long[inputIntervals.size()];
+        int length = 0;
+        int swapCount = 0;
+        for (Interval interval : inputIntervals) {
+            if (interval == null) {
+                // ignore invalid input included in the input list
+                continue;
+            }
+            if (pack(interval.getStart(), interval.getEnd(), keys, endBits, length++)) {
+                swapCount++;
+            }
+        }
+
+        List<Interval> resultIntervals = new ArrayList<>();
+        mergePacked(keys, endBits, length, inputIntervals.size(), swapCount, startTime, event,
+                (start, end) -> resultIntervals.add(new Interval(start, end)));
+        return resultIntervals;
+    }
+
+    /**
+     * Merges the overlapping intervals included in a given input array like {@link IntervalMerger#merge(double[][])}
+     * does, but neither reorders the array nor switches reversed boundaries within it, see
+     * {@link IntervalMerger#mergeWithoutModifying(List)}. The returned list consists of new arrays.
+     *
+     * @param inputIntervals A 2D-array including intervals, which is not modified. An interval is represented as
+     *                       another array including exactly two elements, e.g. [1,10].
+     * @return A new sorted list including new arrays after merging the overlapping intervals.
+     */
+    public List<double[]> mergeWithoutModifying(final double[][] inputIntervals) {
+        if (inputIntervals == null || inputIntervals.length == 0) {
+            return new ArrayList<>();
+        }
+
+        IntervalMergeEvent event = new IntervalMergeEvent();
+        event.beginSort(IntervalMergeEvent.ARRAY_INTERVALS);
+        long startTime = MergeMetrics.startTiming();
+        long[] keys = new long[inputIntervals.length];
+        long[] endBits = new long[inputIntervals.length];
+        int length = 0;
+        int swapCount = 0;
+        for (double[] interval : inputIntervals) {
+            if (interval == null || interval.length != 2) {
+                // ignore invalid input included in the input array
+                continue;
+            }
+            if (pack(interval[0], interval[1], keys, endBits, length++)) {
+                swapCount++;
+            }
+        }
+
+        List<double[]> resultIntervals = new ArrayList<>();
+        mergePacked(keys, endBits, length, inputIntervals.length, swapCount, startTime, event,
+                (start, end) -> resultIntervals.add(new double[]{start, end}));
+        return resultIntervals;
+    }
+
+    /**
+     * Merges the overlapping intervals included in the first {@code length} elements of the two parallel arrays and
+     * writes the merged intervals to the beginning of the given output arrays like
+     * {@link IntervalMerger#merge(double[], double[], int, double[], double[])} does, but without modifying the input
+     * arrays, see {@link IntervalMerger#mergeWithoutModifying(List)}. The output arrays may also be the input arrays
+     * themselves, since the input is read completely before the output is written.
+     *
+     * @param starts       The start boundaries of the intervals, which are not modified.
+     * @param ends         The end boundaries of the intervals, which are not modified.
+     * @param length       The number of intervals included in the arrays.
+     * @param mergedStarts The array the start boundaries of the merged intervals are written to.
+     * @param mergedEnds   The array the end boundaries of the merged intervals are written to.
+     * @return The number of merged intervals at the beginning of the output arrays, or 0 if one of the input arrays is
+     * null.
+     */
+    public int mergeWithoutModifying(final double[] starts, final double[] ends, final int length,
+                                     final double[] mergedStarts, final double[] mergedEnds) {
+        if (starts == null || ends == null || length <= 0) {
+            return 0;
+        }
+        if (length > starts.length || length > ends.length) {
+            throw new IllegalArgumentException("The given length " + length + " exceeds the length of the arrays " +
+                    "including the boundaries.");
+        }
+        if (mergedStarts == null || mergedEnds == null || mergedStarts.length < length || mergedEnds.length < length) {
+            throw new IllegalArgumentException("The output arrays must provide space for " + length + " intervals.");
+        }
+
+        IntervalMergeEvent event = new IntervalMergeEvent();
+        event.beginSort(IntervalMergeEvent.COLUMN_INTERVALS);
+        long startTime = MergeMetrics.startTiming();
+        long[] keys = new long[length];
+        long[] endBits = new long[length];
+        int swapCount = 0;
+        for (int i = 0; i < length; i++) {
+            if (pack(starts[i], ends[i], keys, endBits, i)) {
+                swapCount++;
+            }
+        }
+
+        int[] count = {0};
+        mergePacked(keys, endBits, length, length, swapCount, startTime, event, (start, end) -> {
+            mergedStarts[count[0]] = start;
+            mergedEnds[count[0]] = end;
+            count[0]++;
+        });
+        return count[0];
+    }
+
+    /**
+     * Merges the overlapping {@link Interval}s included in a given input {@link List} using all cores of the
+     * {@link ForkJoinPool} of this merger. The list is sorted in parallel, split into contiguous chunks that are merged
+     * independently of each other, and finally the merged intervals at the boundaries of the chunks are merged as well.
+     * The result is identical to the one of {@link IntervalMerger#merge(List)}. However, in contrast to the sequential
+     * method, the order of the given list is not changed, only the {@link Interval}s included in the list may be.
+     *
+     * @param inputIntervals A {@link List} including {@link Interval}s.
+     * @return A sorted list including the {@link Interval}s after merging the overlapping ones.
+     */
+    public List<Interval> mergeParallel(final List<Interval> inputIntervals) {
+        if (inputIntervals == null || inputIntervals.size() < ParallelIntervalMerge.SEQUENTIAL_THRESHOLD) {
+            return merge(inputIntervals);
+        }
+        return ParallelIntervalMerge.merge(this.parallelPool, inputIntervals);
+    }
+
+    /**
+     * Merges the overlapping intervals included in a given input array using all cores of the {@link ForkJoinPool} of
+     * this merger. The result is identical to the one of {@link IntervalMerger#merge(double[][])}.
+     *
+     * @param inputIntervals A 2D-array including intervals. An interval is represented as another array including
+     *                       exactly two elements, e.g. [1,10].
+     * @return A sorted list including the intervals after merging the overlapping ones.
+     */
+    public List<double[]> mergeParallel(final double[][] inputIntervals) {
+        if (inputIntervals == null || inputIntervals.length < ParallelIntervalMerge.SEQUENTIAL_THRESHOLD) {
+            return merge(inputIntervals);
+        }
+        return ParallelIntervalMerge.merge(this.parallelPool, inputIntervals);
+    }
+
+    /**
+     * Merges the overlapping intervals included in the first {@code length} elements of the two parallel arrays in
+     * place using all cores of the {@link ForkJoinPool} of this merger. The result is identical to the one of
+     * {@link IntervalMerger#merge(double[], double[], int)}, however, merging in parallel requires two temporary
+     * arrays with {@code length} elements.
+     *
+     * @param starts The start boundaries of the intervals.
+     * @param ends   The end boundaries of the intervals.
+     * @param length The number of intervals included in the arrays.
+     * @return The number of merged intervals at the beginning of the arrays, or 0 if one of the arrays is null.
+     */
+    public int mergeParallel(final double[] starts, final double[] ends, final int length) {
+        if (starts == null || ends == null || length < ParallelIntervalMerge.SEQUENTIAL_THRESHOLD) {
+            return merge(starts, ends, length);
+        }
+        if (length > starts.length || length > ends.length) {
+            throw new IllegalArgumentException("The given length " + length + " exceeds the length of the arrays " +
+                    "including the boundaries.");
+        }
+        return ParallelIntervalMerge.merge(this.parallelPool, starts, ends, length);
+    }
+
+    /**
+     * Compares two intervals represented as an array using their start boundaries. The first element, array[0], is
+     * interpreted as the start boundary, so the intervals have to be oriented before comparing them, see
+     * {@link IntervalMerger#checkIntervalBoundaries(double[])}. Null or invalid arrays are ordered first.
      *
      * @return the Comparator object that compares intervals using their start boundaries
      */
     private Comparator<double[]> createComparatorUsingStartBoundary() {
         return (interval1, interval2) -> {
             if (interval1 == null || interval1.length != 2) {
-                checkIntervalBoundaries(interval2);
                 return -1;
             }
 
             if (interval2 == null || interval2.length != 2) {
-                checkIntervalBoundaries(interval2);
                 return 1;
             }
 
-            // ensure start and thus smaller boundary comes first
-            checkIntervalBoundaries(interval1);
-            checkIntervalBoundaries(interval2);
-
             return Double.compare(interval1[0], interval2[0]);
         };
     }
 
+    private int mergeColumns(final double[] starts, final double[] ends, final int length,
+                             final double[] mergedStarts, final double[] mergedEnds, final boolean vectorScan) {
+        IntervalMergeEvent event = new IntervalMergeEvent();
+        event.beginSort(IntervalMergeEvent.COLUMN_INTERVALS);
+        long startTime = MergeMetrics.startTiming();
+        // ensure start and thus smaller boundary comes first
+        int swapCount = IntervalArrays.orient(starts, ends, 0, length);
+
+        SortPath sortPath;
+        int runCount = IntervalArrays.countRuns(starts, length, maxRuns(length));
+        if (runCount == 1) {
+            sortPath = SortPath.ALREADY_SORTED;
+        } else if (runCount <= maxRuns(length)) {
+            sortPath = SortPath.RUN_MERGE;
+            IntervalArrays.mergeRuns(starts, ends, length, runCount);
+        } else {
+            sortPath = SortPath.FULL_SORT;
+            /* Sorts the intervals by comparing their start values, and, if they are equal, the respective end values
+            of the intervals */
+            IntervalArrays.sort(starts, ends, 0, length);
+        }
+        recordSortPath(sortPath);
+        long scanStartTime = MergeMetrics.recordPhase(MergeMetrics.Phase.SORT, startTime);
+        event.endSort(sortPath.name());
+
+        int count = vectorScan ? VectorScan.scan(starts, ends, 0, length, mergedStarts, mergedEnds, 0)
+                : IntervalArrays.scan(starts, ends, 0, length, mergedStarts, mergedEnds, 0);
+        MergeMetrics.recordPhase(MergeMetrics.Phase.SCAN, scanStartTime);
+        MergeMetrics.recordMerge(length, count, 0, swapCount);
+        event.endScan(length, count);
+        return count;
+    }
+
+    /**
+     * Stores the sortable key of the smaller boundary and the bits of the bigger boundary at the given index.
+     *
+     * @return true, if the given boundaries are reversed
+     */
+    private static boolean pack(final double start, final double end, final long[] keys, final long[] endBits,
+                                final int index) {
+        boolean reversed = Double.compare(start, end) > 0;
+        keys[index] = RadixIntervalSort.sortableKey(reversed ? end : start);
+        endBits[index] = Double.doubleToRawLongBits(reversed ? start : end);
+        return reversed;
+    }
+
+    /**
+     * Sorts the packed intervals using a radix sort of their keys and passes the merged intervals to the consumer.
+     */
+    private static void mergePacked(final long[] keys, final long[] endBits, final int length, final int inputCount,
+                                    final int swapCount, final long startTime, final IntervalMergeEvent event,
+                                    final IntervalConsumer consumer) {
+        RadixIntervalSort.sort(keys, endBits, length);
+        long scanStartTime = MergeMetrics.recordPhase(MergeMetrics.Phase.SORT, startTime);
+        event.endSort(IntervalMergeEvent.RADIX_SORT);
+
+        int count = 0;
+        if (length > 0) {
+            double currentStart = RadixIntervalSort.fromSortableKey(keys[0]);
+            double currentEnd = Double.longBitsToDouble(endBits[0]);
+            for (int i = 1; i < length; i++) {
+                double start = RadixIntervalSort.fromSortableKey(keys[i]);
+                if (Double.compare(currentEnd, start) < 0) {
+                    // Intervals do not overlap --> emit the previously merged interval and continue with the next pair
+                    consumer.accept(currentStart, currentEnd);
+                    count++;
+                    currentStart = start;
+                    currentEnd = Double.longBitsToDouble(endBits[i]);
+                    continue;
+                }
+
+                // Previous interval includes at least the start boundary of the current interval --> merge intervals
+                currentEnd = Math.max(currentEnd, Double.longBitsToDouble(endBits[i]));
+            }
+            consumer.accept(currentStart, currentEnd);
+            count++;
+        }
+        MergeMetrics.recordPhase(MergeMetrics.Phase.SCAN, scanStartTime);
+        MergeMetrics.recordMerge(inputCount, count, inputCount - length, swapCount);
+        event.endScan(inputCount, count);
+    }
+
+    private void recordSortPath(final SortPath sortPath) {
+        this.sortPathCounts[sortPath.ordinal()].increment();
+        this.lastSortPath = sortPath;
+    }
+
+    private static int maxRuns(final int length) {
+        return Math.max(1, length / MIN_AVERAGE_RUN_LENGTH);
+    }
+
     /**
      * If start and end boundaries are reversed in the interval array, they will be switched.
      *
      * @param interval The interval for which the values should be checked
+     * @return true, if the values have been switched
      */
-    private void checkIntervalBoundaries(double[] interval) {
+    private boolean checkIntervalBoundaries(double[] interval) {
         if (interval != null && interval.length == 2 && Double.compare(interval[0], interval[1]) > 0) {
             double temp = interval[0];
             interval[0] = interval[1];
             interval[1] = temp;
+            return true;
         }
+        return false;
     }
 }
@@ -0,0 +1,30 @@
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * A Java Flight Recorder event emitted for parsing a textual interval list by the {@link IntervalTextParser},
+ * including reading the input, e.g. an interval list read by the program from a file or the standard input.
+ *
+ * @author Karolin Dürr
+ */
+@Name(IntervalParseEvent.NAME)
+@Label("Interval List Parsing")
+@Category("Interval Merger")
+@Description("Parsing a textual interval list")
+@StackTrace(false)
+final class IntervalParseEvent extends Event {
+
+    static final String NAME = "intervalmerger.Parse";
+
+    @Label("Intervals")
+    long intervalCount;
+
+    @Label("Input Size")
+    @DataAmount
+    long inputBytes;
+}
@@ -0,0 +1,34 @@
+import java.io.IOException;
+
+/**
+ * Signals that a textual interval list is invalid, e.g. because of a missing bracket or an invalid number. The
+ * exception includes the offset of the byte at which the error was detected, counted from the beginning of the input.
+ *
+ * @author Karolin Dürr
+ */
+public class IntervalParseException extends IOException {
+
+    private static final long serialVersionUID = 1L;
+
+    private final long offset;
+
+    /**
+     * Creates an {@code IntervalParseException} for an error detected at the given byte offset.
+     *
+     * @param message The description of the error.
+     * @param offset  The offset of the byte at which the error was detected.
+     */
+    public IntervalParseException(final String message, final long offset) {
+        super(message + " at byte offset " + offset);
+        this.offset = offset;
+    }
+
+    /**
+     * Returns the offset of the byte at which the error was detected, counted from the beginning of the input.
+     *
+     * @return the byte offset of the error
+     */
+    public long getOffset() {
+        return this.offset;
+    }
+}
@@ -0,0 +1,487 @@
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
+import java.util.*;
+
+/**
+ * A mutable set of disjoint intervals, to which intervals can be added one at a time without merging all intervals
+ * again. An added interval is merged with all intervals it overlaps or touches, using the same closed-interval
+ * semantics as {@link IntervalMerger#merge(List)}, so that the set always includes the same intervals the merge
+ * methods would return for all intervals added so far.
+ * <p>
+ * The disjoint intervals are stored in a treap, a binary search tree ordered by the intervals that is balanced by
+ * random priorities. Since the intervals are disjoint, ordering them by their start boundaries also orders them by
+ * their end boundaries. Adding an interval splits the treap into the intervals before, the k intervals overlapping
+ * or touching it, and the intervals behind it, which takes expected O(log n + k). The nodes are stored in parallel
+ * primitive arrays instead of objects, and removed nodes are reused.
+ * <p>
+ * An {@code IntervalSet} is not thread-safe.
+ *
+ * @author Karolin Dürr
+ */
+public class IntervalSet implements IntervalConsumer, Iterable<Interval> {
+
+    private static final int NIL = -1;
+
+    // The expected depth of a treap is logarithmic, so the path from the root rarely exceeds this length
+    private static final int INITIAL_PATH_LENGTH = 64;
+
+    private double[] starts;
+
+    private double[] ends;
+
+    private int[] left;
+
+    private int[] right;
+
+    private int[] priorities;
+
+    private int root = NIL;
+
+    private int size;
+
+    // The number of used slots of the arrays; slots of removed nodes are linked by their left index
+    private int capacity;
+
+    private int freeNode = NIL;
+
+    private final SplittableRandom random = new SplittableRandom();
+
+    // The intervals of the treap that are split off by an add operation, see IntervalSet#add(double, double)
+    private int splitLeft;
+
+    private int splitRight;
+
+    /**
+     * Creates an empty {@code IntervalSet}.
+     */
+    public IntervalSet() {
+        this(16);
+    }
+
+    /**
+     * Creates an empty {@code IntervalSet} that can store {@code initialCapacity} disjoint intervals before growing.
+     *
+     * @param initialCapacity The initial number of disjoint intervals that can be stored.
+     */
+    public IntervalSet(final int initialCapacity) {
+        if (initialCapacity < 0) {
+            throw new IllegalArgumentException("The initial capacity must not be negative.");
+        }
+        this.starts = new double[initialCapacity];
+        this.ends = new double[initialCapacity];
+        this.left = new int[initialCapacity];
+        this.right = new int[initialCapacity];
+        this.priorities = new int[initialCapacity];
+    }
+
+    /**
+     * Adds the interval [start,end] to the set, merging it with all intervals of the set it overlaps or touches. If the
+     * given start and end values are reversed, they will be switched.
+     *
+     * @param start The value of the included starting boundary of the interval.
+     * @param end   The value of the included end boundary of the interval.
+     */
+    public void add(final double start, final double end) {
+        double mergedStart = start;
+        double mergedEnd = end;
+        if (Double.compare(mergedStart, mergedEnd) > 0) {
+            mergedStart = end;
+            mergedEnd = start;
+        }
+
+        // intervals ending before the start boundary do not overlap the new interval
+        splitBeforeStart(this.root, mergedStart);
+        int before = this.splitLeft;
+        // intervals starting behind the end boundary do not overlap the new interval either
+        splitAfterEnd(this.splitRight, mergedEnd);
+        int overlapping = this.splitLeft;
+        int after = this.splitRight;
+
+        if (overlapping != NIL) {
+            // the overlapping intervals are sorted, so the first one has the smallest start boundary and the last one
+            // the biggest end boundary
+            int first = overlapping;
+            while (this.left[first] != NIL) {
+                first = this.left[first];
+            }
+            int last = overlapping;
+            while (this.right[last] != NIL) {
+                last = this.right[last];
+            }
+            if (Double.compare(this.starts[first], mergedStart) < 0) {
+                mergedStart = this.starts[first];
+            }
+            if (Double.compare(this.ends[last], mergedEnd) > 0) {
+                mergedEnd = this.ends[last];
+            }
+            release(overlapping);
+        }
+
+        this.root = join(join(before, createNode(mergedStart, mergedEnd)), after);
+    }
+
+    /**
+     * Adds the given {@link Interval} to the set, see {@link IntervalSet#add(double, double)}. Null will be ignored.
+     *
+     * @param interval The interval to add.
+     */
+    public void add(final Interval interval) {
+        if (interval != null) {
+            add(interval.getStart(), interval.getEnd());
+        }
+    }
+
+    /**
+     * Adds the interval [start,end] to the set, see {@link IntervalSet#add(double, double)}.
+     *
+     * @param start The value of the included starting boundary of the interval.
+     * @param end   The value of the included end boundary of the interval.
+     */
+    @Override
+    public void accept(final double start, final double end) {
+        add(start, end);
+    }
+
+    /**
+     * Adds all given {@link Interval}s to the set. Null elements will be ignored.
+     *
+     * @param intervals The intervals to add.
+     */
+    public void addAll(final Collection<Interval> intervals) {
+        if (intervals == null || intervals.isEmpty()) {
+            return;
+        }
+        double[] addedStarts = new double[intervals.size()];
+        double[] addedEnds = new double[intervals.size()];
+        int length = 0;
+        for (Interval interval : intervals) {
+            if (interval != null) {
+                addedStarts[length] = interval.getStart();
+                addedEnds[length] = interval.getEnd();
+                length++;
+            }
+        }
+        addAllMerging(addedStarts, addedEnds, length);
+    }
+
+    /**
+     * Adds the first {@code length} intervals of the two parallel arrays to the set. If the batch is small compared to
+     * the set, the intervals are added one at a time. Otherwise, the batch is merged using
+     * {@link IntervalMerger#merge(double[], double[], int, double[], double[])}, combined with the intervals of the set
+     * in a single linear pass, and the treap is rebuilt in linear time. The given arrays are not modified.
+     *
+     * @param starts The start boundaries of the intervals.
+     * @param ends   The end boundaries of the intervals.
+     * @param length The number of intervals to add.
+     */
+    public void addAll(final double[] starts, final double[] ends, final int length) {
+        if (starts == null || ends == null || length <= 0) {
+            return;
+        }
+        if (length > starts.length || length > ends.length) {
+            throw new IllegalArgumentException("The given length " + length + " exceeds the length of the arrays " +
+                    "including the boundaries.");
+        }
+        addAllMerging(Arrays.copyOf(starts, length), Arrays.copyOf(ends, length), length);
+    }
+
+    /**
+     * Returns the number of disjoint intervals of the set.
+     *
+     * @return the number of intervals
+     */
+    public int size() {
+        return this.size;
+    }
+
+    /**
+     * Returns whether the set includes no intervals.
+     *
+     * @return true if the set is empty
+     */
+    public boolean isEmpty() {
+        return this.size == 0;
+    }
+
+    /**
+     * Removes all intervals from the set.
+     */
+    public void clear() {
+        this.root = NIL;
+        this.size = 0;
+        this.capacity = 0;
+        this.freeNode = NIL;
+    }
+
+    /**
+     * Passes the disjoint intervals of the set to the given consumer, sorted by their start boundaries.
+     *
+     * @param consumer Receives the intervals.
+     */
+    public void forEach(final IntervalConsumer consumer) {
+        int[] path = new int[INITIAL_PATH_LENGTH];
+        int pathLength = 0;
+        int node = this.root;
+        while (node != NIL || pathLength > 0) {
+            while (node != NIL) {
+                if (pathLength == path.length) {
+                    path = Arrays.copyOf(path, 2 * path.length);
+                }
+                path[pathLength++] = node;
+                node = this.left[node];
+            }
+            node = path[--pathLength];
+            consumer.accept(this.starts[node], this.ends[node]);
+            node = this.right[node];
+        }
+    }
+
+    /**
+     * Returns an iterator over new {@link Interval}s representing the disjoint intervals of the set, sorted by their
+     * start boundaries. The set must not be modified during the iteration.
+     *
+     * @return an iterator over the intervals of the set
+     */
+    @Override
+    public Iterator<Interval> iterator() {
+        return new Iterator<Interval>() {
+
+            private int[] path = new int[INITIAL_PATH_LENGTH];
+
+            private int pathLength = pushLeft(IntervalSet.this.root, 0);
+
+            @Override
+            public boolean hasNext() {
+                return this.pathLength > 0;
+            }
+
+            @Override
+            public Interval next() {
+                if (this.pathLength == 0) {
+                    throw new NoSuchElementException();
+                }
+                int node = this.path[--this.pathLength];
+                this.pathLength = pushLeft(IntervalSet.this.right[node], this.pathLength);
+                return new Interval(IntervalSet.this.starts[node], IntervalSet.this.ends[node]);
+            }
+
+            private int pushLeft(final int start, final int length) {
+                int pathLength = length;
+                for (int node = start; node != NIL; node = IntervalSet.this.left[node]) {
+                    if (pathLength == this.path.length) {
+                        this.path = Arrays.copyOf(this.path, 2 * this.path.length);
+                    }
+                    this.path[pathLength++] = node;
+                }
+                return pathLength;
+            }
+        };
+    }
+
+    /**
+     * Returns the disjoint intervals of the set as a list of new {@link Interval}s, sorted by their start boundaries.
+     *
+     * @return a list including the intervals of the set
+     */
+    public List<Interval> toList() {
+        List<Interval> intervals = new ArrayList<>(this.size);
+        forEach((start, end) -> intervals.add(new Interval(start, end)));
+        return intervals;
+    }
+
+    /**
+     * Returns the intervals of the set using the same format as printing a list of {@link Interval}s, e.g.
+     * {@code [[2,23], [25,30]]}.
+     *
+     * @return the intervals of the set as a string
+     */
+    @Override
+    public String toString() {
+        StringWriter output = new StringWriter();
+        try (IntervalWriter writer = new IntervalWriter(output)) {
+            forEach(writer);
+        } catch (IOException exception) {
+            throw new UncheckedIOException(exception);
+        }
+        return output.toString();
+    }
+
+    private void addAllMerging(final double[] addedStarts, final double[] addedEnds, final int length) {
+        int addedCount = new IntervalMerger().merge(addedStarts, addedEnds, length);
+
+        // adding k intervals one at a time takes O(k log n), rebuilding the treap takes O(n + k)
+        if ((long) addedCount * (32 - Integer.numberOfLeadingZeros(this.size)) < this.size) {
+            for (int i = 0; i < addedCount; i++) {
+                add(addedStarts[i], addedEnds[i]);
+            }
+            return;
+        }
+
+        double[] currentStarts = new double[this.size];
+        double[] currentEnds = new double[this.size];
+        int[] index = {0};
+        forEach((start, end) -> {
+            currentStarts[index[0]] = start;
+            currentEnds[index[0]] = end;
+            index[0]++;
+        });
+
+        // merges the two sorted lists of disjoint intervals and their overlapping intervals at once
+        double[] mergedStarts = new double[this.size + addedCount];
+        double[] mergedEnds = new double[this.size + addedCount];
+        int count = 0;
+        int i = 0;
+        int j = 0;
+        while (i < currentStarts.length || j < addedCount) {
+            double start;
+            double end;
+            if (j == addedCount || (i < currentStarts.length
+                    && Double.compare(currentStarts[i], addedStarts[j]) <= 0)) {
+                start = currentStarts[i];
+                end = currentEnds[i++];
+            } else {
+                start = addedStarts[j];
+                end = addedEnds[j++];
+            }
+
+            if (count == 0 || Double.compare(mergedEnds[count - 1], start) < 0) {
+                mergedStarts[count] = start;
+                mergedEnds[count] = end;
+                count++;
+            } else {
+                mergedEnds[count - 1] = Math.max(mergedEnds[count - 1], end);
+            }
+        }
+
+        clear();
+        ensureCapacity(count);
+        this.root = build(mergedStarts, mergedEnds, count);
+    }
+
+    /**
+     * Builds the treap of the given sorted disjoint intervals in linear time, like a Cartesian tree: the nodes are
+     * appended in order, and the right spine of the tree is kept on a stack.
+     */
+    private int build(final double[] sortedStarts, final double[] sortedEnds, final int count) {
+        int[] spine = new int[count + 1];
+        int spineLength = 0;
+        for (int i = 0; i < count; i++) {
+            int node = createNode(sortedStarts[i], sortedEnds[i]);
+            int lastPopped = NIL;
+            while (spineLength > 0 && this.priorities[spine[spineLength - 1]] < this.priorities[node]) {
+                lastPopped = spine[--spineLength];
+            }
+            this.left[node] = lastPopped;
+            if (spineLength > 0) {
+                this.right[spine[spineLength - 1]] = node;
+            }
+            spine[spineLength++] = node;
+        }
+        return spineLength == 0 ? NIL : spine[0];
+    }
+
+    /**
+     * Splits the treap of the given node into the intervals ending before {@code start}, stored in splitLeft, and the
+     * remaining intervals, stored in splitRight.
+     */
+    private void splitBeforeStart(final int node, final double start) {
+        if (node == NIL) {
+            this.splitLeft = NIL;
+            this.splitRight = NIL;
+            return;
+        }
+        if (Double.compare(this.ends[node], start) < 0) {
+            splitBeforeStart(this.right[node], start);
+            this.right[node] = this.splitLeft;
+            this.splitLeft = node;
+        } else {
+            splitBeforeStart(this.left[node], start);
+            this.left[node] = this.splitRight;
+            this.splitRight = node;
+        }
+    }
+
+    /**
+     * Splits the treap of the given node into the intervals starting at or before {@code end}, stored in splitLeft,
+     * and the intervals starting behind it, stored in splitRight.
+     */
+    private void splitAfterEnd(final int node, final double end) {
+        if (node == NIL) {
+            this.splitLeft = NIL;
+            this.splitRight = NIL;
+            return;
+        }
+        if (Double.compare(this.starts[node], end) <= 0) {
+            splitAfterEnd(this.right[node], end);
+            this.right[node] = this.splitLeft;
+            this.splitLeft = node;
+        } else {
+            splitAfterEnd(this.left[node], end);
+            this.left[node] = this.splitRight;
+            this.splitRight = node;
+        }
+    }
+
+    /**
+     * Joins two treaps, where all intervals of the first one are ordered before the ones of the second one.
+     */
+    private int join(final int first, final int second) {
+        if (first == NIL) {
+            return second;
+        }
+        if (second == NIL) {
+            return first;
+        }
+        if (this.priorities[first] > this.priorities[second]) {
+            this.right[first] = join(this.right[first], second);
+            return first;
+        }
+        this.left[second] = join(first, this.left[second]);
+        return second;
+    }
+
+    private int createNode(final double start, final double end) {
+        int node = this.freeNode;
+        if (node != NIL) {
+            this.freeNode = this.left[node];
+        } else {
+            ensureCapacity(this.capacity + 1);
+            node = this.capacity++;
+        }
+        this.starts[node] = start;
+        this.ends[node] = end;
+        this.left[node] = NIL;
+        this.right[node] = NIL;
+        this.priorities[node] = this.random.nextInt();
+        this.size++;
+        return node;
+    }
+
+    /**
+     * Adds all nodes of the given treap to the list of free nodes.
+     */
+    private void release(final int node) {
+        if (node == NIL) {
+            return;
+        }
+        release(this.left[node]);
+        release(this.right[node]);
+        this.left[node] = this.freeNode;
+        this.freeNode = node;
+        this.size--;
+    }
+
+    private void ensureCapacity(final int requiredCapacity) {
+        if (requiredCapacity <= this.starts.length) {
+            return;
+        }
+        int newCapacity = (int) Math.min(Integer.MAX_VALUE - 8,
+                Math.max(requiredCapacity, Math.max(16, 2L * this.starts.length)));
+        this.starts = Arrays.copyOf(this.starts, newCapacity);
+        this.ends = Arrays.copyOf(this.ends, newCapacity);
+        this.left = Arrays.copyOf(this.left, newCapacity);
+        this.right = Arrays.copyOf(this.right, newCapacity);
+        this.priorities = Arrays.copyOf(this.priorities, newCapacity);
+    }
+}
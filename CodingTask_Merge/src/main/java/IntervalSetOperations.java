@@ -0,0 +1,399 @@
+import java.util.*;
+
+/**
+ * Combines two lists of merged intervals, as returned by the merge methods of the {@link IntervalMerger}, by set
+ * operations: union, intersection, difference and symmetric difference. Since both lists are sorted by their start
+ * boundaries and their intervals are disjoint, every operation takes a single O(n+m) pass that advances a pointer into
+ * each list, instead of sorting the concatenated intervals again. The results are merged intervals as well, so that
+ * they can be combined further.
+ * <p>
+ * The intervals are closed, so the intersection of touching intervals like [1,2] and [2,3] is the point [2,2]. Removing
+ * a closed interval from another one leaves half-open parts, e.g. [0,10] without [3,5] consists of [0,3) and (5,10].
+ * Since every interval is represented by closed boundaries, an open boundary x is replaced by the adjacent
+ * {@code double} value, {@link Math#nextDown(double)} for an end and {@link Math#nextUp(double)} for a start boundary,
+ * which yields [0,3-ulp] and [5+ulp,10]. As no {@code double} lies between x and its adjacent value, the result
+ * includes exactly the same {@code double} values as the half-open parts. Since the boundaries are ordered by
+ * {@link Double#compare(double, double)}, -0.0 and 0.0 are adjacent values as well, and the value following infinity
+ * is NaN.
+ * <p>
+ * The primitive variants write their result to caller provided arrays, which have to provide space for n+m intervals,
+ * the maximum number of intervals any of the operations can return for inputs of n and m intervals.
+ *
+ * @author Karolin Dürr
+ */
+public final class IntervalSetOperations {
+
+    private IntervalSetOperations() {
+    }
+
+    /**
+     * Returns the union of the two lists of merged intervals, which is the same as merging both lists together.
+     *
+     * @param intervals1 The first list of merged intervals, sorted by their start boundaries.
+     * @param intervals2 The second list of merged intervals, sorted by their start boundaries.
+     * @return a new list of merged intervals covering all values covered by one of the lists
+     * @throws IllegalArgumentException if one of the lists is not merged or includes null elements
+     */
+    public static List<Interval> union(final List<Interval> intervals1, final List<Interval> intervals2) {
+        return apply(Operation.UNION, intervals1, intervals2);
+    }
+
+    /**
+     * Returns the intersection of the two lists of merged intervals.
+     *
+     * @param intervals1 The first list of merged intervals, sorted by their start boundaries.
+     * @param intervals2 The second list of merged intervals, sorted by their start boundaries.
+     * @return a new list of merged intervals covering all values covered by both lists
+     * @throws IllegalArgumentException if one of the lists is not merged or includes null elements
+     */
+    public static List<Interval> intersection(final List<Interval> intervals1, final List<Interval> intervals2) {
+        return apply(Operation.INTERSECTION, intervals1, intervals2);
+    }
+
+    /**
+     * Returns the difference of the two lists of merged intervals, e.g. the availability without the bookings.
+     *
+     * @param intervals1 The merged intervals to remove values from, sorted by their start boundaries.
+     * @param intervals2 The merged intervals to remove, sorted by their start boundaries.
+     * @return a new list of merged intervals covering all values covered by the first, but not by the second list
+     * @throws IllegalArgumentException if one of the lists is not merged or includes null elements
+     */
+    public static List<Interval> difference(final List<Interval> intervals1, final List<Interval> intervals2) {
+        return apply(Operation.DIFFERENCE, intervals1, intervals2);
+    }
+
+    /**
+     * Returns the symmetric difference of the two lists of merged intervals.
+     *
+     * @param intervals1 The first list of merged intervals, sorted by their start boundaries.
+     * @param intervals2 The second list of merged intervals, sorted by their start boundaries.
+     * @return a new list of merged intervals covering all values covered by exactly one of the lists
+     * @throws IllegalArgumentException if one of the lists is not merged or includes null elements
+     */
+    public static List<Interval> symmetricDifference(final List<Interval> intervals1,
+                                                     final List<Interval> intervals2) {
+        return apply(Operation.SYMMETRIC_DIFFERENCE, intervals1, intervals2);
+    }
+
+    /**
+     * Writes the union of the merged intervals given as two pairs of parallel arrays to the result arrays, see
+     * {@link IntervalSetOperations#union(List, List)}.
+     *
+     * @param starts1      The start boundaries of the first merged intervals.
+     * @param ends1        The end boundaries of the first merged intervals.
+     * @param length1      The number of the first merged intervals.
+     * @param starts2      The start boundaries of the second merged intervals.
+     * @param ends2        The end boundaries of the second merged intervals.
+     * @param length2      The number of the second merged intervals.
+     * @param resultStarts The array the start boundaries of the result are written to, has to provide space for
+     *                     {@code length1 + length2} intervals.
+     * @param resultEnds   The array the end boundaries of the result are written to, has to provide space for
+     *                     {@code length1 + length2} intervals.
+     * @return the number of intervals written to the result arrays
+     * @throws IllegalArgumentException if the given intervals are not merged or the result arrays are too small
+     */
+    public static int union(final double[] starts1, final double[] ends1, final int length1, final double[] starts2,
+                            final double[] ends2, final int length2, final double[] resultStarts,
+                            final double[] resultEnds) {
+        checkArguments(starts1, ends1, length1, starts2, ends2, length2, resultStarts, resultEnds);
+        return unionOfMerged(starts1, ends1, length1, starts2, ends2, length2, resultStarts, resultEnds);
+    }
+
+    /**
+     * Writes the intersection of the merged intervals given as two pairs of parallel arrays to the result arrays, see
+     * {@link IntervalSetOperations#intersection(List, List)}.
+     *
+     * @param starts1      The start boundaries of the first merged intervals.
+     * @param ends1        The end boundaries of the first merged intervals.
+     * @param length1      The number of the first merged intervals.
+     * @param starts2      The start boundaries of the second merged intervals.
+     * @param ends2        The end boundaries of the second merged intervals.
+     * @param length2      The number of the second merged intervals.
+     * @param resultStarts The array the start boundaries of the result are written to, has to provide space for
+     *                     {@code length1 + length2} intervals.
+     * @param resultEnds   The array the end boundaries of the result are written to, has to provide space for
+     *                     {@code length1 + length2} intervals.
+     * @return the number of intervals written to the result arrays
+     * @throws IllegalArgumentException if the given intervals are not merged or the result arrays are too small
+     */
+    public static int intersection(final double[] starts1, final double[] ends1, final int length1,
+                                   final double[] starts2, final double[] ends2, final int length2,
+                                   final double[] resultStarts, final double[] resultEnds) {
+        checkArguments(starts1, ends1, length1, starts2, ends2, length2, resultStarts, resultEnds);
+        int count = 0;
+        int i = 0;
+        int j = 0;
+        while (i < length1 && j < length2) {
+            double start = Math.max(starts1[i], starts2[j]);
+            double end = Math.min(ends1[i], ends2[j]);
+            if (Double.compare(start, end) <= 0) {
+                resultStarts[count] = start;
+                resultEnds[count] = end;
+                count++;
+            }
+            // the interval ending first cannot overlap any further interval of the other list
+            if (Double.compare(ends1[i], ends2[j]) < 0) {
+                i++;
+            } else {
+                j++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Writes the difference of the merged intervals given as two pairs of parallel arrays to the result arrays, see
+     * {@link IntervalSetOperations#difference(List, List)}.
+     *
+     * @param starts1      The start boundaries of the merged intervals to remove values from.
+     * @param ends1        The end boundaries of the merged intervals to remove values from.
+     * @param length1      The number of the merged intervals to remove values from.
+     * @param starts2      The start boundaries of the merged intervals to remove.
+     * @param ends2        The end boundaries of the merged intervals to remove.
+     * @param length2      The number of the merged intervals to remove.
+     * @param resultStarts The array the start boundaries of the result are written to, has to provide space for
+     *                     {@code length1 + length2} intervals.
+     * @param resultEnds   The array the end boundaries of the result are written to, has to provide space for
+     *                     {@code length1 + length2} intervals.
+     * @return the number of intervals written to the result arrays
+     * @throws IllegalArgumentException if the given intervals are not merged or the result arrays are too small
+     */
+    public static int difference(final double[] starts1, final double[] ends1, final int length1,
+                                 final double[] starts2, final double[] ends2, final int length2,
+                                 final double[] resultStarts, final double[] resultEnds) {
+        checkArguments(starts1, ends1, length1, starts2, ends2, length2, resultStarts, resultEnds);
+        return differenceOfMerged(starts1, ends1, length1, starts2, ends2, length2, resultStarts, resultEnds, 0);
+    }
+
+    /**
+     * Writes the symmetric difference of the merged intervals given as two pairs of parallel arrays to the result
+     * arrays, see {@link IntervalSetOperations#symmetricDifference(List, List)}. Both differences are computed into
+     * temporary arrays first, which are combined afterwards.
+     *
+     * @param starts1      The start boundaries of the first merged intervals.
+     * @param ends1        The end boundaries of the first merged intervals.
+     * @param length1      The number of the first merged intervals.
+     * @param starts2      The start boundaries of the second merged intervals.
+     * @param ends2        The end boundaries of the second merged intervals.
+     * @param length2      The number of the second merged intervals.
+     * @param resultStarts The array the start boundaries of the result are written to, has to provide space for
+     *                     {@code length1 + length2} intervals.
+     * @param resultEnds   The array the end boundaries of the result are written to, has to provide space for
+     *                     {@code length1 + length2} intervals.
+     * @return the number of intervals written to the result arrays
+     * @throws IllegalArgumentException if the given intervals are not merged or the result arrays are too small
+     */
+    public static int symmetricDifference(final double[] starts1, final double[] ends1, final int length1,
+                                          final double[] starts2, final double[] ends2, final int length2,
+                                          final double[] resultStarts, final double[] resultEnds) {
+        checkArguments(starts1, ends1, length1, starts2, ends2, length2, resultStarts, resultEnds);
+        // both differences together consist of at most length1 + length2 intervals
+        double[] differenceStarts = new double[length1 + length2];
+        double[] differenceEnds = new double[length1 + length2];
+        int length12 = differenceOfMerged(starts1, ends1, length1, starts2, ends2, length2, differenceStarts,
+                differenceEnds, 0);
+        int length21 = differenceOfMerged(starts2, ends2, length2, starts1, ends1, length1, differenceStarts,
+                differenceEnds, length12);
+
+        // the parts of both differences neither overlap nor touch, so combining them only has to restore the order
+        int count = 0;
+        int i = 0;
+        int j = length12;
+        while (i < length12 || j < length12 + length21) {
+            int next = j >= length12 + length21 || (i < length12
+                    && Double.compare(differenceStarts[i], differenceStarts[j]) <= 0) ? i++ : j++;
+            resultStarts[count] = differenceStarts[next];
+            resultEnds[count] = differenceEnds[next];
+            count++;
+        }
+        return count;
+    }
+
+    private static int unionOfMerged(final double[] starts1, final double[] ends1, final int length1,
+                                     final double[] starts2, final double[] ends2, final int length2,
+                                     final double[] resultStarts, final double[] resultEnds) {
+        if (length1 + length2 == 0) {
+            return 0;
+        }
+        int count = 0;
+        int i = 0;
+        int j = 0;
+        double currentStart = 0;
+        double currentEnd = 0;
+        boolean first = true;
+        while (i < length1 || j < length2) {
+            // takes the interval with the smaller start boundary of both lists, like sorting their concatenation
+            double start;
+            double end;
+            if (j >= length2 || (i < length1 && Double.compare(starts1[i], starts2[j]) <= 0)) {
+                start = starts1[i];
+                end = ends1[i++];
+            } else {
+                start = starts2[j];
+                end = ends2[j++];
+            }
+
+            if (first) {
+                currentStart = start;
+                currentEnd = end;
+                first = false;
+            } else if (Double.compare(currentEnd, start) < 0) {
+                // Intervals do not overlap --> write the previously merged interval and continue with the next one
+                resultStarts[count] = currentStart;
+                resultEnds[count] = currentEnd;
+                count++;
+                currentStart = start;
+                currentEnd = end;
+            } else {
+                currentEnd = Math.max(currentEnd, end);
+            }
+        }
+        resultStarts[count] = currentStart;
+        resultEnds[count] = currentEnd;
+        return count + 1;
+    }
+
+    private static int differenceOfMerged(final double[] starts1, final double[] ends1, final int length1,
+                                          final double[] starts2, final double[] ends2, final int length2,
+                                          final double[] resultStarts, final double[] resultEnds, final int offset) {
+        int count = offset;
+        int j = 0;
+        for (int i = 0; i < length1; i++) {
+            double start = starts1[i];
+            double end = ends1[i];
+
+            // removed intervals ending in front of the current interval cannot affect any later interval either
+            while (j < length2 && Double.compare(ends2[j], start) < 0) {
+                j++;
+            }
+
+            boolean remaining = true;
+            while (j < length2 && Double.compare(starts2[j], end) <= 0) {
+                if (Double.compare(starts2[j], start) > 0) {
+                    // the part in front of the removed interval, whose start boundary is excluded
+                    resultStarts[count] = start;
+                    resultEnds[count] = previousValue(starts2[j]);
+                    count++;
+                }
+                if (Double.compare(ends2[j], end) >= 0) {
+                    // the removed interval covers the rest and may also cover the next interval
+                    remaining = false;
+                    break;
+                }
+                start = nextValue(ends2[j]);
+                j++;
+            }
+            if (remaining) {
+                resultStarts[count] = start;
+                resultEnds[count] = end;
+                count++;
+            }
+        }
+        return count - offset;
+    }
+
+    /**
+     * Returns the largest value smaller than the given one in the order of {@link Double#compare(double, double)},
+     * which differs from {@link Math#nextDown(double)} for 0.0 and NaN.
+     */
+    private static double previousValue(final double value) {
+        if (Double.isNaN(value)) {
+            return Double.POSITIVE_INFINITY;
+        }
+        if (Double.doubleToRawLongBits(value) == 0L) {
+            return -0.0;
+        }
+        return Math.nextDown(value);
+    }
+
+    /**
+     * Returns the smallest value bigger than the given one in the order of {@link Double#compare(double, double)},
+     * which differs from {@link Math#nextUp(double)} for -0.0 and infinity.
+     */
+    private static double nextValue(final double value) {
+        if (value == Double.POSITIVE_INFINITY) {
+            return Double.NaN;
+        }
+        if (Double.doubleToRawLongBits(value) == Double.doubleToRawLongBits(-0.0)) {
+            return 0.0;
+        }
+        return Math.nextUp(value);
+    }
+
+    private static void checkArguments(final double[] starts1, final double[] ends1, final int length1,
+                                       final double[] starts2, final double[] ends2, final int length2,
+                                       final double[] resultStarts, final double[] resultEnds) {
+        if (length1 < 0 || length2 < 0) {
+            throw new IllegalArgumentException("The numbers of intervals must not be negative.");
+        }
+        if (length1 > starts1.length || length1 > ends1.length || length2 > starts2.length
+                || length2 > ends2.length) {
+            throw new IllegalArgumentException("The given length exceeds the length of the arrays including the " +
+                    "boundaries.");
+        }
+        if (resultStarts.length < length1 + length2 || resultEnds.length < length1 + length2) {
+            throw new IllegalArgumentException("The result arrays have to provide space for at least " +
+                    (length1 + length2) + " intervals.");
+        }
+        IntervalArrays.checkMerged(starts1, ends1, length1);
+        IntervalArrays.checkMerged(starts2, ends2, length2);
+    }
+
+    private static List<Interval> apply(final Operation operation, final List<Interval> intervals1,
+                                        final List<Interval> intervals2) {
+        double[][] columns1 = toColumns(intervals1);
+        double[][] columns2 = toColumns(intervals2);
+        int length1 = columns1[0].length;
+        int length2 = columns2[0].length;
+        double[] resultStarts = new double[length1 + length2];
+        double[] resultEnds = new double[length1 + length2];
+
+        int length;
+        switch (operation) {
+            case UNION:
+                length = union(columns1[0], columns1[1], length1, columns2[0], columns2[1], length2, resultStarts,
+                        resultEnds);
+                break;
+            case INTERSECTION:
+                length = intersection(columns1[0], columns1[1], length1, columns2[0], columns2[1], length2,
+                        resultStarts, resultEnds);
+                break;
+            case DIFFERENCE:
+                length = difference(columns1[0], columns1[1], length1, columns2[0], columns2[1], length2,
+                        resultStarts, resultEnds);
+                break;
+            default:
+                length = symmetricDifference(columns1[0], columns1[1], length1, columns2[0], columns2[1], length2,
+                        resultStarts, resultEnds);
+                break;
+        }
+
+        List<Interval> resultIntervals = new ArrayList<>(length);
+        for (int i = 0; i < length; i++) {
+            resultIntervals.add(new Interval(resultStarts[i], resultEnds[i]));
+        }
+        return resultIntervals;
+    }
+
+    private static double[][] toColumns(final List<Interval> intervals) {
+        if (intervals == null) {
+            return new double[][]{new double[0], new double[0]};
+        }
+        double[] starts = new double[intervals.size()];
+        double[] ends = new double[intervals.size()];
+        int i = 0;
+        for (Interval interval : intervals) {
+            if (interval == null) {
+                throw new IllegalArgumentException("The merged intervals must not include null.");
+            }
+            starts[i] = interval.getStart();
+            ends[i] = interval.getEnd();
+            i++;
+        }
+        return new double[][]{starts, ends};
+    }
+
+    private enum Operation {
+        UNION, INTERSECTION, DIFFERENCE, SYMMETRIC_DIFFERENCE
+    }
+}
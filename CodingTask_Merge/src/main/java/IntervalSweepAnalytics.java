@@ -0,0 +1,274 @@
+import java.util.*;
+
+/**
+ * Computes aggregates of a list of intervals in a single sweep over their boundaries, without creating any
+ * {@link Interval} objects: the maximum number of intervals overlapping at one value and the first value where it is
+ * reached, the length covered by each number of overlapping intervals, the length covered by at least one interval
+ * and the number of merged intervals {@link IntervalMerger#merge(List)} would return.
+ * <p>
+ * The sweep visits the start and end boundaries as separate events in ascending order, keeping the number of intervals
+ * covering the current value, called depth. Since the intervals are closed, an interval ending at a value still covers
+ * it, so ends are applied only when the sweep moves on to the next value. For example, [1,3] and [3,5] overlap at 3
+ * with a depth of 2 and form a single merged interval. Between two consecutive values, the depth is constant, so the
+ * length of that gap is added to the histogram entry of that depth.
+ * <p>
+ * The events can be passed one at a time using {@link IntervalSweepAnalytics#addStart(double)} and
+ * {@link IntervalSweepAnalytics#addEnd(double)}, e.g. from a log of start and end events, so that the sweep keeps only
+ * a constant number of values besides the histogram, which has one entry per depth. Boundaries given as columns are
+ * swept by {@link IntervalSweepAnalytics#analyzeSorted(double[], double[], int)} if both columns are sorted, or by
+ * {@link IntervalSweepAnalytics#analyze(double[], double[], int)}, which sorts copies of both columns first.
+ * <p>
+ * An {@code IntervalSweepAnalytics} is not thread-safe.
+ *
+ * @author Karolin Dürr
+ */
+public class IntervalSweepAnalytics {
+
+    private static final int INITIAL_DEPTH_CAPACITY = 16;
+
+    // lengthsByDepth[d] is the length covered by exactly d intervals between the first and the current value
+    private double[] lengthsByDepth = new double[INITIAL_DEPTH_CAPACITY];
+
+    private boolean started;
+
+    private double position;
+
+    // The number of intervals covering the current value, including the ones ending at it
+    private int depth;
+
+    // The number of intervals ending at the current value, which are removed from the depth when moving on
+    private int pendingEnds;
+
+    private int maxDepth;
+
+    private double maxDepthPosition = Double.NaN;
+
+    private long intervalCount;
+
+    private long mergedIntervalCount;
+
+    /**
+     * Creates an {@code IntervalSweepAnalytics} without any intervals, to which boundary events can be added in
+     * ascending order.
+     */
+    public IntervalSweepAnalytics() {
+    }
+
+    /**
+     * Computes the aggregates of the intervals included in the first {@code length} elements of the two parallel
+     * arrays. Copies of both columns are sorted independently, which takes O(n log n), while the arrays themselves are
+     * not modified. If the given start and end values of an interval are reversed, they will be switched.
+     *
+     * @param starts The start boundaries of the intervals.
+     * @param ends   The end boundaries of the intervals.
+     * @param length The number of intervals included in the arrays.
+     * @return the aggregates of the intervals
+     */
+    public static IntervalSweepAnalytics analyze(final double[] starts, final double[] ends, final int length) {
+        if (starts == null || ends == null || length <= 0) {
+            return new IntervalSweepAnalytics();
+        }
+        if (length > starts.length || length > ends.length) {
+            throw new IllegalArgumentException("The given length " + length + " exceeds the length of the arrays " +
+                    "including the boundaries.");
+        }
+        double[] sortedStarts = new double[length];
+        double[] sortedEnds = new double[length];
+        for (int i = 0; i < length; i++) {
+            boolean reversed = Double.compare(starts[i], ends[i]) > 0;
+            sortedStarts[i] = reversed ? ends[i] : starts[i];
+            sortedEnds[i] = reversed ? starts[i] : ends[i];
+        }
+        Arrays.sort(sortedStarts);
+        Arrays.sort(sortedEnds);
+        return analyzeSorted(sortedStarts, sortedEnds, length);
+    }
+
+    /**
+     * Computes the aggregates of the intervals whose start and end boundaries are given as two separately sorted
+     * columns, e.g. the boundaries of merged intervals or of intervals of a fixed length sorted by their start. The
+     * columns do not have to be parallel, since the sweep only needs all start and all end boundaries in ascending
+     * order. They are swept in a single pass in O(n) without allocating anything besides the result.
+     *
+     * @param sortedStarts The start boundaries of the intervals in ascending order.
+     * @param sortedEnds   The end boundaries of the intervals in ascending order.
+     * @param length       The number of intervals included in the arrays.
+     * @return the aggregates of the intervals
+     * @throws IllegalArgumentException if a column is not sorted, or if more intervals end than started at a value
+     */
+    public static IntervalSweepAnalytics analyzeSorted(final double[] sortedStarts, final double[] sortedEnds,
+                                                       final int length) {
+        IntervalSweepAnalytics analytics = new IntervalSweepAnalytics();
+        if (sortedStarts == null || sortedEnds == null || length <= 0) {
+            return analytics;
+        }
+        if (length > sortedStarts.length || length > sortedEnds.length) {
+            throw new IllegalArgumentException("The given length " + length + " exceeds the length of the arrays " +
+                    "including the boundaries.");
+        }
+        int i = 0;
+        int j = 0;
+        while (j < length) {
+            // starts are passed first on equal values, so that touching intervals overlap
+            if (i < length && Double.compare(sortedStarts[i], sortedEnds[j]) <= 0) {
+                analytics.addStart(sortedStarts[i++]);
+            } else {
+                analytics.addEnd(sortedEnds[j++]);
+            }
+        }
+        analytics.checkPendingEnds();
+        return analytics;
+    }
+
+    /**
+     * Adds the start boundary of an interval to the sweep. Boundaries have to be added in ascending order, where start
+     * and end boundaries at the same value may be added in any order, e.g. the end of [5,5] before its start. Whether
+     * every end boundary belongs to an interval started at or before it is therefore checked once the sweep moves on
+     * to a bigger value.
+     *
+     * @param start The value of the included starting boundary of the interval.
+     * @throws IllegalArgumentException if the boundary is smaller than the previous one, or if more intervals ended at
+     *                                  the previous value than started at or before it
+     */
+    public void addStart(final double start) {
+        moveTo(start);
+        if (this.depth == 0) {
+            this.mergedIntervalCount++;
+        }
+        this.depth++;
+        this.intervalCount++;
+        if (this.depth > this.maxDepth) {
+            this.maxDepth = this.depth;
+            this.maxDepthPosition = start;
+        }
+    }
+
+    /**
+     * Adds the end boundary of an interval to the sweep, see {@link IntervalSweepAnalytics#addStart(double)}.
+     *
+     * @param end The value of the included end boundary of the interval.
+     * @throws IllegalArgumentException if the boundary is smaller than the previous one, or if more intervals ended at
+     *                                  the previous value than started at or before it
+     */
+    public void addEnd(final double end) {
+        moveTo(end);
+        this.pendingEnds++;
+    }
+
+    /**
+     * Returns the number of intervals whose start boundary has been added.
+     *
+     * @return the number of intervals
+     */
+    public long getIntervalCount() {
+        return this.intervalCount;
+    }
+
+    /**
+     * Returns the number of merged intervals, meaning the number of maximal ranges covered by at least one interval.
+     *
+     * @return the number of merged intervals
+     */
+    public long getMergedIntervalCount() {
+        return this.mergedIntervalCount;
+    }
+
+    /**
+     * Returns the maximum number of intervals including the same value.
+     *
+     * @return the maximum overlap depth, or 0 if no intervals have been added
+     */
+    public int getMaxDepth() {
+        return this.maxDepth;
+    }
+
+    /**
+     * Returns the smallest value at which the maximum number of intervals overlap, e.g. the start of the busiest time.
+     *
+     * @return the first value with the maximum overlap depth, or NaN if no intervals have been added
+     */
+    public double getMaxDepthPosition() {
+        return this.maxDepthPosition;
+    }
+
+    /**
+     * Returns the length covered by exactly the given number of intervals, between the first boundary and the last one
+     * added so far. The length covered by zero intervals is the length of the gaps between the merged intervals.
+     *
+     * @param depth The number of overlapping intervals.
+     * @return the length covered by exactly {@code depth} intervals
+     */
+    public double getLengthAtDepth(final int depth) {
+        return depth >= 0 && depth < this.lengthsByDepth.length ? this.lengthsByDepth[depth] : 0;
+    }
+
+    /**
+     * Returns the lengths covered by each number of overlapping intervals, where the element at index d is the length
+     * covered by exactly d intervals, see {@link IntervalSweepAnalytics#getLengthAtDepth(int)}.
+     *
+     * @return a new array of {@code maxDepth + 1} lengths
+     */
+    public double[] getDepthHistogram() {
+        return Arrays.copyOf(this.lengthsByDepth, this.maxDepth + 1);
+    }
+
+    /**
+     * Returns the length covered by at least one interval, which is the summed length of the merged intervals.
+     *
+     * @return the covered length
+     */
+    public double getCoveredLength() {
+        double coveredLength = 0;
+        for (int d = 1; d < this.lengthsByDepth.length; d++) {
+            coveredLength += this.lengthsByDepth[d];
+        }
+        return coveredLength;
+    }
+
+    @Override
+    public String toString() {
+        return "IntervalSweepAnalytics{intervals=" + this.intervalCount + ", mergedIntervals="
+                + this.mergedIntervalCount + ", maxDepth=" + this.maxDepth + ", coveredLength=" + getCoveredLength()
+                + "}";
+    }
+
+    /**
+     * Moves the sweep to the given value, adding the length of the gap to the histogram entry of the depth within it
+     * and removing the intervals that ended at the previous value. Nothing is changed if the value is rejected.
+     */
+    private void moveTo(final double value) {
+        if (!this.started) {
+            this.started = true;
+            this.position = value;
+            return;
+        }
+        int comparison = Double.compare(value, this.position);
+        if (comparison < 0) {
+            throw new IllegalArgumentException("The boundary " + value + " is smaller than the previous boundary " +
+                    this.position + ".");
+        }
+        if (comparison == 0) {
+            return;
+        }
+        checkPendingEnds();
+        this.depth -= this.pendingEnds;
+        this.pendingEnds = 0;
+        if (this.depth >= this.lengthsByDepth.length) {
+            this.lengthsByDepth = Arrays.copyOf(this.lengthsByDepth, Math.max(this.depth + 1,
+                    2 * this.lengthsByDepth.length));
+        }
+        this.lengthsByDepth[this.depth] += value - this.position;
+        this.position = value;
+    }
+
+    /**
+     * Checks that every end boundary at the current value belongs to an interval started at or before it, which is
+     * only known once all boundaries at that value have been added.
+     */
+    private void checkPendingEnds() {
+        if (this.pendingEnds > this.depth) {
+            throw new IllegalArgumentException("More intervals end at " + this.position + " than started at or " +
+                    "before it.");
+        }
+    }
+}
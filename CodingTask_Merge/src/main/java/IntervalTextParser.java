@@ -0,0 +1,334 @@
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Parses a textual interval list, such as {@code [[25,30],[2,19],[14,23],[4,8]]} or {@code [25,30],[2,19],[14,23]},
+ * and passes each interval to an {@link IntervalConsumer}, e.g. an {@link IntervalColumns} buffer. The input is read
+ * from a channel or stream in blocks and parsed byte by byte, so that neither the whole input nor a single interval
+ * is converted to a {@link String}. Whitespace between brackets, commas and numbers is ignored.
+ * <p>
+ * Numbers with at most 15 significant digits and a small decimal exponent, which covers common input, are converted
+ * using a single exact multiplication or division by a power of ten, which is correctly rounded. Other numbers,
+ * including {@code NaN} and {@code Infinity}, are converted by {@link Double#parseDouble(String)}, so that the
+ * result is always identical to the one of {@link Double#parseDouble(String)}.
+ *
+ * @author Karolin Dürr
+ */
+public class IntervalTextParser {
+
+    private static final int DEFAULT_BUFFER_SIZE = 1 << 16;
+
+    // Longer numbers are rejected, so that the token buffer does not have to grow
+    private static final int MAX_NUMBER_LENGTH = 512;
+
+    // Integers up to 10^15 - 1 and powers of ten up to 10^22 are represented exactly by a double
+    private static final int MAX_FAST_PATH_DIGITS = 15;
+
+    private static final double[] POWERS_OF_TEN = {
+            1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11,
+            1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22
+    };
+
+    private static final int END_OF_INPUT = -1;
+
+    private ReadableByteChannel channel;
+
+    private final ByteBuffer buffer;
+
+    private final byte[] number = new byte[MAX_NUMBER_LENGTH];
+
+    // The offset of the first byte of the buffer, counted from the beginning of the input
+    private long bufferOffset;
+
+    private int position;
+
+    private int limit;
+
+    /**
+     * Creates an {@code IntervalTextParser} reading from the given stream, e.g. {@link System#in}.
+     *
+     * @param input The stream including the textual interval list.
+     */
+    public IntervalTextParser(final InputStream input) {
+        this(Channels.newChannel(input));
+    }
+
+    /**
+     * Creates an {@code IntervalTextParser} reading from the given channel, e.g. a {@link java.nio.channels.FileChannel}.
+     *
+     * @param channel The channel including the textual interval list.
+     */
+    public IntervalTextParser(final ReadableByteChannel channel) {
+        this(channel, DEFAULT_BUFFER_SIZE);
+    }
+
+    IntervalTextParser(final ReadableByteChannel channel, final int bufferSize) {
+        if (channel == null) {
+            throw new IllegalArgumentException("The channel to read from must not be null.");
+        }
+        this.channel = channel;
+        this.buffer = ByteBuffer.allocate(bufferSize);
+    }
+
+    /**
+     * Continues parsing a new input from the given channel, e.g. the body of the next request, so that the buffers of
+     * the parser are reused. Offsets reported afterwards are counted from the beginning of the new input.
+     *
+     * @param channel The channel including the next textual interval list.
+     */
+    void reset(final ReadableByteChannel channel) {
+        if (channel == null) {
+            throw new IllegalArgumentException("The channel to read from must not be null.");
+        }
+        this.channel = channel;
+        this.bufferOffset = 0;
+        this.position = 0;
+        this.limit = 0;
+    }
+
+    /**
+     * Parses the whole input and passes each interval to the given consumer, in the order of the input. Reversed
+     * boundaries are passed as they are. The input is valid, if it either encloses the intervals in another pair of
+     * brackets, e.g. {@code [[25,30],[2,19]]}, or not, e.g. {@code [25,30],[2,19]}. An empty list {@code []} is valid
+     * as well. The stream or channel is not closed.
+     *
+     * @param consumer Receives the parsed intervals.
+     * @return the number of parsed intervals
+     * @throws IntervalParseException if the input is invalid, including the offset of the invalid byte
+     * @throws IOException            if reading the input fails
+     */
+    public long parse(final IntervalConsumer consumer) throws IOException {
+        IntervalParseEvent event = new IntervalParseEvent();
+        event.begin();
+        long startTime = MergeMetrics.startTiming();
+        long count = 0;
+        expect('[');
+        int next = peekToken();
+
+        if (next == ']') {
+            // empty list
+            read();
+        } else if (next == '[') {
+            // intervals enclosed in another pair of brackets, e.g. [[25,30],[2,19]]
+            do {
+                expect('[');
+                parseInterval(consumer);
+                count++;
+            } while (expectOneOf(',', ']') == ',');
+        } else {
+            // intervals without enclosing brackets, e.g. [25,30],[2,19], whose first bracket is read already
+            parseInterval(consumer);
+            count++;
+            while (peekToken() != END_OF_INPUT) {
+                expect(',');
+                expect('[');
+                parseInterval(consumer);
+                count++;
+            }
+        }
+
+        if (peekToken() != END_OF_INPUT) {
+            throw new IntervalParseException("Unexpected character '" + (char) peek() + "' after the interval list",
+                    offset());
+        }
+        MergeMetrics.recordPhase(MergeMetrics.Phase.PARSE, startTime);
+        event.end();
+        if (event.shouldCommit()) {
+            event.intervalCount = count;
+            event.inputBytes = offset();
+            event.commit();
+        }
+        return count;
+    }
+
+    /**
+     * Parses the boundaries and the closing bracket of an interval, whose opening bracket is read already.
+     */
+    private void parseInterval(final IntervalConsumer consumer) throws IOException {
+        double start = parseNumber();
+        expect(',');
+        double end = parseNumber();
+        expect(']');
+        consumer.accept(start, end);
+    }
+
+    private double parseNumber() throws IOException {
+        peekToken();
+        long numberOffset = offset();
+        int length = 0;
+        int next = peek();
+        while (next != END_OF_INPUT && next != ',' && next != ']' && next != '[' && !isWhitespace(next)) {
+            if (length == MAX_NUMBER_LENGTH) {
+                throw new IntervalParseException("Number exceeding " + MAX_NUMBER_LENGTH + " characters",
+                        numberOffset);
+            }
+            this.number[length++] = (byte) read();
+            next = peek();
+        }
+        if (length == 0) {
+            throw new IntervalParseException(next == END_OF_INPUT ? "Unexpected end of input, expected a number"
+                    : "Expected a number but found '" + (char) next + "'", offset());
+        }
+
+        double value = parseSimpleNumber(length);
+        if (!Double.isNaN(value)) {
+            return value;
+        }
+        try {
+            // rare numbers, e.g. with many digits, large exponents, NaN or Infinity
+            return Double.parseDouble(new String(this.number, 0, length, StandardCharsets.US_ASCII));
+        } catch (NumberFormatException exception) {
+            throw new IntervalParseException("Invalid number '" + new String(this.number, 0, length,
+                    StandardCharsets.US_ASCII) + "'", numberOffset);
+        }
+    }
+
+    /**
+     * Converts numbers of the form {@code [+-]digits[.digits][(e|E)[+-]digits]} whose significant digits and
+     * exponent allow an exact conversion, see Clinger's fast path. Returns NaN for any other number, which is then
+     * converted by {@link Double#parseDouble(String)}.
+     */
+    private double parseSimpleNumber(final int length) {
+        int i = 0;
+        boolean negative = false;
+        if (this.number[0] == '-' || this.number[0] == '+') {
+            negative = this.number[0] == '-';
+            i++;
+        }
+
+        long mantissa = 0;
+        int significantDigits = 0;
+        int digits = 0;
+        int exponent = 0;
+        boolean fraction = false;
+        for (; i < length; i++) {
+            int character = this.number[i];
+            if (character >= '0' && character <= '9') {
+                digits++;
+                if (mantissa != 0 || character != '0') {
+                    if (++significantDigits > MAX_FAST_PATH_DIGITS) {
+                        return Double.NaN;
+                    }
+                    mantissa = mantissa * 10 + (character - '0');
+                }
+                if (fraction) {
+                    exponent--;
+                }
+            } else if (character == '.' && !fraction) {
+                fraction = true;
+            } else {
+                break;
+            }
+        }
+        if (digits == 0) {
+            return Double.NaN;
+        }
+
+        if (i < length) {
+            if (this.number[i] != 'e' && this.number[i] != 'E' || ++i == length) {
+                return Double.NaN;
+            }
+            boolean negativeExponent = this.number[i] == '-';
+            if (this.number[i] == '-' || this.number[i] == '+') {
+                if (++i == length) {
+                    return Double.NaN;
+                }
+            }
+            int explicitExponent = 0;
+            for (; i < length; i++) {
+                int character = this.number[i];
+                if (character < '0' || character > '9' || explicitExponent > 1000) {
+                    return Double.NaN;
+                }
+                explicitExponent = explicitExponent * 10 + (character - '0');
+            }
+            exponent += negativeExponent ? -explicitExponent : explicitExponent;
+        }
+
+        double value;
+        if (mantissa == 0) {
+            value = 0;
+        } else if (exponent >= 0 && exponent < POWERS_OF_TEN.length) {
+            value = mantissa * POWERS_OF_TEN[exponent];
+        } else if (exponent < 0 && -exponent < POWERS_OF_TEN.length) {
+            value = mantissa / POWERS_OF_TEN[-exponent];
+        } else {
+            return Double.NaN;
+        }
+        return negative ? -value : value;
+    }
+
+    private void expect(final char expected) throws IOException {
+        int next = peekToken();
+        if (next != expected) {
+            throw unexpected(next, "'" + expected + "'");
+        }
+        read();
+    }
+
+    private int expectOneOf(final char first, final char second) throws IOException {
+        int next = peekToken();
+        if (next != first && next != second) {
+            throw unexpected(next, "'" + first + "' or '" + second + "'");
+        }
+        return read();
+    }
+
+    private IntervalParseException unexpected(final int next, final String expected) {
+        if (next == END_OF_INPUT) {
+            return new IntervalParseException("Unexpected end of input, expected " + expected, offset());
+        }
+        return new IntervalParseException("Expected " + expected + " but found '" + (char) next + "'", offset());
+    }
+
+    /**
+     * Skips whitespace and returns the next byte without consuming it.
+     */
+    private int peekToken() throws IOException {
+        int next = peek();
+        while (isWhitespace(next)) {
+            read();
+            next = peek();
+        }
+        return next;
+    }
+
+    private int peek() throws IOException {
+        if (this.position == this.limit && !fill()) {
+            return END_OF_INPUT;
+        }
+        return this.buffer.array()[this.position] & 0xFF;
+    }
+
+    private int read() throws IOException {
+        int next = peek();
+        if (next != END_OF_INPUT) {
+            this.position++;
+        }
+        return next;
+    }
+
+    private boolean fill() throws IOException {
+        this.bufferOffset += this.limit;
+        this.buffer.clear();
+        int read = 0;
+        while (read == 0) {
+            read = this.channel.read(this.buffer);
+        }
+        this.position = 0;
+        this.limit = Math.max(read, 0);
+        return read > 0;
+    }
+
+    private long offset() {
+        return this.bufferOffset + this.position;
+    }
+
+    private static boolean isWhitespace(final int character) {
+        return character == ' ' || character == '\n' || character == '\r' || character == '\t';
+    }
+}
@@ -0,0 +1,199 @@
+import jdk.jfr.FlightRecorder;
+
+import java.io.Closeable;
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+
+/**
+ * Writes intervals as a textual list to a {@link Writer}, using the same format as printing a {@link java.util.List}
+ * of {@link Interval}s, e.g. {@code [[2,23], [25,30]]}. The boundaries are formatted by a reused
+ * {@link DoubleFormatter} into an internal character buffer, which is passed to the writer whenever it is full, so
+ * that writing millions of intervals neither creates strings nor other objects per interval. To write to a channel,
+ * the writer can be created using {@link java.nio.channels.Channels#newWriter}.
+ * <p>
+ * The writer is an {@link IntervalConsumer}, so that merged intervals can be written directly, e.g. by passing it to
+ * a {@link StreamingIntervalMerger}. The list is completed by {@link IntervalWriter#finish()} or
+ * {@link IntervalWriter#close()}.
+ *
+ * @author Karolin Dürr
+ */
+public class IntervalWriter implements IntervalConsumer, Flushable, Closeable {
+
+    private static final int BUFFER_SIZE = 1 << 14;
+
+    // Brackets, comma and separator of an interval in addition to its boundaries
+    private static final int MAX_INTERVAL_LENGTH = 2 * DoubleFormatter.MAX_LENGTH + 5;
+
+    private final Writer writer;
+
+    private final DoubleFormatter formatter = new DoubleFormatter();
+
+    private final char[] buffer = new char[BUFFER_SIZE];
+
+    private int position;
+
+    private boolean first = true;
+
+    // The time the first interval of the current list was written at, if the metrics are enabled
+    private long listStartTime = MergeMetrics.NOT_TIMED;
+
+    // The event of the current list, which is only created while the Flight Recorder records it
+    private IntervalFormatEvent listEvent;
+
+    private long listSize;
+
+    /**
+     * Creates an {@code IntervalWriter} writing to the given writer.
+     *
+     * @param writer The writer the list of intervals is written to.
+     */
+    public IntervalWriter(final Writer writer) {
+        if (writer == null) {
+            throw new IllegalArgumentException("The writer must not be null.");
+        }
+        this.writer = writer;
+    }
+
+    /**
+     * Appends the interval [start,end] to the list.
+     *
+     * @param start The value of the included starting boundary of the interval.
+     * @param end   The value of the included end boundary of the interval.
+     * @throws UncheckedIOException if writing to the underlying writer fails
+     */
+    @Override
+    public void accept(final double start, final double end) {
+        try {
+            write(start, end);
+        } catch (IOException exception) {
+            throw new UncheckedIOException(exception);
+        }
+    }
+
+    /**
+     * Appends the first {@code length} intervals of the two parallel arrays to the list.
+     *
+     * @param starts The start boundaries of the intervals.
+     * @param ends   The end boundaries of the intervals.
+     * @param length The number of intervals to write.
+     * @throws IOException if writing to the underlying writer fails
+     */
+    public void write(final double[] starts, final double[] ends, final int length) throws IOException {
+        for (int i = 0; i < length; i++) {
+            write(starts[i], ends[i]);
+        }
+    }
+
+    /**
+     * Appends the given {@link Interval}s to the list. Null elements will be ignored.
+     *
+     * @param intervals The intervals to write.
+     * @throws IOException if writing to the underlying writer fails
+     */
+    public void write(final Iterable<Interval> intervals) throws IOException {
+        for (Interval interval : intervals) {
+            if (interval != null) {
+                write(interval.getStart(), interval.getEnd());
+            }
+        }
+    }
+
+    /**
+     * Completes the list by its closing bracket and flushes the underlying writer, without closing it, e.g. to
+     * continue writing to {@link System#out}. Afterwards, a new list can be written.
+     *
+     * @throws IOException if writing to the underlying writer fails
+     */
+    public void finish() throws IOException {
+        if (this.first) {
+            this.buffer[this.position++] = '[';
+        }
+        this.buffer[this.position++] = ']';
+        this.first = true;
+        flush();
+        MergeMetrics.recordPhase(MergeMetrics.Phase.FORMAT, this.listStartTime);
+        this.listStartTime = MergeMetrics.NOT_TIMED;
+        if (this.listEvent != null) {
+            this.listEvent.end();
+            if (this.listEvent.shouldCommit()) {
+                this.listEvent.intervalCount = this.listSize;
+                this.listEvent.commit();
+            }
+            this.listEvent = null;
+        }
+    }
+
+    /**
+     * Passes the buffered characters to the underlying writer and flushes it.
+     *
+     * @throws IOException if writing to the underlying writer fails
+     */
+    @Override
+    public void flush() throws IOException {
+        flushBuffer();
+        this.writer.flush();
+    }
+
+    /**
+     * Completes the list and closes the underlying writer.
+     *
+     * @throws IOException if writing to the underlying writer fails
+     */
+    @Override
+    public void close() throws IOException {
+        try {
+            finish();
+        } finally {
+            this.writer.close();
+        }
+    }
+
+    /**
+     * Creates and begins the event of a new list, if the Flight Recorder is running and records the event. Otherwise,
+     * no event is created, since an event stored in a field cannot be removed by escape analysis, so that writing a
+     * list does not allocate anything without a recording.
+     */
+    private static IntervalFormatEvent beginFormatEvent() {
+        if (!FlightRecorder.isInitialized()) {
+            return null;
+        }
+        IntervalFormatEvent event = new IntervalFormatEvent();
+        if (!event.isEnabled()) {
+            return null;
+        }
+        event.begin();
+        return event;
+    }
+
+    private void write(final double start, final double end) throws IOException {
+        if (BUFFER_SIZE - this.position < MAX_INTERVAL_LENGTH) {
+            flushBuffer();
+        }
+        char[] chars = this.buffer;
+        int position = this.position;
+        if (this.first) {
+            chars[position++] = '[';
+            this.first = false;
+            this.listStartTime = MergeMetrics.startTiming();
+            this.listEvent = beginFormatEvent();
+            this.listSize = 0;
+        } else {
+            chars[position++] = ',';
+            chars[position++] = ' ';
+        }
+        chars[position++] = '[';
+        position = this.formatter.format(start, chars, position);
+        chars[position++] = ',';
+        position = this.formatter.format(end, chars, position);
+        chars[position++] = ']';
+        this.position = position;
+        this.listSize++;
+    }
+
+    private void flushBuffer() throws IOException {
+        this.writer.write(this.buffer, 0, this.position);
+        this.position = 0;
+    }
+}
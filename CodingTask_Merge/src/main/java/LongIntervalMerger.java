@@ -0,0 +1,234 @@
+import java.util.*;
+
+/**
+ * The class allows merging overlapping intervals whose boundaries are {@code long} values, such as epoch
+ * milliseconds. In contrast to the {@link IntervalMerger}, the intervals are stored in two parallel {@code long}
+ * arrays and sorted by their start boundaries using a radix sort, which carries the end boundaries along. Since longs
+ * are discrete, the merger can optionally merge adjacent intervals as well, e.g. [1,3] and [4,6] to [1,6].
+ *
+ * @author Karolin Dürr
+ */
+public class LongIntervalMerger {
+
+    private final boolean mergeAdjacent;
+
+    /**
+     * Creates a {@code LongIntervalMerger} that only merges overlapping intervals, including intervals that touch each
+     * other like [1,3] and [3,6].
+     */
+    public LongIntervalMerger() {
+        this(false);
+    }
+
+    /**
+     * Creates a {@code LongIntervalMerger}, which additionally merges adjacent intervals, if {@code mergeAdjacent} is
+     * true. Adjacent intervals, such as [1,3] and [4,6], do not share a boundary, but there is no integer in between.
+     *
+     * @param mergeAdjacent Whether intervals that are adjacent to each other should be merged as well.
+     */
+    public LongIntervalMerger(final boolean mergeAdjacent) {
+        this.mergeAdjacent = mergeAdjacent;
+    }
+
+    /**
+     * Merges the overlapping {@link LongInterval}s included in a given input {@link List}. If the list parameter is
+     * empty or null, an empty {@link List} will be returned. Otherwise, the returned list contains new
+     * {@link LongInterval}s representing the merged intervals, sorted by their starting boundaries. Null elements
+     * within the list will be ignored. Neither the given list nor its intervals are modified.
+     *
+     * @param inputIntervals A {@link List} including {@link LongInterval}s.
+     * @return A sorted list including the {@link LongInterval}s after merging the overlapping ones.
+     */
+    public List<LongInterval> merge(final List<LongInterval> inputIntervals) {
+        if (inputIntervals == null || inputIntervals.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        long[] starts = new long[inputIntervals.size()];
+        long[] ends = new long[inputIntervals.size()];
+        int length = 0;
+        for (LongInterval interval : inputIntervals) {
+            if (interval == null) {
+                // ignore invalid input included in the input list
+                continue;
+            }
+            starts[length] = interval.getStart();
+            ends[length] = interval.getEnd();
+            length++;
+        }
+
+        int count = sortAndMerge(starts, ends, length);
+        List<LongInterval> resultIntervals = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            resultIntervals.add(new LongInterval(starts[i], ends[i]));
+        }
+        return resultIntervals;
+    }
+
+    /**
+     * Merges the overlapping intervals included in a given input array. If the input parameter is empty or null, an
+     * empty {@link List} will be returned. Otherwise, the returned list contains new arrays representing the merged
+     * intervals, sorted by their starting boundaries. Invalid input within the array will be ignored and reversed
+     * boundaries are switched. The given array is not modified.
+     *
+     * @param inputIntervals A 2D-array including intervals. An interval is represented as another array including
+     *                       exactly two elements, e.g. [1,10].
+     * @return A sorted list including the intervals after merging the overlapping ones.
+     */
+    public List<long[]> merge(final long[][] inputIntervals) {
+        if (inputIntervals == null || inputIntervals.length == 0) {
+            return new ArrayList<>();
+        }
+
+        long[] starts = new long[inputIntervals.length];
+        long[] ends = new long[inputIntervals.length];
+        int length = 0;
+        for (long[] interval : inputIntervals) {
+            if (interval == null || interval.length != 2) {
+                // ignore invalid input included in the input array
+                continue;
+            }
+            starts[length] = Math.min(interval[0], interval[1]);
+            ends[length] = Math.max(interval[0], interval[1]);
+            length++;
+        }
+
+        int count = sortAndMerge(starts, ends, length);
+        List<long[]> resultIntervals = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            resultIntervals.add(new long[]{starts[i], ends[i]});
+        }
+        return resultIntervals;
+    }
+
+    /**
+     * Merges the overlapping intervals given as two parallel arrays, where the interval at index i is represented by
+     * {@code [starts[i],ends[i]]}. The intervals are merged in place, meaning after the call, the first n elements of
+     * the arrays contain the merged intervals, sorted by their starting boundaries, where n is the returned number of
+     * merged intervals. If the given start and end values of an interval are reversed, they will be switched.
+     *
+     * @param starts The start boundaries of the intervals.
+     * @param ends   The end boundaries of the intervals, has to have the same length as {@code starts}.
+     * @return The number of merged intervals at the beginning of the arrays, or 0 if one of the arrays is null.
+     */
+    public int merge(final long[] starts, final long[] ends) {
+        if (starts == null || ends == null) {
+            return 0;
+        }
+        if (starts.length != ends.length) {
+            throw new IllegalArgumentException("The arrays including the start and end boundaries must have the " +
+                    "same length.");
+        }
+        return merge(starts, ends, starts.length);
+    }
+
+    /**
+     * Merges the overlapping intervals included in the first {@code length} elements of the two parallel arrays in
+     * place, see {@link LongIntervalMerger#merge(long[], long[])}. Elements at an index &gt;= {@code length} are not
+     * modified. Sorting requires two temporary {@code long} arrays with {@code length} elements.
+     *
+     * @param starts The start boundaries of the intervals.
+     * @param ends   The end boundaries of the intervals.
+     * @param length The number of intervals included in the arrays.
+     * @return The number of merged intervals at the beginning of the arrays, or 0 if one of the arrays is null.
+     */
+    public int merge(final long[] starts, final long[] ends, final int length) {
+        if (starts == null || ends == null || length <= 0) {
+            return 0;
+        }
+        if (length > starts.length || length > ends.length) {
+            throw new IllegalArgumentException("The given length " + length + " exceeds the length of the arrays " +
+                    "including the boundaries.");
+        }
+
+        // ensure start and thus smaller boundary comes first
+        for (int i = 0; i < length; i++) {
+            if (starts[i] > ends[i]) {
+                long temp = starts[i];
+                starts[i] = ends[i];
+                ends[i] = temp;
+            }
+        }
+        return sortAndMerge(starts, ends, length);
+    }
+
+    /**
+     * Merges the overlapping intervals included in the first {@code length} elements of the two parallel arrays, and
+     * writes the merged intervals, sorted by their starting boundaries, to the beginning of the given output arrays,
+     * which may also be the input arrays themselves. The input arrays are not modified otherwise. Sorting requires
+     * four temporary {@code long} arrays with {@code length} elements.
+     *
+     * @param starts       The start boundaries of the intervals.
+     * @param ends         The end boundaries of the intervals.
+     * @param length       The number of intervals included in the arrays.
+     * @param mergedStarts The array the start boundaries of the merged intervals are written to, has to provide space
+     *                     for at least {@code length} intervals.
+     * @param mergedEnds   The array the end boundaries of the merged intervals are written to, has to provide space
+     *                     for at least {@code length} intervals.
+     * @return The number of merged intervals written to the output arrays, or 0 if one of the input arrays is null.
+     */
+    public int merge(final long[] starts, final long[] ends, final int length, final long[] mergedStarts,
+                     final long[] mergedEnds) {
+        if (starts == null || ends == null || length <= 0) {
+            return 0;
+        }
+        if (length > starts.length || length > ends.length) {
+            throw new IllegalArgumentException("The given length " + length + " exceeds the length of the arrays " +
+                    "including the boundaries.");
+        }
+        if (mergedStarts == null || mergedEnds == null || mergedStarts.length < length || mergedEnds.length < length) {
+            throw new IllegalArgumentException("The output arrays have to provide space for at least " + length +
+                    " intervals.");
+        }
+
+        long[] sortedStarts = new long[length];
+        long[] sortedEnds = new long[length];
+        for (int i = 0; i < length; i++) {
+            sortedStarts[i] = Math.min(starts[i], ends[i]);
+            sortedEnds[i] = Math.max(starts[i], ends[i]);
+        }
+
+        int count = sortAndMerge(sortedStarts, sortedEnds, length);
+        System.arraycopy(sortedStarts, 0, mergedStarts, 0, count);
+        System.arraycopy(sortedEnds, 0, mergedEnds, 0, count);
+        return count;
+    }
+
+    /**
+     * Sorts the intervals by their start boundaries and merges the overlapping ones in place.
+     *
+     * @return the number of merged intervals at the beginning of the arrays
+     */
+    private int sortAndMerge(final long[] starts, final long[] ends, final int length) {
+        if (length == 0) {
+            return 0;
+        }
+        RadixIntervalSort.sort(starts, ends, length);
+
+        int count = 0;
+        long currentStart = starts[0];
+        long currentEnd = ends[0];
+
+        /* Since the intervals are sorted, if the current interval does not overlap with the previously merged one,
+        any following interval can also not overlap with the previous one. */
+        for (int i = 1; i < length; i++) {
+            long start = starts[i];
+
+            if (start > currentEnd && !(this.mergeAdjacent && start - 1 == currentEnd)) {
+                // Intervals do not overlap --> store the previously merged interval and continue with the next pair
+                starts[count] = currentStart;
+                ends[count] = currentEnd;
+                count++;
+                currentStart = start;
+                currentEnd = ends[i];
+                continue;
+            }
+
+            // Previous interval includes or touches the start boundary of the current interval --> merge intervals
+            currentEnd = Math.max(currentEnd, ends[i]);
+        }
+        starts[count] = currentStart;
+        ends[count] = currentEnd;
+        return count + 1;
+    }
+}
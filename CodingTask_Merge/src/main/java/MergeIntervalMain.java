@@ -1,3 +1,12 @@
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.nio.DoubleBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.util.*;
 
 /**
@@ -7,16 +16,76 @@ import java.util.*;
  */
 public class MergeIntervalMain {
 
-    // Uses IntervalMerger class to merge the overlapping intervals within a list and print the result to the console.
+    private static final String READ_TEXT_OPTION = "--read-text";
+
+    private static final String READ_BINARY_OPTION = "--read-binary";
+
+    private static final String WRITE_BINARY_OPTION = "--write-binary";
+
+    private static final String TEMP_DIR_OPTION = "--temp-dir";
+
+    private static final String MEMORY_BUDGET_OPTION = "--memory-budget";
+
+    private static final String SERVER_OPTION = "--server";
+
+    private static final String MAX_BODY_SIZE_OPTION = "--max-body-size";
+
+    /* Uses IntervalMerger class to merge the overlapping intervals within a list and print the result to the console.
+    Instead of an argument, the list can be read from a text file or the standard input using --read-text <file|->, or
+    an interval file can be read using --read-binary <file>, and the merged intervals can be written
+    to an interval file using --write-binary <file>. Interval files exceeding the memory budget, which can be set using
+    --memory-budget <bytes>, are merged externally, using the directory given by --temp-dir <directory>. Using
+    --server <port>, the program merges interval lists sent to an HTTP endpoint instead, limiting the size of a request
+    body to --max-body-size <bytes>. */
     public static void main(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        String intervalListInput = null;
+        for (int i = 0; args != null && i < args.length; i++) {
+            if (!args[i].startsWith("--")) {
+                intervalListInput = args[i];
+            } else if (i + 1 < args.length) {
+                options.put(args[i], args[++i]);
+            } else {
+                System.out.println("The option " + args[i] + " requires a value.");
+                return;
+            }
+        }
+
+        if (options.containsKey(SERVER_OPTION)) {
+            try {
+                startServer(options);
+            } catch (IOException | IllegalArgumentException exception) {
+                System.out.println("The server could not be started: " + exception.getMessage());
+            }
+            return;
+        }
+
+        if (options.containsKey(READ_TEXT_OPTION)) {
+            try {
+                mergeTextInput(options);
+            } catch (IOException | IllegalArgumentException | IllegalStateException exception) {
+                System.out.println("The interval list could not be merged: " + exception.getMessage());
+            }
+            return;
+        }
+
+        if (options.containsKey(READ_BINARY_OPTION)) {
+            try {
+                mergeIntervalFile(options);
+            } catch (IOException | IllegalArgumentException exception) {
+                System.out.println("The interval file could not be merged: " + exception.getMessage());
+            }
+            return;
+        }
+
         List<Interval> intervals = new LinkedList<>();
-        if (args == null || args.length == 0) {
+        if (intervalListInput == null) {
             intervals.add(new Interval(25, 30));
             intervals.add(new Interval(2, 19));
             intervals.add(new Interval(14, 23));
             intervals.add(new Interval(4, 8));
         } else {
-            intervals = convertConsoleInput(args[0]);
+            intervals = convertConsoleInput(intervalListInput);
         }
 
         System.out.println("---------------------");
@@ -24,44 +93,162 @@ public class MergeIntervalMain {
         System.out.println("\nMerging overlapping intervals...\n");
 
         IntervalMerger intervalMerger = new IntervalMerger();
-        System.out.println(intervalMerger.merge(intervals));
+        List<Interval> mergedIntervals = intervalMerger.merge(intervals);
+        try {
+            IntervalWriter consoleWriter = createConsoleWriter();
+            consoleWriter.write(mergedIntervals);
+            consoleWriter.finish();
+            System.out.println();
+        } catch (IOException exception) {
+            System.out.println("The merged intervals could not be printed: " + exception.getMessage());
+        }
         System.out.println("---------------------");
+
+        if (options.containsKey(WRITE_BINARY_OPTION)) {
+            try (IntervalFileWriter writer = new IntervalFileWriter(Paths.get(options.get(WRITE_BINARY_OPTION)))) {
+                for (Interval interval : mergedIntervals) {
+                    writer.accept(interval.getStart(), interval.getEnd());
+                }
+            } catch (IOException | UncheckedIOException exception) {
+                System.out.println("The merged intervals could not be written: " + exception.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Starts an {@link IntervalMergeServer} on the port given by the {@code --server} option, which keeps running until
+     * the program is terminated. The {@link MergeMetrics} are registered, so that they can be enabled via JMX.
+     *
+     * @param options the options provided as program arguments
+     * @throws IOException if the server cannot listen on the port
+     */
+    private static void startServer(final Map<String, String> options) throws IOException {
+        int port = Integer.parseInt(options.get(SERVER_OPTION));
+        long maxBodySize = options.containsKey(MAX_BODY_SIZE_OPTION)
+                ? Long.parseLong(options.get(MAX_BODY_SIZE_OPTION)) : IntervalMergeServer.DEFAULT_MAX_BODY_SIZE;
+        IntervalMergeServer server = new IntervalMergeServer(port, maxBodySize);
+        MergeMetrics.register();
+        Runtime.getRuntime().addShutdownHook(new Thread(server::close));
+        server.start();
+        System.out.println("Merging intervals sent to POST http://localhost:" + server.getPort() +
+                IntervalMergeServer.MERGE_PATH);
+    }
+
+    /**
+     * Parses the textual interval list of the file given by the {@code --read-text} option, or of the standard input if
+     * the option is {@code -}, into two parallel arrays, which are then merged in place. The merged intervals are either
+     * written to the interval file given by the {@code --write-binary} option, or printed to the console.
+     *
+     * @param options the options provided as program arguments
+     * @throws IOException if the input is invalid or a file cannot be read or written
+     */
+    private static void mergeTextInput(final Map<String, String> options) throws IOException {
+        String source = options.get(READ_TEXT_OPTION);
+        IntervalColumns intervals = new IntervalColumns();
+        if ("-".equals(source)) {
+            new IntervalTextParser(System.in).parse(intervals);
+        } else {
+            try (FileChannel channel = FileChannel.open(Paths.get(source))) {
+                new IntervalTextParser(channel).parse(intervals);
+            }
+        }
+
+        double[] starts = intervals.getStarts();
+        double[] ends = intervals.getEnds();
+        int count = new IntervalMerger().merge(starts, ends, intervals.size());
+
+        if (options.containsKey(WRITE_BINARY_OPTION)) {
+            try (IntervalFileWriter writer = new IntervalFileWriter(Paths.get(options.get(WRITE_BINARY_OPTION)))) {
+                writer.write(starts, ends, count);
+            }
+            return;
+        }
+        IntervalWriter consoleWriter = createConsoleWriter();
+        consoleWriter.write(starts, ends, count);
+        consoleWriter.finish();
+        System.out.println();
+    }
+
+    /**
+     * Merges the intervals of the interval file given by the {@code --read-binary} option, and either writes them to
+     * the interval file given by the {@code --write-binary} option, or prints them to the console. If the file fits
+     * into the memory budget and a single mapping, its intervals are merged within a private mapping of the file, so
+     * that they are neither copied nor is the file modified. Otherwise, the file is merged externally. The output file
+     * must not be the input file, and is only replaced once all merged intervals have been written.
+     *
+     * @param options the options provided as program arguments
+     * @throws IOException if a file cannot be read or written
+     */
+    private static void mergeIntervalFile(final Map<String, String> options) throws IOException {
+        Path inputFile = Paths.get(options.get(READ_BINARY_OPTION));
+        long memoryBudget = options.containsKey(MEMORY_BUDGET_OPTION)
+                ? Long.parseLong(options.get(MEMORY_BUDGET_OPTION)) : Runtime.getRuntime().maxMemory() / 4;
+        Path tempDirectory = Paths.get(options.getOrDefault(TEMP_DIR_OPTION, System.getProperty("java.io.tmpdir")));
+
+        // the input is opened first, and the output file is only replaced once all merged intervals have been written
+        try (IntervalFileReader reader = new IntervalFileReader(inputFile)) {
+            if (options.containsKey(WRITE_BINARY_OPTION)) {
+                IntervalFileWriter.write(inputFile, Paths.get(options.get(WRITE_BINARY_OPTION)),
+                        writer -> mergeIntervalFile(reader, inputFile, memoryBudget, tempDirectory, writer));
+            } else {
+                IntervalWriter consoleWriter = createConsoleWriter();
+                mergeIntervalFile(reader, inputFile, memoryBudget, tempDirectory, consoleWriter);
+                consoleWriter.finish();
+                System.out.println();
+            }
+        } catch (UncheckedIOException exception) {
+            throw exception.getCause();
+        }
+    }
+
+    private static void mergeIntervalFile(final IntervalFileReader reader, final Path inputFile,
+                                          final long memoryBudget, final Path tempDirectory,
+                                          final IntervalConsumer output) throws IOException {
+        long size = reader.getCount() * IntervalFileFormat.INTERVAL_BYTES;
+        if (reader.getCount() <= IntervalFileReader.MAX_MAPPED_INTERVALS && size <= memoryBudget) {
+            DoubleBuffer intervals = reader.mapIntervals(FileChannel.MapMode.PRIVATE);
+            int count = new IntervalMerger().merge(intervals);
+            for (int i = 0; i < count; i++) {
+                output.accept(intervals.get(2 * i), intervals.get(2 * i + 1));
+            }
+        } else {
+            new ExternalIntervalMerger(tempDirectory, memoryBudget).merge(inputFile, output);
+        }
+    }
+
+    /**
+     * Creates an {@link IntervalWriter} printing a list of intervals to the console, which is not closed when the list
+     * is finished.
+     *
+     * @return the writer for the console
+     */
+    private static IntervalWriter createConsoleWriter() {
+        return new IntervalWriter(new OutputStreamWriter(System.out));
     }
 
     /**
      * Converts the input into a list of {@link Interval} objects, if the input is valid. Otherwise, a corresponding
      * message is printed to the console and an empty list returned. There are two valid formats using commas,
-     * brackets and numbers but no whitespace characters: e.g. {@code [[25,30],[2,19],[14,23],[4,8]]} or
-     * {@code [25,30],[2,19],[14,23],[4,8]}
+     * brackets and numbers, optionally separated by whitespace characters: e.g. {@code [[25,30],[2,19],[14,23],[4,8]]}
+     * or {@code [25,30],[2,19],[14,23],[4,8]}
      *
      * @param intervalListInput the input list including the intervals in string format
      * @return the provided list of {@link Interval}s
      */
     private static List<Interval> convertConsoleInput(final String intervalListInput) {
-        if (intervalListInput == null || !intervalListInput.startsWith("[") || !intervalListInput.endsWith("]")) {
-            System.out.println("You're input list was invalid. Please check your input and make sure that you only " +
-                    "use numbers, commas and the respective brackets, without any whitespace characters.");
+        List<Interval> intervals = new LinkedList<>();
+        try {
+            IntervalTextParser parser = new IntervalTextParser(new ByteArrayInputStream(
+                    intervalListInput.getBytes(StandardCharsets.UTF_8)));
+            parser.parse((start, end) -> intervals.add(new Interval(start, end)));
+        } catch (IOException exception) {
+            System.out.println("You're input list was invalid: " + exception.getMessage() + ". Please check your " +
+                    "input and make sure that you only use numbers, commas and the respective brackets.");
             System.out.println("The following two examples would be valid: [[25,30],[2,19],[14,23],[4,8]] or [25,30]," +
                     "[2,19],[14,23],[4,8]");
             return new LinkedList<>();
         }
 
-        String[] inputIntervals = intervalListInput.split("],\\[");
-
-        List<Interval> intervals = new LinkedList<>();
-        for (String interval : inputIntervals) {
-            String[] inputIntervalValues = interval.replace("[", "").replace("]", "").split(",");
-            try {
-                double start = Double.parseDouble(inputIntervalValues[0].trim());
-                double end = Double.parseDouble(inputIntervalValues[1].trim());
-                Interval parsedInterval = new Interval(start, end);
-                intervals.add(parsedInterval);
-            } catch (NumberFormatException exception) {
-                System.out.println("Your provided list includes at least one invalid input or interval: " + interval);
-                return new LinkedList<>();
-            }
-        }
-
         return intervals;
     }
 }
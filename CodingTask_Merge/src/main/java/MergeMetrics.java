@@ -0,0 +1,409 @@
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Records where the time of merging goes and what the merged data looks like: the durations of the sort and scan
+ * phases of the sequential {@code merge} and {@code mergeUsingRadixSort} methods of the {@link IntervalMerger}, of
+ * parsing by the {@link IntervalTextParser} and of formatting by the {@link IntervalWriter}, as well as the number of
+ * input, output, skipped and reversed intervals. The metrics are exposed as an MXBean using
+ * {@link MergeMetrics#register()}.
+ * <p>
+ * Recording is disabled by default, in which case the instrumented methods only read a flag once per call, and can be
+ * enabled via JMX or the system property {@code intervalmerger.metrics=true}. When enabled, every call adds its values
+ * to {@link LongAdder}s, which are striped across threads, so that concurrent merges neither lock nor contend on a
+ * single counter. The durations are additionally counted in a histogram whose buckets are at most 12.5% wide, so
+ * that percentiles are approximated without storing single durations. Since the counters are not read atomically,
+ * values read while merging are approximate as well.
+ *
+ * @author Karolin Dürr
+ */
+public final class MergeMetrics implements MergeMetricsMXBean {
+
+    /**
+     * The name the metrics are registered under at the platform MBean server.
+     */
+    public static final String OBJECT_NAME = "IntervalMerger:type=MergeMetrics";
+
+    /**
+     * The measured phases.
+     */
+    public enum Phase {
+        SORT, SCAN, PARSE, FORMAT
+    }
+
+    // Returned instead of a start time if recording is disabled, so that the end of the phase is not recorded either
+    static final long NOT_TIMED = Long.MIN_VALUE;
+
+    private static final MergeMetrics INSTANCE = new MergeMetrics();
+
+    private static volatile boolean enabled = Boolean.getBoolean("intervalmerger.metrics");
+
+    private final PhaseHistogram[] phases = new PhaseHistogram[Phase.values().length];
+
+    private final LongAdder mergeCount = new LongAdder();
+
+    private final LongAdder inputIntervalCount = new LongAdder();
+
+    private final LongAdder outputIntervalCount = new LongAdder();
+
+    private final LongAdder skippedIntervalCount = new LongAdder();
+
+    private final LongAdder boundarySwapCount = new LongAdder();
+
+    private MergeMetrics() {
+        for (int i = 0; i < this.phases.length; i++) {
+            this.phases[i] = new PhaseHistogram();
+        }
+    }
+
+    /**
+     * Returns the metrics shared by all mergers, parsers and writers.
+     *
+     * @return the metrics
+     */
+    public static MergeMetrics getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Registers the metrics at the platform MBean server under {@link MergeMetrics#OBJECT_NAME}, unless they are
+     * registered already. Registering does not enable recording.
+     *
+     * @throws IllegalStateException if the metrics cannot be registered
+     */
+    public static void register() {
+        try {
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            ObjectName name = new ObjectName(OBJECT_NAME);
+            if (!server.isRegistered(name)) {
+                server.registerMBean(INSTANCE, name);
+            }
+        } catch (JMException exception) {
+            throw new IllegalStateException("The merge metrics could not be registered.", exception);
+        }
+    }
+
+    /**
+     * Returns the start time of a phase, if recording is enabled.
+     *
+     * @return the current value of {@link System#nanoTime()}, or {@link MergeMetrics#NOT_TIMED} if recording is
+     * disabled
+     */
+    static long startTiming() {
+        return enabled ? System.nanoTime() : NOT_TIMED;
+    }
+
+    /**
+     * Records the duration of a phase that started at the given time, which also serves as the start time of the
+     * following phase.
+     *
+     * @param phase     The phase that ended.
+     * @param startTime The start time returned by {@link MergeMetrics#startTiming()} or by this method.
+     * @return the end time of the phase, or {@link MergeMetrics#NOT_TIMED} if the phase has not been timed
+     */
+    static long recordPhase(final Phase phase, final long startTime) {
+        if (startTime == NOT_TIMED) {
+            return NOT_TIMED;
+        }
+        long endTime = System.nanoTime();
+        INSTANCE.phases[phase.ordinal()].record(endTime - startTime);
+        return endTime;
+    }
+
+    /**
+     * Records the shape of the data of a single merge call, if recording is enabled.
+     *
+     * @param inputCount   The number of intervals passed to the merge call, including skipped ones.
+     * @param outputCount  The number of merged intervals.
+     * @param skippedCount The number of null or invalid intervals that have been ignored.
+     * @param swapCount    The number of intervals whose reversed boundaries have been switched.
+     */
+    static void recordMerge(final long inputCount, final long outputCount, final long skippedCount,
+                            final long swapCount) {
+        if (!enabled) {
+            return;
+        }
+        INSTANCE.mergeCount.increment();
+        INSTANCE.inputIntervalCount.add(inputCount);
+        INSTANCE.outputIntervalCount.add(outputCount);
+        if (skippedCount > 0) {
+            INSTANCE.skippedIntervalCount.add(skippedCount);
+        }
+        if (swapCount > 0) {
+            INSTANCE.boundarySwapCount.add(swapCount);
+        }
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    @Override
+    public void setEnabled(final boolean enabled) {
+        MergeMetrics.enabled = enabled;
+    }
+
+    /**
+     * Returns the timings of the given phase.
+     *
+     * @param phase The phase whose timings are returned.
+     * @return a snapshot of the timings
+     */
+    public PhaseTimings getTimings(final Phase phase) {
+        return this.phases[phase.ordinal()].snapshot();
+    }
+
+    @Override
+    public PhaseTimings getSortTimings() {
+        return getTimings(Phase.SORT);
+    }
+
+    @Override
+    public PhaseTimings getScanTimings() {
+        return getTimings(Phase.SCAN);
+    }
+
+    @Override
+    public PhaseTimings getParseTimings() {
+        return getTimings(Phase.PARSE);
+    }
+
+    @Override
+    public PhaseTimings getFormatTimings() {
+        return getTimings(Phase.FORMAT);
+    }
+
+    @Override
+    public long getMergeCount() {
+        return this.mergeCount.sum();
+    }
+
+    @Override
+    public long getInputIntervalCount() {
+        return this.inputIntervalCount.sum();
+    }
+
+    @Override
+    public long getOutputIntervalCount() {
+        return this.outputIntervalCount.sum();
+    }
+
+    @Override
+    public double getMergeRatio() {
+        long inputCount = getInputIntervalCount();
+        return inputCount == 0 ? 1 : (double) getOutputIntervalCount() / inputCount;
+    }
+
+    @Override
+    public long getSkippedIntervalCount() {
+        return this.skippedIntervalCount.sum();
+    }
+
+    @Override
+    public long getBoundarySwapCount() {
+        return this.boundarySwapCount.sum();
+    }
+
+    @Override
+    public void reset() {
+        for (PhaseHistogram phase : this.phases) {
+            phase.reset();
+        }
+        this.mergeCount.reset();
+        this.inputIntervalCount.reset();
+        this.outputIntervalCount.reset();
+        this.skippedIntervalCount.reset();
+        this.boundarySwapCount.reset();
+    }
+
+    /**
+     * A snapshot of the timings of a phase, whose durations are given in nanoseconds. The percentiles are the upper
+     * bounds of the histogram buckets including them, so they overestimate the exact percentiles by at most 12.5%.
+     */
+    public static final class PhaseTimings {
+
+        private final long count;
+
+        private final long totalNanos;
+
+        private final long medianNanos;
+
+        private final long percentile90Nanos;
+
+        private final long percentile99Nanos;
+
+        private final long maxNanos;
+
+        private PhaseTimings(final long count, final long totalNanos, final long medianNanos,
+                             final long percentile90Nanos, final long percentile99Nanos, final long maxNanos) {
+            this.count = count;
+            this.totalNanos = totalNanos;
+            this.medianNanos = medianNanos;
+            this.percentile90Nanos = percentile90Nanos;
+            this.percentile99Nanos = percentile99Nanos;
+            this.maxNanos = maxNanos;
+        }
+
+        /**
+         * Returns the number of measured durations.
+         *
+         * @return the number of measurements
+         */
+        public long getCount() {
+            return this.count;
+        }
+
+        /**
+         * Returns the sum of all measured durations.
+         *
+         * @return the total duration in nanoseconds
+         */
+        public long getTotalNanos() {
+            return this.totalNanos;
+        }
+
+        /**
+         * Returns the mean of the measured durations.
+         *
+         * @return the mean duration in nanoseconds, or 0 if nothing has been measured
+         */
+        public long getMeanNanos() {
+            return this.count == 0 ? 0 : this.totalNanos / this.count;
+        }
+
+        /**
+         * Returns the approximate median of the measured durations.
+         *
+         * @return the median duration in nanoseconds
+         */
+        public long getMedianNanos() {
+            return this.medianNanos;
+        }
+
+        /**
+         * Returns the approximate duration that 90% of the measurements did not exceed.
+         *
+         * @return the 90th percentile in nanoseconds
+         */
+        public long getPercentile90Nanos() {
+            return this.percentile90Nanos;
+        }
+
+        /**
+         * Returns the approximate duration that 99% of the measurements did not exceed.
+         *
+         * @return the 99th percentile in nanoseconds
+         */
+        public long getPercentile99Nanos() {
+            return this.percentile99Nanos;
+        }
+
+        /**
+         * Returns the longest measured duration.
+         *
+         * @return the maximum duration in nanoseconds
+         */
+        public long getMaxNanos() {
+            return this.maxNanos;
+        }
+
+        @Override
+        public String toString() {
+            return "count=" + this.count + ", total=" + this.totalNanos + "ns, median=" + this.medianNanos +
+                    "ns, p90=" + this.percentile90Nanos + "ns, p99=" + this.percentile99Nanos + "ns, max=" +
+                    this.maxNanos + "ns";
+        }
+    }
+
+    /**
+     * Counts the durations of a phase in buckets, where each power of two is split into eight buckets of equal width,
+     * and durations below eight nanoseconds have a bucket each.
+     */
+    private static final class PhaseHistogram {
+
+        private static final int SUB_BUCKET_BITS = 3;
+
+        private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+
+        // The highest bit of a non-negative long is bit 62
+        private static final int BUCKET_COUNT = SUB_BUCKETS + (63 - SUB_BUCKET_BITS) * SUB_BUCKETS;
+
+        private final LongAdder[] buckets = new LongAdder[BUCKET_COUNT];
+
+        private final LongAdder totalNanos = new LongAdder();
+
+        private final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0);
+
+        private PhaseHistogram() {
+            for (int i = 0; i < this.buckets.length; i++) {
+                this.buckets[i] = new LongAdder();
+            }
+        }
+
+        private void record(final long nanos) {
+            // nanoTime is monotonic, but guards against clocks of virtualized hosts going backwards
+            long duration = Math.max(nanos, 0);
+            this.buckets[bucketOf(duration)].increment();
+            this.totalNanos.add(duration);
+            this.maxNanos.accumulate(duration);
+        }
+
+        private PhaseTimings snapshot() {
+            long[] counts = new long[this.buckets.length];
+            long count = 0;
+            for (int i = 0; i < counts.length; i++) {
+                counts[i] = this.buckets[i].sum();
+                count += counts[i];
+            }
+            long max = this.maxNanos.get();
+            return new PhaseTimings(count, this.totalNanos.sum(), percentile(counts, count, 0.5, max),
+                    percentile(counts, count, 0.9, max), percentile(counts, count, 0.99, max), max);
+        }
+
+        private void reset() {
+            for (LongAdder bucket : this.buckets) {
+                bucket.reset();
+            }
+            this.totalNanos.reset();
+            this.maxNanos.reset();
+        }
+
+        private static long percentile(final long[] counts, final long count, final double quantile, final long max) {
+            if (count == 0) {
+                return 0;
+            }
+            long rank = (long) Math.ceil(quantile * count);
+            long seen = 0;
+            for (int i = 0; i < counts.length; i++) {
+                seen += counts[i];
+                if (seen >= rank) {
+                    return Math.min(upperBoundOf(i), max);
+                }
+            }
+            return max;
+        }
+
+        private static int bucketOf(final long nanos) {
+            if (nanos < SUB_BUCKETS) {
+                return (int) nanos;
+            }
+            int exponent = 63 - Long.numberOfLeadingZeros(nanos);
+            int subBucket = (int) (nanos >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+            return SUB_BUCKETS + (exponent - SUB_BUCKET_BITS) * SUB_BUCKETS + subBucket;
+        }
+
+        private static long upperBoundOf(final int bucket) {
+            if (bucket < SUB_BUCKETS) {
+                return bucket;
+            }
+            int shift = (bucket - SUB_BUCKETS) / SUB_BUCKETS;
+            long lowerBound = (long) (SUB_BUCKETS + (bucket - SUB_BUCKETS) % SUB_BUCKETS) << shift;
+            return lowerBound + (1L << shift) - 1;
+        }
+    }
+}
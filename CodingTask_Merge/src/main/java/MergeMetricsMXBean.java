@@ -0,0 +1,98 @@
+/**
+ * The management interface of the {@link MergeMetrics}, which is registered at the platform MBean server, e.g. to be
+ * inspected using JConsole or VisualVM. The timings of a phase are mapped to a composite value, including the number
+ * of measurements, their total and mean duration as well as approximate percentiles.
+ *
+ * @author Karolin Dürr
+ */
+public interface MergeMetricsMXBean {
+
+    /**
+     * Returns whether merging, parsing and formatting is measured.
+     *
+     * @return true, if the metrics are recorded
+     */
+    boolean isEnabled();
+
+    /**
+     * Enables or disables recording the metrics. Disabling keeps the values recorded so far.
+     *
+     * @param enabled Whether the metrics should be recorded.
+     */
+    void setEnabled(boolean enabled);
+
+    /**
+     * Returns the timings of sorting the intervals, including detecting sorted runs and switching reversed boundaries.
+     *
+     * @return the timings of the sort phase
+     */
+    MergeMetrics.PhaseTimings getSortTimings();
+
+    /**
+     * Returns the timings of the linear scan merging the sorted intervals.
+     *
+     * @return the timings of the scan phase
+     */
+    MergeMetrics.PhaseTimings getScanTimings();
+
+    /**
+     * Returns the timings of parsing textual interval lists, including reading the input.
+     *
+     * @return the timings of the parse phase
+     */
+    MergeMetrics.PhaseTimings getParseTimings();
+
+    /**
+     * Returns the timings of formatting interval lists as text, from the first interval of a list until it is finished.
+     *
+     * @return the timings of the format phase
+     */
+    MergeMetrics.PhaseTimings getFormatTimings();
+
+    /**
+     * Returns the number of merge calls, not counting calls for null or empty input.
+     *
+     * @return the number of merged lists
+     */
+    long getMergeCount();
+
+    /**
+     * Returns the number of intervals passed to the merge calls, including skipped ones.
+     *
+     * @return the number of input intervals
+     */
+    long getInputIntervalCount();
+
+    /**
+     * Returns the number of merged intervals returned by the merge calls.
+     *
+     * @return the number of output intervals
+     */
+    long getOutputIntervalCount();
+
+    /**
+     * Returns the ratio of output to input intervals, where a small ratio means many overlapping intervals.
+     *
+     * @return the ratio of output to input intervals, or 1 if no intervals have been merged yet
+     */
+    double getMergeRatio();
+
+    /**
+     * Returns the number of null or invalid intervals that have been ignored by the merge calls.
+     *
+     * @return the number of skipped intervals
+     */
+    long getSkippedIntervalCount();
+
+    /**
+     * Returns the number of intervals whose reversed start and end boundaries have been switched.
+     *
+     * @return the number of switched boundaries
+     */
+    long getBoundarySwapCount();
+
+    /**
+     * Resets all metrics to zero.
+     */
+    void reset();
+}
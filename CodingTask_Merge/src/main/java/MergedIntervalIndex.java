@@ -0,0 +1,294 @@
+import java.util.*;
+
+/**
+ * An immutable index over merged intervals, answering point and range queries in O(log n) by binary search and
+ * without allocating any objects. The boundaries are stored in two flat primitive arrays instead of the linked
+ * {@link Interval} objects returned by {@link IntervalMerger#merge(List)}, and the covered length in front of every
+ * interval is precomputed, so that the covered length of a range does not have to visit the intervals within it.
+ * <p>
+ * Since the merged intervals are disjoint and ordered by their start boundaries, their end boundaries are ordered as
+ * well, so that both arrays can be searched. The index is intended for merged intervals that change rarely, but are
+ * queried very often, and can be shared between threads without synchronization.
+ *
+ * @author Karolin Dürr
+ */
+public final class MergedIntervalIndex {
+
+    private final double[] starts;
+
+    private final double[] ends;
+
+    // coveredLengths[i] is the summed length of the intervals in front of the interval i
+    private final double[] coveredLengths;
+
+    private MergedIntervalIndex(final double[] starts, final double[] ends) {
+        this.starts = starts;
+        this.ends = ends;
+        this.coveredLengths = new double[starts.length + 1];
+        for (int i = 0; i < starts.length; i++) {
+            this.coveredLengths[i + 1] = this.coveredLengths[i] + (ends[i] - starts[i]);
+        }
+    }
+
+    /**
+     * Creates an index over the given intervals, which are merged first. The arrays are not modified.
+     *
+     * @param starts The start boundaries of the intervals.
+     * @param ends   The end boundaries of the intervals.
+     * @param length The number of intervals included in the arrays.
+     * @return the index over the merged intervals
+     * @throws IllegalArgumentException if the length exceeds the length of the arrays
+     */
+    public static MergedIntervalIndex merge(final double[] starts, final double[] ends, final int length) {
+        if (starts == null || ends == null || length <= 0) {
+            return new MergedIntervalIndex(new double[0], new double[0]);
+        }
+        if (length > starts.length || length > ends.length) {
+            throw new IllegalArgumentException("The given length " + length + " exceeds the length of the arrays " +
+                    "including the boundaries.");
+        }
+        double[] mergedStarts = Arrays.copyOf(starts, length);
+        double[] mergedEnds = Arrays.copyOf(ends, length);
+        int mergedLength = new IntervalMerger().merge(mergedStarts, mergedEnds, length);
+        return new MergedIntervalIndex(Arrays.copyOf(mergedStarts, mergedLength), Arrays.copyOf(mergedEnds,
+                mergedLength));
+    }
+
+    /**
+     * Creates an index over intervals that are already merged, e.g. by
+     * {@link IntervalMerger#merge(double[], double[], int)}. The boundaries are copied.
+     *
+     * @param mergedStarts The start boundaries of the merged intervals.
+     * @param mergedEnds   The end boundaries of the merged intervals.
+     * @param length       The number of merged intervals included in the arrays.
+     * @return the index over the merged intervals
+     * @throws IllegalArgumentException if the intervals are not sorted, not disjoint or include reversed boundaries
+     */
+    public static MergedIntervalIndex fromMergedIntervals(final double[] mergedStarts, final double[] mergedEnds,
+                                                          final int length) {
+        if (mergedStarts == null || mergedEnds == null || length <= 0) {
+            return new MergedIntervalIndex(new double[0], new double[0]);
+        }
+        if (length > mergedStarts.length || length > mergedEnds.length) {
+            throw new IllegalArgumentException("The given length " + length + " exceeds the length of the arrays " +
+                    "including the boundaries.");
+        }
+        double[] starts = Arrays.copyOf(mergedStarts, length);
+        double[] ends = Arrays.copyOf(mergedEnds, length);
+        IntervalArrays.checkMerged(starts, ends, starts.length);
+        return new MergedIntervalIndex(starts, ends);
+    }
+
+    /**
+     * Creates an index over intervals that are already merged, e.g. by {@link IntervalMerger#merge(List)}.
+     *
+     * @param mergedIntervals The merged intervals, ordered by their start boundaries.
+     * @return the index over the merged intervals
+     * @throws IllegalArgumentException if the intervals are not sorted, not disjoint or include null elements
+     */
+    public static MergedIntervalIndex fromMergedIntervals(final Collection<Interval> mergedIntervals) {
+        if (mergedIntervals == null) {
+            return new MergedIntervalIndex(new double[0], new double[0]);
+        }
+        double[] starts = new double[mergedIntervals.size()];
+        double[] ends = new double[mergedIntervals.size()];
+        int i = 0;
+        for (Interval interval : mergedIntervals) {
+            if (interval == null) {
+                throw new IllegalArgumentException("The merged intervals must not include null.");
+            }
+            starts[i] = interval.getStart();
+            ends[i] = interval.getEnd();
+            i++;
+        }
+        IntervalArrays.checkMerged(starts, ends, starts.length);
+        return new MergedIntervalIndex(starts, ends);
+    }
+
+    /**
+     * Returns the number of merged intervals.
+     *
+     * @return the number of merged intervals
+     */
+    public int size() {
+        return this.starts.length;
+    }
+
+    /**
+     * Returns the start boundary of the merged interval at the given index.
+     *
+     * @param index The index of the interval, ordered by the start boundaries.
+     * @return the start boundary of the interval
+     */
+    public double getStart(final int index) {
+        return this.starts[index];
+    }
+
+    /**
+     * Returns the end boundary of the merged interval at the given index.
+     *
+     * @param index The index of the interval, ordered by the start boundaries.
+     * @return the end boundary of the interval
+     */
+    public double getEnd(final int index) {
+        return this.ends[index];
+    }
+
+    /**
+     * Returns the index of the merged interval including the point x.
+     *
+     * @param x The point to look up.
+     * @return the index of the interval including x, or -1 if x is not covered
+     */
+    public int indexOf(final double x) {
+        int index = countStartsAtMost(x) - 1;
+        return index >= 0 && x <= this.ends[index] ? index : -1;
+    }
+
+    /**
+     * Returns whether the point x is covered by one of the merged intervals, including their boundaries.
+     *
+     * @param x The point to look up.
+     * @return true, if x is covered
+     */
+    public boolean contains(final double x) {
+        return indexOf(x) >= 0;
+    }
+
+    /**
+     * Returns the index of the first merged interval overlapping the closed range [a,b]. If b is smaller than a, the
+     * boundaries are swapped.
+     *
+     * @param a One boundary of the range.
+     * @param b The other boundary of the range.
+     * @return the index of the first overlapping interval, or -1 if no interval overlaps the range
+     */
+    public int firstOverlapping(final double a, final double b) {
+        double from = Math.min(a, b);
+        double to = Math.max(a, b);
+        int first = countEndsBelow(from);
+        return first < this.starts.length && this.starts[first] <= to ? first : -1;
+    }
+
+    /**
+     * Returns the number of merged intervals overlapping the closed range [a,b]. If b is smaller than a, the
+     * boundaries are swapped.
+     *
+     * @param a One boundary of the range.
+     * @param b The other boundary of the range.
+     * @return the number of overlapping intervals
+     */
+    public int countOverlapping(final double a, final double b) {
+        double from = Math.min(a, b);
+        double to = Math.max(a, b);
+        return Math.max(0, countStartsAtMost(to) - countEndsBelow(from));
+    }
+
+    /**
+     * Passes the merged intervals overlapping the closed range [a,b] to the given consumer, ordered by their start
+     * boundaries. The intervals are passed completely, not clipped to the range. If b is smaller than a, the
+     * boundaries are swapped.
+     *
+     * @param a        One boundary of the range.
+     * @param b        The other boundary of the range.
+     * @param consumer The consumer the overlapping intervals are passed to.
+     * @return the number of overlapping intervals
+     */
+    public int overlapping(final double a, final double b, final IntervalConsumer consumer) {
+        double from = Math.min(a, b);
+        double to = Math.max(a, b);
+        int first = countEndsBelow(from);
+        int end = countStartsAtMost(to);
+        for (int i = first; i < end; i++) {
+            consumer.accept(this.starts[i], this.ends[i]);
+        }
+        return Math.max(0, end - first);
+    }
+
+    /**
+     * Returns the length of the part of the closed range [a,b] that is covered by the merged intervals. If b is
+     * smaller than a, the boundaries are swapped. The length is computed from precomputed sums, so that it may differ
+     * from summing up the clipped intervals by the usual floating-point rounding errors.
+     *
+     * @param a One boundary of the range.
+     * @param b The other boundary of the range.
+     * @return the covered length within the range
+     */
+    public double coveredLength(final double a, final double b) {
+        double from = Math.min(a, b);
+        double to = Math.max(a, b);
+        int first = countEndsBelow(from);
+        int last = countStartsAtMost(to) - 1;
+        if (first > last) {
+            return 0;
+        }
+        if (first == last) {
+            return Math.min(this.ends[first], to) - Math.max(this.starts[first], from);
+        }
+        double length = this.coveredLengths[last] - this.coveredLengths[first + 1];
+        length += this.ends[first] - Math.max(this.starts[first], from);
+        length += Math.min(this.ends[last], to) - this.starts[last];
+        return length;
+    }
+
+    /**
+     * Returns the summed length of all merged intervals.
+     *
+     * @return the covered length
+     */
+    public double totalLength() {
+        return this.coveredLengths[this.starts.length];
+    }
+
+    /**
+     * Returns the merged intervals as a new list.
+     *
+     * @return the merged intervals ordered by their start boundaries
+     */
+    public List<Interval> toList() {
+        List<Interval> intervals = new ArrayList<>(this.starts.length);
+        for (int i = 0; i < this.starts.length; i++) {
+            intervals.add(new Interval(this.starts[i], this.ends[i]));
+        }
+        return intervals;
+    }
+
+    @Override
+    public String toString() {
+        return toList().toString();
+    }
+
+    /**
+     * Returns the number of start boundaries that are smaller than or equal to x.
+     */
+    private int countStartsAtMost(final double x) {
+        int low = 0;
+        int high = this.starts.length;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (this.starts[middle] <= x) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Returns the number of end boundaries that are smaller than x.
+     */
+    private int countEndsBelow(final double x) {
+        int low = 0;
+        int high = this.ends.length;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (this.ends[middle] < x) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+}
@@ -0,0 +1,396 @@
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.DoubleBuffer;
+import java.util.*;
+
+/**
+ * A growable buffer storing intervals outside the Java heap, so that hundreds of millions of intervals neither occupy
+ * the heap nor have to be traced by the garbage collector. The intervals are stored interleaved in segments of direct
+ * {@link ByteBuffer}s, where each segment holds a fixed power of two of intervals, since a single buffer is limited to
+ * 2 GB. Appending an interval allocates a new segment when the last one is full, without copying the existing ones, so
+ * that the buffer can hold more intervals than fit into an array. The intervals are merged in place by
+ * {@link IntervalMerger#merge(OffHeapIntervalBuffer)}, which sorts and scans the segments directly.
+ * <p>
+ * The memory of the segments is released explicitly by {@link OffHeapIntervalBuffer#close()} instead of waiting for
+ * the garbage collector to collect the buffers, and the buffer cannot be used afterwards. Since direct buffers count
+ * against the maximum direct memory of the Java runtime, which defaults to the maximum heap size, a small heap requires
+ * raising it for big inputs, e.g. {@code -Xmx512m -XX:MaxDirectMemorySize=10g} for 500 million intervals.
+ * <p>
+ * An {@code OffHeapIntervalBuffer} is not thread-safe.
+ *
+ * @author Karolin Dürr
+ */
+public class OffHeapIntervalBuffer implements IntervalConsumer, AutoCloseable {
+
+    // A segment holds 2^23 intervals, which take 128 MB
+    private static final int DEFAULT_SEGMENT_SHIFT = 23;
+
+    // A segment of 2^26 intervals takes 1 GB, the biggest power of two a ByteBuffer can hold
+    private static final int MAX_SEGMENT_SHIFT = 26;
+
+    // Ranges that are smaller than this threshold are sorted using insertion sort instead of quicksort
+    private static final int INSERTION_SORT_THRESHOLD = 32;
+
+    private final int segmentShift;
+
+    private final int segmentMask;
+
+    // The direct buffers holding the memory, and views on them to access their boundaries as doubles
+    private ByteBuffer[] memory = new ByteBuffer[0];
+
+    private DoubleBuffer[] segments = new DoubleBuffer[0];
+
+    private int segmentCount;
+
+    private long size;
+
+    private boolean closed;
+
+    /**
+     * Creates an empty {@code OffHeapIntervalBuffer}, which allocates its memory in segments of 2^23 intervals.
+     */
+    public OffHeapIntervalBuffer() {
+        this(DEFAULT_SEGMENT_SHIFT);
+    }
+
+    /**
+     * Creates an empty {@code OffHeapIntervalBuffer}, which allocates its memory in segments of 2^segmentShift
+     * intervals, e.g. to test operations spanning several segments using small ones.
+     *
+     * @param segmentShift The binary logarithm of the number of intervals per segment.
+     */
+    OffHeapIntervalBuffer(final int segmentShift) {
+        if (segmentShift < 1 || segmentShift > MAX_SEGMENT_SHIFT) {
+            throw new IllegalArgumentException("The segment shift must be between 1 and " + MAX_SEGMENT_SHIFT + ".");
+        }
+        this.segmentShift = segmentShift;
+        this.segmentMask = (1 << segmentShift) - 1;
+    }
+
+    /**
+     * Appends the interval [start,end] to the buffer.
+     *
+     * @param start The value of the included starting boundary of the interval.
+     * @param end   The value of the included end boundary of the interval.
+     * @throws IllegalStateException if the buffer has been closed
+     */
+    @Override
+    public void accept(final double start, final double end) {
+        ensureOpen();
+        int segment = (int) (this.size >>> this.segmentShift);
+        if (segment == this.segmentCount) {
+            allocateSegment();
+        }
+        int index = 2 * ((int) this.size & this.segmentMask);
+        this.segments[segment].put(index, start);
+        this.segments[segment].put(index + 1, end);
+        this.size++;
+    }
+
+    /**
+     * Returns the start boundary of the interval at the given index.
+     *
+     * @param index The index of the interval.
+     * @return the start boundary of the interval
+     * @throws IndexOutOfBoundsException if the index is negative or not smaller than the size of the buffer
+     */
+    public double getStart(final long index) {
+        checkIndex(index);
+        return start(index);
+    }
+
+    /**
+     * Returns the end boundary of the interval at the given index.
+     *
+     * @param index The index of the interval.
+     * @return the end boundary of the interval
+     * @throws IndexOutOfBoundsException if the index is negative or not smaller than the size of the buffer
+     */
+    public double getEnd(final long index) {
+        checkIndex(index);
+        return end(index);
+    }
+
+    /**
+     * Returns the number of intervals stored in the buffer.
+     *
+     * @return the number of intervals
+     */
+    public long size() {
+        return this.size;
+    }
+
+    /**
+     * Returns the number of bytes allocated outside the heap.
+     *
+     * @return the size of all segments in bytes
+     */
+    public long getAllocatedBytes() {
+        return (long) this.segmentCount << (this.segmentShift + 4);
+    }
+
+    /**
+     * Passes the intervals of the buffer to the given consumer in the order they are stored.
+     *
+     * @param consumer Receives the intervals.
+     * @throws IllegalStateException if the buffer has been closed
+     */
+    public void forEach(final IntervalConsumer consumer) {
+        ensureOpen();
+        long remaining = this.size;
+        for (int segment = 0; remaining > 0; segment++) {
+            DoubleBuffer intervals = this.segments[segment];
+            int length = (int) Math.min(remaining, 1L << this.segmentShift);
+            for (int i = 0; i < length; i++) {
+                consumer.accept(intervals.get(2 * i), intervals.get(2 * i + 1));
+            }
+            remaining -= length;
+        }
+    }
+
+    /**
+     * Removes all intervals from the buffer, keeping the allocated segments.
+     */
+    public void clear() {
+        this.size = 0;
+    }
+
+    /**
+     * Releases the memory of all segments. Afterwards, the buffer cannot be used anymore, while closing it again has
+     * no effect.
+     */
+    @Override
+    public void close() {
+        if (this.closed) {
+            return;
+        }
+        this.closed = true;
+        ByteBuffer[] released = this.memory;
+        int releasedCount = this.segmentCount;
+        this.memory = new ByteBuffer[0];
+        this.segments = new DoubleBuffer[0];
+        this.segmentCount = 0;
+        this.size = 0;
+        for (int segment = 0; segment < releasedCount; segment++) {
+            DirectBuffers.release(released[segment]);
+        }
+    }
+
+    /**
+     * If start and end boundaries are reversed for one of the intervals, they will be switched.
+     *
+     * @return the number of intervals whose boundaries have been switched
+     */
+    long orient() {
+        ensureOpen();
+        long swapCount = 0;
+        long remaining = this.size;
+        for (int segment = 0; remaining > 0; segment++) {
+            int length = (int) Math.min(remaining, 1L << this.segmentShift);
+            swapCount += IntervalBuffers.orient(this.segments[segment], length);
+            remaining -= length;
+        }
+        return swapCount;
+    }
+
+    /**
+     * Sorts the intervals like {@link IntervalArrays#sort(double[], double[], int, int)} does, using a quicksort over
+     * all segments that falls back to heapsort if it recurses too deep. As soon as a range lies within a single
+     * segment, it is sorted by {@link IntervalBuffers#sort(DoubleBuffer, int)} on a view of that segment.
+     */
+    void sort() {
+        ensureOpen();
+        if (this.size < 2) {
+            return;
+        }
+        int maxDepth = 2 * (64 - Long.numberOfLeadingZeros(this.size));
+        quickSort(0, this.size - 1, maxDepth);
+    }
+
+    /**
+     * Merges the overlapping intervals, which have to be sorted already, writes the merged intervals to the beginning
+     * of the buffer and removes the remaining intervals.
+     *
+     * @return the number of merged intervals
+     */
+    long scan() {
+        ensureOpen();
+        if (this.size == 0) {
+            return 0;
+        }
+
+        long count = 0;
+        double currentStart = start(0);
+        double currentEnd = end(0);
+        for (long i = 1; i < this.size; i++) {
+            double start = start(i);
+            if (Double.compare(currentEnd, start) < 0) {
+                // Intervals do not overlap --> write the previously merged interval and continue with the next pair
+                set(count++, currentStart, currentEnd);
+                currentStart = start;
+                currentEnd = end(i);
+                continue;
+            }
+
+            // Previous interval includes at least the start boundary of the current interval --> merge intervals
+            currentEnd = Math.max(currentEnd, end(i));
+        }
+        set(count++, currentStart, currentEnd);
+        this.size = count;
+        return count;
+    }
+
+    private void quickSort(long low, long high, int depth) {
+        while (high - low >= INSERTION_SORT_THRESHOLD) {
+            if ((low >>> this.segmentShift) == (high >>> this.segmentShift)) {
+                sortWithinSegment(low, high);
+                return;
+            }
+            if (depth-- == 0) {
+                heapSort(low, high + 1);
+                return;
+            }
+
+            // The median of the first, middle and last interval becomes the pivot and the sentinel for both loops
+            long middle = (low + high) >>> 1;
+            sortTwo(low, middle);
+            sortTwo(middle, high);
+            sortTwo(low, middle);
+            double pivotStart = start(middle);
+            double pivotEnd = end(middle);
+
+            long i = low;
+            long j = high;
+            while (i <= j) {
+                while (compare(i, pivotStart, pivotEnd) < 0) {
+                    i++;
+                }
+                while (compare(j, pivotStart, pivotEnd) > 0) {
+                    j--;
+                }
+                if (i <= j) {
+                    swap(i, j);
+                    i++;
+                    j--;
+                }
+            }
+
+            // Recursion only for the smaller partition, so that the stack depth stays logarithmic
+            if (j - low < high - i) {
+                quickSort(low, j, depth);
+                low = i;
+            } else {
+                quickSort(i, high, depth);
+                high = j;
+            }
+        }
+        insertionSort(low, high);
+    }
+
+    private void sortWithinSegment(final long low, final long high) {
+        DoubleBuffer range = this.segments[(int) (low >>> this.segmentShift)].duplicate();
+        int from = 2 * ((int) low & this.segmentMask);
+        range.limit(from + 2 * (int) (high - low + 1));
+        range.position(from);
+        IntervalBuffers.sort(range.slice(), (int) (high - low + 1));
+    }
+
+    private void insertionSort(final long low, final long high) {
+        for (long i = low + 1; i <= high; i++) {
+            double start = start(i);
+            double end = end(i);
+            long j = i - 1;
+            while (j >= low && compare(j, start, end) > 0) {
+                set(j + 1, start(j), end(j));
+                j--;
+            }
+            set(j + 1, start, end);
+        }
+    }
+
+    private void heapSort(final long from, final long to) {
+        long size = to - from;
+        for (long i = size / 2 - 1; i >= 0; i--) {
+            siftDown(from, i, size);
+        }
+        for (long last = size - 1; last > 0; last--) {
+            swap(from, from + last);
+            siftDown(from, 0, last);
+        }
+    }
+
+    private void siftDown(final long from, long node, final long size) {
+        while (true) {
+            long child = 2 * node + 1;
+            if (child >= size) {
+                return;
+            }
+            if (child + 1 < size && compare(from + child, start(from + child + 1), end(from + child + 1)) < 0) {
+                child++;
+            }
+            if (compare(from + node, start(from + child), end(from + child)) >= 0) {
+                return;
+            }
+            swap(from + node, from + child);
+            node = child;
+        }
+    }
+
+    private void sortTwo(final long i, final long j) {
+        if (compare(i, start(j), end(j)) > 0) {
+            swap(i, j);
+        }
+    }
+
+    private int compare(final long i, final double start, final double end) {
+        return IntervalArrays.compare(start(i), end(i), start, end);
+    }
+
+    private void swap(final long i, final long j) {
+        double start = start(i);
+        double end = end(i);
+        set(i, start(j), end(j));
+        set(j, start, end);
+    }
+
+    private double start(final long index) {
+        return this.segments[(int) (index >>> this.segmentShift)].get(2 * ((int) index & this.segmentMask));
+    }
+
+    private double end(final long index) {
+        return this.segments[(int) (index >>> this.segmentShift)].get(2 * ((int) index & this.segmentMask) + 1);
+    }
+
+    private void set(final long index, final double start, final double end) {
+        DoubleBuffer segment = this.segments[(int) (index >>> this.segmentShift)];
+        int offset = 2 * ((int) index & this.segmentMask);
+        segment.put(offset, start);
+        segment.put(offset + 1, end);
+    }
+
+    private void allocateSegment() {
+        if (this.segmentCount == this.segments.length) {
+            int capacity = Math.max(4, 2 * this.segments.length);
+            this.memory = Arrays.copyOf(this.memory, capacity);
+            this.segments = Arrays.copyOf(this.segments, capacity);
+        }
+        ByteBuffer buffer = ByteBuffer.allocateDirect(16 << this.segmentShift).order(ByteOrder.nativeOrder());
+        this.memory[this.segmentCount] = buffer;
+        this.segments[this.segmentCount] = buffer.asDoubleBuffer();
+        this.segmentCount++;
+    }
+
+    private void checkIndex(final long index) {
+        ensureOpen();
+        if (index < 0 || index >= this.size) {
+            throw new IndexOutOfBoundsException("The index " + index + " is out of bounds for " + this.size +
+                    " intervals.");
+        }
+    }
+
+    private void ensureOpen() {
+        if (this.closed) {
+            throw new IllegalStateException("The buffer has been closed.");
+        }
+    }
+}
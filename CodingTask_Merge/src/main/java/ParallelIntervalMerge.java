@@ -0,0 +1,498 @@
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.IntConsumer;
+
+/**
+ * The parallel merge engine used by the {@code mergeParallel} methods of the {@link IntervalMerger}. The intervals are
+ * sorted in parallel, then the sorted intervals are split into contiguous chunks, which are merged independently of
+ * each other, and finally the merged chunks are stitched together, since the last merged interval of a chunk may
+ * overlap with the first merged intervals of the following chunks. The result is identical to the one of the
+ * sequential merge methods. Like these, the parallel merge records the durations of its sort and scan phases by the
+ * {@link MergeMetrics} and an {@link IntervalMergeEvent}. The phases are invoked on the pool one after another, so that
+ * they are timed by the calling thread, which also commits the event.
+ *
+ * @author Karolin Dürr
+ */
+final class ParallelIntervalMerge {
+
+    // Inputs smaller than this threshold are merged sequentially, since splitting them does not pay off
+    static final int SEQUENTIAL_THRESHOLD = 1 << 13;
+
+    // The minimum number of intervals that is sorted or merged by a single task
+    private static final int MIN_GRAIN = 1 << 12;
+
+    private ParallelIntervalMerge() {
+    }
+
+    /**
+     * Merges the overlapping intervals included in the first {@code length} elements of the two parallel arrays in
+     * place, like {@link IntervalMerger#merge(double[], double[], int)} does, but using the tasks of the given pool.
+     * Merging in parallel requires two additional arrays with {@code length} elements.
+     *
+     * @return The number of merged intervals at the beginning of the arrays.
+     */
+    static int merge(final ForkJoinPool pool, final double[] starts, final double[] ends, final int length) {
+        IntervalMergeEvent event = new IntervalMergeEvent();
+        event.beginSort(IntervalMergeEvent.COLUMN_INTERVALS);
+        long startTime = MergeMetrics.startTiming();
+        double[] bufferStarts = new double[length];
+        double[] bufferEnds = new double[length];
+        int grain = grain(pool, length);
+
+        // ensures the start boundaries come first and sorts the intervals, so that the result is stored in the given
+        // arrays again
+        LongAdder swapCount = new LongAdder();
+        pool.invoke(new SortTask(starts, ends, bufferStarts, bufferEnds, 0, length, false, grain, swapCount));
+        long scanStartTime = MergeMetrics.recordPhase(MergeMetrics.Phase.SORT, startTime);
+        event.endSort(IntervalMergeEvent.PARALLEL_SORT);
+
+        int mergedCount = pool.invoke(ForkJoinTask.adapt(() -> {
+            // merges the chunks independently of each other into the buffer, at the start index of each chunk
+            int chunkCount = Math.max(1, Math.min(pool.getParallelism() * 4, length / grain));
+            int[] chunkStarts = new int[chunkCount + 1];
+            for (int chunk = 0; chunk <= chunkCount; chunk++) {
+                chunkStarts[chunk] = (int) ((long) length * chunk / chunkCount);
+            }
+            int[] counts = new int[chunkCount];
+            forEachChunk(chunkCount, chunk -> counts[chunk] = IntervalArrays.scan(starts, ends, chunkStarts[chunk],
+                    chunkStarts[chunk + 1], bufferStarts, bufferEnds, chunkStarts[chunk]));
+
+            // determines for each chunk, how many of its leading intervals are included in the previous merged interval
+            int[] skipped = new int[chunkCount];
+            int lastIndex = chunkStarts[0] + counts[0] - 1;
+            for (int chunk = 1; chunk < chunkCount; chunk++) {
+                int from = chunkStarts[chunk];
+                int to = from + counts[chunk];
+                int firstNotOverlapping = firstStartGreaterThan(bufferStarts, from, to, bufferEnds[lastIndex]);
+                skipped[chunk] = firstNotOverlapping - from;
+                if (firstNotOverlapping > from) {
+                    // merged intervals are disjoint and sorted, so the last included interval has the largest end
+                    bufferEnds[lastIndex] = Math.max(bufferEnds[lastIndex], bufferEnds[firstNotOverlapping - 1]);
+                }
+                if (firstNotOverlapping < to) {
+                    lastIndex = to - 1;
+                }
+            }
+
+            // copies the remaining merged intervals of all chunks back to the beginning of the given arrays
+            int[] offsets = new int[chunkCount + 1];
+            for (int chunk = 0; chunk < chunkCount; chunk++) {
+                offsets[chunk + 1] = offsets[chunk] + counts[chunk] - skipped[chunk];
+            }
+            forEachChunk(chunkCount, chunk -> {
+                int from = chunkStarts[chunk] + skipped[chunk];
+                int count = offsets[chunk + 1] - offsets[chunk];
+                System.arraycopy(bufferStarts, from, starts, offsets[chunk], count);
+                System.arraycopy(bufferEnds, from, ends, offsets[chunk], count);
+            });
+            return offsets[chunkCount];
+        }));
+        MergeMetrics.recordPhase(MergeMetrics.Phase.SCAN, scanStartTime);
+        MergeMetrics.recordMerge(length, mergedCount, 0, swapCount.sum());
+        event.endScan(length, mergedCount);
+        return mergedCount;
+    }
+
+    /**
+     * Merges the overlapping {@link Interval}s of the given list like {@link IntervalMerger#merge(List)} does, but
+     * using the tasks of the given pool.
+     *
+     * @return A sorted list including the {@link Interval}s after merging the overlapping ones.
+     */
+    static List<Interval> merge(final ForkJoinPool pool, final List<Interval> inputIntervals) {
+        IntervalMergeEvent event = new IntervalMergeEvent();
+        event.beginSort(IntervalMergeEvent.INTERVAL_OBJECTS);
+        long startTime = MergeMetrics.startTiming();
+        Interval[] intervals = inputIntervals.toArray(new Interval[0]);
+        int firstInterval = pool.invoke(ForkJoinTask.adapt(() -> {
+            // null intervals are sorted to the beginning and ignored
+            Arrays.parallelSort(intervals, Comparator.nullsFirst(Comparator.naturalOrder()));
+            int first = 0;
+            while (first < intervals.length && intervals[first] == null) {
+                first++;
+            }
+            return first;
+        }));
+        long scanStartTime = MergeMetrics.recordPhase(MergeMetrics.Phase.SORT, startTime);
+        event.endSort(IntervalMergeEvent.PARALLEL_SORT);
+
+        MergeStep<Interval> mergeStep = (previous, current) -> {
+            if (Double.compare(previous.getEnd(), current.getStart()) < 0) {
+                return false;
+            }
+            previous.setEnd(Math.max(previous.getEnd(), current.getEnd()));
+            return true;
+        };
+        List<Interval> resultIntervals = pool.invoke(ForkJoinTask.adapt(
+                () -> stitch(mergeChunks(pool, intervals, firstInterval, mergeStep), mergeStep)));
+        MergeMetrics.recordPhase(MergeMetrics.Phase.SCAN, scanStartTime);
+        MergeMetrics.recordMerge(intervals.length, resultIntervals.size(), firstInterval, 0);
+        event.endScan(intervals.length, resultIntervals.size());
+        return resultIntervals;
+    }
+
+    /**
+     * Merges the overlapping intervals included in the given array like {@link IntervalMerger#merge(double[][])} does,
+     * but using the tasks of the given pool.
+     *
+     * @return A sorted list including the intervals after merging the overlapping ones.
+     */
+    static List<double[]> merge(final ForkJoinPool pool, final double[][] inputIntervals) {
+        IntervalMergeEvent event = new IntervalMergeEvent();
+        event.beginSort(IntervalMergeEvent.ARRAY_INTERVALS);
+        long startTime = MergeMetrics.startTiming();
+        int grain = grain(pool, inputIntervals.length);
+        int[] swapCounts = new int[(inputIntervals.length + grain - 1) / grain];
+        int firstInterval = pool.invoke(ForkJoinTask.adapt(() -> {
+            // ensures the start boundaries come first, so that the comparator does not need to switch any boundaries
+            forEachChunk(swapCounts.length, chunk -> {
+                for (int i = chunk * grain; i < Math.min(inputIntervals.length, (chunk + 1) * grain); i++) {
+                    double[] interval = inputIntervals[i];
+                    if (isValid(interval) && Double.compare(interval[0], interval[1]) > 0) {
+                        double temp = interval[0];
+                        interval[0] = interval[1];
+                        interval[1] = temp;
+                        swapCounts[chunk]++;
+                    }
+                }
+            });
+
+            // invalid intervals are sorted to the beginning and ignored
+            Arrays.parallelSort(inputIntervals, (interval1, interval2) -> {
+                if (!isValid(interval1) || !isValid(interval2)) {
+                    return Boolean.compare(isValid(interval1), isValid(interval2));
+                }
+                return Double.compare(interval1[0], interval2[0]);
+            });
+            int first = 0;
+            while (first < inputIntervals.length && !isValid(inputIntervals[first])) {
+                first++;
+            }
+            return first;
+        }));
+        long scanStartTime = MergeMetrics.recordPhase(MergeMetrics.Phase.SORT, startTime);
+        event.endSort(IntervalMergeEvent.PARALLEL_SORT);
+
+        MergeStep<double[]> mergeStep = (previous, current) -> {
+            if (Double.compare(previous[1], current[0]) < 0) {
+                return false;
+            }
+            previous[1] = Math.max(previous[1], current[1]);
+            return true;
+        };
+        List<double[]> resultIntervals = pool.invoke(ForkJoinTask.adapt(
+                () -> stitch(mergeChunks(pool, inputIntervals, firstInterval, mergeStep), mergeStep)));
+        MergeMetrics.recordPhase(MergeMetrics.Phase.SCAN, scanStartTime);
+        MergeMetrics.recordMerge(inputIntervals.length, resultIntervals.size(), firstInterval,
+                Arrays.stream(swapCounts).asLongStream().sum());
+        event.endScan(inputIntervals.length, resultIntervals.size());
+        return resultIntervals;
+    }
+
+    /**
+     * Represents the merge step of two intervals.
+     */
+    @FunctionalInterface
+    private interface MergeStep<T> {
+
+        /**
+         * Merges the current interval into the previous one, if they overlap.
+         *
+         * @return true if the intervals overlapped and the previous interval has been extended, false otherwise
+         */
+        boolean mergeIfOverlapping(T previous, T current);
+    }
+
+    /**
+     * Merges the sorted intervals beginning at {@code from} in contiguous chunks, independently of each other.
+     */
+    private static <T> List<List<T>> mergeChunks(final ForkJoinPool pool, final T[] sortedIntervals, final int from,
+                                                 final MergeStep<T> mergeStep) {
+        int length = sortedIntervals.length - from;
+        int chunkCount = Math.max(1, Math.min(pool.getParallelism() * 4, length / grain(pool, length)));
+        List<List<T>> mergedChunks = new ArrayList<>(Collections.nCopies(chunkCount, null));
+        forEachChunk(chunkCount, chunk -> {
+            int chunkFrom = from + (int) ((long) length * chunk / chunkCount);
+            int chunkTo = from + (int) ((long) length * (chunk + 1) / chunkCount);
+            List<T> mergedChunk = new ArrayList<>();
+            for (int i = chunkFrom; i < chunkTo; i++) {
+                if (mergedChunk.isEmpty() || !mergeStep.mergeIfOverlapping(mergedChunk.get(mergedChunk.size() - 1),
+                        sortedIntervals[i])) {
+                    mergedChunk.add(sortedIntervals[i]);
+                }
+            }
+            mergedChunks.set(chunk, mergedChunk);
+        });
+        return mergedChunks;
+    }
+
+    /**
+     * Concatenates the merged chunks, while merging the last interval of the result with the leading intervals of the
+     * following chunk, as long as they overlap.
+     */
+    private static <T> List<T> stitch(final List<List<T>> mergedChunks, final MergeStep<T> mergeStep) {
+        int size = 0;
+        for (List<T> mergedChunk : mergedChunks) {
+            size += mergedChunk.size();
+        }
+
+        List<T> resultIntervals = new ArrayList<>(size);
+        for (List<T> mergedChunk : mergedChunks) {
+            int firstNotOverlapping = 0;
+            if (!resultIntervals.isEmpty()) {
+                T previousInterval = resultIntervals.get(resultIntervals.size() - 1);
+                while (firstNotOverlapping < mergedChunk.size()
+                        && mergeStep.mergeIfOverlapping(previousInterval, mergedChunk.get(firstNotOverlapping))) {
+                    firstNotOverlapping++;
+                }
+            }
+            resultIntervals.addAll(mergedChunk.subList(firstNotOverlapping, mergedChunk.size()));
+        }
+        return resultIntervals;
+    }
+
+    private static boolean isValid(final double[] interval) {
+        return interval != null && interval.length == 2;
+    }
+
+    private static int grain(final ForkJoinPool pool, final int length) {
+        return Math.max(MIN_GRAIN, length / (pool.getParallelism() * 8));
+    }
+
+    /**
+     * Returns the index of the first interval within the given range whose start boundary is bigger than the given
+     * value, or {@code to} if there is none.
+     */
+    private static int firstStartGreaterThan(final double[] starts, int from, int to, final double value) {
+        while (from < to) {
+            int middle = (from + to) >>> 1;
+            if (Double.compare(starts[middle], value) <= 0) {
+                from = middle + 1;
+            } else {
+                to = middle;
+            }
+        }
+        return from;
+    }
+
+    /**
+     * Executes the given action for all chunk indices in parallel and waits until all of them have been processed.
+     */
+    private static void forEachChunk(final int chunkCount, final IntConsumer action) {
+        new ChunkTask(action, 0, chunkCount).invoke();
+    }
+
+    private static final class ChunkTask extends RecursiveAction {
+
+        private static final long serialVersionUID = 1L;
+
+        private final IntConsumer action;
+
+        private final int from;
+
+        private final int to;
+
+        private ChunkTask(final IntConsumer action, final int from, final int to) {
+            this.action = action;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (this.to - this.from <= 1) {
+                if (this.to > this.from) {
+                    this.action.accept(this.from);
+                }
+                return;
+            }
+            int middle = (this.from + this.to) >>> 1;
+            invokeAll(new ChunkTask(this.action, this.from, middle), new ChunkTask(this.action, middle, this.to));
+        }
+    }
+
+    /**
+     * Sorts a range of the intervals using a parallel merge sort. The sorted range is either stored in the array of
+     * the intervals or the buffer. To avoid copying the intervals back after each merge, the subranges are sorted into
+     * the respective other array, so that merging them stores the result in the requested array.
+     */
+    private static final class SortTask extends RecursiveAction {
+
+        private static final long serialVersionUID = 1L;
+
+        private final double[] starts;
+
+        private final double[] ends;
+
+        private final double[] bufferStarts;
+
+        private final double[] bufferEnds;
+
+        private final int from;
+
+        private final int to;
+
+        private final boolean intoBuffer;
+
+        private final int grain;
+
+        // counts the boundaries swapped by all tasks sorting the intervals
+        private final LongAdder swapCount;
+
+        private SortTask(final double[] starts, final double[] ends, final double[] bufferStarts,
+                         final double[] bufferEnds, final int from, final int to, final boolean intoBuffer,
+                         final int grain, final LongAdder swapCount) {
+            this.starts = starts;
+            this.ends = ends;
+            this.bufferStarts = bufferStarts;
+            this.bufferEnds = bufferEnds;
+            this.from = from;
+            this.to = to;
+            this.intoBuffer = intoBuffer;
+            this.grain = grain;
+            this.swapCount = swapCount;
+        }
+
+        @Override
+        protected void compute() {
+            if (this.to - this.from <= this.grain) {
+                this.swapCount.add(IntervalArrays.orient(this.starts, this.ends, this.from, this.to));
+                IntervalArrays.sort(this.starts, this.ends, this.from, this.to);
+                if (this.intoBuffer) {
+                    System.arraycopy(this.starts, this.from, this.bufferStarts, this.from, this.to - this.from);
+                    System.arraycopy(this.ends, this.from, this.bufferEnds, this.from, this.to - this.from);
+                }
+                return;
+            }
+
+            int middle = (this.from + this.to) >>> 1;
+            invokeAll(new SortTask(this.starts, this.ends, this.bufferStarts, this.bufferEnds, this.from, middle,
+                            !this.intoBuffer, this.grain, this.swapCount),
+                    new SortTask(this.starts, this.ends, this.bufferStarts, this.bufferEnds, middle, this.to,
+                            !this.intoBuffer, this.grain, this.swapCount));
+
+            if (this.intoBuffer) {
+                new MergeTask(this.starts, this.ends, this.bufferStarts, this.bufferEnds, this.from, middle, middle,
+                        this.to, this.from, this.grain).invoke();
+            } else {
+                new MergeTask(this.bufferStarts, this.bufferEnds, this.starts, this.ends, this.from, middle, middle,
+                        this.to, this.from, this.grain).invoke();
+            }
+        }
+    }
+
+    /**
+     * Merges two sorted ranges of the source arrays into the target arrays. Large ranges are split at the middle
+     * interval of the larger range, whose position within the other range is determined using a binary search, so
+     * that both halves can be merged in parallel.
+     */
+    private static final class MergeTask extends RecursiveAction {
+
+        private static final long serialVersionUID = 1L;
+
+        private final double[] sourceStarts;
+
+        private final double[] sourceEnds;
+
+        private final double[] targetStarts;
+
+        private final double[] targetEnds;
+
+        private final int from1;
+
+        private final int to1;
+
+        private final int from2;
+
+        private final int to2;
+
+        private final int target;
+
+        private final int grain;
+
+        private MergeTask(final double[] sourceStarts, final double[] sourceEnds, final double[] targetStarts,
+                          final double[] targetEnds, final int from1, final int to1, final int from2, final int to2,
+                          final int target, final int grain) {
+            this.sourceStarts = sourceStarts;
+            this.sourceEnds = sourceEnds;
+            this.targetStarts = targetStarts;
+            this.targetEnds = targetEnds;
+            this.from1 = from1;
+            this.to1 = to1;
+            this.from2 = from2;
+            this.to2 = to2;
+            this.target = target;
+            this.grain = grain;
+        }
+
+        @Override
+        protected void compute() {
+            int length1 = this.to1 - this.from1;
+            int length2 = this.to2 - this.from2;
+            if (length1 + length2 <= this.grain) {
+                mergeSequentially();
+                return;
+            }
+            if (length1 < length2) {
+                new MergeTask(this.sourceStarts, this.sourceEnds, this.targetStarts, this.targetEnds, this.from2,
+                        this.to2, this.from1, this.to1, this.target, this.grain).compute();
+                return;
+            }
+
+            int middle1 = (this.from1 + this.to1) >>> 1;
+            int middle2 = firstNotSmaller(middle1);
+            int middleTarget = this.target + (middle1 - this.from1) + (middle2 - this.from2);
+            this.targetStarts[middleTarget] = this.sourceStarts[middle1];
+            this.targetEnds[middleTarget] = this.sourceEnds[middle1];
+
+            invokeAll(new MergeTask(this.sourceStarts, this.sourceEnds, this.targetStarts, this.targetEnds,
+                            this.from1, middle1, this.from2, middle2, this.target, this.grain),
+                    new MergeTask(this.sourceStarts, this.sourceEnds, this.targetStarts, this.targetEnds,
+                            middle1 + 1, this.to1, middle2, this.to2, middleTarget + 1, this.grain));
+        }
+
+        /**
+         * Returns the index of the first interval of the second range that is not smaller than the given interval of
+         * the first range.
+         */
+        private int firstNotSmaller(final int index) {
+            double start = this.sourceStarts[index];
+            double end = this.sourceEnds[index];
+            int from = this.from2;
+            int to = this.to2;
+            while (from < to) {
+                int middle = (from + to) >>> 1;
+                if (IntervalArrays.compare(this.sourceStarts[middle], this.sourceEnds[middle], start, end) < 0) {
+                    from = middle + 1;
+                } else {
+                    to = middle;
+                }
+            }
+            return from;
+        }
+
+        private void mergeSequentially() {
+            int i = this.from1;
+            int j = this.from2;
+            int k = this.target;
+            while (i < this.to1 && j < this.to2) {
+                if (IntervalArrays.compare(this.sourceStarts[j], this.sourceEnds[j], this.sourceStarts[i],
+                        this.sourceEnds[i]) < 0) {
+                    this.targetStarts[k] = this.sourceStarts[j];
+                    this.targetEnds[k++] = this.sourceEnds[j++];
+                } else {
+                    this.targetStarts[k] = this.sourceStarts[i];
+                    this.targetEnds[k++] = this.sourceEnds[i++];
+                }
+            }
+            System.arraycopy(this.sourceStarts, i, this.targetStarts, k, this.to1 - i);
+            System.arraycopy(this.sourceEnds, i, this.targetEnds, k, this.to1 - i);
+            k += this.to1 - i;
+            System.arraycopy(this.sourceStarts, j, this.targetStarts, k, this.to2 - j);
+            System.arraycopy(this.sourceEnds, j, this.targetEnds, k, this.to2 - j);
+        }
+    }
+}
@@ -0,0 +1,115 @@
+/**
+ * Provides a least significant digit radix sort for intervals whose start boundaries are represented as {@code long}
+ * keys. Double boundaries are mapped to keys using {@link RadixIntervalSort#sortableKey(double)}, so that the signed
+ * order of the keys equals the order of {@link Double#compare(double, double)}. Sorting n intervals therefore takes a
+ * constant number of linear passes over primitive arrays instead of O(n log n) comparisons.
+ *
+ * @author Karolin Dürr
+ */
+final class RadixIntervalSort {
+
+    // Keys are sorted in passes of 11 bits each, which results in at most 6 passes for 64 bit keys
+    private static final int DIGIT_BITS = 11;
+
+    private static final int DIGIT_MASK = (1 << DIGIT_BITS) - 1;
+
+    private static final int PASSES = (Long.SIZE + DIGIT_BITS - 1) / DIGIT_BITS;
+
+    private RadixIntervalSort() {
+    }
+
+    /**
+     * Maps the given value to a {@code long} key, such that comparing two keys as signed values results in the same
+     * order as comparing the values using {@link Double#compare(double, double)}: negative values are smaller than
+     * positive ones, -0.0 is smaller than 0.0, and NaN is bigger than all other values, including positive infinity.
+     *
+     * @param value The value to map.
+     * @return the sortable key of the value
+     */
+    static long sortableKey(final double value) {
+        // doubleToLongBits maps all NaN values to a single canonical one, like Double.compare treats them as equal
+        long bits = Double.doubleToLongBits(value);
+        // the bits of negative values are reversed, so that bigger magnitudes result in smaller keys
+        return bits ^ ((bits >> 63) & Long.MAX_VALUE);
+    }
+
+    /**
+     * Maps a key created by {@link RadixIntervalSort#sortableKey(double)} back to its value.
+     *
+     * @param key The key to map.
+     * @return the value of the key
+     */
+    static double fromSortableKey(final long key) {
+        return Double.longBitsToDouble(key ^ ((key >> 63) & Long.MAX_VALUE));
+    }
+
+    /**
+     * Sorts the first {@code length} keys increasingly as signed values. The sort is stable and the given values are
+     * reordered together with their keys, so that {@code values[i]} still belongs to {@code keys[i]} afterwards. Passes
+     * in which all keys have the same digit are skipped, e.g. the upper bits of small integral keys. Sorting requires
+     * an additional array for the keys and the values each.
+     *
+     * @param keys   The keys to sort.
+     * @param values The values belonging to the keys, or null if there are none.
+     * @param length The number of keys to sort.
+     */
+    static void sort(final long[] keys, final long[] values, final int length) {
+        if (length < 2) {
+            return;
+        }
+
+        // counts the occurrences of the digits for all passes at once
+        int[][] counts = new int[PASSES][DIGIT_MASK + 1];
+        for (int i = 0; i < length; i++) {
+            long key = keys[i] ^ Long.MIN_VALUE;
+            for (int pass = 0; pass < PASSES; pass++) {
+                counts[pass][(int) (key >>> (pass * DIGIT_BITS)) & DIGIT_MASK]++;
+            }
+        }
+
+        long[] sourceKeys = keys;
+        long[] sourceValues = values;
+        long[] targetKeys = new long[length];
+        long[] targetValues = values == null ? null : new long[length];
+
+        for (int pass = 0; pass < PASSES; pass++) {
+            int[] count = counts[pass];
+            int shift = pass * DIGIT_BITS;
+            if (count[(int) ((sourceKeys[0] ^ Long.MIN_VALUE) >>> shift) & DIGIT_MASK] == length) {
+                // all keys have the same digit, so this pass would not change the order
+                continue;
+            }
+
+            // turns the counts into the start positions of the digits
+            int position = 0;
+            for (int digit = 0; digit <= DIGIT_MASK; digit++) {
+                int digitCount = count[digit];
+                count[digit] = position;
+                position += digitCount;
+            }
+
+            for (int i = 0; i < length; i++) {
+                int digit = (int) ((sourceKeys[i] ^ Long.MIN_VALUE) >>> shift) & DIGIT_MASK;
+                int target = count[digit]++;
+                targetKeys[target] = sourceKeys[i];
+                if (sourceValues != null) {
+                    targetValues[target] = sourceValues[i];
+                }
+            }
+
+            long[] swappedKeys = sourceKeys;
+            sourceKeys = targetKeys;
+            targetKeys = swappedKeys;
+            long[] swappedValues = sourceValues;
+            sourceValues = targetValues;
+            targetValues = swappedValues;
+        }
+
+        if (sourceKeys != keys) {
+            System.arraycopy(sourceKeys, 0, keys, 0, length);
+            if (values != null) {
+                System.arraycopy(sourceValues, 0, values, 0, length);
+            }
+        }
+    }
+}
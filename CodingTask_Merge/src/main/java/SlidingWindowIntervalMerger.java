@@ -0,0 +1,327 @@
+import java.util.*;
+
+/**
+ * Keeps the intervals of an event-time stream merged over a sliding window, e.g. the coverage of the last minutes of a
+ * monitoring stream, instead of merging the full history again. Intervals are added as they arrive and merged
+ * immediately, and advancing the watermark evicts all merged intervals that end before it. An interval that ends before
+ * the watermark when it arrives has arrived too late and is dropped, while an interval overlapping the watermark is
+ * kept completely.
+ * <p>
+ * The merged intervals are stored sorted by their start boundaries in a ring buffer of two primitive arrays. Since
+ * they are disjoint, their end boundaries are sorted as well, so that the intervals ending before the watermark are
+ * always at the front of the ring buffer and are evicted in O(1) each. Intervals arriving in order are appended or
+ * merged with the last interval in O(1), while out-of-order intervals are located by binary search and inserted by
+ * shifting the following intervals. The merged view can be visited after each advance without copying it. The ring
+ * buffer shrinks when it is mostly empty, so that the memory is bounded by the number of merged intervals within the
+ * window, e.g. under a constant input rate.
+ *
+ * @author Karolin Dürr
+ */
+public class SlidingWindowIntervalMerger implements IntervalConsumer {
+
+    private static final int INITIAL_CAPACITY = 16;
+
+    private final double windowLength;
+
+    // The ring buffer of the merged intervals, whose capacity is a power of two
+    private double[] starts = new double[INITIAL_CAPACITY];
+
+    private double[] ends = new double[INITIAL_CAPACITY];
+
+    private int head;
+
+    private int size;
+
+    private double watermark = Double.NEGATIVE_INFINITY;
+
+    private long droppedCount;
+
+    /**
+     * Creates a {@code SlidingWindowIntervalMerger} whose window covers the given length before the time passed to
+     * {@link SlidingWindowIntervalMerger#advanceTo(double)}.
+     *
+     * @param windowLength The length of the window, in the unit of the interval boundaries.
+     */
+    public SlidingWindowIntervalMerger(final double windowLength) {
+        if (!(windowLength >= 0)) {
+            throw new IllegalArgumentException("The length of the window must not be negative.");
+        }
+        this.windowLength = windowLength;
+    }
+
+    /**
+     * Adds the interval [start,end] to the window, see {@link SlidingWindowIntervalMerger#add(double, double)}.
+     *
+     * @param start The value of the included starting boundary of the interval.
+     * @param end   The value of the included end boundary of the interval.
+     */
+    @Override
+    public void accept(final double start, final double end) {
+        add(start, end);
+    }
+
+    /**
+     * Adds the given {@link Interval} to the window. Null will be ignored.
+     *
+     * @param interval The interval to add.
+     * @return true, if the interval has been added, or false if it is null or ends before the watermark
+     */
+    public boolean add(final Interval interval) {
+        return interval != null && add(interval.getStart(), interval.getEnd());
+    }
+
+    /**
+     * Adds the interval [start,end] to the window and merges it with the overlapping intervals. If the given start and
+     * end values are reversed, they will be switched. An interval ending before the watermark is dropped.
+     *
+     * @param start The value of the included starting boundary of the interval.
+     * @param end   The value of the included end boundary of the interval.
+     * @return true, if the interval has been added, or false if it ends before the watermark
+     */
+    public boolean add(final double start, final double end) {
+        double intervalStart = start;
+        double intervalEnd = end;
+        if (Double.compare(intervalStart, intervalEnd) > 0) {
+            intervalStart = end;
+            intervalEnd = start;
+        }
+        if (Double.compare(intervalEnd, this.watermark) < 0) {
+            this.droppedCount++;
+            return false;
+        }
+
+        if (this.size == 0 || Double.compare(endAt(this.size - 1), intervalStart) < 0) {
+            // in order and disjoint from the last interval
+            insertAt(this.size, intervalStart, intervalEnd);
+        } else if (Double.compare(startAt(this.size - 1), intervalStart) <= 0) {
+            // in order and overlapping with the last interval only
+            int last = physical(this.size - 1);
+            this.ends[last] = Math.max(this.ends[last], intervalEnd);
+        } else {
+            mergeOutOfOrder(intervalStart, intervalEnd);
+        }
+        return true;
+    }
+
+    /**
+     * Advances the watermark to the given time minus the length of the window, see
+     * {@link SlidingWindowIntervalMerger#advanceWatermark(double)}.
+     *
+     * @param time The current event time.
+     * @return the number of evicted merged intervals
+     * @throws IllegalArgumentException if the time is NaN
+     */
+    public int advanceTo(final double time) {
+        double watermark = time - this.windowLength;
+        if (Double.isNaN(watermark) && !Double.isNaN(time)) {
+            // an infinite window does not evict anything, even at an infinite time
+            watermark = Double.NEGATIVE_INFINITY;
+        }
+        return advanceWatermark(watermark);
+    }
+
+    /**
+     * Advances the watermark and evicts all merged intervals ending before it. The watermark never moves backwards,
+     * so a smaller watermark than the current one does not change anything.
+     *
+     * @param watermark The new watermark.
+     * @return the number of evicted merged intervals
+     * @throws IllegalArgumentException if the watermark is NaN
+     */
+    public int advanceWatermark(final double watermark) {
+        if (Double.isNaN(watermark)) {
+            // Double.compare orders NaN after every number, so it would evict all merged intervals for good
+            throw new IllegalArgumentException("The watermark must not be NaN.");
+        }
+        if (Double.compare(watermark, this.watermark) <= 0) {
+            return 0;
+        }
+        this.watermark = watermark;
+        int evicted = 0;
+        while (this.size > 0 && Double.compare(this.ends[this.head], watermark) < 0) {
+            this.head = (this.head + 1) & (this.starts.length - 1);
+            this.size--;
+            evicted++;
+        }
+        int capacity = this.starts.length;
+        while (capacity > INITIAL_CAPACITY && this.size < capacity / 4) {
+            capacity /= 2;
+        }
+        if (capacity < this.starts.length) {
+            resize(capacity);
+        }
+        return evicted;
+    }
+
+    /**
+     * Returns the current watermark, before which no merged interval ends.
+     *
+     * @return the watermark, or negative infinity if it has not been advanced yet
+     */
+    public double getWatermark() {
+        return this.watermark;
+    }
+
+    /**
+     * Returns the number of intervals that have been dropped, since they ended before the watermark.
+     *
+     * @return the number of dropped intervals
+     */
+    public long getDroppedCount() {
+        return this.droppedCount;
+    }
+
+    /**
+     * Returns the number of merged intervals within the window.
+     *
+     * @return the number of merged intervals
+     */
+    public int size() {
+        return this.size;
+    }
+
+    /**
+     * Passes the merged intervals within the window to the given consumer, sorted by their start boundaries, without
+     * copying them.
+     *
+     * @param consumer Receives the merged intervals.
+     */
+    public void forEach(final IntervalConsumer consumer) {
+        for (int i = 0; i < this.size; i++) {
+            int index = physical(i);
+            consumer.accept(this.starts[index], this.ends[index]);
+        }
+    }
+
+    /**
+     * Returns the merged intervals within the window as new {@link Interval} objects.
+     *
+     * @return the merged intervals, sorted by their start boundaries
+     */
+    public List<Interval> toList() {
+        List<Interval> intervals = new ArrayList<>(this.size);
+        forEach((start, end) -> intervals.add(new Interval(start, end)));
+        return intervals;
+    }
+
+    /**
+     * Copies the merged intervals within the window into a {@link MergedIntervalIndex}, e.g. to answer queries while
+     * the window keeps advancing.
+     *
+     * @return the index of the merged intervals
+     */
+    public MergedIntervalIndex toIndex() {
+        double[] mergedStarts = new double[this.size];
+        double[] mergedEnds = new double[this.size];
+        for (int i = 0; i < this.size; i++) {
+            mergedStarts[i] = startAt(i);
+            mergedEnds[i] = endAt(i);
+        }
+        return MergedIntervalIndex.fromMergedIntervals(mergedStarts, mergedEnds, this.size);
+    }
+
+    @Override
+    public String toString() {
+        return toList().toString();
+    }
+
+    int getCapacity() {
+        return this.starts.length;
+    }
+
+    /**
+     * Merges an interval that starts before the last merged interval, and thus either overlaps with some of the
+     * merged intervals or falls into a gap between them.
+     */
+    private void mergeOutOfOrder(final double start, final double end) {
+        // the first interval ending at or after the start, which exists, since the last interval does
+        int low = 0;
+        int high = this.size - 1;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (Double.compare(endAt(middle), start) < 0) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        int first = low;
+
+        // the number of intervals starting at or before the end, so the last one overlapping is at index last - 1
+        high = this.size;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (Double.compare(startAt(middle), end) <= 0) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        int last = low - 1;
+
+        if (last < first) {
+            insertAt(first, start, end);
+            return;
+        }
+        int index = physical(first);
+        if (Double.compare(start, this.starts[index]) < 0) {
+            this.starts[index] = start;
+        }
+        this.ends[index] = Math.max(end, endAt(last));
+        removeRange(first + 1, last + 1);
+    }
+
+    private void insertAt(final int position, final double start, final double end) {
+        if (this.size == this.starts.length) {
+            resize(2 * this.starts.length);
+        }
+        for (int i = this.size; i > position; i--) {
+            int to = physical(i);
+            int from = physical(i - 1);
+            this.starts[to] = this.starts[from];
+            this.ends[to] = this.ends[from];
+        }
+        int index = physical(position);
+        this.starts[index] = start;
+        this.ends[index] = end;
+        this.size++;
+    }
+
+    private void removeRange(final int from, final int to) {
+        int removed = to - from;
+        if (removed == 0) {
+            return;
+        }
+        for (int i = to; i < this.size; i++) {
+            int target = physical(i - removed);
+            int source = physical(i);
+            this.starts[target] = this.starts[source];
+            this.ends[target] = this.ends[source];
+        }
+        this.size -= removed;
+    }
+
+    private void resize(final int capacity) {
+        double[] resizedStarts = new double[capacity];
+        double[] resizedEnds = new double[capacity];
+        for (int i = 0; i < this.size; i++) {
+            resizedStarts[i] = startAt(i);
+            resizedEnds[i] = endAt(i);
+        }
+        this.starts = resizedStarts;
+        this.ends = resizedEnds;
+        this.head = 0;
+    }
+
+    private double startAt(final int position) {
+        return this.starts[physical(position)];
+    }
+
+    private double endAt(final int position) {
+        return this.ends[physical(position)];
+    }
+
+    private int physical(final int position) {
+        return (this.head + position) & (this.starts.length - 1);
+    }
+}
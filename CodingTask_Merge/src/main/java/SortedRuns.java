@@ -0,0 +1,96 @@
+import java.util.*;
+
+/**
+ * Provides the run detection used to shorten sorting, if the intervals are already sorted or consist of a few sorted
+ * runs, e.g. because they are the concatenation of several sorted feeds. A run is a maximal sequence of elements that
+ * do not decrease according to a {@link Comparator}. The operations for intervals stored in parallel arrays are
+ * provided by {@link IntervalArrays}.
+ *
+ * @author Karolin Dürr
+ */
+final class SortedRuns {
+
+    private SortedRuns() {
+    }
+
+    /**
+     * Counts the runs of the given elements. Counting stops as soon as more than {@code maxRuns} runs have been found,
+     * so that detecting that the elements are not presorted takes only a fraction of a pass for random input.
+     *
+     * @param elements   The elements in their current order.
+     * @param comparator The comparator defining the order of the elements.
+     * @param maxRuns    The number of runs, after which counting stops.
+     * @return the number of runs, which is 0 for no elements, or {@code maxRuns + 1} if there are more runs
+     */
+    static <T> int countRuns(final Iterable<T> elements, final Comparator<? super T> comparator, final int maxRuns) {
+        Iterator<T> iterator = elements.iterator();
+        if (!iterator.hasNext()) {
+            return 0;
+        }
+        int runs = 1;
+        T previous = iterator.next();
+        while (iterator.hasNext()) {
+            T current = iterator.next();
+            if (comparator.compare(previous, current) > 0 && ++runs > maxRuns) {
+                return runs;
+            }
+            previous = current;
+        }
+        return runs;
+    }
+
+    /**
+     * Sorts the given elements, which consist of exactly {@code runCount} runs, by merging pairs of adjacent runs in
+     * log2(runCount) passes, so that it takes O(n log k) for n elements and k runs. Equal elements keep their order.
+     * Merging requires a temporary array of the same length.
+     *
+     * @param elements   The elements to sort.
+     * @param comparator The comparator defining the order of the elements.
+     * @param runCount   The number of runs, as returned by {@link SortedRuns#countRuns}.
+     */
+    static <T> void mergeRuns(final T[] elements, final Comparator<? super T> comparator, final int runCount) {
+        int[] bounds = new int[runCount + 1];
+        int run = 0;
+        for (int i = 1; i < elements.length; i++) {
+            if (comparator.compare(elements[i - 1], elements[i]) > 0) {
+                bounds[++run] = i;
+            }
+        }
+        bounds[runCount] = elements.length;
+
+        T[] source = elements;
+        T[] target = Arrays.copyOf(elements, elements.length);
+        int remainingRuns = runCount;
+        while (remainingRuns > 1) {
+            int mergedRuns = 0;
+            for (int left = 0; left < remainingRuns; left += 2) {
+                int low = bounds[left];
+                int middle = bounds[Math.min(left + 1, remainingRuns)];
+                int high = bounds[Math.min(left + 2, remainingRuns)];
+                mergeTwoRuns(source, target, low, middle, high, comparator);
+                // the bound is written behind all bounds that are still read in this pass
+                bounds[++mergedRuns] = high;
+            }
+            remainingRuns = mergedRuns;
+            T[] temp = source;
+            source = target;
+            target = temp;
+        }
+        if (source != elements) {
+            System.arraycopy(source, 0, elements, 0, elements.length);
+        }
+    }
+
+    private static <T> void mergeTwoRuns(final T[] source, final T[] target, final int low, final int middle,
+                                         final int high, final Comparator<? super T> comparator) {
+        int left = low;
+        int right = middle;
+        for (int i = low; i < high; i++) {
+            if (right >= high || (left < middle && comparator.compare(source[left], source[right]) <= 0)) {
+                target[i] = source[left++];
+            } else {
+                target[i] = source[right++];
+            }
+        }
+    }
+}
@@ -0,0 +1,229 @@
+import java.util.*;
+
+/**
+ * Merges a stream of intervals that arrive one at a time, sorted by their start boundaries, e.g. intervals read from
+ * a time-ordered log. In contrast to the {@link IntervalMerger}, the intervals do not have to be collected and sorted
+ * before merging. Instead, a merged interval is passed to the given {@link IntervalConsumer} as soon as it is closed,
+ * meaning as soon as an interval arrives whose start boundary is bigger than the end boundary of the merged interval.
+ * Without a reorder buffer, the merger only stores the currently open merged interval, and thus requires O(1) memory.
+ * <p>
+ * Slightly out-of-order input can be merged using a bounded reorder buffer. The buffer holds back intervals until
+ * the biggest start boundary seen so far exceeds their start boundary by more than the configured slack, or the
+ * buffer is full, and releases them in sorted order. An interval whose start boundary is smaller than the start
+ * boundary of the currently open merged interval when it is released, has arrived too late and is rejected.
+ *
+ * @author Karolin Dürr
+ */
+public class StreamingIntervalMerger implements IntervalConsumer {
+
+    private final IntervalConsumer mergedIntervalConsumer;
+
+    private final double slack;
+
+    private final int reorderCapacity;
+
+    // The reorder buffer, a binary min-heap ordered by the start and then the end boundaries of the intervals
+    private double[] bufferedStarts;
+
+    private double[] bufferedEnds;
+
+    private int bufferedCount;
+
+    private double biggestStart = Double.NEGATIVE_INFINITY;
+
+    private boolean open;
+
+    private double currentStart;
+
+    private double currentEnd;
+
+    /**
+     * Creates a {@code StreamingIntervalMerger} for intervals that arrive sorted by their start boundaries.
+     *
+     * @param mergedIntervalConsumer Receives the merged intervals, sorted by their start boundaries.
+     */
+    public StreamingIntervalMerger(final IntervalConsumer mergedIntervalConsumer) {
+        this(mergedIntervalConsumer, 0, 0);
+    }
+
+    /**
+     * Creates a {@code StreamingIntervalMerger} for intervals that may arrive out of order, as long as an interval's
+     * start boundary is at most {@code slack} smaller than the biggest start boundary seen before, and there are at
+     * most {@code reorderCapacity} intervals within that range.
+     *
+     * @param mergedIntervalConsumer Receives the merged intervals, sorted by their start boundaries.
+     * @param slack                  The maximum distance an interval's start boundary may lag behind the biggest start
+     *                               boundary seen so far.
+     * @param reorderCapacity        The maximum number of intervals held back by the reorder buffer.
+     */
+    public StreamingIntervalMerger(final IntervalConsumer mergedIntervalConsumer, final double slack,
+                                   final int reorderCapacity) {
+        if (mergedIntervalConsumer == null) {
+            throw new IllegalArgumentException("The consumer of the merged intervals must not be null.");
+        }
+        if (!(slack >= 0) || reorderCapacity < 0) {
+            throw new IllegalArgumentException("The slack and the capacity of the reorder buffer must not be " +
+                    "negative.");
+        }
+        this.mergedIntervalConsumer = mergedIntervalConsumer;
+        this.slack = slack;
+        this.reorderCapacity = reorderCapacity;
+    }
+
+    /**
+     * Accepts the next interval of the stream. If the given start and end values are reversed, they will be switched.
+     * Closed merged intervals are passed to the consumer immediately.
+     *
+     * @param start The value of the included starting boundary of the interval.
+     * @param end   The value of the included end boundary of the interval.
+     * @throws IllegalArgumentException if the interval arrived too late to be merged in order
+     */
+    @Override
+    public void accept(final double start, final double end) {
+        double intervalStart = start;
+        double intervalEnd = end;
+        if (Double.compare(intervalStart, intervalEnd) > 0) {
+            intervalStart = end;
+            intervalEnd = start;
+        }
+
+        if (this.reorderCapacity == 0) {
+            mergeNext(intervalStart, intervalEnd);
+            return;
+        }
+
+        push(intervalStart, intervalEnd);
+        // NaN is ordered after all numbers by Double.compare, so a NaN start would release all buffered intervals
+        if (!Double.isNaN(intervalStart) && Double.compare(intervalStart, this.biggestStart) > 0) {
+            this.biggestStart = intervalStart;
+        }
+
+        // releases all intervals that are further behind the biggest start boundary than the slack allows
+        double watermark = this.biggestStart - this.slack;
+        if (Double.isNaN(watermark)) {
+            // an infinite slack holds back all intervals, even behind an infinite start boundary
+            watermark = Double.NEGATIVE_INFINITY;
+        }
+        while (this.bufferedCount > this.reorderCapacity
+                || (this.bufferedCount > 0 && Double.compare(this.bufferedStarts[0], watermark) <= 0)) {
+            releaseFirst();
+        }
+    }
+
+    /**
+     * Accepts the next {@link Interval} of the stream, see {@link StreamingIntervalMerger#accept(double, double)}.
+     * Null will be ignored.
+     *
+     * @param interval The next interval of the stream.
+     */
+    public void accept(final Interval interval) {
+        if (interval != null) {
+            accept(interval.getStart(), interval.getEnd());
+        }
+    }
+
+    /**
+     * Ends the current stream by merging all intervals of the reorder buffer and passing the still open merged
+     * interval to the consumer. Afterwards, the merger can be used for a new stream.
+     */
+    public void finish() {
+        while (this.bufferedCount > 0) {
+            releaseFirst();
+        }
+        if (this.open) {
+            this.open = false;
+            this.mergedIntervalConsumer.accept(this.currentStart, this.currentEnd);
+        }
+        this.biggestStart = Double.NEGATIVE_INFINITY;
+    }
+
+    /**
+     * Returns the number of intervals that are currently held back by the reorder buffer.
+     *
+     * @return the number of buffered intervals
+     */
+    public int getBufferedCount() {
+        return this.bufferedCount;
+    }
+
+    private void mergeNext(final double start, final double end) {
+        if (!this.open) {
+            this.open = true;
+            this.currentStart = start;
+            this.currentEnd = end;
+            return;
+        }
+
+        if (Double.compare(start, this.currentStart) < 0) {
+            throw new IllegalArgumentException("The interval [" + start + "," + end + "] arrived out of order, " +
+                    "since the merged interval starting at " + this.currentStart + " has been processed already.");
+        }
+
+        if (Double.compare(this.currentEnd, start) < 0) {
+            // Intervals do not overlap --> the merged interval is closed and the current one becomes the open one
+            this.mergedIntervalConsumer.accept(this.currentStart, this.currentEnd);
+            this.currentStart = start;
+            this.currentEnd = end;
+            return;
+        }
+
+        // Open interval includes at least the start boundary of the current interval --> merge intervals
+        this.currentEnd = Math.max(this.currentEnd, end);
+    }
+
+    private void push(final double start, final double end) {
+        if (this.bufferedStarts == null || this.bufferedCount == this.bufferedStarts.length) {
+            int capacity = this.bufferedStarts == null ? Math.min(16, this.reorderCapacity + 1)
+                    : this.bufferedStarts.length * 2;
+            this.bufferedStarts = this.bufferedStarts == null ? new double[capacity]
+                    : Arrays.copyOf(this.bufferedStarts, capacity);
+            this.bufferedEnds = this.bufferedEnds == null ? new double[capacity]
+                    : Arrays.copyOf(this.bufferedEnds, capacity);
+        }
+
+        // sift up
+        int node = this.bufferedCount++;
+        while (node > 0) {
+            int parent = (node - 1) >>> 1;
+            if (IntervalArrays.compare(this.bufferedStarts[parent], this.bufferedEnds[parent], start, end) <= 0) {
+                break;
+            }
+            this.bufferedStarts[node] = this.bufferedStarts[parent];
+            this.bufferedEnds[node] = this.bufferedEnds[parent];
+            node = parent;
+        }
+        this.bufferedStarts[node] = start;
+        this.bufferedEnds[node] = end;
+    }
+
+    private void releaseFirst() {
+        double start = this.bufferedStarts[0];
+        double end = this.bufferedEnds[0];
+
+        // moves the last interval to the root and sifts it down
+        int count = --this.bufferedCount;
+        double lastStart = this.bufferedStarts[count];
+        double lastEnd = this.bufferedEnds[count];
+        int node = 0;
+        while (true) {
+            int child = 2 * node + 1;
+            if (child >= count) {
+                break;
+            }
+            if (child + 1 < count && IntervalArrays.compare(this.bufferedStarts[child + 1],
+                    this.bufferedEnds[child + 1], this.bufferedStarts[child], this.bufferedEnds[child]) < 0) {
+                child++;
+            }
+            if (IntervalArrays.compare(lastStart, lastEnd, this.bufferedStarts[child], this.bufferedEnds[child]) <= 0) {
+                break;
+            }
+            this.bufferedStarts[node] = this.bufferedStarts[child];
+            this.bufferedEnds[node] = this.bufferedEnds[child];
+            node = child;
+        }
+        this.bufferedStarts[node] = lastStart;
+        this.bufferedEnds[node] = lastEnd;
+
+        mergeNext(start, end);
+    }
+}
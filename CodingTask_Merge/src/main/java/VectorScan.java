@@ -0,0 +1,74 @@
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+
+/**
+ * Provides access to the merge scan using the Vector API, which requires Java 16 or later and the incubator module
+ * {@code jdk.incubator.vector}, e.g. {@code java --add-modules jdk.incubator.vector -jar ...}. Since the program is
+ * compiled for older Java versions as well, the scan is compiled separately and looked up reflectively, and callers
+ * fall back to the scalar scan of {@link IntervalArrays} if it is not available or the platform provides no vectors of
+ * four or eight {@code double} lanes.
+ *
+ * @author Karolin Dürr
+ */
+final class VectorScan {
+
+    private static final MethodHandle SCAN = findScan();
+
+    private VectorScan() {
+    }
+
+    /**
+     * Returns whether the merge scan uses the Vector API.
+     *
+     * @return true, if {@link VectorScan#scan} uses vectors instead of the scalar scan
+     */
+    static boolean isSupported() {
+        return SCAN != null;
+    }
+
+    /**
+     * Merges the sorted intervals from index {@code from} to {@code to} like
+     * {@link IntervalArrays#scan(double[], double[], int, int, double[], double[], int)} does, using the Vector API if
+     * it is supported.
+     *
+     * @param starts       The sorted start boundaries of the intervals.
+     * @param ends         The end boundaries of the intervals.
+     * @param from         The index of the first interval, inclusive.
+     * @param to           The index of the last interval, exclusive.
+     * @param mergedStarts The array the start boundaries of the merged intervals are written to.
+     * @param mergedEnds   The array the end boundaries of the merged intervals are written to.
+     * @param offset       The index at which the first merged interval is written.
+     * @return the number of merged intervals that have been written
+     */
+    static int scan(final double[] starts, final double[] ends, final int from, final int to,
+                    final double[] mergedStarts, final double[] mergedEnds, final int offset) {
+        if (SCAN == null) {
+            return IntervalArrays.scan(starts, ends, from, to, mergedStarts, mergedEnds, offset);
+        }
+        try {
+            return (int) SCAN.invokeExact(starts, ends, from, to, mergedStarts, mergedEnds, offset);
+        } catch (RuntimeException | Error exception) {
+            throw exception;
+        } catch (Throwable throwable) {
+            throw new IllegalStateException(throwable);
+        }
+    }
+
+    private static MethodHandle findScan() {
+        try {
+            // fails with a LinkageError if the vector module has not been added to the Java runtime
+            Class<?> scanClass = Class.forName("VectorIntervalScan");
+            MethodHandles.Lookup lookup = MethodHandles.lookup();
+            MethodHandle isAccelerated = lookup.findStatic(scanClass, "isAccelerated",
+                    MethodType.methodType(boolean.class));
+            if (!(boolean) isAccelerated.invokeExact()) {
+                return null;
+            }
+            return lookup.findStatic(scanClass, "scan", MethodType.methodType(int.class, double[].class,
+                    double[].class, int.class, int.class, double[].class, double[].class, int.class));
+        } catch (Throwable throwable) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,67 @@
+import java.lang.reflect.Method;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Provides access to virtual threads, which require Java 21 or later. Since the program is compiled for older Java
+ * versions as well, the executor creating a virtual thread per task is looked up reflectively, and callers fall back
+ * to platform threads if it is not available.
+ * <p>
+ * On Java 19 and 20, the factory method exists, but throws an {@link UnsupportedOperationException} unless the preview
+ * features are enabled. Therefore, the support is probed once by actually creating an executor, so that
+ * {@link VirtualThreads#isSupported()} always matches whether {@link VirtualThreads#newExecutor()} succeeds.
+ *
+ * @author Karolin Dürr
+ */
+final class VirtualThreads {
+
+    private static final Method NEW_VIRTUAL_THREAD_PER_TASK_EXECUTOR = findFactoryMethod();
+
+    private VirtualThreads() {
+    }
+
+    /**
+     * Returns whether the Java runtime supports virtual threads.
+     *
+     * @return true, if {@link VirtualThreads#newExecutor()} creates virtual threads
+     */
+    static boolean isSupported() {
+        return NEW_VIRTUAL_THREAD_PER_TASK_EXECUTOR != null;
+    }
+
+    /**
+     * Creates an executor starting a new virtual thread for every task.
+     *
+     * @return the new executor, or null if the Java runtime does not support virtual threads
+     */
+    static ExecutorService newExecutor() {
+        if (NEW_VIRTUAL_THREAD_PER_TASK_EXECUTOR == null) {
+            return null;
+        }
+        return invoke(NEW_VIRTUAL_THREAD_PER_TASK_EXECUTOR);
+    }
+
+    private static Method findFactoryMethod() {
+        Method factoryMethod;
+        try {
+            factoryMethod = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+        } catch (NoSuchMethodException exception) {
+            return null;
+        }
+        ExecutorService probe = invoke(factoryMethod);
+        if (probe == null) {
+            return null;
+        }
+        probe.shutdown();
+        return factoryMethod;
+    }
+
+    private static ExecutorService invoke(final Method factoryMethod) {
+        try {
+            return (ExecutorService) factoryMethod.invoke(null);
+        } catch (ReflectiveOperationException | RuntimeException exception) {
+            // an InvocationTargetException wraps the UnsupportedOperationException thrown without preview features
+            return null;
+        }
+    }
+}
@@ -0,0 +1,129 @@
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * The testing class for the {@link BatchIntervalMerger} class.
+ *
+ * @author Karolin Dürr
+ */
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+public class BatchIntervalMergerTests {
+
+    @Test
+    public void givenManyLists_whenMergeAllUsingPlatformThreads_thenReturnMergedListsInInputOrder() {
+        // given
+        Random random = new Random(42);
+        List<List<Interval>> inputs = new ArrayList<>();
+        List<List<Interval>> expectedResults = new ArrayList<>();
+        for (int list = 0; list < 1000; list++) {
+            List<Interval> input = new ArrayList<>();
+            List<Interval> copy = new ArrayList<>();
+            for (int i = random.nextInt(20); i > 0; i--) {
+                double start = random.nextInt(100);
+                double end = start + random.nextInt(10);
+                input.add(new Interval(start, end));
+                copy.add(new Interval(start, end));
+            }
+            inputs.add(input);
+            expectedResults.add(new IntervalMerger().merge(copy));
+        }
+
+        // when
+        List<BatchIntervalMerger.Result> actualResults;
+        try (BatchIntervalMerger batchMerger = BatchIntervalMerger.usingPlatformThreads(3)) {
+            actualResults = batchMerger.mergeAll(inputs);
+        }
+
+        //then
+        assertEquals(inputs.size(), actualResults.size());
+        for (int i = 0; i < inputs.size(); i++) {
+            assertTrue(actualResults.get(i).isSuccessful());
+            assertEquals(expectedResults.get(i), actualResults.get(i).getIntervals());
+        }
+    }
+
+    @Test
+    public void givenListThatCannotBeSorted_whenMergeAll_thenFailOnlyThatList() {
+        // given
+        List<List<Interval>> inputs = new ArrayList<>();
+        inputs.add(new ArrayList<>(Arrays.asList(new Interval(5, 8), new Interval(1, 6))));
+        inputs.add(Collections.unmodifiableList(Arrays.asList(new Interval(5, 8), new Interval(1, 2))));
+        inputs.add(null);
+        inputs.add(new ArrayList<>(Collections.singletonList(new Interval(3, 4))));
+        BatchIntervalMerger batchMerger = new BatchIntervalMerger(Runnable::run, 1);
+
+        // when
+        List<BatchIntervalMerger.Result> actualResults = batchMerger.mergeAll(inputs);
+
+        //then
+        assertEquals(Collections.singletonList(new Interval(1, 8)), actualResults.get(0).getIntervals());
+        assertFalse(actualResults.get(1).isSuccessful());
+        assertTrue(actualResults.get(1).getFailure() instanceof UnsupportedOperationException);
+        assertThrows(IllegalStateException.class, () -> actualResults.get(1).getIntervals());
+        assertTrue(actualResults.get(2).getIntervals().isEmpty());
+        assertEquals(Collections.singletonList(new Interval(3, 4)), actualResults.get(3).getIntervals());
+        assertThrows(IllegalArgumentException.class, () -> new BatchIntervalMerger(Runnable::run, 0));
+    }
+
+    @Test
+    public void givenListThrowingError_whenMergeAllUsingPlatformThreads_thenFailOnlyThatList() {
+        // given
+        List<List<Interval>> inputs = new ArrayList<>();
+        for (int list = 0; list < 10; list++) {
+            inputs.add(new ArrayList<>(Arrays.asList(new Interval(list, list + 2), new Interval(list - 1, list))));
+        }
+        inputs.set(4, new ArrayList<Interval>(Collections.singletonList(new Interval(1, 2))) {
+            @Override
+            public int size() {
+                throw new StackOverflowError();
+            }
+        });
+
+        // when
+        List<BatchIntervalMerger.Result> actualResults;
+        try (BatchIntervalMerger batchMerger = BatchIntervalMerger.usingPlatformThreads(2)) {
+            actualResults = batchMerger.mergeAll(inputs);
+        }
+
+        //then
+        assertEquals(inputs.size(), actualResults.size());
+        for (int list = 0; list < inputs.size(); list++) {
+            if (list == 4) {
+                assertFalse(actualResults.get(list).isSuccessful());
+                assertTrue(actualResults.get(list).getFailure() instanceof StackOverflowError);
+            } else {
+                assertEquals(Collections.singletonList(new Interval(list - 1, list + 2)),
+                        actualResults.get(list).getIntervals());
+            }
+        }
+    }
+
+    @Test
+    public void givenLists_whenMergeAllAsyncUsingVirtualThreads_thenCompleteFutureWithResults() throws Exception {
+        // given
+        List<List<Interval>> inputs = new ArrayList<>();
+        for (int list = 0; list < 200; list++) {
+            inputs.add(new ArrayList<>(Arrays.asList(new Interval(list, list + 2), new Interval(list - 1, list))));
+        }
+
+        // when
+        List<BatchIntervalMerger.Result> actualResults;
+        try (BatchIntervalMerger batchMerger = BatchIntervalMerger.usingVirtualThreads()) {
+            CompletableFuture<List<BatchIntervalMerger.Result>> future = batchMerger.mergeAllAsync(inputs);
+            actualResults = future.get(1, TimeUnit.MINUTES);
+        }
+
+        //then
+        assertEquals(Runtime.version().feature() >= 21, BatchIntervalMerger.isVirtualThreadSupported());
+        for (int list = 0; list < 200; list++) {
+            assertEquals(Collections.singletonList(new Interval(list - 1, list + 2)),
+                    actualResults.get(list).getIntervals());
+        }
+    }
+}
@@ -0,0 +1,120 @@
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+
+import java.util.*;
+import java.util.concurrent.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * The testing class for the {@link ConcurrentIntervalSet} class.
+ *
+ * @author Karolin Dürr
+ */
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+public class ConcurrentIntervalSetTests {
+
+    private static final int THREADS = 8;
+
+    private static final int INTERVALS_PER_THREAD = 5000;
+
+    @Test
+    public void givenIntervals_whenAddIntervals_thenSnapshotIncludesMergedIntervals() {
+        // given
+        ConcurrentIntervalSet intervalSet = new ConcurrentIntervalSet(3);
+
+        // when
+        intervalSet.add(25, 30);
+        intervalSet.add(new Interval(2, 19));
+        intervalSet.add(null);
+        intervalSet.addAll(new double[]{14, 40}, new double[]{23, 41}, 1);
+
+        //then
+        assertEquals("[[2,23], [25,30]]", intervalSet.toString());
+        assertEquals(2, intervalSet.snapshot().size());
+        intervalSet.clear();
+        assertTrue(intervalSet.toList().isEmpty());
+        assertThrows(IllegalArgumentException.class, () -> new ConcurrentIntervalSet(0));
+    }
+
+    @Test
+    public void givenManyThreads_whenAddIntervalsConcurrently_thenIncludeSameIntervalsAsMerge() throws Exception {
+        // given
+        ConcurrentIntervalSet intervalSet = new ConcurrentIntervalSet(4);
+        List<Interval> addedIntervals = Collections.synchronizedList(new ArrayList<>());
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch startSignal = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+
+        // when
+        for (int thread = 0; thread < THREADS; thread++) {
+            Random random = new Random(thread);
+            futures.add(executor.submit(() -> {
+                startSignal.await();
+                for (int i = 0; i < INTERVALS_PER_THREAD; i++) {
+                    double start = random.nextInt(200_000) / 4.0;
+                    double end = start + random.nextInt(40) / 4.0;
+                    intervalSet.add(start, end);
+                    addedIntervals.add(new Interval(start, end));
+                }
+                return null;
+            }));
+        }
+        startSignal.countDown();
+        for (Future<?> future : futures) {
+            future.get(1, TimeUnit.MINUTES);
+        }
+        executor.shutdown();
+
+        //then
+        assertEquals(new IntervalMerger().merge(addedIntervals), intervalSet.toList());
+    }
+
+    @Test
+    public void givenConcurrentAdditions_whenTakeSnapshots_thenSnapshotsAreMergedAndGrowMonotonically()
+            throws Exception {
+        // given
+        ConcurrentIntervalSet intervalSet = new ConcurrentIntervalSet(4);
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int thread = 0; thread < THREADS; thread++) {
+            int offset = thread;
+            futures.add(executor.submit(() -> {
+                // every thread adds the disjoint intervals [k,k+0.5] of its own residue class
+                for (int k = offset; k < THREADS * INTERVALS_PER_THREAD; k += THREADS) {
+                    intervalSet.add(k, k + 0.5);
+                }
+                return null;
+            }));
+        }
+
+        // when
+        List<List<Interval>> snapshots = new ArrayList<>();
+        while (!allDone(futures)) {
+            snapshots.add(intervalSet.toList());
+        }
+        snapshots.add(intervalSet.toList());
+        executor.shutdown();
+
+        //then
+        int previousSize = 0;
+        for (List<Interval> snapshot : snapshots) {
+            assertTrue(snapshot.size() >= previousSize);
+            for (int i = 1; i < snapshot.size(); i++) {
+                assertTrue(snapshot.get(i - 1).getEnd() < snapshot.get(i).getStart());
+            }
+            previousSize = snapshot.size();
+        }
+        assertEquals(THREADS * INTERVALS_PER_THREAD, previousSize);
+    }
+
+    private static boolean allDone(final List<Future<?>> futures) throws Exception {
+        for (Future<?> future : futures) {
+            if (!future.isDone()) {
+                return false;
+            }
+            future.get();
+        }
+        return true;
+    }
+}
@@ -0,0 +1,112 @@
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * The testing class for the {@link CoverageIntervalSet} class, which has to cover the same merged intervals the
+ * {@link IntervalMerger} returns for all intervals added and not removed so far.
+ *
+ * @author Karolin Dürr
+ */
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+public class CoverageIntervalSetTests {
+
+    @Test
+    public void givenOverlappingBookings_whenRemoveBooking_thenUncoverOnlyItsExclusiveValues() {
+        // given
+        CoverageIntervalSet bookings = new CoverageIntervalSet();
+        bookings.add(25, 30);
+        bookings.add(19, 2);
+        bookings.add(new Interval(14, 23));
+        bookings.add(4, 8);
+        bookings.add(30, 30);
+        bookings.add(23, 25);
+
+        // when
+        boolean removed = bookings.remove(new Interval(23, 25));
+
+        //then
+        assertTrue(removed);
+        assertEquals(5, bookings.getIntervalCount());
+        assertEquals(2, bookings.getCoveredIntervalCount());
+        assertEquals("[[2,23], [25,30]]", bookings.toString());
+        assertEquals(2, bookings.coverageAt(14));
+        assertEquals(2, bookings.coverageAt(30));
+        assertFalse(bookings.isCovered(24));
+        assertTrue(bookings.toIndex().contains(23));
+    }
+
+    @Test
+    public void givenIntervalsNotAdded_whenRemoveIntervals_thenRejectThemAndKeepCoverage() {
+        // given
+        CoverageIntervalSet intervals = new CoverageIntervalSet(0);
+        intervals.add(1, 2);
+        intervals.add(3, 4);
+        intervals.add(3, 4);
+
+        // when
+        boolean spanningRemoved = intervals.remove(1, 4);
+        boolean unknownRemoved = intervals.remove(2, 3);
+        boolean pointRemoved = intervals.remove(5, 5);
+        boolean duplicateRemoved = intervals.remove(4, 3);
+
+        //then
+        assertFalse(spanningRemoved);
+        assertFalse(unknownRemoved);
+        assertFalse(pointRemoved);
+        assertTrue(duplicateRemoved);
+        assertFalse(intervals.remove(null));
+        assertEquals(Arrays.asList(new Interval(1, 2), new Interval(3, 4)), intervals.toList());
+        assertTrue(intervals.remove(3, 4));
+        assertTrue(intervals.remove(1, 2));
+        assertFalse(intervals.remove(1, 2));
+        assertTrue(intervals.isEmpty());
+        assertEquals(0, intervals.getCoveredIntervalCount());
+        assertEquals("[]", intervals.toString());
+    }
+
+    @Test
+    public void givenRandomChurn_whenAddAndRemoveIntervals_thenMatchMergingLiveIntervals() {
+        // given
+        Random random = new Random(42);
+        CoverageIntervalSet coverage = new CoverageIntervalSet();
+        List<Interval> liveIntervals = new ArrayList<>();
+        IntervalMerger merger = new IntervalMerger();
+
+        for (int i = 0; i < 5000; i++) {
+            // when
+            if (liveIntervals.isEmpty() || random.nextInt(5) < 3) {
+                double start = random.nextInt(1000);
+                Interval interval = new Interval(start, start + random.nextInt(20));
+                liveIntervals.add(interval);
+                coverage.add(interval.getStart(), interval.getEnd());
+            } else {
+                Interval interval = liveIntervals.remove(random.nextInt(liveIntervals.size()));
+                assertTrue(coverage.remove(interval.getStart(), interval.getEnd()));
+            }
+
+            //then
+            List<Interval> expectedIntervals = merger.merge(copy(liveIntervals));
+            assertEquals(expectedIntervals.size(), coverage.getCoveredIntervalCount());
+            if (i % 50 == 0) {
+                assertEquals(expectedIntervals, coverage.toList(), "after operation " + i);
+                double value = random.nextInt(1000) + 0.5;
+                long expectedCoverage = liveIntervals.stream()
+                        .filter(interval -> interval.getStart() <= value && value <= interval.getEnd()).count();
+                assertEquals(expectedCoverage, coverage.coverageAt(value));
+            }
+        }
+        assertEquals(liveIntervals.size(), coverage.getIntervalCount());
+    }
+
+    private static List<Interval> copy(final List<Interval> intervals) {
+        List<Interval> copies = new ArrayList<>(intervals.size());
+        for (Interval interval : intervals) {
+            copies.add(new Interval(interval.getStart(), interval.getEnd()));
+        }
+        return copies;
+    }
+}
@@ -0,0 +1,90 @@
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+
+import java.text.DecimalFormat;
+import java.text.DecimalFormatSymbols;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * The testing class for the {@link DoubleFormatter} class, whose output has to be identical to the one of a
+ * {@link DecimalFormat} using the pattern {@code 0.######}.
+ *
+ * @author Karolin Dürr
+ */
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+public class DoubleFormatterTests {
+
+    private DoubleFormatter formatter;
+
+    private DecimalFormat decimalFormat;
+
+    @BeforeAll
+    public void init() {
+        this.formatter = new DoubleFormatter();
+        this.decimalFormat = new DecimalFormat("0.######", new DecimalFormatSymbols(Locale.ENGLISH));
+    }
+
+    @Test
+    public void givenSpecialValues_whenFormat_thenReturnSameResultAsDecimalFormat() {
+        // given
+        double[] values = {0, -0.0, 1, -1, 0.5, 2.25, 8.1, 30.1894, 0.0000005, -0.0000005, 0.0000015, 0.0000025,
+                -0.0000001, 123456.0000005, 0.1234565, 2.0000005, 999999999.9999995, 1e9, 1e20, Double.MAX_VALUE,
+                -Double.MAX_VALUE, Double.MIN_VALUE, -Double.MIN_VALUE, Double.NaN, Double.POSITIVE_INFINITY,
+                Double.NEGATIVE_INFINITY};
+
+        for (double value : values) {
+            // when
+            String actualResult = this.formatter.format(value);
+
+            //then
+            assertEquals(this.decimalFormat.format(value), actualResult, Double.toString(value));
+        }
+    }
+
+    @Test
+    public void givenRandomValues_whenFormat_thenReturnSameResultAsDecimalFormat() {
+        // given
+        Random random = new Random(42);
+
+        for (int i = 0; i < 200_000; i++) {
+            double value;
+            switch (i % 4) {
+                case 0:
+                    // values at or close to the ties of the seventh decimal place
+                    value = (random.nextInt(2_000_000_000) - 1_000_000_000 + 0.5) / 1e6;
+                    break;
+                case 1:
+                    value = (random.nextDouble() - 0.5) * Math.pow(10, random.nextInt(24) - 10);
+                    break;
+                case 2:
+                    value = random.nextInt(20_000) / 8.0 - 1000;
+                    break;
+                default:
+                    value = Double.longBitsToDouble(random.nextLong());
+                    break;
+            }
+
+            // when
+            String actualResult = this.formatter.format(value);
+
+            //then
+            assertEquals(this.decimalFormat.format(value), actualResult, Double.toString(value));
+        }
+    }
+
+    @Test
+    public void givenArrayOffset_whenFormat_thenWriteCharactersBehindOffset() {
+        // given
+        char[] target = new char[2 + DoubleFormatter.MAX_LENGTH];
+        target[0] = 'x';
+
+        // when
+        int end = this.formatter.format(-12.5, target, 1);
+
+        //then
+        assertEquals("x-12.5", new String(target, 0, end));
+    }
+}
@@ -0,0 +1,153 @@
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * The testing class for the {@link ExternalIntervalMerger} class.
+ *
+ * @author Karolin Dürr
+ */
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+public class ExternalIntervalMergerTests {
+
+    @TempDir
+    Path tempDirectory;
+
+    @Test
+    public void givenFileFittingIntoMemory_whenMergeIntervals_thenWriteSortedMergedIntervals() throws IOException {
+        // given
+        Path inputFile = writeIntervals(new double[][]{{25, 30}, {19, 2}, {14, 23}, {-8, -4}});
+        Path outputFile = this.tempDirectory.resolve("merged.bin");
+        ExternalIntervalMerger externalMerger = new ExternalIntervalMerger(this.tempDirectory, 1 << 20);
+
+        // when
+        long count = externalMerger.merge(inputFile, outputFile);
+
+        //then
+        assertEquals(3, count);
+        List<double[]> actualResult = readIntervals(outputFile);
+        assertArrayEquals(new double[]{-8, -4}, actualResult.get(0));
+        assertArrayEquals(new double[]{2, 23}, actualResult.get(1));
+        assertArrayEquals(new double[]{25, 30}, actualResult.get(2));
+    }
+
+    @Test
+    public void givenFileExceedingMemoryBudget_whenMergeIntervals_thenReturnSameResultAsIntervalMerger()
+            throws IOException {
+        // given
+        Random random = new Random(42);
+        double[][] inputIntervals = new double[5000][];
+        for (int i = 0; i < inputIntervals.length; i++) {
+            double start = random.nextDouble() * 100_000;
+            inputIntervals[i] = new double[]{start, start + random.nextDouble() * 20};
+        }
+        Path inputFile = writeIntervals(inputIntervals);
+        Path outputFile = this.tempDirectory.resolve("merged.bin");
+        // 16 intervals per chunk result in more runs than can be merged at once
+        ExternalIntervalMerger externalMerger = new ExternalIntervalMerger(this.tempDirectory,
+                16 * ExternalIntervalMerger.CHUNK_BYTES_PER_INTERVAL);
+
+        // when
+        long count = externalMerger.merge(inputFile, outputFile);
+
+        //then
+        List<double[]> expectedResult = new IntervalMerger().merge(inputIntervals);
+        List<double[]> actualResult = readIntervals(outputFile);
+        assertEquals(expectedResult.size(), count);
+        assertEquals(expectedResult.size(), actualResult.size());
+        for (int i = 0; i < expectedResult.size(); i++) {
+            assertArrayEquals(expectedResult.get(i), actualResult.get(i));
+        }
+        try (Stream<Path> files = Files.list(this.tempDirectory)) {
+            List<String> leftFiles = files.map(file -> file.getFileName().toString()).collect(Collectors.toList());
+            assertTrue(leftFiles.stream().noneMatch(file -> file.startsWith("intervals-run-")),
+                    "The temporary runs must be deleted");
+        }
+    }
+
+    @Test
+    public void givenEmptyFile_whenMergeIntervals_thenWriteEmptyFile() throws IOException {
+        // given
+        Path inputFile = writeIntervals(new double[0][]);
+        Path outputFile = this.tempDirectory.resolve("merged.bin");
+        ExternalIntervalMerger externalMerger = new ExternalIntervalMerger(this.tempDirectory, 1 << 20);
+
+        // when
+        long count = externalMerger.merge(inputFile, outputFile);
+
+        //then
+        assertEquals(0, count);
+        assertTrue(readIntervals(outputFile).isEmpty());
+    }
+
+    @Test
+    public void givenTruncatedFile_whenMergeIntervals_thenThrowIOException() throws IOException {
+        // given
+        Path inputFile = this.tempDirectory.resolve("truncated.bin");
+        Files.write(inputFile, new byte[IntervalFileFormat.HEADER_BYTES + 3]);
+        ExternalIntervalMerger externalMerger = new ExternalIntervalMerger(this.tempDirectory, 1 << 20);
+
+        // when, then
+        assertThrows(IOException.class, () -> externalMerger.merge(inputFile, (start, end) -> {
+        }));
+    }
+
+    @Test
+    public void givenFailingMerge_whenMergeIntoOutputFile_thenKeepExistingOutputFile() throws IOException {
+        // given
+        Path truncatedFile = this.tempDirectory.resolve("truncated-input.bin");
+        Files.write(truncatedFile, new byte[IntervalFileFormat.HEADER_BYTES + 3]);
+        Path inputFile = writeIntervals(new double[][]{{1, 3}, {2, 4}});
+        Path outputFile = this.tempDirectory.resolve("existing.bin");
+        ExternalIntervalMerger externalMerger = new ExternalIntervalMerger(this.tempDirectory, 1 << 20);
+        externalMerger.merge(inputFile, outputFile);
+        long fileCount;
+        try (Stream<Path> files = Files.list(this.tempDirectory)) {
+            fileCount = files.count();
+        }
+
+        // when, then
+        assertThrows(IOException.class, () -> externalMerger.merge(truncatedFile, outputFile));
+        assertThrows(IllegalArgumentException.class, () -> externalMerger.merge(inputFile, inputFile));
+        List<double[]> outputIntervals = readIntervals(outputFile);
+        assertEquals(1, outputIntervals.size());
+        assertArrayEquals(new double[]{1, 4}, outputIntervals.get(0));
+        assertEquals(2, readIntervals(inputFile).size());
+        try (Stream<Path> files = Files.list(this.tempDirectory)) {
+            assertEquals(fileCount, files.count());
+        }
+    }
+
+    @Test
+    public void givenTooSmallMemoryBudget_whenCreateExternalMerger_thenThrowIllegalArgumentException() {
+        assertThrows(IllegalArgumentException.class, () -> new ExternalIntervalMerger(this.tempDirectory, 16));
+        assertThrows(IllegalArgumentException.class, () -> new ExternalIntervalMerger(null, 1 << 20));
+    }
+
+    private Path writeIntervals(final double[][] intervals) throws IOException {
+        Path file = Files.createTempFile(this.tempDirectory, "input-", ".bin");
+        try (IntervalFileWriter writer = new IntervalFileWriter(file)) {
+            for (double[] interval : intervals) {
+                writer.accept(interval[0], interval[1]);
+            }
+        }
+        return file;
+    }
+
+    private List<double[]> readIntervals(final Path file) throws IOException {
+        List<double[]> intervals = new ArrayList<>();
+        try (IntervalFileReader reader = new IntervalFileReader(file)) {
+            reader.forEach((start, end) -> intervals.add(new double[]{start, end}));
+        }
+        return intervals;
+    }
+}
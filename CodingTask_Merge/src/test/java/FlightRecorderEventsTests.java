@@ -0,0 +1,136 @@
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.*;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * The testing class for the Java Flight Recorder events {@link IntervalMergeEvent}, {@link IntervalParseEvent} and
+ * {@link IntervalFormatEvent}, which are recorded using the settings file {@code interval-merger.jfc} of the project.
+ *
+ * @author Karolin Dürr
+ */
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+public class FlightRecorderEventsTests {
+
+    private static final Path SETTINGS_FILE = Paths.get("interval-merger.jfc");
+
+    @TempDir
+    Path tempDirectory;
+
+    @Test
+    public void givenSettingsFile_whenParseConfiguration_thenEnableMergeEventsAndGarbageCollections()
+            throws Exception {
+        // when
+        Map<String, String> settings = Configuration.create(SETTINGS_FILE).getSettings();
+
+        //then
+        assertEquals("true", settings.get(IntervalMergeEvent.NAME + "#enabled"));
+        assertEquals("true", settings.get(IntervalParseEvent.NAME + "#enabled"));
+        assertEquals("true", settings.get(IntervalFormatEvent.NAME + "#enabled"));
+        assertEquals("true", settings.get("jdk.GarbageCollection#enabled"));
+    }
+
+    @Test
+    public void givenRunningRecording_whenParseMergeAndFormat_thenRecordEventsWithPhasesAndCounts()
+            throws Exception {
+        // given
+        Path recordingFile = this.tempDirectory.resolve("merge.jfr");
+        IntervalMerger merger = new IntervalMerger();
+        IntervalColumns intervals = new IntervalColumns();
+        String input = "[[25,30],[2,19],[14,23],[4,8]]";
+
+        // when
+        try (Recording recording = new Recording(Configuration.create(SETTINGS_FILE))) {
+            // records every call instead of only slow ones
+            recording.enable(IntervalMergeEvent.NAME).withThreshold(Duration.ZERO);
+            recording.enable(IntervalParseEvent.NAME).withThreshold(Duration.ZERO);
+            recording.enable(IntervalFormatEvent.NAME).withThreshold(Duration.ZERO);
+            recording.start();
+
+            new IntervalTextParser(new ByteArrayInputStream(input.getBytes(StandardCharsets.UTF_8))).parse(intervals);
+            int count = merger.merge(intervals.getStarts(), intervals.getEnds(), intervals.size());
+            IntervalWriter writer = new IntervalWriter(new StringWriter());
+            writer.write(intervals.getStarts(), intervals.getEnds(), count);
+            writer.finish();
+            merger.merge(new ArrayList<>(Arrays.asList(new Interval(1, 2), new Interval(3, 4))));
+
+            recording.stop();
+            recording.dump(recordingFile);
+        }
+
+        //then
+        Map<String, List<RecordedEvent>> events = RecordingFile.readAllEvents(recordingFile).stream()
+                .filter(event -> event.getEventType().getName().startsWith("intervalmerger."))
+                .collect(Collectors.groupingBy(event -> event.getEventType().getName()));
+
+        List<RecordedEvent> mergeEvents = events.get(IntervalMergeEvent.NAME);
+        assertEquals(2, mergeEvents.size());
+        RecordedEvent columnMerge = mergeEvents.stream()
+                .filter(event -> IntervalMergeEvent.COLUMN_INTERVALS.equals(event.getString("representation")))
+                .findFirst().orElseThrow(AssertionError::new);
+        assertEquals(IntervalMerger.SortPath.FULL_SORT.name(), columnMerge.getString("sortPath"));
+        assertEquals(4, columnMerge.getLong("inputCount"));
+        assertEquals(2, columnMerge.getLong("outputCount"));
+        assertFalse(columnMerge.getDuration("sortDuration").isNegative());
+        assertTrue(columnMerge.getDuration("scanDuration").compareTo(columnMerge.getDuration()) <= 0);
+        RecordedEvent listMerge = mergeEvents.stream()
+                .filter(event -> IntervalMergeEvent.INTERVAL_OBJECTS.equals(event.getString("representation")))
+                .findFirst().orElseThrow(AssertionError::new);
+        assertEquals(IntervalMerger.SortPath.ALREADY_SORTED.name(), listMerge.getString("sortPath"));
+
+        RecordedEvent parseEvent = events.get(IntervalParseEvent.NAME).get(0);
+        assertEquals(4, parseEvent.getLong("intervalCount"));
+        assertEquals(input.length(), parseEvent.getLong("inputBytes"));
+        assertEquals(2, events.get(IntervalFormatEvent.NAME).get(0).getLong("intervalCount"));
+    }
+
+    @Test
+    public void givenRunningRecording_whenMergeParallel_thenRecordEventOfCallingThread() throws Exception {
+        // given
+        Path recordingFile = this.tempDirectory.resolve("merge-parallel.jfr");
+        IntervalMerger merger = new IntervalMerger();
+        int size = 10_000;
+        double[] starts = new double[size];
+        double[] ends = new double[size];
+        for (int i = 0; i < size; i++) {
+            starts[i] = size - i;
+            ends[i] = size - i + 2;
+        }
+
+        // when
+        int count;
+        try (Recording recording = new Recording(Configuration.create(SETTINGS_FILE))) {
+            recording.enable(IntervalMergeEvent.NAME).withThreshold(Duration.ZERO);
+            recording.start();
+            count = merger.mergeParallel(starts, ends, size);
+            recording.stop();
+            recording.dump(recordingFile);
+        }
+
+        //then
+        List<RecordedEvent> mergeEvents = RecordingFile.readAllEvents(recordingFile).stream()
+                .filter(event -> IntervalMergeEvent.NAME.equals(event.getEventType().getName()))
+                .collect(Collectors.toList());
+        assertEquals(1, mergeEvents.size());
+        RecordedEvent parallelMerge = mergeEvents.get(0);
+        assertEquals(IntervalMergeEvent.COLUMN_INTERVALS, parallelMerge.getString("representation"));
+        assertEquals(IntervalMergeEvent.PARALLEL_SORT, parallelMerge.getString("sortPath"));
+        assertEquals(size, parallelMerge.getLong("inputCount"));
+        assertEquals(count, parallelMerge.getLong("outputCount"));
+        assertEquals(Thread.currentThread().getName(), parallelMerge.getThread().getJavaName());
+    }
+}
@@ -0,0 +1,184 @@
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * The testing class for the {@link IntIntervalMerger} class.
+ *
+ * @author Karolin Dürr
+ */
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+public class IntIntervalMergerTests {
+
+    private IntIntervalMerger intervalMerger;
+
+    private IntIntervalMerger adjacentIntervalMerger;
+
+    @BeforeAll
+    public void init() {
+        this.intervalMerger = new IntIntervalMerger();
+        this.adjacentIntervalMerger = new IntIntervalMerger(true);
+    }
+
+    @Test
+    public void givenNull_whenMergeIntervals_thenReturnEmptyList() {
+        List<IntInterval> nullInput = null;
+
+        // when
+        List<IntInterval> actualResult = this.intervalMerger.merge(nullInput);
+
+        //then
+        assertTrue(actualResult.isEmpty());
+    }
+
+    @Test
+    public void givenSeveralUnsortedIntervalsIncludingNull_whenMergeIntervals_thenReturnSortedMergedIntervals() {
+        // given
+        List<IntInterval> inputIntervals = new LinkedList<>();
+        inputIntervals.add(new IntInterval(25, 30));
+        inputIntervals.add(new IntInterval(2, 19));
+        inputIntervals.add(null);
+        inputIntervals.add(new IntInterval(14, 23));
+        inputIntervals.add(new IntInterval(-8, -4));
+
+        // when
+        List<IntInterval> actualResult = this.intervalMerger.merge(inputIntervals);
+
+        //then
+        List<IntInterval> expectedResult = new LinkedList<>();
+        expectedResult.add(new IntInterval(-8, -4));
+        expectedResult.add(new IntInterval(2, 23));
+        expectedResult.add(new IntInterval(25, 30));
+
+        assertEquals(expectedResult, actualResult);
+        assertEquals(new IntInterval(25, 30), inputIntervals.get(0), "The input intervals must not be modified");
+    }
+
+    @Test
+    public void givenTouchingIntervals_whenMergeIntervals_thenReturnMergedList() {
+        // given
+        List<IntInterval> inputIntervals = new LinkedList<>();
+        inputIntervals.add(new IntInterval(20, 25));
+        inputIntervals.add(new IntInterval(25, 30));
+
+        // when
+        List<IntInterval> actualResult = this.intervalMerger.merge(inputIntervals);
+
+        //then
+        assertEquals(Collections.singletonList(new IntInterval(20, 30)), actualResult);
+    }
+
+    @Test
+    public void givenAdjacentIntervals_whenMergeIntervals_thenReturnSameIntervals() {
+        // given
+        List<IntInterval> inputIntervals = new LinkedList<>();
+        inputIntervals.add(new IntInterval(4, 6));
+        inputIntervals.add(new IntInterval(1, 3));
+
+        // when
+        List<IntInterval> actualResult = this.intervalMerger.merge(inputIntervals);
+
+        //then
+        List<IntInterval> expectedResult = new LinkedList<>();
+        expectedResult.add(new IntInterval(1, 3));
+        expectedResult.add(new IntInterval(4, 6));
+
+        assertEquals(expectedResult, actualResult);
+    }
+
+    @Test
+    public void givenAdjacentIntervals_whenMergeAdjacentIntervals_thenReturnMergedList() {
+        // given
+        List<IntInterval> inputIntervals = new LinkedList<>();
+        inputIntervals.add(new IntInterval(4, 6));
+        inputIntervals.add(new IntInterval(1, 3));
+        inputIntervals.add(new IntInterval(8, 9));
+
+        // when
+        List<IntInterval> actualResult = this.adjacentIntervalMerger.merge(inputIntervals);
+
+        //then
+        List<IntInterval> expectedResult = new LinkedList<>();
+        expectedResult.add(new IntInterval(1, 6));
+        expectedResult.add(new IntInterval(8, 9));
+
+        assertEquals(expectedResult, actualResult);
+    }
+
+    @Test
+    public void givenExtremeValues_whenMergeAdjacentIntervals_thenReturnMergedListWithoutOverflow() {
+        // given
+        int[][] inputIntervals = {{Integer.MAX_VALUE, 0}, {Integer.MIN_VALUE, -1}};
+
+        // when
+        List<int[]> actualResult = this.adjacentIntervalMerger.merge(inputIntervals);
+
+        //then
+        assertEquals(1, actualResult.size());
+        assertArrayEquals(new int[]{Integer.MIN_VALUE, Integer.MAX_VALUE}, actualResult.get(0));
+    }
+
+    @Test
+    public void givenArrayIntervalsIncludingInvalidOnes_whenMergeArrayIntervals_thenIgnoreAndReturnMergedList() {
+        // given
+        int[][] inputIntervals = {{25, 30}, {1}, null, {28, 2}};
+
+        // when
+        List<int[]> actualResult = this.intervalMerger.merge(inputIntervals);
+
+        //then
+        assertEquals(1, actualResult.size());
+        assertArrayEquals(new int[]{2, 30}, actualResult.get(0));
+        assertArrayEquals(new int[]{28, 2}, inputIntervals[3], "The input array must not be modified");
+    }
+
+    @Test
+    public void givenColumnIntervals_whenMergeColumnIntervals_thenMergedIntervalsAreAtBeginningOfArrays() {
+        // given
+        int[] starts = {25, 2, 14, 4, 100};
+        int[] ends = {30, 19, 23, 8, 200};
+
+        // when
+        int actualResult = this.intervalMerger.merge(starts, ends, 4);
+
+        //then
+        assertEquals(2, actualResult);
+        assertArrayEquals(new int[]{2, 25}, Arrays.copyOf(starts, actualResult));
+        assertArrayEquals(new int[]{23, 30}, Arrays.copyOf(ends, actualResult));
+        assertEquals(100, starts[4]);
+    }
+
+    @Test
+    public void givenManyRandomIntervals_whenMergeColumnIntervals_thenReturnSameResultAsIntervalMerger() {
+        // given
+        Random random = new Random(42);
+        int size = 50_000;
+        int[] starts = new int[size];
+        int[] ends = new int[size];
+        double[][] expectedInput = new double[size][];
+        for (int i = 0; i < size; i++) {
+            starts[i] = random.nextInt(1_000_000) - 500_000;
+            ends[i] = starts[i] + random.nextInt(41) - 20;
+            expectedInput[i] = new double[]{starts[i], ends[i]};
+        }
+        int[] mergedStarts = new int[size];
+        int[] mergedEnds = new int[size];
+
+        // when
+        int actualResult = this.intervalMerger.merge(starts, ends, size, mergedStarts, mergedEnds);
+
+        //then
+        List<double[]> expectedResult = new IntervalMerger().merge(expectedInput);
+        assertEquals(expectedResult.size(), actualResult);
+        int i = 0;
+        for (double[] expectedInterval : expectedResult) {
+            assertEquals((int) expectedInterval[0], mergedStarts[i]);
+            assertEquals((int) expectedInterval[1], mergedEnds[i]);
+            i++;
+        }
+    }
+}
@@ -0,0 +1,151 @@
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.DoubleBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * The testing class for the {@link IntervalFileWriter} and {@link IntervalFileReader} classes, which implement the
+ * binary format defined by {@link IntervalFileFormat}.
+ *
+ * @author Karolin Dürr
+ */
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+public class IntervalFileTests {
+
+    @TempDir
+    Path tempDirectory;
+
+    @Test
+    public void givenWrittenIntervals_whenReadIntervals_thenReturnSameIntervals() throws IOException {
+        // given
+        Path file = this.tempDirectory.resolve("intervals.bin");
+        try (IntervalFileWriter writer = new IntervalFileWriter(file)) {
+            writer.accept(25, 30);
+            writer.write(new double[]{2, -0.0, Double.NaN}, new double[]{19, 1.5, Double.POSITIVE_INFINITY}, 3);
+        }
+
+        // when
+        List<double[]> actualResult = new ArrayList<>();
+        long count;
+        try (IntervalFileReader reader = new IntervalFileReader(file)) {
+            count = reader.getCount();
+            reader.forEach((start, end) -> actualResult.add(new double[]{start, end}));
+        }
+
+        //then
+        assertEquals(4, count);
+        assertEquals(IntervalFileFormat.HEADER_BYTES + 4 * IntervalFileFormat.INTERVAL_BYTES, Files.size(file));
+        assertArrayEquals(new double[]{25, 30}, actualResult.get(0));
+        assertArrayEquals(new double[]{2, 19}, actualResult.get(1));
+        assertArrayEquals(new double[]{-0.0, 1.5}, actualResult.get(2));
+        assertArrayEquals(new double[]{Double.NaN, Double.POSITIVE_INFINITY}, actualResult.get(3));
+    }
+
+    @Test
+    public void givenWrittenIntervals_whenReadFile_thenUseLittleEndianByteOrder() throws IOException {
+        // given
+        Path file = this.tempDirectory.resolve("intervals.bin");
+        try (IntervalFileWriter writer = new IntervalFileWriter(file)) {
+            writer.accept(1, 2);
+        }
+
+        // when
+        ByteBuffer bytes = ByteBuffer.wrap(Files.readAllBytes(file));
+
+        //then
+        assertEquals('I', bytes.get(0));
+        assertEquals('L', bytes.get(3));
+        assertEquals(1, Integer.reverseBytes(bytes.getInt(4)));
+        assertEquals(1, Long.reverseBytes(bytes.getLong(8)));
+        assertEquals(1.0, Double.longBitsToDouble(Long.reverseBytes(bytes.getLong(16))));
+    }
+
+    @Test
+    public void givenWrittenIntervals_whenReadIntoArrays_thenReadInChunks() throws IOException {
+        // given
+        Path file = this.tempDirectory.resolve("intervals.bin");
+        try (IntervalFileWriter writer = new IntervalFileWriter(file)) {
+            for (int i = 0; i < 10; i++) {
+                writer.accept(i, i + 0.5);
+            }
+        }
+        double[] starts = new double[5];
+        double[] ends = new double[5];
+
+        try (IntervalFileReader reader = new IntervalFileReader(file)) {
+            // when
+            int firstRead = reader.read(starts, ends, 1, 4);
+            int secondRead = reader.read(starts, ends, 0, 5);
+            int thirdRead = reader.read(starts, ends, 0, 5);
+            int lastRead = reader.read(starts, ends, 0, 5);
+
+            //then
+            assertEquals(4, firstRead);
+            assertEquals(5, secondRead);
+            assertEquals(1, thirdRead);
+            assertEquals(0, lastRead);
+            assertEquals(9, starts[0]);
+            assertEquals(9.5, ends[0]);
+            assertEquals(10, reader.getPosition());
+        }
+    }
+
+    @Test
+    public void givenInvalidFiles_whenCreateReader_thenThrowIOException() throws IOException {
+        // given
+        Path emptyFile = this.tempDirectory.resolve("empty.bin");
+        Files.write(emptyFile, new byte[0]);
+        Path textFile = this.tempDirectory.resolve("intervals.txt");
+        Files.write(textFile, "[[25,30],[2,19],[14,23],[4,8]]".getBytes());
+        Path truncatedFile = this.tempDirectory.resolve("truncated.bin");
+        try (IntervalFileWriter writer = new IntervalFileWriter(truncatedFile)) {
+            writer.accept(1, 2);
+            writer.accept(3, 4);
+        }
+        byte[] bytes = Files.readAllBytes(truncatedFile);
+        Files.write(truncatedFile, Arrays.copyOf(bytes, bytes.length - 1));
+
+        // when, then
+        assertThrows(IOException.class, () -> new IntervalFileReader(emptyFile));
+        assertThrows(IOException.class, () -> new IntervalFileReader(textFile));
+        assertThrows(IOException.class, () -> new IntervalFileReader(truncatedFile));
+    }
+
+    @Test
+    public void givenPrivateMapping_whenMergeIntervals_thenMergeInPlaceWithoutModifyingFile() throws IOException {
+        // given
+        Path file = this.tempDirectory.resolve("intervals.bin");
+        try (IntervalFileWriter writer = new IntervalFileWriter(file)) {
+            writer.accept(25, 30);
+            writer.accept(19, 2);
+            writer.accept(14, 23);
+            writer.accept(4, 8);
+        }
+        byte[] originalBytes = Files.readAllBytes(file);
+
+        // when
+        int count;
+        DoubleBuffer intervals;
+        try (IntervalFileReader reader = new IntervalFileReader(file)) {
+            intervals = reader.mapIntervals(FileChannel.MapMode.PRIVATE);
+            count = new IntervalMerger().merge(intervals);
+        }
+
+        //then
+        assertEquals(2, count);
+        assertEquals(2, intervals.get(0));
+        assertEquals(23, intervals.get(1));
+        assertEquals(25, intervals.get(2));
+        assertEquals(30, intervals.get(3));
+        assertArrayEquals(originalBytes, Files.readAllBytes(file), "The mapped file must not be modified");
+    }
+}
@@ -0,0 +1,152 @@
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * The testing class for the {@link IntervalMergeServer} class. All requests of a test are sent by the same client, so
+ * that they reuse its connection to the server.
+ *
+ * @author Karolin Dürr
+ */
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+public class IntervalMergeServerTests {
+
+    private static final long MAX_BODY_SIZE = 1024;
+
+    private IntervalMergeServer server;
+
+    private HttpClient client;
+
+    private URI mergeUri;
+
+    @BeforeAll
+    public void init() throws IOException {
+        this.server = new IntervalMergeServer(0, MAX_BODY_SIZE);
+        this.server.start();
+        this.client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+        this.mergeUri = URI.create("http://localhost:" + this.server.getPort() + IntervalMergeServer.MERGE_PATH);
+    }
+
+    @AfterAll
+    public void close() {
+        this.server.close();
+    }
+
+    @Test
+    public void givenTextualIntervalLists_whenPostToMerge_thenReturnMergedIntervalsAsText() throws Exception {
+        // given
+        String[] inputs = {"[[25,30],[2,19],[14,23],[4,8]]", "[1.5,2],[0,1]", "[]", "[[3, 4]]"};
+        String[] expectedResults = {"[[2,23], [25,30]]", "[[0,1], [1.5,2]]", "[]", "[[3,4]]"};
+
+        for (int i = 0; i < inputs.length; i++) {
+            // when
+            HttpResponse<String> response = post(HttpRequest.BodyPublishers.ofString(inputs[i]), "text/plain");
+
+            //then
+            assertEquals(200, response.statusCode());
+            assertEquals(expectedResults[i], response.body());
+        }
+    }
+
+    @Test
+    public void givenBinaryIntervals_whenPostToMerge_thenReturnMergedIntervalsInBinaryFormat() throws Exception {
+        // given
+        double[] intervals = {25, 30, 19, 2, 14, 23, -8, -4};
+        ByteBuffer body = ByteBuffer.allocate(16 + intervals.length * Double.BYTES).order(ByteOrder.LITTLE_ENDIAN);
+        body.put(new byte[]{'I', 'V', 'A', 'L'}).putInt(1).putLong(intervals.length / 2);
+        for (double boundary : intervals) {
+            body.putDouble(boundary);
+        }
+
+        // when
+        HttpResponse<byte[]> response = this.client.send(HttpRequest.newBuilder(this.mergeUri)
+                        .header("Content-Type", IntervalMergeServer.BINARY_CONTENT_TYPE)
+                        .POST(HttpRequest.BodyPublishers.ofByteArray(body.array())).build(),
+                HttpResponse.BodyHandlers.ofByteArray());
+
+        //then
+        assertEquals(200, response.statusCode());
+        ByteBuffer result = ByteBuffer.wrap(response.body()).order(ByteOrder.LITTLE_ENDIAN);
+        assertEquals(16 + 3 * 16, result.remaining());
+        result.position(8);
+        assertEquals(3, result.getLong());
+        double[] boundaries = new double[6];
+        result.asDoubleBuffer().get(boundaries);
+        assertArrayEquals(new double[]{-8, -4, 2, 23, 25, 30}, boundaries);
+    }
+
+    @Test
+    public void givenUpperCaseBinaryContentTypeInTurkishLocale_whenPostToMerge_thenReadBinaryFormat()
+            throws Exception {
+        // given
+        ByteBuffer body = ByteBuffer.allocate(16 + 2 * Double.BYTES).order(ByteOrder.LITTLE_ENDIAN);
+        body.put(new byte[]{'I', 'V', 'A', 'L'}).putInt(1).putLong(1).putDouble(2).putDouble(1);
+        Locale defaultLocale = Locale.getDefault();
+        // in the Turkish locale, the upper case I is converted to a dotless lower case i
+        Locale.setDefault(Locale.forLanguageTag("tr-TR"));
+
+        // when
+        HttpResponse<byte[]> response;
+        try {
+            response = this.client.send(HttpRequest.newBuilder(this.mergeUri)
+                            .header("Content-Type", "APPLICATION/OCTET-STREAM")
+                            .POST(HttpRequest.BodyPublishers.ofByteArray(body.array())).build(),
+                    HttpResponse.BodyHandlers.ofByteArray());
+        } finally {
+            Locale.setDefault(defaultLocale);
+        }
+
+        //then
+        assertEquals(200, response.statusCode());
+        ByteBuffer result = ByteBuffer.wrap(response.body()).order(ByteOrder.LITTLE_ENDIAN);
+        assertEquals(16 + 16, result.remaining());
+        result.position(16);
+        assertEquals(1, result.getDouble());
+        assertEquals(2, result.getDouble());
+    }
+
+    @Test
+    public void givenInvalidRequests_whenPostToMerge_thenRespondWithErrorStatus() throws Exception {
+        // given
+        StringBuilder oversized = new StringBuilder("[");
+        while (oversized.length() <= MAX_BODY_SIZE) {
+            oversized.append("[1,2],");
+        }
+        oversized.append("[1,2]]");
+
+        // when
+        HttpResponse<String> invalidText = post(HttpRequest.BodyPublishers.ofString("[[1,2],[3]]"), "text/plain");
+        HttpResponse<String> invalidBinary = post(HttpRequest.BodyPublishers.ofString("IVAL"),
+                IntervalMergeServer.BINARY_CONTENT_TYPE);
+        HttpResponse<String> tooLarge = post(HttpRequest.BodyPublishers.ofString(oversized.toString()), "text/plain");
+        HttpResponse<String> wrongMethod = this.client.send(HttpRequest.newBuilder(this.mergeUri).GET().build(),
+                HttpResponse.BodyHandlers.ofString());
+        HttpResponse<String> valid = post(HttpRequest.BodyPublishers.ofString("[[1,2],[2,3]]"), "text/plain");
+
+        //then
+        assertEquals(400, invalidText.statusCode());
+        assertTrue(invalidText.body().contains("at byte offset 9"), invalidText.body());
+        assertEquals(400, invalidBinary.statusCode());
+        assertEquals(413, tooLarge.statusCode());
+        assertEquals(405, wrongMethod.statusCode());
+        assertEquals("[[1,3]]", valid.body());
+    }
+
+    private HttpResponse<String> post(final HttpRequest.BodyPublisher body, final String contentType)
+            throws IOException, InterruptedException {
+        return this.client.send(HttpRequest.newBuilder(this.mergeUri).header("Content-Type", contentType)
+                .POST(body).build(), HttpResponse.BodyHandlers.ofString());
+    }
+}
@@ -1,12 +1,20 @@
+import org.junit.jupiter.api.AfterAll;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.TestInstance;
 
+import java.nio.DoubleBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
 
 import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 
 /**
  * The testing class for the {@link IntervalMerger} class.
@@ -18,9 +26,21 @@ public class IntervalMergerTests {
 
     private IntervalMerger intervalMerger;
 
+    // shared by the tests of the parallel merge methods, so that their worker threads are only started once
+    private ForkJoinPool pool;
+
+    private IntervalMerger parallelMerger;
+
     @BeforeAll
     public void init() {
         this.intervalMerger = new IntervalMerger();
+        this.pool = new ForkJoinPool(4);
+        this.parallelMerger = new IntervalMerger(this.pool);
+    }
+
+    @AfterAll
+    public void shutdown() {
+        this.pool.shutdown();
     }
 
     @Test
@@ -599,4 +619,591 @@ public class IntervalMergerTests {
         assertEquals(expectedResult.size(), actualResult.size());
         assertArrayEquals(expectedResult.toArray(), actualResult.toArray());
     }
+
+    /**
+     * Testing the column-wise merge(double[] starts, double[] ends) methods, which merge two parallel arrays including
+     * the start and end boundaries in place or into caller provided output arrays
+     */
+
+    @Test
+    public void givenNullArrays_whenMergeColumnIntervals_thenReturnZero() {
+        // when
+        int actualResult = this.intervalMerger.merge(null, new double[0]);
+
+        //then
+        assertEquals(0, actualResult);
+    }
+
+    @Test
+    public void givenArraysWithDifferentLengths_whenMergeColumnIntervals_thenThrowException() {
+        // given
+        double[] starts = {1, 2};
+        double[] ends = {3};
+
+        // when & then
+        assertThrows(IllegalArgumentException.class, () -> this.intervalMerger.merge(starts, ends));
+    }
+
+    @Test
+    public void givenSeveralUnsortedIntervals_whenMergeColumnIntervals_thenMergedIntervalsAreAtBeginningOfArrays() {
+        // given
+        double[] starts = {25, 2, 14, 4};
+        double[] ends = {30, 19, 23, 8};
+
+        // when
+        int actualResult = this.intervalMerger.merge(starts, ends);
+
+        //then
+        assertEquals(2, actualResult);
+        assertArrayEquals(new double[]{2, 25}, Arrays.copyOf(starts, actualResult));
+        assertArrayEquals(new double[]{23, 30}, Arrays.copyOf(ends, actualResult));
+    }
+
+    @Test
+    public void givenReversedAndTouchingIntervals_whenMergeColumnIntervals_thenReturnMergedIntervals() {
+        // given
+        double[] starts = {25, 30, 20, -10};
+        double[] ends = {20, 25, 25, -5};
+
+        // when
+        int actualResult = this.intervalMerger.merge(starts, ends);
+
+        //then
+        assertEquals(2, actualResult);
+        assertArrayEquals(new double[]{-10, 20}, Arrays.copyOf(starts, actualResult));
+        assertArrayEquals(new double[]{-5, 30}, Arrays.copyOf(ends, actualResult));
+    }
+
+    @Test
+    public void givenLength_whenMergeColumnIntervals_thenOnlyMergeIntervalsWithinLength() {
+        // given
+        double[] starts = {15, 25, 1};
+        double[] ends = {28, 30, 100};
+
+        // when
+        int actualResult = this.intervalMerger.merge(starts, ends, 2);
+
+        //then
+        assertEquals(1, actualResult);
+        assertEquals(15, starts[0]);
+        assertEquals(30, ends[0]);
+        assertEquals(1, starts[2]);
+        assertEquals(100, ends[2]);
+    }
+
+    @Test
+    public void givenLengthExceedingArrays_whenMergeColumnIntervals_thenThrowException() {
+        // given
+        double[] starts = {15, 25};
+        double[] ends = {28, 30};
+
+        // when & then
+        assertThrows(IllegalArgumentException.class, () -> this.intervalMerger.merge(starts, ends, 3));
+    }
+
+    @Test
+    public void givenOutputArrays_whenMergeColumnIntervals_thenWriteMergedIntervalsToOutputArrays() {
+        // given
+        double[] starts = {0.11, 8.2, -5.4, -100};
+        double[] ends = {10, 30.1894, 0, -4};
+        double[] mergedStarts = new double[4];
+        double[] mergedEnds = new double[4];
+
+        // when
+        int actualResult = this.intervalMerger.merge(starts, ends, starts.length, mergedStarts, mergedEnds);
+
+        //then
+        assertEquals(2, actualResult);
+        assertArrayEquals(new double[]{-100, 0.11}, Arrays.copyOf(mergedStarts, actualResult));
+        assertArrayEquals(new double[]{0, 30.1894}, Arrays.copyOf(mergedEnds, actualResult));
+    }
+
+    @Test
+    public void givenTooSmallOutputArrays_whenMergeColumnIntervals_thenThrowException() {
+        // given
+        double[] starts = {1, 2};
+        double[] ends = {3, 4};
+
+        // when & then
+        assertThrows(IllegalArgumentException.class,
+                () -> this.intervalMerger.merge(starts, ends, 2, new double[1], new double[1]));
+    }
+
+    @Test
+    public void givenManyRandomIntervals_whenMergeColumnIntervals_thenReturnSameIntervalsAsMergeArrayIntervals() {
+        // given
+        Random random = new Random(42);
+        int size = 10_000;
+        double[] starts = new double[size];
+        double[] ends = new double[size];
+        double[][] arrayIntervals = new double[size][];
+        for (int i = 0; i < size; i++) {
+            starts[i] = random.nextInt(100_000) / 4.0;
+            ends[i] = starts[i] + (random.nextInt(21) - 10) / 2.0;
+            arrayIntervals[i] = new double[]{starts[i], ends[i]};
+        }
+
+        // when
+        int actualResult = this.intervalMerger.merge(starts, ends);
+
+        //then
+        List<double[]> expectedResult = this.intervalMerger.merge(arrayIntervals);
+        assertEquals(expectedResult.size(), actualResult);
+        int i = 0;
+        for (double[] expectedInterval : expectedResult) {
+            assertArrayEquals(expectedInterval, new double[]{starts[i], ends[i]});
+            i++;
+        }
+    }
+
+    /**
+     * Testing the detection of presorted input, which has to skip or shorten sorting without changing the result
+     */
+
+    @Test
+    public void givenSortedIntervals_whenMergeIntervals_thenSkipSorting() {
+        // given
+        IntervalMerger merger = new IntervalMerger();
+        List<Interval> intervals = new ArrayList<>();
+        intervals.add(null);
+        for (int i = 0; i < 100; i++) {
+            // equal start boundaries with decreasing end boundaries do not break a run
+            intervals.add(new Interval(i / 2 * 3, i / 2 * 3 + 2 - i % 2));
+        }
+
+        // when
+        List<Interval> actualResult = merger.merge(intervals);
+
+        //then
+        assertEquals(IntervalMerger.SortPath.ALREADY_SORTED, merger.getLastSortPath());
+        assertEquals(50, actualResult.size());
+        assertEquals(new Interval(147, 149), actualResult.get(49));
+        assertEquals(1, merger.getSortPathCount(IntervalMerger.SortPath.ALREADY_SORTED));
+        assertEquals(0, merger.getSortPathCount(IntervalMerger.SortPath.FULL_SORT));
+    }
+
+    @Test
+    public void givenConcatenatedSortedRuns_whenMergeIntervals_thenMergeRunsAndReturnSameResultAsSort() {
+        // given
+        IntervalMerger merger = new IntervalMerger();
+        double[][] arrayIntervals = createRandomIntervals(10_000);
+        for (int run = 0; run < 5; run++) {
+            Arrays.sort(arrayIntervals, run * 2000, (run + 1) * 2000, (interval1, interval2) ->
+                    Double.compare(Math.min(interval1[0], interval1[1]), Math.min(interval2[0], interval2[1])));
+        }
+        List<Interval> listIntervals = new ArrayList<>();
+        double[] starts = new double[arrayIntervals.length];
+        double[] ends = new double[arrayIntervals.length];
+        for (int i = 0; i < arrayIntervals.length; i++) {
+            listIntervals.add(new Interval(arrayIntervals[i][0], arrayIntervals[i][1]));
+            starts[i] = arrayIntervals[i][0];
+            ends[i] = arrayIntervals[i][1];
+        }
+        double[][] copiedIntervals = new double[arrayIntervals.length][];
+        for (int i = 0; i < arrayIntervals.length; i++) {
+            copiedIntervals[i] = arrayIntervals[i].clone();
+        }
+        List<double[]> expectedResult = merger.mergeUsingRadixSort(copiedIntervals);
+
+        // when
+        List<Interval> actualListResult = merger.merge(listIntervals);
+        List<double[]> actualArrayResult = merger.merge(arrayIntervals);
+        int actualColumnResult = merger.merge(starts, ends);
+
+        //then
+        assertEquals(3, merger.getSortPathCount(IntervalMerger.SortPath.RUN_MERGE));
+        assertEquals(IntervalMerger.SortPath.RUN_MERGE, merger.getLastSortPath());
+        assertEquals(expectedResult.size(), actualListResult.size());
+        assertEquals(expectedResult.size(), actualArrayResult.size());
+        assertEquals(expectedResult.size(), actualColumnResult);
+        for (int i = 0; i < expectedResult.size(); i++) {
+            double[] expectedInterval = expectedResult.get(i);
+            assertEquals(new Interval(expectedInterval[0], expectedInterval[1]), actualListResult.get(i));
+            assertArrayEquals(expectedInterval, actualArrayResult.get(i));
+            assertArrayEquals(expectedInterval, new double[]{starts[i], ends[i]});
+        }
+    }
+
+    @Test
+    public void givenRandomIntervals_whenMergeIntervals_thenSortFully() {
+        // given
+        IntervalMerger merger = new IntervalMerger();
+        double[][] intervals = createRandomIntervals(10_000);
+        double[] starts = new double[intervals.length];
+        double[] ends = new double[intervals.length];
+        for (int i = 0; i < intervals.length; i++) {
+            starts[i] = intervals[i][0];
+            ends[i] = intervals[i][1];
+        }
+
+        // when
+        merger.merge(intervals);
+        merger.merge(starts, ends);
+
+        //then
+        assertEquals(2, merger.getSortPathCount(IntervalMerger.SortPath.FULL_SORT));
+        assertEquals(IntervalMerger.SortPath.FULL_SORT, merger.getLastSortPath());
+        assertEquals(0, merger.getSortPathCount(IntervalMerger.SortPath.RUN_MERGE));
+    }
+
+    /**
+     * Testing the merge(DoubleBuffer) method, which merges interleaved start and end boundaries in place, e.g. within a
+     * mapped interval file
+     */
+
+    @Test
+    public void givenBufferWithUnsortedIntervals_whenMergeBufferIntervals_thenMergeInPlace() {
+        // given
+        DoubleBuffer intervals = DoubleBuffer.wrap(new double[]{99, 25, 30, 19, 2, -10, -5, 14, 23, 4, 8});
+        intervals.position(1);
+
+        // when
+        int actualResult = this.intervalMerger.merge(intervals);
+
+        //then
+        assertEquals(3, actualResult);
+        assertEquals(1, intervals.position(), "The position of the buffer must not be changed");
+        assertArrayEquals(new double[]{99, -10, -5, 2, 23, 25, 30}, Arrays.copyOf(intervals.array(), 7));
+    }
+
+    @Test
+    public void givenBufferWithOddNumberOfElements_whenMergeBufferIntervals_thenThrowIllegalArgumentException() {
+        // given
+        DoubleBuffer intervals = DoubleBuffer.wrap(new double[]{1, 2, 3});
+
+        // when, then
+        assertThrows(IllegalArgumentException.class, () -> this.intervalMerger.merge(intervals));
+    }
+
+    @Test
+    public void givenRandomIntervals_whenMergeBufferIntervals_thenReturnSameResultAsMerge() {
+        // given
+        double[][] arrayIntervals = createRandomIntervals(10_000);
+        DoubleBuffer intervals = DoubleBuffer.allocate(2 * arrayIntervals.length);
+        for (double[] interval : arrayIntervals) {
+            intervals.put(interval[0]).put(interval[1]);
+        }
+        intervals.flip();
+
+        // when
+        int actualResult = this.intervalMerger.merge(intervals);
+
+        //then
+        List<double[]> expectedResult = this.intervalMerger.merge(arrayIntervals);
+        assertEquals(expectedResult.size(), actualResult);
+        for (int i = 0; i < actualResult; i++) {
+            assertArrayEquals(expectedResult.get(i), new double[]{intervals.get(2 * i), intervals.get(2 * i + 1)});
+        }
+    }
+
+    /**
+     * Testing the mergeUsingRadixSort methods, which have to return the same result as the merge methods using a
+     * comparison based sort
+     */
+
+    @Test
+    public void givenSeveralUnsortedIntervalsIncludingNegativeValues_whenMergeUsingRadixSort_thenReturnSortedMergedIntervals() {
+        // given
+        double[][] inputIntervals = {{0, 1}, {25, 30}, {19, 2}, {-10, -5}, null, {14, 23}, {4, 8}, {1, 8}, {3}};
+
+        // when
+        List<double[]> actualResult = this.intervalMerger.mergeUsingRadixSort(inputIntervals);
+
+        //then
+        List<double[]> expectedResult = new LinkedList<>();
+        expectedResult.add(new double[]{-10, -5});
+        expectedResult.add(new double[]{0, 23});
+        expectedResult.add(new double[]{25, 30});
+
+        assertEquals(expectedResult.size(), actualResult.size());
+        assertArrayEquals(expectedResult.toArray(), actualResult.toArray());
+    }
+
+    @Test
+    public void givenSpecialValues_whenMergeUsingRadixSort_thenReturnSameResultAsMerge() {
+        // given
+        double[][] inputIntervals = {{0.0, 1}, {-1, -0.0}, {Double.NaN, 5}, {Double.NEGATIVE_INFINITY, -100},
+                {-0.0, -0.0}, {Double.POSITIVE_INFINITY, 7}, {-1e300, -1e-300}};
+        double[][] expectedInputIntervals = new double[inputIntervals.length][];
+        for (int i = 0; i < inputIntervals.length; i++) {
+            expectedInputIntervals[i] = inputIntervals[i].clone();
+        }
+
+        // when
+        List<double[]> actualResult = this.intervalMerger.mergeUsingRadixSort(inputIntervals);
+
+        //then
+        List<double[]> expectedResult = this.intervalMerger.merge(expectedInputIntervals);
+        assertEquals(expectedResult.size(), actualResult.size());
+        assertArrayEquals(expectedResult.toArray(), actualResult.toArray());
+    }
+
+    @Test
+    public void givenManyRandomIntervals_whenMergeColumnIntervalsUsingRadixSort_thenReturnSameResultAsMerge() {
+        // given
+        double[][] randomIntervals = createRandomIntervals(100_000);
+        double[] starts = new double[randomIntervals.length];
+        double[] ends = new double[randomIntervals.length];
+        for (int i = 0; i < randomIntervals.length; i++) {
+            starts[i] = randomIntervals[i][0] - 50_000;
+            ends[i] = randomIntervals[i][1] - 50_000;
+        }
+        double[] expectedStarts = starts.clone();
+        double[] expectedEnds = ends.clone();
+
+        // when
+        int actualResult = this.intervalMerger.mergeUsingRadixSort(starts, ends, starts.length);
+
+        //then
+        int expectedResult = this.intervalMerger.merge(expectedStarts, expectedEnds);
+        assertEquals(expectedResult, actualResult);
+        assertArrayEquals(Arrays.copyOf(expectedStarts, expectedResult), Arrays.copyOf(starts, actualResult));
+        assertArrayEquals(Arrays.copyOf(expectedEnds, expectedResult), Arrays.copyOf(ends, actualResult));
+    }
+
+    /**
+     * Testing the mergeParallel methods, which have to return the same result as the sequential merge methods
+     */
+
+    @Test
+    public void givenFewIntervals_whenMergeParallel_thenReturnSameResultAsMerge() {
+        // given
+        List<Interval> inputIntervals = new LinkedList<>();
+        inputIntervals.add(new Interval(25, 30));
+        inputIntervals.add(new Interval(2, 19));
+        inputIntervals.add(null);
+        inputIntervals.add(new Interval(14, 23));
+
+        // when
+        List<Interval> actualResult = this.intervalMerger.mergeParallel(inputIntervals);
+
+        //then
+        List<Interval> expectedResult = new LinkedList<>();
+        expectedResult.add(new Interval(2, 23));
+        expectedResult.add(new Interval(25, 30));
+
+        assertEquals(expectedResult, actualResult);
+    }
+
+    @Test
+    public void givenManyRandomIntervals_whenMergeParallel_thenReturnSameResultAsMerge() {
+        // given
+        double[][] randomIntervals = createRandomIntervals(200_000);
+        List<Interval> inputIntervals = new ArrayList<>();
+        List<Interval> expectedInputIntervals = new ArrayList<>();
+        for (double[] interval : randomIntervals) {
+            inputIntervals.add(new Interval(interval[0], interval[1]));
+            expectedInputIntervals.add(new Interval(interval[0], interval[1]));
+        }
+        inputIntervals.add(null);
+        expectedInputIntervals.add(null);
+
+        // when
+        List<Interval> actualResult = this.parallelMerger.mergeParallel(inputIntervals);
+
+        //then
+        List<Interval> expectedResult = this.intervalMerger.merge(expectedInputIntervals);
+        assertEquals(expectedResult.size(), actualResult.size());
+        assertEquals(expectedResult, actualResult);
+    }
+
+    @Test
+    public void givenManyRandomIntervals_whenMergeParallelArrayIntervals_thenReturnSameResultAsMerge() {
+        // given
+        double[][] inputIntervals = createRandomIntervals(200_000);
+        inputIntervals[42] = new double[]{1};
+        inputIntervals[4242] = null;
+        double[][] expectedInputIntervals = new double[inputIntervals.length][];
+        for (int i = 0; i < inputIntervals.length; i++) {
+            expectedInputIntervals[i] = inputIntervals[i] == null ? null : inputIntervals[i].clone();
+        }
+
+        // when
+        List<double[]> actualResult = this.parallelMerger.mergeParallel(inputIntervals);
+
+        //then
+        List<double[]> expectedResult = this.intervalMerger.merge(expectedInputIntervals);
+        assertEquals(expectedResult.size(), actualResult.size());
+        assertArrayEquals(expectedResult.toArray(), actualResult.toArray());
+    }
+
+    @Test
+    public void givenManyRandomIntervals_whenMergeParallelColumnIntervals_thenReturnSameResultAsMerge() {
+        // given
+        double[][] randomIntervals = createRandomIntervals(200_000);
+        double[] starts = new double[randomIntervals.length];
+        double[] ends = new double[randomIntervals.length];
+        for (int i = 0; i < randomIntervals.length; i++) {
+            starts[i] = randomIntervals[i][0];
+            ends[i] = randomIntervals[i][1];
+        }
+        double[] expectedStarts = starts.clone();
+        double[] expectedEnds = ends.clone();
+
+        // when
+        int actualResult = this.parallelMerger.mergeParallel(starts, ends, starts.length);
+
+        //then
+        int expectedResult = this.intervalMerger.merge(expectedStarts, expectedEnds);
+        assertEquals(expectedResult, actualResult);
+        assertArrayEquals(Arrays.copyOf(expectedStarts, expectedResult), Arrays.copyOf(starts, actualResult));
+        assertArrayEquals(Arrays.copyOf(expectedEnds, expectedResult), Arrays.copyOf(ends, actualResult));
+    }
+
+    @Test
+    public void givenOneLongInterval_whenMergeParallelColumnIntervals_thenMergeAcrossAllChunks() {
+        // given
+        int size = 100_000;
+        double[] starts = new double[size];
+        double[] ends = new double[size];
+        for (int i = 0; i < size; i++) {
+            starts[i] = i * 10;
+            ends[i] = i * 10 + 5;
+        }
+        starts[size - 1] = 3;
+        ends[size - 1] = size * 5;
+
+        // when
+        int actualResult = this.parallelMerger.mergeParallel(starts, ends, size);
+
+        //then
+        // [0,5] to [500000,500005] are merged with [3,500000], the following 49998 intervals remain unchanged
+        int expectedResult = size / 2 - 1;
+        assertEquals(expectedResult, actualResult);
+        assertEquals(0, starts[0]);
+        assertEquals(size * 5 + 5, ends[0]);
+        assertEquals(size * 5 + 10, starts[1]);
+    }
+
+    @Test
+    public void givenUnsortedIntervals_whenMergeWithoutModifying_thenKeepInputListAndIntervalsUnchanged() {
+        // given
+        Interval overlappingInterval = new Interval(14, 23);
+        List<Interval> inputIntervals = new ArrayList<>(Arrays.asList(new Interval(25, 30), new Interval(2, 19),
+                null, overlappingInterval, new Interval(4, 8)));
+        List<Interval> expectedInput = Arrays.asList(new Interval(25, 30), new Interval(2, 19), null,
+                new Interval(14, 23), new Interval(4, 8));
+
+        // when
+        List<Interval> actualResult = this.intervalMerger.mergeWithoutModifying(inputIntervals);
+
+        //then
+        assertEquals(Arrays.asList(new Interval(2, 23), new Interval(25, 30)), actualResult);
+        assertEquals(expectedInput, inputIntervals);
+        assertEquals(23, overlappingInterval.getEnd());
+        assertEquals(0, this.intervalMerger.mergeWithoutModifying((List<Interval>) null).size());
+    }
+
+    @Test
+    public void givenSharedRandomIntervals_whenMergeWithoutModifyingConcurrently_thenReturnSameResultAsMerge() {
+        // given
+        double[][] sharedIntervals = createRandomIntervals(50_000);
+        double[][] expectedInput = createRandomIntervals(50_000);
+        double[][] mergedCopy = createRandomIntervals(50_000);
+        for (double[][] intervals : Arrays.asList(sharedIntervals, expectedInput, mergedCopy)) {
+            intervals[7] = null;
+            intervals[8] = new double[]{1};
+        }
+        // when
+        List<ForkJoinTask<List<double[]>>> tasks = new ArrayList<>();
+        for (int thread = 0; thread < 4; thread++) {
+            tasks.add(this.pool.submit(() -> this.intervalMerger.mergeWithoutModifying(sharedIntervals)));
+        }
+
+        //then
+        List<double[]> expectedResult = this.intervalMerger.merge(mergedCopy);
+        for (ForkJoinTask<List<double[]>> task : tasks) {
+            List<double[]> actualResult = task.join();
+            assertEquals(expectedResult.size(), actualResult.size());
+            for (int i = 0; i < expectedResult.size(); i++) {
+                assertArrayEquals(expectedResult.get(i), actualResult.get(i));
+            }
+        }
+        for (int i = 0; i < sharedIntervals.length; i++) {
+            assertArrayEquals(expectedInput[i], sharedIntervals[i]);
+        }
+    }
+
+    @Test
+    public void givenColumnIntervals_whenMergeWithoutModifying_thenWriteMergedIntervalsToOutputOnly() {
+        // given
+        double[] starts = {25, 19, 14, 4};
+        double[] ends = {30, 2, 23, 8};
+        double[] mergedStarts = new double[4];
+        double[] mergedEnds = new double[4];
+
+        // when
+        int actualResult = this.intervalMerger.mergeWithoutModifying(starts, ends, 4, mergedStarts, mergedEnds);
+
+        //then
+        assertEquals(2, actualResult);
+        assertArrayEquals(new double[]{2, 25}, Arrays.copyOf(mergedStarts, actualResult));
+        assertArrayEquals(new double[]{23, 30}, Arrays.copyOf(mergedEnds, actualResult));
+        assertArrayEquals(new double[]{25, 19, 14, 4}, starts);
+        assertArrayEquals(new double[]{30, 2, 23, 8}, ends);
+        assertThrows(IllegalArgumentException.class, () -> this.intervalMerger.mergeWithoutModifying(starts, ends, 4,
+                new double[3], mergedEnds));
+    }
+
+    @Test
+    public void givenRandomIntervalsOfAllLengths_whenMergeUsingVectorScan_thenReturnSameResultAsScalarScan() {
+        // given
+        Random random = new Random(42);
+        for (int length : new int[]{0, 1, 2, 3, 4, 5, 7, 8, 9, 15, 16, 17, 31, 33, 100, 1000, 100_000}) {
+            for (int gap : new int[]{1, 10, 1000}) {
+                double[] starts = new double[length];
+                double[] ends = new double[length];
+                for (int i = 0; i < length; i++) {
+                    starts[i] = random.nextInt(gap * length + 1) - length;
+                    ends[i] = starts[i] + random.nextInt(2 * gap) - gap / 2;
+                }
+                double[] expectedStarts = starts.clone();
+                double[] expectedEnds = ends.clone();
+
+                // when
+                int actualResult = this.intervalMerger.mergeUsingVectorScan(starts, ends, length);
+
+                //then
+                int expectedResult = this.intervalMerger.merge(expectedStarts, expectedEnds, length);
+                assertEquals(expectedResult, actualResult);
+                assertArrayEquals(Arrays.copyOf(expectedStarts, expectedResult), Arrays.copyOf(starts, actualResult));
+                assertArrayEquals(Arrays.copyOf(expectedEnds, expectedResult), Arrays.copyOf(ends, actualResult));
+            }
+        }
+    }
+
+    @Test
+    public void givenSpecialValuesAcrossVectors_whenMergeUsingVectorScan_thenReturnSameResultAsScalarScan() {
+        // given
+        double[] specialValues = {0.0, -0.0, Double.NaN, Double.NEGATIVE_INFINITY, Double.POSITIVE_INFINITY,
+                -Double.MIN_VALUE, Double.MIN_VALUE, -1, 1};
+        Random random = new Random(42);
+        double[] starts = new double[1000];
+        double[] ends = new double[1000];
+        for (int i = 0; i < starts.length; i++) {
+            starts[i] = specialValues[random.nextInt(specialValues.length)];
+            ends[i] = random.nextInt(4) == 0 ? starts[i] : specialValues[random.nextInt(specialValues.length)];
+        }
+        double[] expectedStarts = starts.clone();
+        double[] expectedEnds = ends.clone();
+
+        // when
+        int actualResult = this.intervalMerger.mergeUsingVectorScan(starts, ends, starts.length);
+
+        //then
+        int expectedResult = this.intervalMerger.merge(expectedStarts, expectedEnds);
+        assertEquals(expectedResult, actualResult);
+        assertArrayEquals(Arrays.copyOf(expectedStarts, expectedResult), Arrays.copyOf(starts, actualResult));
+        assertArrayEquals(Arrays.copyOf(expectedEnds, expectedResult), Arrays.copyOf(ends, actualResult));
+    }
+
+    private static double[][] createRandomIntervals(final int size) {
+        Random random = new Random(42);
+        double[][] intervals = new double[size][];
+        for (int i = 0; i < size; i++) {
+            double start = random.nextInt(4 * size) / 4.0;
+            intervals[i] = new double[]{start, start + (random.nextInt(21) - 10) / 2.0};
+        }
+        return intervals;
+    }
 }
@@ -0,0 +1,141 @@
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * The testing class for the {@link IntervalSetOperations} class. The results of random inputs are checked by looking
+ * up sample points, including all boundaries, in a {@link MergedIntervalIndex}, which also verifies that the results
+ * are merged intervals.
+ *
+ * @author Karolin Dürr
+ */
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+public class IntervalSetOperationsTests {
+
+    @Test
+    public void givenAvailabilityAndBookings_whenApplyOperations_thenReturnCombinedIntervals() {
+        // given
+        List<Interval> availability = Arrays.asList(new Interval(8, 12), new Interval(13, 17));
+        List<Interval> bookings = Arrays.asList(new Interval(9, 10), new Interval(12, 14), new Interval(17, 18));
+
+        // when
+        List<Interval> union = IntervalSetOperations.union(availability, bookings);
+        List<Interval> intersection = IntervalSetOperations.intersection(availability, bookings);
+        List<Interval> difference = IntervalSetOperations.difference(availability, bookings);
+        List<Interval> symmetricDifference = IntervalSetOperations.symmetricDifference(availability, bookings);
+
+        //then
+        assertEquals(Collections.singletonList(new Interval(8, 18)), union);
+        assertEquals(Arrays.asList(new Interval(9, 10), new Interval(12, 12), new Interval(13, 14),
+                new Interval(17, 17)), intersection);
+        assertEquals(Arrays.asList(new Interval(8, Math.nextDown(9.0)), new Interval(Math.nextUp(10.0),
+                Math.nextDown(12.0)), new Interval(Math.nextUp(14.0), Math.nextDown(17.0))), difference);
+        assertEquals(Arrays.asList(new Interval(8, Math.nextDown(9.0)), new Interval(Math.nextUp(10.0),
+                Math.nextDown(12.0)), new Interval(Math.nextUp(12.0), Math.nextDown(13.0)),
+                new Interval(Math.nextUp(14.0), Math.nextDown(17.0)), new Interval(Math.nextUp(17.0), 18)),
+                symmetricDifference);
+    }
+
+    @Test
+    public void givenEmptyOrNullLists_whenApplyOperations_thenTreatThemAsEmptySet() {
+        // given
+        List<Interval> intervals = Collections.singletonList(new Interval(1, 5));
+
+        //then
+        assertEquals(intervals, IntervalSetOperations.union(null, intervals));
+        assertEquals(intervals, IntervalSetOperations.difference(intervals, new ArrayList<>()));
+        assertTrue(IntervalSetOperations.intersection(intervals, null).isEmpty());
+        assertTrue(IntervalSetOperations.difference(null, intervals).isEmpty());
+        assertTrue(IntervalSetOperations.symmetricDifference(intervals, intervals).isEmpty());
+    }
+
+    @Test
+    public void givenUnmergedIntervals_whenApplyOperations_thenThrowIllegalArgumentException() {
+        List<Interval> merged = Collections.singletonList(new Interval(1, 5));
+        List<Interval> touching = Arrays.asList(new Interval(1, 5), new Interval(5, 8));
+        List<Interval> unsorted = Arrays.asList(new Interval(6, 8), new Interval(1, 5));
+
+        assertThrows(IllegalArgumentException.class, () -> IntervalSetOperations.union(merged, touching));
+        assertThrows(IllegalArgumentException.class, () -> IntervalSetOperations.difference(unsorted, merged));
+        assertThrows(IllegalArgumentException.class, () -> IntervalSetOperations.intersection(merged,
+                Arrays.asList(new Interval(0, 0), null)));
+        assertThrows(IllegalArgumentException.class, () -> IntervalSetOperations.union(new double[]{1},
+                new double[]{2}, 1, new double[]{3}, new double[]{4}, 1, new double[1], new double[1]));
+    }
+
+    @Test
+    public void givenSignedZeroBoundaries_whenApplyDifference_thenReturnMergedIntervals() {
+        // given
+        List<Interval> intervals = Collections.singletonList(new Interval(-0.0, 0.0));
+        List<Interval> removedIntervals = Collections.singletonList(new Interval(0.0, 3.0));
+
+        // when
+        List<Interval> difference = IntervalSetOperations.difference(intervals, removedIntervals);
+        List<Interval> reversedDifference = IntervalSetOperations.difference(removedIntervals, intervals);
+        List<Interval> symmetricDifference = IntervalSetOperations.symmetricDifference(intervals, removedIntervals);
+
+        //then
+        assertEquals(Collections.singletonList(new Interval(-0.0, -0.0)), difference);
+        assertEquals(Collections.singletonList(new Interval(Double.MIN_VALUE, 3.0)), reversedDifference);
+        assertEquals(Arrays.asList(new Interval(-0.0, -0.0), new Interval(Double.MIN_VALUE, 3.0)),
+                symmetricDifference);
+        // the results are merged intervals, which can be combined further
+        assertEquals(Arrays.asList(new Interval(-0.0, -0.0), new Interval(Double.MIN_VALUE, 3.0)),
+                IntervalSetOperations.union(difference, symmetricDifference));
+    }
+
+    @Test
+    public void givenRandomMergedIntervals_whenApplyOperations_thenCoverSamePointsAsBooleanOperations() {
+        // given
+        Random random = new Random(42);
+        for (int round = 0; round < 50; round++) {
+            double[][] columns1 = createMergedIntervals(random, 1 + random.nextInt(200));
+            double[][] columns2 = createMergedIntervals(random, 1 + random.nextInt(200));
+            int length1 = columns1[0].length;
+            int length2 = columns2[0].length;
+            MergedIntervalIndex index1 = MergedIntervalIndex.fromMergedIntervals(columns1[0], columns1[1], length1);
+            MergedIntervalIndex index2 = MergedIntervalIndex.fromMergedIntervals(columns2[0], columns2[1], length2);
+            double[] resultStarts = new double[length1 + length2];
+            double[] resultEnds = new double[length1 + length2];
+
+            // when
+            MergedIntervalIndex union = MergedIntervalIndex.fromMergedIntervals(resultStarts, resultEnds,
+                    IntervalSetOperations.union(columns1[0], columns1[1], length1, columns2[0], columns2[1],
+                            length2, resultStarts, resultEnds));
+            MergedIntervalIndex intersection = MergedIntervalIndex.fromMergedIntervals(resultStarts, resultEnds,
+                    IntervalSetOperations.intersection(columns1[0], columns1[1], length1, columns2[0], columns2[1],
+                            length2, resultStarts, resultEnds));
+            MergedIntervalIndex difference = MergedIntervalIndex.fromMergedIntervals(resultStarts, resultEnds,
+                    IntervalSetOperations.difference(columns1[0], columns1[1], length1, columns2[0], columns2[1],
+                            length2, resultStarts, resultEnds));
+            MergedIntervalIndex symmetricDifference = MergedIntervalIndex.fromMergedIntervals(resultStarts,
+                    resultEnds, IntervalSetOperations.symmetricDifference(columns1[0], columns1[1], length1,
+                            columns2[0], columns2[1], length2, resultStarts, resultEnds));
+
+            //then
+            // the boundaries are multiples of 0.5, so checking multiples of 0.25 covers boundaries and gaps
+            for (double x = -1; x <= 1001; x += 0.25) {
+                boolean in1 = index1.contains(x);
+                boolean in2 = index2.contains(x);
+                assertEquals(in1 || in2, union.contains(x), "union at " + x);
+                assertEquals(in1 && in2, intersection.contains(x), "intersection at " + x);
+                assertEquals(in1 && !in2, difference.contains(x), "difference at " + x);
+                assertEquals(in1 != in2, symmetricDifference.contains(x), "symmetric difference at " + x);
+            }
+        }
+    }
+
+    private static double[][] createMergedIntervals(final Random random, final int size) {
+        double[] starts = new double[size];
+        double[] ends = new double[size];
+        for (int i = 0; i < size; i++) {
+            starts[i] = random.nextInt(2000) / 2.0;
+            ends[i] = starts[i] + random.nextInt(20) / 2.0;
+        }
+        int length = new IntervalMerger().merge(starts, ends, size);
+        return new double[][]{Arrays.copyOf(starts, length), Arrays.copyOf(ends, length)};
+    }
+}
@@ -0,0 +1,141 @@
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * The testing class for the {@link IntervalSet} class, which has to include the same intervals the
+ * {@link IntervalMerger} returns for all intervals added so far.
+ *
+ * @author Karolin Dürr
+ */
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+public class IntervalSetTests {
+
+    @Test
+    public void givenUnsortedIntervals_whenAddIntervals_thenIncludeSortedMergedIntervals() {
+        // given
+        IntervalSet intervalSet = new IntervalSet();
+
+        // when
+        intervalSet.add(25, 30);
+        intervalSet.add(19, 2);
+        intervalSet.add(null);
+        intervalSet.add(new Interval(-8, -4));
+        intervalSet.add(14, 23);
+        intervalSet.add(30, 30);
+
+        //then
+        List<Interval> expectedResult = new ArrayList<>();
+        expectedResult.add(new Interval(-8, -4));
+        expectedResult.add(new Interval(2, 23));
+        expectedResult.add(new Interval(25, 30));
+
+        assertEquals(3, intervalSet.size());
+        assertEquals(expectedResult, intervalSet.toList());
+        assertEquals("[[-8,-4], [2,23], [25,30]]", intervalSet.toString());
+    }
+
+    @Test
+    public void givenIntervalSpanningSeveralIntervals_whenAddInterval_thenCoalesceAllOfThem() {
+        // given
+        IntervalSet intervalSet = new IntervalSet(0);
+        for (int i = 0; i < 10; i++) {
+            intervalSet.add(10 * i, 10 * i + 5);
+        }
+
+        // when
+        intervalSet.add(15, 70);
+
+        //then
+        List<Interval> actualResult = new ArrayList<>();
+        intervalSet.iterator().forEachRemaining(actualResult::add);
+        assertEquals(4, intervalSet.size());
+        assertEquals(new Interval(10, 75), actualResult.get(1));
+        assertEquals(new Interval(80, 85), actualResult.get(2));
+    }
+
+    @Test
+    public void givenRandomIntervals_whenAddIntervals_thenIncludeSameIntervalsAsMerge() {
+        // given
+        Random random = new Random(42);
+        List<Interval> addedIntervals = new ArrayList<>();
+        IntervalSet intervalSet = new IntervalSet();
+
+        for (int round = 0; round < 20; round++) {
+            // when
+            for (int i = 0; i < 500; i++) {
+                double start = random.nextInt(40_000) / 4.0;
+                Interval interval = new Interval(start, start + random.nextInt(20) / 2.0);
+                addedIntervals.add(interval);
+                intervalSet.add(interval.getStart(), interval.getEnd());
+            }
+
+            //then
+            List<Interval> expectedResult = new IntervalMerger().merge(copy(addedIntervals));
+            assertEquals(expectedResult, intervalSet.toList());
+            assertEquals(expectedResult.size(), intervalSet.size());
+        }
+    }
+
+    @Test
+    public void givenSmallAndLargeBatches_whenAddAllIntervals_thenIncludeSameIntervalsAsMerge() {
+        // given
+        Random random = new Random(7);
+        List<Interval> addedIntervals = new ArrayList<>();
+        IntervalSet intervalSet = new IntervalSet();
+
+        for (int batchSize : new int[]{5000, 3, 1, 2000, 40, 10_000}) {
+            double[] starts = new double[batchSize];
+            double[] ends = new double[batchSize];
+            List<Interval> batch = new ArrayList<>();
+            for (int i = 0; i < batchSize; i++) {
+                starts[i] = random.nextInt(100_000) / 2.0;
+                ends[i] = starts[i] - random.nextInt(10);
+                batch.add(new Interval(starts[i], ends[i]));
+            }
+            addedIntervals.addAll(batch);
+
+            // when
+            if (batchSize % 2 == 0) {
+                intervalSet.addAll(starts, ends, batchSize);
+            } else {
+                intervalSet.addAll(batch);
+            }
+
+            //then
+            assertEquals(new IntervalMerger().merge(copy(addedIntervals)), intervalSet.toList());
+        }
+    }
+
+    @Test
+    public void givenIntervalSet_whenForEachAndClear_thenVisitSortedIntervalsAndBecomeEmpty() {
+        // given
+        IntervalSet intervalSet = new IntervalSet();
+        intervalSet.addAll(new double[]{5, 1, 9}, new double[]{6, 2, 10}, 3);
+        List<double[]> visitedIntervals = new ArrayList<>();
+
+        // when
+        intervalSet.forEach((start, end) -> visitedIntervals.add(new double[]{start, end}));
+        intervalSet.clear();
+
+        //then
+        assertArrayEquals(new double[]{1, 2}, visitedIntervals.get(0));
+        assertArrayEquals(new double[]{9, 10}, visitedIntervals.get(2));
+        assertTrue(intervalSet.isEmpty());
+        assertFalse(intervalSet.iterator().hasNext());
+        assertThrows(NoSuchElementException.class, () -> intervalSet.iterator().next());
+        assertEquals("[]", intervalSet.toString());
+    }
+
+    private static List<Interval> copy(final List<Interval> intervals) {
+        // the merge method modifies the given intervals
+        List<Interval> copiedIntervals = new ArrayList<>(intervals.size());
+        for (Interval interval : intervals) {
+            copiedIntervals.add(new Interval(interval.getStart(), interval.getEnd()));
+        }
+        return copiedIntervals;
+    }
+}
@@ -0,0 +1,121 @@
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * The testing class for the {@link IntervalSweepAnalytics} class.
+ *
+ * @author Karolin Dürr
+ */
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+public class IntervalSweepAnalyticsTests {
+
+    @Test
+    public void givenDefaultIntervals_whenAnalyze_thenComputeDepthsAndCoveredLength() {
+        // given
+        double[] starts = {25, 19, 14, 4, 30};
+        double[] ends = {30, 2, 23, 8, 30};
+
+        // when
+        IntervalSweepAnalytics analytics = IntervalSweepAnalytics.analyze(starts, ends, starts.length);
+
+        //then
+        assertEquals(5, analytics.getIntervalCount());
+        assertEquals(2, analytics.getMergedIntervalCount());
+        assertEquals(2, analytics.getMaxDepth());
+        assertEquals(4, analytics.getMaxDepthPosition());
+        assertArrayEquals(new double[]{2, 17, 9}, analytics.getDepthHistogram());
+        assertEquals(26, analytics.getCoveredLength());
+        assertEquals(0, analytics.getLengthAtDepth(3));
+        assertArrayEquals(new double[]{25, 19, 14, 4, 30}, starts);
+    }
+
+    @Test
+    public void givenRandomIntervals_whenAnalyze_thenMatchMergingAndCountingPerUnit() {
+        // given
+        Random random = new Random(42);
+        int length = 2000;
+        double[] starts = new double[length];
+        double[] ends = new double[length];
+        int[] depthPerUnit = new int[1100];
+        List<Interval> intervals = new ArrayList<>();
+        for (int i = 0; i < length; i++) {
+            starts[i] = random.nextInt(1000);
+            ends[i] = starts[i] + random.nextInt(50);
+            intervals.add(new Interval(starts[i], ends[i]));
+            for (int unit = (int) starts[i]; unit < ends[i]; unit++) {
+                depthPerUnit[unit]++;
+            }
+        }
+
+        // when
+        IntervalSweepAnalytics analytics = IntervalSweepAnalytics.analyze(starts, ends, length);
+
+        //then
+        List<Interval> mergedIntervals = new IntervalMerger().merge(intervals);
+        double expectedCoveredLength = 0;
+        for (Interval interval : mergedIntervals) {
+            expectedCoveredLength += interval.getEnd() - interval.getStart();
+        }
+        double[] expectedHistogram = new double[analytics.getMaxDepth() + 1];
+        double lastEnd = mergedIntervals.get(mergedIntervals.size() - 1).getEnd();
+        for (int unit = (int) mergedIntervals.get(0).getStart(); unit < lastEnd; unit++) {
+            expectedHistogram[depthPerUnit[unit]]++;
+        }
+        assertEquals(mergedIntervals.size(), analytics.getMergedIntervalCount());
+        assertEquals(expectedCoveredLength, analytics.getCoveredLength());
+        assertArrayEquals(expectedHistogram, analytics.getDepthHistogram());
+    }
+
+    @Test
+    public void givenBoundaryEvents_whenAddInOrder_thenTreatTouchingIntervalsAsOverlapping() {
+        // given
+        IntervalSweepAnalytics analytics = new IntervalSweepAnalytics();
+
+        // when
+        analytics.addStart(1);
+        analytics.addEnd(3);
+        analytics.addStart(3);
+        analytics.addStart(4);
+        analytics.addEnd(5);
+        analytics.addEnd(6);
+
+        //then
+        assertEquals(1, analytics.getMergedIntervalCount());
+        assertEquals(2, analytics.getMaxDepth());
+        assertEquals(3, analytics.getMaxDepthPosition());
+        assertEquals(5, analytics.getCoveredLength());
+        assertThrows(IllegalArgumentException.class, () -> analytics.addStart(2));
+        analytics.addEnd(7);
+        assertThrows(IllegalArgumentException.class, () -> analytics.addStart(8));
+        assertThrows(IllegalArgumentException.class, () -> IntervalSweepAnalytics.analyzeSorted(
+                new double[]{1, 4}, new double[]{2, 3}, 2));
+        assertTrue(Double.isNaN(new IntervalSweepAnalytics().getMaxDepthPosition()));
+    }
+
+    @Test
+    public void givenEndBeforeStartAtSameValue_whenAddEvents_thenCountPointInterval() {
+        // given
+        IntervalSweepAnalytics analytics = new IntervalSweepAnalytics();
+
+        // when
+        analytics.addStart(1);
+        analytics.addEnd(5);
+        analytics.addEnd(5);
+        analytics.addStart(5);
+        analytics.addEnd(7);
+        analytics.addStart(7);
+        analytics.addStart(8);
+        analytics.addEnd(9);
+
+        //then
+        assertEquals(4, analytics.getIntervalCount());
+        assertEquals(3, analytics.getMergedIntervalCount());
+        assertEquals(2, analytics.getMaxDepth());
+        assertEquals(5, analytics.getMaxDepthPosition());
+        assertEquals(5, analytics.getCoveredLength());
+    }
+}
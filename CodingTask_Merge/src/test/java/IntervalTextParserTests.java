@@ -0,0 +1,154 @@
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * The testing class for the {@link IntervalTextParser} class.
+ *
+ * @author Karolin Dürr
+ */
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+public class IntervalTextParserTests {
+
+    @Test
+    public void givenIntervalsEnclosedInBrackets_whenParse_thenReturnIntervalsInInputOrder() throws IOException {
+        // given
+        String input = "[[25,30],[2.25,19],[14,23],[4,8.1],[-100,100]]";
+
+        // when
+        IntervalColumns actualResult = parse(input);
+
+        //then
+        assertEquals(5, actualResult.size());
+        assertArrayEquals(new double[]{25, 2.25, 14, 4, -100}, Arrays.copyOf(actualResult.getStarts(), 5));
+        assertArrayEquals(new double[]{30, 19, 23, 8.1, 100}, Arrays.copyOf(actualResult.getEnds(), 5));
+    }
+
+    @Test
+    public void givenIntervalsWithoutEnclosingBracketsAndWhitespace_whenParse_thenReturnIntervals() throws IOException {
+        // given
+        String input = " [25, 30],\n[19 ,2]\t, [ -0.5e1 , +4 ]\r\n";
+
+        // when
+        IntervalColumns actualResult = parse(input);
+
+        //then
+        assertEquals(3, actualResult.size());
+        assertArrayEquals(new double[]{25, 19, -5}, Arrays.copyOf(actualResult.getStarts(), 3));
+        assertArrayEquals(new double[]{30, 2, 4}, Arrays.copyOf(actualResult.getEnds(), 3));
+    }
+
+    @Test
+    public void givenEmptyList_whenParse_thenReturnNoIntervals() throws IOException {
+        // when
+        IntervalColumns actualResult = parse("[ ]");
+
+        //then
+        assertEquals(0, actualResult.size());
+    }
+
+    @Test
+    public void givenSpecialNumbers_whenParse_thenReturnSameValuesAsParseDouble() throws IOException {
+        // given
+        String[] numbers = {"-0", "0.000", "1e22", "1e23", "123456789012345678", "0.1", "1.7976931348623157e308",
+                "4.9e-324", "NaN", "-Infinity", "1.", ".5", "1d", "0x1p3", "3.141592653589793238"};
+        StringBuilder input = new StringBuilder("[");
+        for (String number : numbers) {
+            input.append('[').append(number).append(",0],");
+        }
+        input.setCharAt(input.length() - 1, ']');
+
+        // when
+        IntervalColumns actualResult = parse(input.toString());
+
+        //then
+        assertEquals(numbers.length, actualResult.size());
+        for (int i = 0; i < numbers.length; i++) {
+            assertEquals(Double.doubleToLongBits(Double.parseDouble(numbers[i])),
+                    Double.doubleToLongBits(actualResult.getStarts()[i]), numbers[i]);
+        }
+    }
+
+    @Test
+    public void givenRandomNumbersAcrossBufferBoundaries_whenParse_thenReturnSameValuesAsParseDouble()
+            throws IOException {
+        // given
+        Random random = new Random(42);
+        int size = 10_000;
+        double[] expectedStarts = new double[size];
+        double[] expectedEnds = new double[size];
+        StringBuilder input = new StringBuilder("[");
+        for (int i = 0; i < size; i++) {
+            expectedStarts[i] = Math.round((random.nextDouble() - 0.5) * 1e9) / 1e3;
+            expectedEnds[i] = (random.nextDouble() - 0.5) * Math.pow(10, random.nextInt(40) - 20);
+            input.append(i == 0 ? "[" : ",[").append(expectedStarts[i]).append(',').append(expectedEnds[i])
+                    .append(']');
+        }
+        input.append(']');
+        IntervalColumns actualResult = new IntervalColumns();
+        // a tiny buffer forces numbers to be split across several reads
+        IntervalTextParser parser = new IntervalTextParser(Channels.newChannel(new ByteArrayInputStream(
+                input.toString().getBytes(StandardCharsets.US_ASCII))), 7);
+
+        // when
+        long count = parser.parse(actualResult);
+
+        //then
+        assertEquals(size, count);
+        assertArrayEquals(expectedStarts, Arrays.copyOf(actualResult.getStarts(), size));
+        assertArrayEquals(expectedEnds, Arrays.copyOf(actualResult.getEnds(), size));
+    }
+
+    /**
+     * Testing invalid input, which has to be reported including the byte offset of the error
+     */
+
+    @Test
+    public void givenInvalidNumber_whenParse_thenThrowParseExceptionIncludingOffset() {
+        // given
+        String input = "[[25,30],[2,1x9]]";
+
+        // when
+        IntervalParseException exception = assertThrows(IntervalParseException.class, () -> parse(input));
+
+        //then
+        assertEquals(12, exception.getOffset());
+        assertTrue(exception.getMessage().contains("1x9"));
+    }
+
+    @Test
+    public void givenMissingBracket_whenParse_thenThrowParseExceptionIncludingOffset() {
+        // given
+        String input = "[[25,30],[2,19]";
+
+        // when
+        IntervalParseException exception = assertThrows(IntervalParseException.class, () -> parse(input));
+
+        //then
+        assertEquals(input.length(), exception.getOffset());
+    }
+
+    @Test
+    public void givenInvalidInputs_whenParse_thenThrowParseException() {
+        assertThrows(IntervalParseException.class, () -> parse(""));
+        assertThrows(IntervalParseException.class, () -> parse("25,30"));
+        assertThrows(IntervalParseException.class, () -> parse("[25,30,40]"));
+        assertThrows(IntervalParseException.class, () -> parse("[25,30][2,19]"));
+        assertThrows(IntervalParseException.class, () -> parse("[[25,30],[2,19]]]"));
+        assertThrows(IntervalParseException.class, () -> parse("[[,30]]"));
+        assertThrows(IntervalParseException.class, () -> parse("[[1e,30]]"));
+    }
+
+    private static IntervalColumns parse(final String input) throws IOException {
+        IntervalColumns intervals = new IntervalColumns(0);
+        new IntervalTextParser(new ByteArrayInputStream(input.getBytes(StandardCharsets.US_ASCII))).parse(intervals);
+        return intervals;
+    }
+}
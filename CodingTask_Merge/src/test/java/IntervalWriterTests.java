@@ -0,0 +1,77 @@
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * The testing class for the {@link IntervalWriter} class.
+ *
+ * @author Karolin Dürr
+ */
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+public class IntervalWriterTests {
+
+    @Test
+    public void givenIntervals_whenWriteIntervals_thenWriteSameFormatAsListToString() throws IOException {
+        // given
+        List<Interval> intervals = new ArrayList<>();
+        intervals.add(new Interval(2, 23.25));
+        intervals.add(null);
+        intervals.add(new Interval(-0.0000001, 30.1894));
+        StringWriter output = new StringWriter();
+
+        // when
+        try (IntervalWriter writer = new IntervalWriter(output)) {
+            writer.write(intervals);
+            writer.accept(40, 1e20);
+        }
+
+        //then
+        intervals.remove(null);
+        intervals.add(new Interval(40, 1e20));
+        assertEquals(intervals.toString(), output.toString());
+    }
+
+    @Test
+    public void givenNoIntervals_whenFinish_thenWriteEmptyList() throws IOException {
+        // given
+        StringWriter output = new StringWriter();
+        IntervalWriter writer = new IntervalWriter(output);
+
+        // when
+        writer.finish();
+        writer.write(new double[]{1}, new double[]{2}, 1);
+        writer.finish();
+
+        //then
+        assertEquals("[][[1,2]]", output.toString());
+    }
+
+    @Test
+    public void givenManyIntervals_whenWriteColumnIntervals_thenWriteSameFormatAsListToString() throws IOException {
+        // given
+        Random random = new Random(42);
+        int size = 100_000;
+        double[] starts = new double[size];
+        double[] ends = new double[size];
+        List<Interval> intervals = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            starts[i] = (random.nextDouble() - 0.5) * 1e7;
+            ends[i] = starts[i] + random.nextDouble();
+            intervals.add(new Interval(starts[i], ends[i]));
+        }
+        StringWriter output = new StringWriter();
+
+        // when
+        try (IntervalWriter writer = new IntervalWriter(output)) {
+            writer.write(starts, ends, size);
+        }
+
+        //then
+        assertEquals(intervals.toString(), output.toString());
+    }
+}
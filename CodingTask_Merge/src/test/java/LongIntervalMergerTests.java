@@ -0,0 +1,127 @@
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * The testing class for the {@link LongIntervalMerger} class. Since the merger behaves like the
+ * {@link IntIntervalMerger} for small boundaries, which is tested by {@link IntIntervalMergerTests}, the tests focus
+ * on boundaries only {@code long} values can represent: values outside the {@code int} range, epoch milliseconds and
+ * values near the limits of {@code long}, which the radix sort has to order correctly by their sign.
+ *
+ * @author Karolin Dürr
+ */
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+public class LongIntervalMergerTests {
+
+    private LongIntervalMerger intervalMerger;
+
+    private LongIntervalMerger adjacentIntervalMerger;
+
+    @BeforeAll
+    public void init() {
+        this.intervalMerger = new LongIntervalMerger();
+        this.adjacentIntervalMerger = new LongIntervalMerger(true);
+    }
+
+    @Test
+    public void givenBoundariesOutsideIntRange_whenMergeIntervals_thenReturnSortedMergedIntervals() {
+        // given
+        List<LongInterval> inputIntervals = new LinkedList<>();
+        inputIntervals.add(new LongInterval(5_000_000_000L, 6_000_000_000L));
+        inputIntervals.add(null);
+        inputIntervals.add(new LongInterval(-5_000_000_000L, -3_000_000_000L));
+        inputIntervals.add(new LongInterval(3_000_000_000L, 5_000_000_000L));
+        // would overlap with [3_000_000_000,5_000_000_000] if the boundaries were truncated to int
+        inputIntervals.add(new LongInterval((long) Integer.MAX_VALUE + 1, (long) Integer.MAX_VALUE + 2));
+
+        // when
+        List<LongInterval> actualResult = this.intervalMerger.merge(inputIntervals);
+
+        //then
+        List<LongInterval> expectedResult = new LinkedList<>();
+        expectedResult.add(new LongInterval(-5_000_000_000L, -3_000_000_000L));
+        expectedResult.add(new LongInterval((long) Integer.MAX_VALUE + 1, (long) Integer.MAX_VALUE + 2));
+        expectedResult.add(new LongInterval(3_000_000_000L, 6_000_000_000L));
+
+        assertEquals(expectedResult, actualResult);
+    }
+
+    @Test
+    public void givenEpochMillisNearLongMaxValue_whenMergeAdjacentIntervals_thenReturnMergedListWithoutOverflow() {
+        // given
+        long[][] inputIntervals = {{Long.MAX_VALUE - 1, Long.MAX_VALUE}, {Long.MAX_VALUE - 3, Long.MAX_VALUE - 2},
+                {Long.MAX_VALUE - 10, Long.MAX_VALUE - 5}, {1_700_000_000_001L, 1_700_000_060_000L},
+                {1_700_000_000_000L, 1_700_000_000_000L}, {1_700_000_060_002L, 1_700_000_120_000L}};
+
+        // when
+        List<long[]> adjacentResult = this.adjacentIntervalMerger.merge(inputIntervals);
+        List<long[]> actualResult = this.intervalMerger.merge(inputIntervals);
+
+        //then
+        assertEquals(4, adjacentResult.size());
+        assertArrayEquals(new long[]{1_700_000_000_000L, 1_700_000_060_000L}, adjacentResult.get(0));
+        assertArrayEquals(new long[]{1_700_000_060_002L, 1_700_000_120_000L}, adjacentResult.get(1));
+        assertArrayEquals(new long[]{Long.MAX_VALUE - 10, Long.MAX_VALUE - 5}, adjacentResult.get(2));
+        assertArrayEquals(new long[]{Long.MAX_VALUE - 3, Long.MAX_VALUE}, adjacentResult.get(3));
+        assertEquals(inputIntervals.length, actualResult.size());
+    }
+
+    @Test
+    public void givenExtremeValues_whenMergeAdjacentIntervals_thenReturnMergedListWithoutOverflow() {
+        // given
+        long[][] inputIntervals = {{Long.MAX_VALUE, 0}, {Long.MIN_VALUE, -1}};
+
+        // when
+        List<long[]> actualResult = this.adjacentIntervalMerger.merge(inputIntervals);
+
+        //then
+        assertEquals(1, actualResult.size());
+        assertArrayEquals(new long[]{Long.MIN_VALUE, Long.MAX_VALUE}, actualResult.get(0));
+    }
+
+    @Test
+    public void givenRandomIntervalsAcrossWholeLongRange_whenMergeColumnIntervals_thenSortNegativeBeforePositive() {
+        // given
+        Random random = new Random(42);
+        int size = 50_000;
+        long[] starts = new long[size];
+        long[] ends = new long[size];
+        long[][] expectedInput = new long[size][];
+        for (int i = 0; i < size; i++) {
+            // the sign bit and the high bytes of the keys vary, and some intervals overlap after sorting
+            starts[i] = random.nextLong();
+            ends[i] = random.nextInt(8) == 0 ? random.nextLong() : starts[i] + random.nextInt(1_000);
+            if (ends[i] < starts[i] && random.nextBoolean()) {
+                ends[i] = starts[i];
+            }
+            expectedInput[i] = new long[]{Math.min(starts[i], ends[i]), Math.max(starts[i], ends[i])};
+        }
+        long[] mergedStarts = new long[size];
+        long[] mergedEnds = new long[size];
+
+        // when
+        int actualResult = this.intervalMerger.merge(starts, ends, size, mergedStarts, mergedEnds);
+
+        //then
+        Arrays.sort(expectedInput, Comparator.comparingLong(interval -> interval[0]));
+        List<long[]> expectedResult = new ArrayList<>();
+        for (long[] interval : expectedInput) {
+            long[] last = expectedResult.isEmpty() ? null : expectedResult.get(expectedResult.size() - 1);
+            if (last != null && interval[0] <= last[1]) {
+                last[1] = Math.max(last[1], interval[1]);
+            } else {
+                expectedResult.add(interval.clone());
+            }
+        }
+        assertEquals(expectedResult.size(), actualResult);
+        for (int i = 0; i < actualResult; i++) {
+            assertEquals(expectedResult.get(i)[0], mergedStarts[i]);
+            assertEquals(expectedResult.get(i)[1], mergedEnds[i]);
+        }
+        assertTrue(mergedStarts[0] < 0 && mergedStarts[actualResult - 1] > 0);
+    }
+}
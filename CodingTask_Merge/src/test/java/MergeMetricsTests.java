@@ -0,0 +1,180 @@
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+
+import javax.management.Attribute;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import javax.management.openmbean.CompositeData;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * The testing class for the {@link MergeMetrics} class. Since the metrics are shared, every test starts from reset and
+ * disabled metrics.
+ *
+ * @author Karolin Dürr
+ */
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+public class MergeMetricsTests {
+
+    private final MergeMetrics metrics = MergeMetrics.getInstance();
+
+    @BeforeEach
+    public void resetMetrics() {
+        this.metrics.setEnabled(false);
+        this.metrics.reset();
+    }
+
+    @AfterEach
+    public void disableMetrics() {
+        this.metrics.setEnabled(false);
+    }
+
+    @Test
+    public void givenEnabledMetrics_whenMergeIntervals_thenRecordDataShapeAndPhases() {
+        // given
+        this.metrics.setEnabled(true);
+        IntervalMerger merger = new IntervalMerger();
+
+        // when
+        merger.merge(new ArrayList<>(Arrays.asList(new Interval(25, 30), null, new Interval(2, 19),
+                new Interval(14, 23))));
+        merger.merge(new double[][]{{8, 4}, {5, 6}, null, {1}});
+        merger.merge(new double[]{3, 10, 1}, new double[]{1, 12, 2});
+
+        //then
+        assertEquals(3, this.metrics.getMergeCount());
+        assertEquals(11, this.metrics.getInputIntervalCount());
+        assertEquals(5, this.metrics.getOutputIntervalCount());
+        assertEquals(5 / 11.0, this.metrics.getMergeRatio());
+        assertEquals(3, this.metrics.getSkippedIntervalCount());
+        assertEquals(2, this.metrics.getBoundarySwapCount());
+        assertEquals(3, this.metrics.getSortTimings().getCount());
+        assertEquals(3, this.metrics.getScanTimings().getCount());
+        assertEquals(0, this.metrics.getParseTimings().getCount());
+    }
+
+    @Test
+    public void givenEnabledMetrics_whenMergeParallel_thenRecordDataShapeAndPhases() {
+        // given
+        this.metrics.setEnabled(true);
+        ForkJoinPool pool = new ForkJoinPool(2);
+        IntervalMerger merger = new IntervalMerger(pool);
+        int size = 10_000;
+        List<Interval> intervalList = new ArrayList<>();
+        double[][] arrayIntervals = new double[size + 1][];
+        double[] starts = new double[size];
+        double[] ends = new double[size];
+        for (int i = 0; i < size; i++) {
+            intervalList.add(new Interval(size - i, size - i + 0.5));
+            // the first 3 array intervals and the first 5 column intervals have reversed boundaries
+            arrayIntervals[i] = i < 3 ? new double[]{i + 0.5, i} : new double[]{i, i + 0.5};
+            starts[i] = i < 5 ? i + 0.5 : i;
+            ends[i] = i < 5 ? i : i + 0.5;
+        }
+        intervalList.add(null);
+        arrayIntervals[size] = new double[]{1};
+
+        // when
+        try {
+            merger.mergeParallel(intervalList);
+            merger.mergeParallel(arrayIntervals);
+            merger.mergeParallel(starts, ends, size);
+        } finally {
+            pool.shutdown();
+        }
+
+        //then
+        assertEquals(3, this.metrics.getMergeCount());
+        assertEquals(3 * size + 2, this.metrics.getInputIntervalCount());
+        assertEquals(3 * size, this.metrics.getOutputIntervalCount());
+        assertEquals(2, this.metrics.getSkippedIntervalCount());
+        assertEquals(8, this.metrics.getBoundarySwapCount());
+        assertEquals(3, this.metrics.getSortTimings().getCount());
+        assertEquals(3, this.metrics.getScanTimings().getCount());
+    }
+
+    @Test
+    public void givenDisabledMetrics_whenMergeParseAndFormat_thenRecordNothing() throws IOException {
+        // given
+        IntervalMerger merger = new IntervalMerger();
+        IntervalColumns intervals = new IntervalColumns();
+
+        // when
+        new IntervalTextParser(new ByteArrayInputStream("[[3,1],[2,5]]".getBytes(StandardCharsets.UTF_8)))
+                .parse(intervals);
+        int count = merger.merge(intervals.getStarts(), intervals.getEnds(), intervals.size());
+        IntervalWriter writer = new IntervalWriter(new StringWriter());
+        writer.write(intervals.getStarts(), intervals.getEnds(), count);
+        writer.finish();
+
+        //then
+        assertFalse(this.metrics.isEnabled());
+        assertEquals(0, this.metrics.getMergeCount());
+        assertEquals(0, this.metrics.getBoundarySwapCount());
+        assertEquals(1, this.metrics.getMergeRatio());
+        for (MergeMetrics.Phase phase : MergeMetrics.Phase.values()) {
+            assertEquals(0, this.metrics.getTimings(phase).getCount());
+            assertEquals(0, this.metrics.getTimings(phase).getPercentile99Nanos());
+        }
+    }
+
+    @Test
+    public void givenEnabledMetrics_whenParseAndFormatLists_thenRecordOrderedPercentiles() throws IOException {
+        // given
+        this.metrics.setEnabled(true);
+        StringWriter output = new StringWriter();
+        IntervalWriter writer = new IntervalWriter(output);
+
+        // when
+        for (int list = 0; list < 100; list++) {
+            IntervalColumns intervals = new IntervalColumns();
+            new IntervalTextParser(new ByteArrayInputStream("[[1,2],[3,4]]".getBytes(StandardCharsets.UTF_8)))
+                    .parse(intervals);
+            writer.write(intervals.getStarts(), intervals.getEnds(), intervals.size());
+            writer.finish();
+        }
+
+        //then
+        for (MergeMetrics.Phase phase : Arrays.asList(MergeMetrics.Phase.PARSE, MergeMetrics.Phase.FORMAT)) {
+            MergeMetrics.PhaseTimings timings = this.metrics.getTimings(phase);
+            assertEquals(100, timings.getCount());
+            assertTrue(timings.getMedianNanos() <= timings.getPercentile90Nanos());
+            assertTrue(timings.getPercentile90Nanos() <= timings.getPercentile99Nanos());
+            assertTrue(timings.getPercentile99Nanos() <= timings.getMaxNanos());
+            assertTrue(timings.getMeanNanos() <= timings.getMaxNanos());
+            assertTrue(timings.getTotalNanos() >= timings.getMaxNanos());
+        }
+    }
+
+    @Test
+    public void givenRegisteredMetrics_whenReadViaMBeanServer_thenExposeAttributes() throws Exception {
+        // given
+        MergeMetrics.register();
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        ObjectName name = new ObjectName(MergeMetrics.OBJECT_NAME);
+
+        // when
+        server.setAttribute(name, new Attribute("Enabled", true));
+        new IntervalMerger().merge(new double[]{1, 4, 3}, new double[]{2, 5, 6});
+
+        //then
+        MergeMetrics.register();
+        assertEquals(true, server.getAttribute(name, "Enabled"));
+        assertEquals(3L, server.getAttribute(name, "InputIntervalCount"));
+        assertEquals(2L, server.getAttribute(name, "OutputIntervalCount"));
+        CompositeData sortTimings = (CompositeData) server.getAttribute(name, "SortTimings");
+        assertEquals(1L, sortTimings.get("count"));
+        server.invoke(name, "reset", null, null);
+        assertEquals(0L, server.getAttribute(name, "MergeCount"));
+    }
+}
@@ -0,0 +1,124 @@
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * The testing class for the {@link MergedIntervalIndex} class, whose queries are compared with a linear search over
+ * the merged intervals.
+ *
+ * @author Karolin Dürr
+ */
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+public class MergedIntervalIndexTests {
+
+    @Test
+    public void givenMergedIntervals_whenQueryPoints_thenReturnCoveringIntervals() {
+        // given
+        List<Interval> mergedIntervals = new IntervalMerger().merge(new ArrayList<>(Arrays.asList(
+                new Interval(25, 30), new Interval(2, 19), new Interval(14, 23), new Interval(4, 8))));
+
+        // when
+        MergedIntervalIndex index = MergedIntervalIndex.fromMergedIntervals(mergedIntervals);
+
+        //then
+        assertEquals(2, index.size());
+        assertTrue(index.contains(2));
+        assertTrue(index.contains(23));
+        assertTrue(index.contains(27.5));
+        assertFalse(index.contains(24));
+        assertFalse(index.contains(30.5));
+        assertFalse(index.contains(Double.NaN));
+        assertEquals(1, index.indexOf(25));
+        assertEquals(-1, index.indexOf(1));
+        assertEquals(mergedIntervals, index.toList());
+    }
+
+    @Test
+    public void givenMergedIntervals_whenQueryRanges_thenReturnOverlappingIntervalsAndCoveredLength() {
+        // given
+        MergedIntervalIndex index = MergedIntervalIndex.merge(new double[]{25, 19, 14, 40}, new double[]{30, 2, 23,
+                50}, 4);
+        List<double[]> overlappingIntervals = new ArrayList<>();
+
+        // when
+        int count = index.overlapping(35, 23, (start, end) -> overlappingIntervals.add(new double[]{start, end}));
+
+        //then
+        assertEquals(2, count);
+        assertArrayEquals(new double[]{2, 23}, overlappingIntervals.get(0));
+        assertArrayEquals(new double[]{25, 30}, overlappingIntervals.get(1));
+        assertEquals(0, index.firstOverlapping(23, 35));
+        assertEquals(-1, index.firstOverlapping(31, 39));
+        assertEquals(0, index.countOverlapping(31, 39));
+        assertEquals(3, index.countOverlapping(-100, 100));
+        assertEquals(1 + 5 + 5, index.coveredLength(22, 45));
+        assertEquals(2, index.coveredLength(26, 28));
+        assertEquals(21 + 5 + 10, index.totalLength());
+    }
+
+    @Test
+    public void givenRandomIntervals_whenQueryIndex_thenReturnSameResultsAsLinearSearch() {
+        // given
+        Random random = new Random(42);
+        int size = 2000;
+        double[] starts = new double[size];
+        double[] ends = new double[size];
+        for (int i = 0; i < size; i++) {
+            starts[i] = random.nextInt(100_000) / 4.0;
+            ends[i] = starts[i] + random.nextInt(40) / 4.0;
+        }
+        double[] mergedStarts = starts.clone();
+        double[] mergedEnds = ends.clone();
+        int mergedLength = new IntervalMerger().merge(mergedStarts, mergedEnds, size);
+
+        // when
+        MergedIntervalIndex index = MergedIntervalIndex.fromMergedIntervals(mergedStarts, mergedEnds, mergedLength);
+
+        //then
+        assertEquals(index.toList(), MergedIntervalIndex.merge(starts, ends, size).toList());
+        for (int query = 0; query < 10_000; query++) {
+            double a = random.nextInt(101_000) / 4.0 - 100;
+            double b = a + random.nextInt(400) / 4.0;
+            int expectedIndex = -1;
+            int expectedCount = 0;
+            int expectedFirst = -1;
+            double expectedLength = 0;
+            for (int i = 0; i < mergedLength; i++) {
+                if (mergedStarts[i] <= a && a <= mergedEnds[i]) {
+                    expectedIndex = i;
+                }
+                if (mergedStarts[i] <= b && a <= mergedEnds[i]) {
+                    expectedFirst = expectedCount == 0 ? i : expectedFirst;
+                    expectedCount++;
+                    expectedLength += Math.min(b, mergedEnds[i]) - Math.max(a, mergedStarts[i]);
+                }
+            }
+            assertEquals(expectedIndex, index.indexOf(a));
+            assertEquals(expectedFirst, index.firstOverlapping(a, b));
+            assertEquals(expectedCount, index.countOverlapping(b, a));
+            assertEquals(expectedLength, index.coveredLength(a, b), 1e-6);
+        }
+    }
+
+    @Test
+    public void givenUnmergedIntervals_whenCreateIndexFromMergedIntervals_thenThrowIllegalArgumentException() {
+        assertThrows(IllegalArgumentException.class, () -> MergedIntervalIndex.fromMergedIntervals(
+                new double[]{1, 3}, new double[]{3, 4}, 2));
+        assertThrows(IllegalArgumentException.class, () -> MergedIntervalIndex.fromMergedIntervals(
+                new double[]{5, 1}, new double[]{6, 2}, 2));
+        assertThrows(IllegalArgumentException.class, () -> MergedIntervalIndex.fromMergedIntervals(
+                Collections.singletonList(new Interval(Double.NaN, 1))));
+        assertEquals(0, MergedIntervalIndex.fromMergedIntervals(null).size());
+    }
+
+    @Test
+    public void givenLengthExceedingArrays_whenCreateIndex_thenThrowIllegalArgumentException() {
+        assertThrows(IllegalArgumentException.class, () -> MergedIntervalIndex.merge(new double[]{1},
+                new double[]{2}, 3));
+        assertThrows(IllegalArgumentException.class, () -> MergedIntervalIndex.fromMergedIntervals(
+                new double[]{1}, new double[]{2}, 3));
+    }
+}
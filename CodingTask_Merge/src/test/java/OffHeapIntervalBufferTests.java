@@ -0,0 +1,88 @@
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * The testing class for the {@link OffHeapIntervalBuffer} class and merging it using
+ * {@link IntervalMerger#merge(OffHeapIntervalBuffer)}. Small segments are used, so that the intervals span many
+ * segments.
+ *
+ * @author Karolin Dürr
+ */
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+public class OffHeapIntervalBufferTests {
+
+    @Test
+    public void givenDefaultIntervals_whenMergeBuffer_thenKeepSortedMergedIntervals() {
+        try (OffHeapIntervalBuffer buffer = new OffHeapIntervalBuffer(1)) {
+            // given
+            buffer.accept(25, 30);
+            buffer.accept(19, 2);
+            buffer.accept(14, 23);
+            buffer.accept(4, 8);
+
+            // when
+            long count = new IntervalMerger().merge(buffer);
+
+            //then
+            List<Interval> actualResult = new ArrayList<>();
+            buffer.forEach((start, end) -> actualResult.add(new Interval(start, end)));
+            assertEquals(2, count);
+            assertEquals(2, buffer.size());
+            assertEquals(Arrays.asList(new Interval(2, 23), new Interval(25, 30)), actualResult);
+            assertEquals(2 * 2 * 16, buffer.getAllocatedBytes());
+            assertEquals(25, buffer.getStart(1));
+            assertThrows(IndexOutOfBoundsException.class, () -> buffer.getEnd(2));
+        }
+    }
+
+    @Test
+    public void givenRandomIntervalsSpanningSegments_whenMergeBuffer_thenMatchMergingColumns() {
+        // given
+        Random random = new Random(42);
+        int length = 20000;
+        double[] starts = new double[length];
+        double[] ends = new double[length];
+        OffHeapIntervalBuffer buffer = new OffHeapIntervalBuffer(6);
+        for (int i = 0; i < length; i++) {
+            starts[i] = random.nextInt(1000000);
+            ends[i] = starts[i] + (random.nextBoolean() ? 1 : -1) * random.nextInt(100);
+            buffer.accept(starts[i], ends[i]);
+        }
+
+        // when
+        long count = new IntervalMerger().merge(buffer);
+
+        //then
+        int expectedCount = new IntervalMerger().merge(starts, ends, length);
+        assertEquals(expectedCount, count);
+        for (int i = 0; i < expectedCount; i++) {
+            assertEquals(starts[i], buffer.getStart(i));
+            assertEquals(ends[i], buffer.getEnd(i));
+        }
+        buffer.close();
+    }
+
+    @Test
+    public void givenClosedBuffer_whenAccessBuffer_thenThrowIllegalStateException() {
+        // given
+        OffHeapIntervalBuffer buffer = new OffHeapIntervalBuffer(4);
+        buffer.accept(1, 2);
+        buffer.clear();
+        buffer.accept(3, 4);
+        assertEquals(1, buffer.size());
+
+        // when
+        buffer.close();
+        buffer.close();
+
+        //then
+        assertEquals(0, buffer.getAllocatedBytes());
+        assertThrows(IllegalStateException.class, () -> buffer.accept(5, 6));
+        assertThrows(IllegalStateException.class, () -> new IntervalMerger().merge(buffer));
+        assertEquals(0, new IntervalMerger().merge((OffHeapIntervalBuffer) null));
+    }
+}
@@ -0,0 +1,112 @@
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * The testing class for the {@link RadixIntervalSort} class.
+ *
+ * @author Karolin Dürr
+ */
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+public class RadixIntervalSortTests {
+
+    /**
+     * Testing the mapping of doubles to sortable keys
+     */
+
+    @Test
+    public void givenSpecialValues_whenComparingSortableKeys_thenSameOrderAsDoubleCompare() {
+        // given
+        double[] values = {Double.NaN, Double.POSITIVE_INFINITY, Double.MAX_VALUE, 1, Double.MIN_VALUE, 0.0, -0.0,
+                -Double.MIN_VALUE, -1, -Double.MAX_VALUE, Double.NEGATIVE_INFINITY};
+
+        for (double value1 : values) {
+            for (double value2 : values) {
+                // when
+                int actualResult = Long.compare(RadixIntervalSort.sortableKey(value1),
+                        RadixIntervalSort.sortableKey(value2));
+
+                // then
+                int expectedResult = Double.compare(value1, value2);
+                assertEquals(Integer.signum(expectedResult), Integer.signum(actualResult),
+                        "Wrong order of " + value1 + " and " + value2);
+            }
+        }
+    }
+
+    @Test
+    public void givenSortableKey_whenMappingBack_thenReturnOriginalValue() {
+        // given
+        double[] values = {Double.NEGATIVE_INFINITY, -12.5, -0.0, 0.0, 3.25, Double.MAX_VALUE, Double.NaN};
+
+        for (double value : values) {
+            // when
+            double actualResult = RadixIntervalSort.fromSortableKey(RadixIntervalSort.sortableKey(value));
+
+            // then
+            assertEquals(Double.doubleToLongBits(value), Double.doubleToLongBits(actualResult));
+        }
+    }
+
+    /**
+     * Testing the radix sort
+     */
+
+    @Test
+    public void givenRandomKeys_whenSort_thenKeysAreSortedAndValuesMovedAlong() {
+        // given
+        Random random = new Random(42);
+        int length = 10_000;
+        long[] keys = new long[length + 1];
+        long[] values = new long[length + 1];
+        for (int i = 0; i < length; i++) {
+            keys[i] = random.nextLong();
+            values[i] = keys[i] / 2;
+        }
+        keys[length] = -1;
+
+        // when
+        RadixIntervalSort.sort(keys, values, length);
+
+        // then
+        for (int i = 1; i < length; i++) {
+            assertTrue(keys[i - 1] <= keys[i], "Keys are not sorted at index " + i);
+        }
+        for (int i = 0; i < length; i++) {
+            assertEquals(keys[i] / 2, values[i], "Value was not moved together with its key");
+        }
+        assertEquals(-1, keys[length], "Keys behind the given length must not be sorted");
+    }
+
+    @Test
+    public void givenEqualKeys_whenSort_thenOrderOfValuesIsKept() {
+        // given
+        long[] keys = {5, 1, 5, 1, 5};
+        long[] values = {0, 1, 2, 3, 4};
+
+        // when
+        RadixIntervalSort.sort(keys, values, keys.length);
+
+        // then
+        assertArrayEquals(new long[]{1, 1, 5, 5, 5}, keys);
+        assertArrayEquals(new long[]{1, 3, 0, 2, 4}, values);
+    }
+
+    @Test
+    public void givenKeysWithoutValues_whenSort_thenKeysAreSorted() {
+        // given
+        long[] keys = {Long.MAX_VALUE, -3, 0, Long.MIN_VALUE, 42};
+
+        // when
+        RadixIntervalSort.sort(keys, null, keys.length);
+
+        // then
+        long[] expectedKeys = keys.clone();
+        Arrays.sort(expectedKeys);
+        assertArrayEquals(expectedKeys, keys);
+    }
+}
@@ -0,0 +1,111 @@
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * The testing class for the {@link SlidingWindowIntervalMerger} class.
+ *
+ * @author Karolin Dürr
+ */
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+public class SlidingWindowIntervalMergerTests {
+
+    @Test
+    public void givenIntervalsInOrder_whenAdvanceWindow_thenEvictIntervalsEndingBeforeWatermark() {
+        // given
+        SlidingWindowIntervalMerger windowMerger = new SlidingWindowIntervalMerger(10);
+        windowMerger.add(1, 3);
+        windowMerger.add(2, 5);
+        windowMerger.add(7, 9);
+        windowMerger.add(12, 11);
+        windowMerger.add(new Interval(13, 14));
+        windowMerger.add(13.5, 12);
+
+        // when
+        int evicted = windowMerger.advanceTo(16);
+
+        //then
+        assertEquals(1, evicted);
+        assertEquals(6, windowMerger.getWatermark());
+        assertEquals(Arrays.asList(new Interval(7, 9), new Interval(11, 14)), windowMerger.toList());
+        assertFalse(windowMerger.add(2, 5.5));
+        assertTrue(windowMerger.add(4, 6));
+        assertEquals(1, windowMerger.getDroppedCount());
+        assertEquals(0, windowMerger.advanceTo(15));
+        assertTrue(windowMerger.add(8, 11));
+        assertEquals(Arrays.asList(new Interval(4, 6), new Interval(7, 14)), windowMerger.toList());
+        assertTrue(windowMerger.toIndex().contains(8));
+    }
+
+    @Test
+    public void givenOutOfOrderIntervals_whenAddAndAdvance_thenMatchRemergingWindow() {
+        // given
+        Random random = new Random(42);
+        SlidingWindowIntervalMerger windowMerger = new SlidingWindowIntervalMerger(50);
+        List<Interval> expectedIntervals = new ArrayList<>();
+        double time = 0;
+
+        for (int i = 0; i < 20000; i++) {
+            // when
+            double start = time - random.nextInt(60);
+            double end = start + random.nextInt(8);
+            boolean added = windowMerger.add(start, end);
+            if (random.nextInt(10) == 0) {
+                time += random.nextInt(5);
+                windowMerger.advanceTo(time);
+            }
+
+            //then
+            if (added) {
+                expectedIntervals.add(new Interval(start, end));
+                expectedIntervals = new IntervalMerger().merge(expectedIntervals);
+            }
+            double watermark = windowMerger.getWatermark();
+            expectedIntervals.removeIf(interval -> interval.getEnd() < watermark);
+            assertEquals(end >= watermark || added, added);
+            assertEquals(expectedIntervals, windowMerger.toList(), "after interval " + i);
+        }
+    }
+
+    @Test
+    public void givenConstantInputRate_whenWindowAdvances_thenKeepMemoryBounded() {
+        // given
+        SlidingWindowIntervalMerger windowMerger = new SlidingWindowIntervalMerger(1000);
+
+        // when
+        int maxCapacity = 0;
+        for (int time = 0; time < 1_000_000; time += 10) {
+            windowMerger.add(time, time + 2);
+            windowMerger.advanceTo(time);
+            maxCapacity = Math.max(maxCapacity, windowMerger.getCapacity());
+        }
+
+        //then
+        assertEquals(101, windowMerger.size());
+        assertEquals(128, maxCapacity);
+        windowMerger.advanceTo(2_000_000);
+        assertEquals(0, windowMerger.size());
+        assertEquals(16, windowMerger.getCapacity());
+    }
+
+    @Test
+    public void givenNaN_whenAdvanceWindow_thenThrowIllegalArgumentExceptionAndKeepIntervals() {
+        // given
+        SlidingWindowIntervalMerger windowMerger = new SlidingWindowIntervalMerger(10);
+        SlidingWindowIntervalMerger infiniteWindowMerger = new SlidingWindowIntervalMerger(Double.POSITIVE_INFINITY);
+        windowMerger.add(1, 3);
+        windowMerger.advanceTo(5);
+        infiniteWindowMerger.add(1, 3);
+
+        // when, then
+        assertThrows(IllegalArgumentException.class, () -> windowMerger.advanceWatermark(Double.NaN));
+        assertThrows(IllegalArgumentException.class, () -> windowMerger.advanceTo(Double.NaN));
+        assertEquals(-5, windowMerger.getWatermark());
+        assertEquals(Collections.singletonList(new Interval(1, 3)), windowMerger.toList());
+        assertEquals(0, infiniteWindowMerger.advanceTo(Double.POSITIVE_INFINITY));
+        assertEquals(Collections.singletonList(new Interval(1, 3)), infiniteWindowMerger.toList());
+    }
+}
@@ -0,0 +1,200 @@
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * The testing class for the {@link StreamingIntervalMerger} class.
+ *
+ * @author Karolin Dürr
+ */
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+public class StreamingIntervalMergerTests {
+
+    @Test
+    public void givenSortedStream_whenAcceptIntervals_thenEmitMergedIntervalsAsSoonAsClosed() {
+        // given
+        List<double[]> mergedIntervals = new ArrayList<>();
+        StreamingIntervalMerger streamingMerger = new StreamingIntervalMerger(
+                (start, end) -> mergedIntervals.add(new double[]{start, end}));
+
+        // when
+        streamingMerger.accept(-8, -4);
+        streamingMerger.accept(2, 19);
+        int emittedBeforeOverlap = mergedIntervals.size();
+        streamingMerger.accept(14, 23);
+        streamingMerger.accept(23, 24);
+        int emittedAfterOverlap = mergedIntervals.size();
+        streamingMerger.accept(30, 25);
+        streamingMerger.finish();
+
+        //then
+        assertEquals(1, emittedBeforeOverlap);
+        assertEquals(1, emittedAfterOverlap, "The open merged interval must not be emitted before it is closed");
+        assertEquals(3, mergedIntervals.size());
+        assertArrayEquals(new double[]{-8, -4}, mergedIntervals.get(0));
+        assertArrayEquals(new double[]{2, 24}, mergedIntervals.get(1));
+        assertArrayEquals(new double[]{25, 30}, mergedIntervals.get(2));
+    }
+
+    @Test
+    public void givenFinishedStream_whenAcceptNewStream_thenStartNewMergedIntervals() {
+        // given
+        List<double[]> mergedIntervals = new ArrayList<>();
+        StreamingIntervalMerger streamingMerger = new StreamingIntervalMerger(
+                (start, end) -> mergedIntervals.add(new double[]{start, end}));
+        streamingMerger.accept(new Interval(10, 20));
+        streamingMerger.accept(null);
+        streamingMerger.finish();
+
+        // when
+        streamingMerger.accept(1, 5);
+        streamingMerger.finish();
+        streamingMerger.finish();
+
+        //then
+        assertEquals(2, mergedIntervals.size());
+        assertArrayEquals(new double[]{10, 20}, mergedIntervals.get(0));
+        assertArrayEquals(new double[]{1, 5}, mergedIntervals.get(1));
+    }
+
+    @Test
+    public void givenUnsortedStreamWithoutReorderBuffer_whenAcceptIntervals_thenThrowIllegalArgumentException() {
+        // given
+        StreamingIntervalMerger streamingMerger = new StreamingIntervalMerger((start, end) -> {
+        });
+        streamingMerger.accept(10, 20);
+
+        // when
+        streamingMerger.accept(12, 15);
+
+        //then
+        assertThrows(IllegalArgumentException.class, () -> streamingMerger.accept(5, 8));
+    }
+
+    /**
+     * Tests for the bounded-disorder mode using a reorder buffer
+     */
+    @Test
+    public void givenStreamWithinSlack_whenAcceptIntervals_thenReturnSameResultAsIntervalMerger() {
+        // given
+        Random random = new Random(42);
+        int size = 10_000;
+        double[] starts = new double[size];
+        double[] ends = new double[size];
+        double[][] inputIntervals = new double[size][];
+        for (int i = 0; i < size; i++) {
+            // starts increase by 1 but may lag behind by up to 5
+            starts[i] = i - random.nextInt(6);
+            ends[i] = starts[i] + random.nextDouble() * 2;
+            inputIntervals[i] = new double[]{starts[i], ends[i]};
+        }
+        List<double[]> mergedIntervals = new ArrayList<>();
+        StreamingIntervalMerger streamingMerger = new StreamingIntervalMerger(
+                (start, end) -> mergedIntervals.add(new double[]{start, end}), 5, 64);
+
+        // when
+        for (int i = 0; i < size; i++) {
+            streamingMerger.accept(starts[i], ends[i]);
+        }
+        streamingMerger.finish();
+
+        //then
+        List<double[]> expectedResult = new IntervalMerger().merge(inputIntervals);
+        assertEquals(expectedResult.size(), mergedIntervals.size());
+        for (int i = 0; i < expectedResult.size(); i++) {
+            assertArrayEquals(expectedResult.get(i), mergedIntervals.get(i));
+        }
+        assertEquals(0, streamingMerger.getBufferedCount());
+    }
+
+    @Test
+    public void givenReorderBuffer_whenAcceptIntervals_thenHoldBackIntervalsWithinSlack() {
+        // given
+        List<double[]> mergedIntervals = new ArrayList<>();
+        StreamingIntervalMerger streamingMerger = new StreamingIntervalMerger(
+                (start, end) -> mergedIntervals.add(new double[]{start, end}), 10, 100);
+
+        // when
+        streamingMerger.accept(20, 21);
+        streamingMerger.accept(1, 2);
+        streamingMerger.accept(15, 16);
+        int bufferedWithinSlack = streamingMerger.getBufferedCount();
+        streamingMerger.accept(40, 41);
+
+        //then
+        assertEquals(2, bufferedWithinSlack);
+        assertEquals(1, streamingMerger.getBufferedCount());
+        assertEquals(2, mergedIntervals.size());
+        assertArrayEquals(new double[]{15, 16}, mergedIntervals.get(1));
+    }
+
+    @Test
+    public void givenFullReorderBuffer_whenAcceptIntervals_thenReleaseSmallestInterval() {
+        // given
+        List<double[]> mergedIntervals = new ArrayList<>();
+        StreamingIntervalMerger streamingMerger = new StreamingIntervalMerger(
+                (start, end) -> mergedIntervals.add(new double[]{start, end}), 100, 2);
+
+        // when
+        streamingMerger.accept(3, 4);
+        streamingMerger.accept(1, 2);
+        streamingMerger.accept(5, 6);
+        streamingMerger.accept(7, 8);
+
+        //then
+        assertEquals(2, streamingMerger.getBufferedCount());
+        assertEquals(1, mergedIntervals.size());
+        assertArrayEquals(new double[]{1, 2}, mergedIntervals.get(0));
+    }
+
+    @Test
+    public void givenNaNStartOrInfiniteSlack_whenAcceptIntervals_thenKeepHoldingBackIntervals() {
+        // given
+        List<double[]> mergedIntervals = new ArrayList<>();
+        StreamingIntervalMerger streamingMerger = new StreamingIntervalMerger(
+                (start, end) -> mergedIntervals.add(new double[]{start, end}), 10, 100);
+        StreamingIntervalMerger infiniteSlackMerger = new StreamingIntervalMerger(
+                (start, end) -> mergedIntervals.add(new double[]{start, end}), Double.POSITIVE_INFINITY, 100);
+
+        // when
+        streamingMerger.accept(1, 2);
+        streamingMerger.accept(Double.NaN, Double.NaN);
+        streamingMerger.accept(3, 4);
+        int bufferedAfterNaN = streamingMerger.getBufferedCount();
+        infiniteSlackMerger.accept(Double.POSITIVE_INFINITY, Double.POSITIVE_INFINITY);
+        infiniteSlackMerger.accept(1, 2);
+        int bufferedWithInfiniteSlack = infiniteSlackMerger.getBufferedCount();
+        infiniteSlackMerger.finish();
+
+        //then
+        assertEquals(3, bufferedAfterNaN);
+        assertEquals(2, bufferedWithInfiniteSlack);
+        assertEquals(2, mergedIntervals.size());
+        assertArrayEquals(new double[]{1, 2}, mergedIntervals.get(0));
+        assertArrayEquals(new double[]{Double.POSITIVE_INFINITY, Double.POSITIVE_INFINITY}, mergedIntervals.get(1));
+    }
+
+    @Test
+    public void givenIntervalBehindSlack_whenAcceptIntervals_thenThrowIllegalArgumentException() {
+        // given
+        StreamingIntervalMerger streamingMerger = new StreamingIntervalMerger((start, end) -> {
+        }, 2, 16);
+        streamingMerger.accept(10, 11);
+        streamingMerger.accept(20, 21);
+
+        // when, then
+        assertThrows(IllegalArgumentException.class, () -> streamingMerger.accept(5, 6));
+    }
+
+    @Test
+    public void givenInvalidConfiguration_whenCreateStreamingMerger_thenThrowIllegalArgumentException() {
+        assertThrows(IllegalArgumentException.class, () -> new StreamingIntervalMerger(null));
+        assertThrows(IllegalArgumentException.class, () -> new StreamingIntervalMerger((start, end) -> {
+        }, -1, 16));
+        assertThrows(IllegalArgumentException.class, () -> new StreamingIntervalMerger((start, end) -> {
+        }, Double.NaN, 16));
+    }
+}
@@ -0,0 +1,153 @@
+import jdk.incubator.vector.DoubleVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorShuffle;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * Merges sorted intervals like {@code IntervalArrays#scan} does, but finds the intervals starting a new merged interval
+ * for a whole vector of intervals at once using the incubating Vector API of Java 16 and later. The class is compiled
+ * separately, since the program itself is compiled for older Java versions, and is only loaded if the module
+ * {@code jdk.incubator.vector} has been added to the Java runtime, see {@code VectorScan}.
+ * <p>
+ * Since the intervals are sorted by their start boundaries, the end of the merged interval including the interval i is
+ * the maximum of the end boundaries of all intervals up to i, and the interval i starts a new merged interval exactly
+ * if that maximum up to i-1 is smaller than its start boundary. For every vector of intervals, the running maximum of
+ * their end boundaries is computed in log2(lanes) steps of shifting the lanes and taking the maximum, continuing the
+ * maximum of the previous vector, and compared to the start boundaries in all lanes at once. Only the lanes starting a
+ * new merged interval are visited one by one to write the merged intervals, unless all of them do, in which case the
+ * intervals are copied as whole vectors. This avoids the branch of the scalar scan, which is mispredicted often if
+ * overlapping and disjoint intervals alternate irregularly.
+ * <p>
+ * The vector comparison differs from {@link Double#compare(double, double)} for start boundaries that are NaN or zero,
+ * since it treats -0.0 and 0.0 as equal, so vectors including such start boundaries are scanned one interval at a
+ * time, like the remaining intervals that do not fill a whole vector.
+ *
+ * @author Karolin Dürr
+ */
+final class VectorIntervalScan {
+
+    private static final VectorSpecies<Double> SPECIES = DoubleVector.SPECIES_PREFERRED;
+
+    private static final int LANES = SPECIES.length();
+
+    // lane k takes lane k - shift, or lane 0 for the first lanes, which does not change a running maximum
+    private static final VectorShuffle<Double> SHIFT_BY_ONE = VectorShuffle.fromOp(SPECIES, k -> Math.max(k - 1, 0));
+
+    private static final VectorShuffle<Double> SHIFT_BY_TWO = VectorShuffle.fromOp(SPECIES, k -> Math.max(k - 2, 0));
+
+    private static final VectorShuffle<Double> SHIFT_BY_FOUR = VectorShuffle.fromOp(SPECIES, k -> Math.max(k - 4, 0));
+
+    private static final VectorMask<Double> FIRST_LANE = VectorMask.fromLong(SPECIES, 1L);
+
+    private VectorIntervalScan() {
+    }
+
+    /**
+     * Returns whether the preferred vectors of the platform include four or eight {@code double} lanes, e.g. using
+     * AVX2 or AVX-512 on x86 CPUs. Smaller vectors are not worth leaving the scalar scan, and larger ones would need
+     * further shifts to compute the running maximum.
+     *
+     * @return true, if scanning using vectors is expected to be faster than the scalar scan
+     */
+    static boolean isAccelerated() {
+        return LANES == 4 || LANES == 8;
+    }
+
+    /**
+     * Merges the sorted intervals from index {@code from} to {@code to} and writes the merged intervals to the given
+     * arrays beginning at {@code offset}, with the same contract as {@code IntervalArrays#scan}.
+     *
+     * @param starts       The sorted start boundaries of the intervals.
+     * @param ends         The end boundaries of the intervals.
+     * @param from         The index of the first interval, inclusive.
+     * @param to           The index of the last interval, exclusive.
+     * @param mergedStarts The array the start boundaries of the merged intervals are written to.
+     * @param mergedEnds   The array the end boundaries of the merged intervals are written to.
+     * @param offset       The index at which the first merged interval is written.
+     * @return the number of merged intervals that have been written
+     */
+    static int scan(final double[] starts, final double[] ends, final int from, final int to,
+                    final double[] mergedStarts, final double[] mergedEnds, final int offset) {
+        if (from >= to) {
+            return 0;
+        }
+
+        int count = 0;
+        double currentStart = starts[from];
+        double currentEnd = ends[from];
+        double[] runningEnds = new double[LANES];
+
+        int i = from + 1;
+        for (int bound = to - LANES; i <= bound; i += LANES) {
+            // the starts are sorted, so the vector includes a NaN if the last start is one and a zero if it is between
+            double firstStart = starts[i];
+            double lastStart = starts[i + LANES - 1];
+            if (Double.isNaN(lastStart) || (firstStart <= 0.0 && lastStart >= 0.0)) {
+                for (int j = i; j < i + LANES; j++) {
+                    if (Double.compare(currentEnd, starts[j]) < 0) {
+                        mergedStarts[offset + count] = currentStart;
+                        mergedEnds[offset + count] = currentEnd;
+                        count++;
+                        currentStart = starts[j];
+                        currentEnd = ends[j];
+                    } else {
+                        currentEnd = Math.max(currentEnd, ends[j]);
+                    }
+                }
+                continue;
+            }
+
+            // the running maximum of the end boundaries within the vector, continuing the one of the previous vectors
+            DoubleVector previousEnd = DoubleVector.broadcast(SPECIES, currentEnd);
+            DoubleVector intervalEnds = DoubleVector.fromArray(SPECIES, ends, i);
+            DoubleVector endVector = intervalEnds.max(intervalEnds.rearrange(SHIFT_BY_ONE));
+            endVector = endVector.max(endVector.rearrange(SHIFT_BY_TWO));
+            if (LANES == 8) {
+                endVector = endVector.max(endVector.rearrange(SHIFT_BY_FOUR));
+            }
+            endVector = endVector.max(previousEnd);
+
+            // the interval in lane k starts a new merged interval if the running maximum up to lane k-1 is smaller
+            DoubleVector startVector = DoubleVector.fromArray(SPECIES, starts, i);
+            VectorMask<Double> gaps = endVector.rearrange(SHIFT_BY_ONE).blend(previousEnd, FIRST_LANE).lt(startVector);
+            if (gaps.allTrue()) {
+                // the intervals are disjoint, so all but the last one are merged intervals themselves, and the extra
+                // lane written is overwritten by a later merged interval
+                mergedStarts[offset + count] = currentStart;
+                mergedEnds[offset + count] = currentEnd;
+                startVector.intoArray(mergedStarts, offset + count + 1);
+                intervalEnds.intoArray(mergedEnds, offset + count + 1);
+                count += LANES;
+                currentStart = lastStart;
+            } else if (gaps.anyTrue()) {
+                endVector.intoArray(runningEnds, 0);
+                long lanes = gaps.toLong();
+                while (lanes != 0) {
+                    int lane = Long.numberOfTrailingZeros(lanes);
+                    mergedStarts[offset + count] = currentStart;
+                    mergedEnds[offset + count] = lane == 0 ? currentEnd : runningEnds[lane - 1];
+                    count++;
+                    currentStart = starts[i + lane];
+                    lanes &= lanes - 1;
+                }
+            }
+            currentEnd = endVector.lane(LANES - 1);
+        }
+
+        for (; i < to; i++) {
+            if (Double.compare(currentEnd, starts[i]) < 0) {
+                mergedStarts[offset + count] = currentStart;
+                mergedEnds[offset + count] = currentEnd;
+                count++;
+                currentStart = starts[i];
+                currentEnd = ends[i];
+            } else {
+                currentEnd = Math.max(currentEnd, ends[i]);
+            }
+        }
+
+        mergedStarts[offset + count] = currentStart;
+        mergedEnds[offset + count] = currentEnd;
+        return count + 1;
+    }
+}